@@ -0,0 +1,18 @@
+#!/bin/sh
+# Executa todos os benchmarks com 1, 8 e 64 threads e perfil de alocação (-prof gc)
+# Uso: benchmarks/executar.sh [diretorio-saida] [filtro-jmh]
+set -e
+
+RAIZ=$(cd "$(dirname "$0")/.." && pwd)
+SAIDA=${1:-"$RAIZ/benchmarks/resultados"}
+FILTRO=${2:-".*"}
+
+mvn -B -q -f "$RAIZ/pom.xml" package -DskipTests
+mkdir -p "$SAIDA"
+
+for THREADS in 1 8 64; do
+    java -jar "$RAIZ/benchmarks/target/benchmarks.jar" "$FILTRO" \
+        -t "$THREADS" \
+        -prof gc \
+        -rf json -rff "$SAIDA/threads-$THREADS.json"
+done
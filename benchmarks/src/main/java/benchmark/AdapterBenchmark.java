@@ -0,0 +1,77 @@
+package benchmark;
+
+import factory.SocialMediaFactory;
+import interfaces.GerenciadorMidiaSocial;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import modelo.Conteudo;
+import modelo.PaginaPublicacoes;
+import modelo.Publicacao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Publicação e listagem pelos adapters com a API já contendo
+ * tamanhoStore publicações
+ *
+ * O gerenciador é recriado a cada iteração para que as publicações feitas
+ * durante a medição não façam o armazenamento crescer sem limite.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog.nivel=OFF")
+@State(Scope.Benchmark)
+public class AdapterBenchmark {
+
+    private static final int TAMANHO_PAGINA = 50;
+
+    @Param({"TWITTER", "INSTAGRAM", "LINKEDIN", "TIKTOK"})
+    public String plataforma;
+
+    @Param({"1000", "10000"})
+    public int tamanhoStore;
+
+    private GerenciadorMidiaSocial gerenciador;
+    private Conteudo conteudo;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        gerenciador = SocialMediaFactory.criarGerenciadorPadrao(plataforma);
+        gerenciador.autenticar(Conteudos.credenciais());
+        gerenciador.publicarLote(Conteudos.lote(tamanhoStore));
+        conteudo = Conteudos.valido();
+    }
+
+    @Benchmark
+    public Publicacao publicar() {
+        return gerenciador.publicar(conteudo);
+    }
+
+    @Benchmark
+    public List<Publicacao> listarPublicacoes() {
+        return gerenciador.listarPublicacoes();
+    }
+
+    @Benchmark
+    public PaginaPublicacoes listarPrimeiraPagina() {
+        return gerenciador.listarPublicacoes(null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public void streamPrimeirasPublicacoes(Blackhole blackhole) {
+        gerenciador.streamPublicacoes().limit(TAMANHO_PAGINA).forEach(blackhole::consume);
+    }
+}
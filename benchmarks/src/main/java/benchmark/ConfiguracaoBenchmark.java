@@ -0,0 +1,43 @@
+package benchmark;
+
+import config.GerenciadorConfiguracao;
+import factory.ConfiguracaoPlataforma;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo de consulta da configuração de uma plataforma no ambiente atual
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog.nivel=OFF")
+@State(Scope.Benchmark)
+public class ConfiguracaoBenchmark {
+
+    @Param({"TWITTER", "INSTAGRAM", "LINKEDIN", "TIKTOK"})
+    public String plataforma;
+
+    private GerenciadorConfiguracao configuracao;
+
+    @Setup
+    public void preparar() {
+        configuracao = GerenciadorConfiguracao.getInstance();
+    }
+
+    @Benchmark
+    public ConfiguracaoPlataforma obterConfiguracao() {
+        return configuracao.obterConfiguracao(plataforma);
+    }
+}
@@ -0,0 +1,41 @@
+package benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import modelo.Conteudo;
+import modelo.Credenciais;
+import modelo.TipoConteudo;
+
+/**
+ * Dados de entrada compartilhados pelos benchmarks
+ * O conteúdo é válido para todas as plataformas e para as duas estratégias de publicação
+ */
+final class Conteudos {
+
+    private Conteudos() {
+    }
+
+    static Conteudo valido() {
+        return new Conteudo(
+            "Medindo o desempenho do gerenciador de redes sociais com JMH",
+            Arrays.asList("https://cdn.exemplo.com/video.mp4"),
+            Arrays.asList("#java", "#jmh"),
+            LocalDateTime.now().plusDays(1),
+            TipoConteudo.VIDEO
+        );
+    }
+
+    static List<Conteudo> lote(int quantidade) {
+        List<Conteudo> conteudos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            conteudos.add(valido());
+        }
+        return conteudos;
+    }
+
+    static Credenciais credenciais() {
+        return new Credenciais("benchmark", "api_key", "api_secret", "access_token", "refresh_token");
+    }
+}
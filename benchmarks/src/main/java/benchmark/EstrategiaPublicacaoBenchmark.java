@@ -0,0 +1,53 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import modelo.Conteudo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import strategy.EstrategiaPublicacao;
+import strategy.PublicacaoAgendada;
+import strategy.PublicacaoImediata;
+
+/**
+ * Custo de processamento e validação das estratégias de publicação
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog.nivel=OFF")
+@State(Scope.Benchmark)
+public class EstrategiaPublicacaoBenchmark {
+
+    @Param({"IMEDIATA", "AGENDADA"})
+    public String estrategia;
+
+    private EstrategiaPublicacao estrategiaPublicacao;
+    private Conteudo conteudo;
+
+    @Setup
+    public void preparar() {
+        estrategiaPublicacao = estrategia.equals("AGENDADA")
+            ? new PublicacaoAgendada() : new PublicacaoImediata();
+        conteudo = Conteudos.valido();
+    }
+
+    @Benchmark
+    public Conteudo processarConteudo() {
+        return estrategiaPublicacao.processarConteudo(conteudo);
+    }
+
+    @Benchmark
+    public boolean validar() {
+        return estrategiaPublicacao.validar(conteudo);
+    }
+}
@@ -0,0 +1,49 @@
+package benchmark;
+
+import factory.SocialMediaFactory;
+import interfaces.GerenciadorMidiaSocial;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import strategy.AutenticacaoOAuth2;
+import strategy.EstrategiaAutenticacao;
+import strategy.EstrategiaPublicacao;
+import strategy.PublicacaoImediata;
+
+/**
+ * Custo de criação de um gerenciador pela Factory
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog.nivel=OFF")
+@State(Scope.Benchmark)
+public class FabricaBenchmark {
+
+    @Param({"TWITTER", "INSTAGRAM", "LINKEDIN", "TIKTOK"})
+    public String plataforma;
+
+    private EstrategiaAutenticacao estrategiaAuth;
+    private EstrategiaPublicacao estrategiaPublicacao;
+
+    @Setup
+    public void preparar() {
+        estrategiaAuth = new AutenticacaoOAuth2();
+        estrategiaPublicacao = new PublicacaoImediata();
+    }
+
+    @Benchmark
+    public GerenciadorMidiaSocial criarGerenciador() {
+        return SocialMediaFactory.criarGerenciador(plataforma, estrategiaAuth, estrategiaPublicacao);
+    }
+}
@@ -0,0 +1,46 @@
+package benchmark;
+
+import factory.SocialMediaFactory;
+import interfaces.GerenciadorMidiaSocial;
+import java.util.concurrent.TimeUnit;
+import modelo.Conteudo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo das regras de validação de conteúdo de cada adapter
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog.nivel=OFF")
+@State(Scope.Benchmark)
+public class ValidacaoBenchmark {
+
+    @Param({"TWITTER", "INSTAGRAM", "LINKEDIN", "TIKTOK"})
+    public String plataforma;
+
+    private GerenciadorMidiaSocial gerenciador;
+    private Conteudo conteudo;
+
+    @Setup
+    public void preparar() {
+        gerenciador = SocialMediaFactory.criarGerenciadorPadrao(plataforma);
+        conteudo = Conteudos.valido();
+    }
+
+    @Benchmark
+    public boolean validarConteudo() {
+        return gerenciador.validarConteudo(conteudo);
+    }
+}
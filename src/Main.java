@@ -1,12 +1,21 @@
+import agendamento.AgendadorPublicacoes;
+import cache.CacheEstatisticas;
 import config.GerenciadorConfiguracao;
+import decorator.GerenciadorComCacheEstatisticas;
 import factory.ConfiguracaoPlataforma;
 import factory.SocialMediaFactory;
 import interfaces.GerenciadorMidiaSocial;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import log.Log;
 import modelo.*;
+import servico.PublicadorMultiplataforma;
 import strategy.*;
 
 /**
@@ -42,6 +51,7 @@ public class Main {
             e.printStackTrace();
         }
         
+        Log.descarregar();
         System.out.println("DEMONSTRAÇÃO CONCLUÍDA COM SUCESSO!\n");
 
     }
@@ -170,21 +180,28 @@ public class Main {
         );
         
         List<Conteudo> conteudos = Arrays.asList(conteudoTwitter, conteudoInstagram, conteudoLinkedIn);
-        
-        // Publicar em todas as plataformas
-        List<Publicacao> publicacoes = new ArrayList<>();
+
+        Map<GerenciadorMidiaSocial, Conteudo> destinos = new LinkedHashMap<>();
         for (int i = 0; i < plataformas.size(); i++) {
-            GerenciadorMidiaSocial plataforma = plataformas.get(i);
-            Conteudo conteudo = conteudos.get(i);
-            
-            if (plataforma.validarConteudo(conteudo)) {
-                Publicacao pub = plataforma.publicar(conteudo);
-                publicacoes.add(pub);
-                System.out.println("Publicado em " + plataforma.getNomePlataforma());
+            destinos.put(plataformas.get(i), conteudos.get(i));
+        }
+
+        // Publicar em todas as plataformas em paralelo
+        ResultadoMultiplataforma resultado;
+        try (PublicadorMultiplataforma publicador = new PublicadorMultiplataforma(Duration.ofSeconds(10))) {
+            resultado = publicador.publicar(destinos);
+        }
+
+        for (ResultadoPublicacao item : resultado.getResultados()) {
+            if (item.isSucesso()) {
+                System.out.println("Publicado em " + item.getPlataforma());
+            } else {
+                System.out.println("Falha em " + item.getPlataforma() + ": " + item.getErro().getMessage());
             }
         }
-        
-        System.out.println("\nTotal de publicações: " + publicacoes.size());
+
+        System.out.println("\nTotal de publicações: " + resultado.getPublicacoes().size()
+            + " (" + resultado.getDuracao().toMillis() + "ms)");
     }
     
     /**
@@ -233,7 +250,13 @@ public class Main {
             LocalDateTime.now().plusDays(1),
             TipoConteudo.IMAGEM
         );
-        gerenciador2.agendar(conteudo2);
+        Publicacao agendada = gerenciador2.agendar(conteudo2);
+        System.out.println("Publicação agendada: " + agendada);
+        
+        // Cancela o agendamento antes do disparo; o desfecho traz a publicação cancelada
+        CompletableFuture<Publicacao> desfecho = AgendadorPublicacoes.getInstance().resultado(agendada.getId());
+        gerenciador2.cancelarAgendamento(agendada.getId());
+        System.out.println("Status após cancelamento: " + desfecho.join().getStatus());
         
         // Estratégia 3: JWT
         System.out.println("\nEstratégia 3: JWT Authentication");
@@ -255,13 +278,16 @@ public class Main {
         System.out.println("DEMONSTRAÇÃO 5: ESTATÍSTICAS E MÉTRICAS");
         System.out.println("═".repeat(70));
         
-        // Criar e autenticar gerenciadores
-        GerenciadorMidiaSocial twitter = SocialMediaFactory.criarGerenciadorPadrao("TWITTER");
-        GerenciadorMidiaSocial instagram = SocialMediaFactory.criarGerenciadorPadrao("INSTAGRAM");
+        // Criar e autenticar gerenciadores (Twitter com cache de estatísticas)
+        CacheEstatisticas cache = new CacheEstatisticas(Duration.ofSeconds(30), 10_000);
+        GerenciadorMidiaSocial twitter = new GerenciadorComCacheEstatisticas(
+            SocialMediaFactory.criarGerenciadorPadrao("TWITTER"), cache);
         
         Credenciais cred = new Credenciais("stats_user", "key", "secret", "token", "refresh");
         twitter.autenticar(cred);
-        instagram.autenticar(cred);
+        
+        // Instagram já autenticado, reutilizado pelo registro da Factory
+        GerenciadorMidiaSocial instagram = SocialMediaFactory.obterGerenciador("INSTAGRAM", cred);
         
         // Publicar conteúdo
         Conteudo conteudo = new Conteudo(
@@ -289,6 +315,10 @@ public class Main {
         Estatisticas statsTwitter = twitter.obterEstatisticas(pubTwitter.getId());
         System.out.println("Twitter: " + statsTwitter);
         
+        // Segunda leitura vem do cache
+        twitter.obterEstatisticas(pubTwitter.getId());
+        System.out.println("Cache: " + cache);
+        
         Estatisticas statsInstagram = instagram.obterEstatisticas(pubInstagram.getId());
         System.out.println("Instagram: " + statsInstagram);
         
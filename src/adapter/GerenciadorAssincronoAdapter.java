@@ -0,0 +1,109 @@
+package adapter;
+
+import interfaces.GerenciadorMidiaSocial;
+import interfaces.GerenciadorMidiaSocialAssincrono;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import modelo.Conteudo;
+import modelo.Credenciais;
+import modelo.Estatisticas;
+import modelo.PaginaPublicacoes;
+import modelo.Publicacao;
+import modelo.ResultadoPublicacao;
+import servico.Executores;
+
+/**
+ * Adapter que expõe qualquer gerenciador síncrono (TwitterAdapter, InstagramAdapter,
+ * LinkedInAdapter, TikTokAdapter) pela interface assíncrona
+ * As chamadas bloqueantes rodam no executor configurado, liberando a thread chamadora
+ * Sem executor informado, todas as instâncias usam um único executor padrão
+ * do processo, que nunca precisa ser encerrado.
+ */
+public class GerenciadorAssincronoAdapter implements GerenciadorMidiaSocialAssincrono {
+
+    private final GerenciadorMidiaSocial gerenciador;
+    private final Executor executor;
+
+    private static final class ExecutorPadrao {
+        private static final Executor EXECUTOR = Executores.criarPadrao("gerenciador-assincrono");
+    }
+
+    public GerenciadorAssincronoAdapter(GerenciadorMidiaSocial gerenciador) {
+        this(gerenciador, ExecutorPadrao.EXECUTOR);
+    }
+
+    public GerenciadorAssincronoAdapter(GerenciadorMidiaSocial gerenciador, Executor executor) {
+        this.gerenciador = gerenciador;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> autenticar(Credenciais credenciais) {
+        return CompletableFuture.supplyAsync(() -> gerenciador.autenticar(credenciais), executor);
+    }
+
+    @Override
+    public CompletableFuture<Publicacao> publicar(Conteudo conteudo) {
+        return CompletableFuture.supplyAsync(() -> gerenciador.publicar(conteudo), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<ResultadoPublicacao>> publicarLote(List<Conteudo> conteudos) {
+        return CompletableFuture.supplyAsync(() -> gerenciador.publicarLote(conteudos), executor);
+    }
+
+    @Override
+    public CompletableFuture<Publicacao> agendar(Conteudo conteudo) {
+        return CompletableFuture.supplyAsync(() -> gerenciador.agendar(conteudo), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> cancelarAgendamento(String idPublicacao) {
+        return CompletableFuture.supplyAsync(() -> gerenciador.cancelarAgendamento(idPublicacao), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> remover(String idPublicacao) {
+        return CompletableFuture.supplyAsync(() -> gerenciador.remover(idPublicacao), executor);
+    }
+
+    @Override
+    public CompletableFuture<Estatisticas> obterEstatisticas(String idPublicacao) {
+        return CompletableFuture.supplyAsync(() -> gerenciador.obterEstatisticas(idPublicacao), executor);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Estatisticas>> obterEstatisticasEmLote(Collection<String> idsPublicacoes) {
+        return CompletableFuture.supplyAsync(() -> gerenciador.obterEstatisticasEmLote(idsPublicacoes), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Publicacao>> listarPublicacoes() {
+        return CompletableFuture.supplyAsync(gerenciador::listarPublicacoes, executor);
+    }
+
+    @Override
+    public CompletableFuture<PaginaPublicacoes> listarPublicacoes(String cursor, int tamanhoPagina) {
+        return CompletableFuture.supplyAsync(() -> gerenciador.listarPublicacoes(cursor, tamanhoPagina), executor);
+    }
+
+    @Override
+    public String getNomePlataforma() {
+        return gerenciador.getNomePlataforma();
+    }
+
+    @Override
+    public boolean validarConteudo(Conteudo conteudo) {
+        return gerenciador.validarConteudo(conteudo);
+    }
+
+    /**
+     * Obtém o gerenciador síncrono adaptado
+     */
+    public GerenciadorMidiaSocial getGerenciador() {
+        return gerenciador;
+    }
+}
@@ -1,12 +1,24 @@
 package adapter;
 
+import agendamento.AgendadorPublicacoes;
+import api.IndiceTemporal;
 import api.InstagramAPI;
 import interfaces.GerenciadorMidiaSocial;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import log.Log;
+import log.Logger;
 import modelo.*;
+import servico.GeradorIds;
 import strategy.EstrategiaAutenticacao;
 import strategy.EstrategiaPublicacao;
+import validacao.ValidadorConteudo;
+import validacao.Violacao;
 
 /**
  * Adapter para a API do Instagram
@@ -14,37 +26,70 @@ import strategy.EstrategiaPublicacao;
  */
 public class InstagramAdapter implements GerenciadorMidiaSocial {
     
+    private static final Logger LOG = Log.getLogger(InstagramAdapter.class);
+    
     private final InstagramAPI instagramAPI;
     private final EstrategiaAutenticacao estrategiaAuth;
     private final EstrategiaPublicacao estrategiaPublicacao;
+    private final AgendadorPublicacoes agendador;
+    private final ValidadorConteudo validador;
+    private final long mascaraValidacao;
+    // Conta autenticada, gravada com os agendamentos
+    private volatile String conta = "";
+    // Publicador vinculado ao agendador, guardado para poder ser desvinculado
+    private final Function<Conteudo, Publicacao> publicador = this::executarPublicacao;
     
     public InstagramAdapter(EstrategiaAutenticacao estrategiaAuth,
-                           EstrategiaPublicacao estrategiaPublicacao) {
+                            EstrategiaPublicacao estrategiaPublicacao) {
+        this(estrategiaAuth, estrategiaPublicacao, AgendadorPublicacoes.getInstance());
+    }
+    
+    public InstagramAdapter(EstrategiaAutenticacao estrategiaAuth,
+                            EstrategiaPublicacao estrategiaPublicacao,
+                            AgendadorPublicacoes agendador) {
         this.instagramAPI = new InstagramAPI();
         this.estrategiaAuth = estrategiaAuth;
         this.estrategiaPublicacao = estrategiaPublicacao;
+        this.agendador = agendador;
+        this.validador = ValidadorConteudo.getInstance();
+        this.mascaraValidacao = validador.mascara("Instagram");
     }
     
     @Override
     public boolean autenticar(Credenciais credenciais) {
-        System.out.println("\n=== INSTAGRAM ADAPTER - Autenticação ===");
+        LOG.debug("Autenticação");
         
         // Usa a estratégia de autenticação
         boolean authSuccess = estrategiaAuth.autenticar(credenciais);
         
         if (authSuccess) {
             // Adapta para a API específica do Instagram
-            return instagramAPI.autenticar(
+            boolean conectado = instagramAPI.autenticar(
                 credenciais.getUsuario(), 
                 credenciais.getAccessToken()
             );
+            if (conectado) {
+                String anterior = conta;
+                conta = credenciais.getUsuario() != null ? credenciais.getUsuario() : "";
+                if (!anterior.equals(conta)) {
+                    agendador.desvincular("Instagram", anterior, publicador);
+                }
+                // Publica também os agendamentos recuperados de execuções anteriores da conta
+                agendador.vincular("Instagram", conta, publicador);
+            }
+            return conectado;
         }
         return false;
     }
     
+    @Override
+    public void atualizarToken(String accessToken) {
+        instagramAPI.atualizarAccessToken(accessToken);
+    }
+    
     @Override
     public Publicacao publicar(Conteudo conteudo) {
-        System.out.println("\n=== INSTAGRAM ADAPTER - Publicação ===");
+        LOG.debug("Publicação");
         
         if (!instagramAPI.estaAutenticado()) {
             throw new IllegalStateException("Não autenticado no Instagram");
@@ -55,28 +100,64 @@ public class InstagramAdapter implements GerenciadorMidiaSocial {
             throw new IllegalArgumentException("Conteúdo inválido para publicação");
         }
         
-        Conteudo processado = estrategiaPublicacao.processarConteudo(conteudo);
+        return executarPublicacao(conteudo);
+    }
+    
+    /**
+     * Envia o conteúdo à API do Instagram, sem a validação da estratégia
+     * Usado pela publicação imediata e pelo disparo das publicações agendadas
+     */
+    private Publicacao executarPublicacao(Conteudo conteudo) {
+        if (!instagramAPI.estaAutenticado()) {
+            throw new IllegalStateException("Não autenticado no Instagram");
+        }
+        
+        InstagramAPI.NovoPost novo = converterNovoPost(conteudo,
+            estrategiaPublicacao.processarConteudo(conteudo, "Instagram"));
         
-        // Adapta o conteúdo unificado para o formato do Instagram
         InstagramAPI.PostData post;
-        
-        if (conteudo.getTipo() == TipoConteudo.STORY) {
+        if ("STORY".equals(novo.getTipo())) {
             // Publica como Story
-            String mediaUrl = processado.getMidias() != null && !processado.getMidias().isEmpty() 
-                ? processado.getMidias().get(0) : "default_story.jpg";
-            post = instagramAPI.publicarStory(mediaUrl, "");
+            post = instagramAPI.publicarStory(novo.getMediaUrl(), "");
         } else {
             // Publica como post normal
-            String mediaUrl = processado.getMidias() != null && !processado.getMidias().isEmpty() 
-                ? processado.getMidias().get(0) : "default_post.jpg";
-            post = instagramAPI.publicarMidia(
-                processado.getTexto(),
-                mediaUrl,
-                processado.getHashtags()
-            );
+            post = instagramAPI.publicarMidia(novo.getCaption(), novo.getMediaUrl(), novo.getTags());
+        }
+        
+        return converterPublicacao(conteudo, post);
+    }
+    
+    @Override
+    public List<ResultadoPublicacao> publicarLote(List<Conteudo> conteudos) {
+        LOG.debug("Publicação em lote");
+        
+        if (!instagramAPI.estaAutenticado()) {
+            throw new IllegalStateException("Não autenticado no Instagram");
         }
         
-        // Converte o resultado do Instagram para o formato unificado
+        return PublicacaoLote.publicar("Instagram", conteudos, estrategiaPublicacao,
+            this::converterNovoPost, instagramAPI::publicarLote, this::converterPublicacao);
+    }
+    
+    /**
+     * Adapta o conteúdo unificado para o formato do Instagram
+     */
+    private InstagramAPI.NovoPost converterNovoPost(Conteudo conteudo, Conteudo processado) {
+        boolean story = conteudo.getTipo() == TipoConteudo.STORY;
+        String mediaUrl = processado.getMidias() != null && !processado.getMidias().isEmpty() 
+            ? processado.getMidias().get(0) : (story ? "default_story.jpg" : "default_post.jpg");
+        return new InstagramAPI.NovoPost(
+            processado.getTexto(),
+            mediaUrl,
+            processado.getHashtags(),
+            story ? "STORY" : "POST"
+        );
+    }
+    
+    /**
+     * Converte o resultado do Instagram para o formato unificado
+     */
+    private Publicacao converterPublicacao(Conteudo conteudo, InstagramAPI.PostData post) {
         return new Publicacao(
             post.getId(),
             "Instagram",
@@ -89,33 +170,71 @@ public class InstagramAdapter implements GerenciadorMidiaSocial {
     
     @Override
     public Publicacao agendar(Conteudo conteudo) {
-        System.out.println("\n=== INSTAGRAM ADAPTER - Agendamento ===");
-        System.out.println("Agendando post para: " + conteudo.getDataAgendamento());
+        LOG.debug("Agendamento");
+        LOG.info("Agendando post para: {}", conteudo.getDataAgendamento());
         
-        // Simula agendamento
-        return new Publicacao(
-            "scheduled_ig_" + System.currentTimeMillis(),
+        // Registra no agendador, que chamará executarPublicacao na data agendada
+        return agendador.agendar(
+            GeradorIds.getInstance().gerarTexto("scheduled_ig_"),
             "Instagram",
+            conta,
             conteudo,
-            conteudo.getDataAgendamento(),
-            StatusPublicacao.AGENDADA,
-            "https://instagram.com/scheduled"
+            "https://instagram.com/scheduled",
+            this::executarPublicacao
         );
     }
     
+    @Override
+    public boolean cancelarAgendamento(String idPublicacao) {
+        LOG.debug("Cancelamento");
+        return agendador.cancelar(idPublicacao, "Instagram", conta);
+    }
+    
     @Override
     public boolean remover(String idPublicacao) {
-        System.out.println("\n=== INSTAGRAM ADAPTER - Remoção ===");
+        LOG.debug("Remoção");
         return instagramAPI.deletarPost(idPublicacao);
     }
     
     @Override
     public Estatisticas obterEstatisticas(String idPublicacao) {
-        System.out.println("\n=== INSTAGRAM ADAPTER - Estatísticas ===");
+        LOG.debug("Estatísticas");
+        
+        return converterEstatisticas(instagramAPI.obterInsights(idPublicacao));
+    }
+    
+    @Override
+    public Map<String, Estatisticas> obterEstatisticasEmLote(Collection<String> idsPublicacoes) {
+        LOG.debug("Estatísticas em lote");
+        
+        Map<String, Estatisticas> estatisticas = new LinkedHashMap<>();
+        List<String> grupo = new ArrayList<>(InstagramAPI.MAX_IDS_POR_REQUISICAO);
         
-        // Adapta os insights do Instagram para o formato unificado
-        InstagramAPI.PostInsights insights = instagramAPI.obterInsights(idPublicacao);
+        // Agrupa os ids no máximo aceito pela API em cada requisição
+        for (String id : idsPublicacoes) {
+            grupo.add(id);
+            if (grupo.size() == InstagramAPI.MAX_IDS_POR_REQUISICAO) {
+                coletarEstatisticas(grupo, estatisticas);
+                grupo.clear();
+            }
+        }
+        if (!grupo.isEmpty()) {
+            coletarEstatisticas(grupo, estatisticas);
+        }
         
+        return estatisticas;
+    }
+    
+    private void coletarEstatisticas(List<String> grupo, Map<String, Estatisticas> destino) {
+        for (InstagramAPI.PostInsights insights : instagramAPI.obterInsightsEmLote(grupo)) {
+            destino.put(insights.getPostId(), converterEstatisticas(insights));
+        }
+    }
+    
+    /**
+     * Converte os insights do Instagram para o formato unificado
+     */
+    private Estatisticas converterEstatisticas(InstagramAPI.PostInsights insights) {
         return new Estatisticas(
             insights.getPostId(),
             insights.getReach(),
@@ -127,67 +246,79 @@ public class InstagramAdapter implements GerenciadorMidiaSocial {
     
     @Override
     public List<Publicacao> listarPublicacoes() {
-        System.out.println("\n=== INSTAGRAM ADAPTER - Listagem ===");
+        LOG.debug("Listagem");
         
         List<Publicacao> publicacoes = new ArrayList<>();
-        List<InstagramAPI.PostData> posts = instagramAPI.listarPosts();
-        
-        for (InstagramAPI.PostData post : posts) {
-            List<String> midias = new ArrayList<>();
-            if (post.getMediaUrl() != null) {
-                midias.add(post.getMediaUrl());
-            }
-            
-            TipoConteudo tipo = post.getTipo().equals("STORY") 
-                ? TipoConteudo.STORY : TipoConteudo.IMAGEM;
-            
-            Conteudo conteudo = new Conteudo(
-                post.getCaption(),
-                midias,
-                post.getTags(),
-                post.getTimestamp(),
-                tipo
-            );
-            
-            publicacoes.add(new Publicacao(
-                post.getId(),
-                "Instagram",
-                conteudo,
-                post.getTimestamp(),
-                StatusPublicacao.PUBLICADA,
-                "https://instagram.com/p/" + post.getId()
-            ));
+        for (InstagramAPI.PostData post : instagramAPI.listarPosts()) {
+            publicacoes.add(converterRegistro(post));
         }
         
         return publicacoes;
     }
     
+    @Override
+    public PaginaPublicacoes listarPublicacoes(String cursor, int tamanhoPagina) {
+        LOG.debug("Listagem paginada");
+        
+        IndiceTemporal.Pagina<InstagramAPI.PostData> pagina = instagramAPI.listarPosts(cursor, tamanhoPagina);
+        List<Publicacao> publicacoes = new ArrayList<>(pagina.getItens().size());
+        for (InstagramAPI.PostData post : pagina.getItens()) {
+            publicacoes.add(converterRegistro(post));
+        }
+        
+        return new PaginaPublicacoes(publicacoes, pagina.getProximoCursor());
+    }
+    
+    @Override
+    public Stream<Publicacao> streamPublicacoes() {
+        return instagramAPI.streamPosts().map(this::converterRegistro);
+    }
+    
+    /**
+     * Reconstrói a publicação unificada a partir de um post armazenado
+     */
+    private Publicacao converterRegistro(InstagramAPI.PostData post) {
+        List<String> midias = new ArrayList<>();
+        if (post.getMediaUrl() != null) {
+            midias.add(post.getMediaUrl());
+        }
+        
+        TipoConteudo tipo = post.getTipo().equals("STORY") 
+            ? TipoConteudo.STORY : TipoConteudo.IMAGEM;
+        
+        Conteudo conteudo = new Conteudo(
+            post.getCaption(),
+            midias,
+            post.getTags(),
+            post.getTimestamp(),
+            tipo
+        );
+        
+        return converterPublicacao(conteudo, post);
+    }
+    
     @Override
     public String getNomePlataforma() {
         return "Instagram";
     }
     
+    @Override
+    public void encerrar() {
+        agendador.desvincular("Instagram", conta, publicador);
+    }
+    
     @Override
     public boolean validarConteudo(Conteudo conteudo) {
-        // Instagram requer pelo menos uma imagem ou vídeo
-        if (conteudo.getMidias() == null || conteudo.getMidias().isEmpty()) {
-            System.out.println("Instagram requer pelo menos uma mídia");
-            return false;
-        }
-        
-        // Caption pode ter até 2200 caracteres
-        if (conteudo.getTexto() != null && conteudo.getTexto().length() > 2200) {
-            System.out.println("Caption muito longa (máx 2200 caracteres)");
-            return false;
+        // Regras declaradas em ProvedorInstagram
+        boolean valido = true;
+        for (Violacao violacao : validador.validar(conteudo, mascaraValidacao)) {
+            LOG.warn(violacao.getMensagem());
+            valido &= !violacao.isErro();
         }
         
-        // Máximo de 30 hashtags
-        if (conteudo.getHashtags() != null && conteudo.getHashtags().size() > 30) {
-            System.out.println("Máximo de 30 hashtags no Instagram");
-            return false;
+        if (valido) {
+            LOG.debug("Conteúdo válido para Instagram");
         }
-        
-        System.out.println("Conteúdo válido para Instagram");
-        return true;
+        return valido;
     }
 }
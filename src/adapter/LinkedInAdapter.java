@@ -1,12 +1,24 @@
 package adapter;
 
+import agendamento.AgendadorPublicacoes;
+import api.IndiceTemporal;
 import api.LinkedInAPI;
 import interfaces.GerenciadorMidiaSocial;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import log.Log;
+import log.Logger;
 import modelo.*;
+import servico.GeradorIds;
 import strategy.EstrategiaAutenticacao;
 import strategy.EstrategiaPublicacao;
+import validacao.ValidadorConteudo;
+import validacao.Violacao;
 
 /**
  * Adapter para a API do LinkedIn
@@ -14,38 +26,71 @@ import strategy.EstrategiaPublicacao;
  */
 public class LinkedInAdapter implements GerenciadorMidiaSocial {
     
+    private static final Logger LOG = Log.getLogger(LinkedInAdapter.class);
+    
     private final LinkedInAPI linkedInAPI;
     private final EstrategiaAutenticacao estrategiaAuth;
     private final EstrategiaPublicacao estrategiaPublicacao;
+    private final AgendadorPublicacoes agendador;
+    private final ValidadorConteudo validador;
+    private final long mascaraValidacao;
+    // Conta autenticada, gravada com os agendamentos
+    private volatile String conta = "";
+    // Publicador vinculado ao agendador, guardado para poder ser desvinculado
+    private final Function<Conteudo, Publicacao> publicador = this::executarPublicacao;
     
     public LinkedInAdapter(EstrategiaAutenticacao estrategiaAuth,
-                          EstrategiaPublicacao estrategiaPublicacao) {
+                           EstrategiaPublicacao estrategiaPublicacao) {
+        this(estrategiaAuth, estrategiaPublicacao, AgendadorPublicacoes.getInstance());
+    }
+    
+    public LinkedInAdapter(EstrategiaAutenticacao estrategiaAuth,
+                           EstrategiaPublicacao estrategiaPublicacao,
+                           AgendadorPublicacoes agendador) {
         this.linkedInAPI = new LinkedInAPI();
         this.estrategiaAuth = estrategiaAuth;
         this.estrategiaPublicacao = estrategiaPublicacao;
+        this.agendador = agendador;
+        this.validador = ValidadorConteudo.getInstance();
+        this.mascaraValidacao = validador.mascara("LinkedIn");
     }
     
     @Override
     public boolean autenticar(Credenciais credenciais) {
-        System.out.println("\n=== LINKEDIN ADAPTER - Autenticação ===");
+        LOG.debug("Autenticação");
         
         // Usa a estratégia de autenticação
         boolean authSuccess = estrategiaAuth.autenticar(credenciais);
         
         if (authSuccess) {
             // Adapta para a API específica do LinkedIn
-            return linkedInAPI.estabelecerConexao(
+            boolean conectado = linkedInAPI.estabelecerConexao(
                 credenciais.getApiKey(),
                 credenciais.getApiSecret(),
                 credenciais.getAccessToken()
             );
+            if (conectado) {
+                String anterior = conta;
+                conta = credenciais.getUsuario() != null ? credenciais.getUsuario() : "";
+                if (!anterior.equals(conta)) {
+                    agendador.desvincular("LinkedIn", anterior, publicador);
+                }
+                // Publica também os agendamentos recuperados de execuções anteriores da conta
+                agendador.vincular("LinkedIn", conta, publicador);
+            }
+            return conectado;
         }
         return false;
     }
     
+    @Override
+    public void atualizarToken(String accessToken) {
+        linkedInAPI.atualizarAuthToken(accessToken);
+    }
+    
     @Override
     public Publicacao publicar(Conteudo conteudo) {
-        System.out.println("\n=== LINKEDIN ADAPTER - Publicação ===");
+        LOG.debug("Publicação");
         
         if (!linkedInAPI.estaConectado()) {
             throw new IllegalStateException("Não conectado ao LinkedIn");
@@ -56,31 +101,57 @@ public class LinkedInAdapter implements GerenciadorMidiaSocial {
             throw new IllegalArgumentException("Conteúdo inválido para publicação");
         }
         
-        Conteudo processado = estrategiaPublicacao.processarConteudo(conteudo);
+        return executarPublicacao(conteudo);
+    }
+    
+    /**
+     * Envia o conteúdo à API do LinkedIn, sem a validação da estratégia
+     * Usado pela publicação imediata e pelo disparo das publicações agendadas
+     */
+    private Publicacao executarPublicacao(Conteudo conteudo) {
+        if (!linkedInAPI.estaConectado()) {
+            throw new IllegalStateException("Não conectado ao LinkedIn");
+        }
+        
+        Conteudo processado = estrategiaPublicacao.processarConteudo(conteudo, "LinkedIn");
+        String imagemUrl = obterImagemUrl(processado);
         
-        // Adapta o conteúdo unificado para o formato do LinkedIn
         LinkedInAPI.ShareData share;
-        
         if (conteudo.getTipo() == TipoConteudo.ARTIGO) {
             // Publica como artigo
-            share = linkedInAPI.publicarArtigo(
-                "Artigo",
-                processado.getTexto(),
-                processado.getMidias() != null && !processado.getMidias().isEmpty() 
-                    ? processado.getMidias().get(0) : ""
-            );
+            share = linkedInAPI.publicarArtigo("Artigo", processado.getTexto(), imagemUrl);
         } else {
             // Publica como compartilhamento normal
-            String imagemUrl = processado.getMidias() != null && !processado.getMidias().isEmpty() 
-                ? processado.getMidias().get(0) : "";
-            share = linkedInAPI.compartilharConteudo(
-                processado.getTexto(),
-                "",
-                imagemUrl
-            );
+            share = linkedInAPI.compartilharConteudo(processado.getTexto(), "", imagemUrl);
+        }
+        
+        return converterPublicacao(conteudo, share);
+    }
+    
+    @Override
+    public List<ResultadoPublicacao> publicarLote(List<Conteudo> conteudos) {
+        LOG.debug("Publicação em lote");
+        
+        if (!linkedInAPI.estaConectado()) {
+            throw new IllegalStateException("Não conectado ao LinkedIn");
         }
         
-        // Converte o resultado do LinkedIn para o formato unificado
+        return PublicacaoLote.publicar("LinkedIn", conteudos, estrategiaPublicacao,
+            (conteudo, processado) -> conteudo.getTipo() == TipoConteudo.ARTIGO
+                ? new LinkedInAPI.NovoShare("Artigo\n" + processado.getTexto(), "", obterImagemUrl(processado), "ARTICLE")
+                : new LinkedInAPI.NovoShare(processado.getTexto(), "", obterImagemUrl(processado), "SHARE"),
+            linkedInAPI::compartilharLote, this::converterPublicacao);
+    }
+    
+    private String obterImagemUrl(Conteudo processado) {
+        return processado.getMidias() != null && !processado.getMidias().isEmpty() 
+            ? processado.getMidias().get(0) : "";
+    }
+    
+    /**
+     * Converte o resultado do LinkedIn para o formato unificado
+     */
+    private Publicacao converterPublicacao(Conteudo conteudo, LinkedInAPI.ShareData share) {
         return new Publicacao(
             share.getId(),
             "LinkedIn",
@@ -93,33 +164,71 @@ public class LinkedInAdapter implements GerenciadorMidiaSocial {
     
     @Override
     public Publicacao agendar(Conteudo conteudo) {
-        System.out.println("\n=== LINKEDIN ADAPTER - Agendamento ===");
-        System.out.println("Agendando post para: " + conteudo.getDataAgendamento());
+        LOG.debug("Agendamento");
+        LOG.info("Agendando post para: {}", conteudo.getDataAgendamento());
         
-        // Simula agendamento
-        return new Publicacao(
-            "scheduled_li_" + System.currentTimeMillis(),
+        // Registra no agendador, que chamará executarPublicacao na data agendada
+        return agendador.agendar(
+            GeradorIds.getInstance().gerarTexto("scheduled_li_"),
             "LinkedIn",
+            conta,
             conteudo,
-            conteudo.getDataAgendamento(),
-            StatusPublicacao.AGENDADA,
-            "https://linkedin.com/scheduled"
+            "https://linkedin.com/scheduled",
+            this::executarPublicacao
         );
     }
     
+    @Override
+    public boolean cancelarAgendamento(String idPublicacao) {
+        LOG.debug("Cancelamento");
+        return agendador.cancelar(idPublicacao, "LinkedIn", conta);
+    }
+    
     @Override
     public boolean remover(String idPublicacao) {
-        System.out.println("\n=== LINKEDIN ADAPTER - Remoção ===");
+        LOG.debug("Remoção");
         return linkedInAPI.removerShare(idPublicacao);
     }
     
     @Override
     public Estatisticas obterEstatisticas(String idPublicacao) {
-        System.out.println("\n=== LINKEDIN ADAPTER - Estatísticas ===");
+        LOG.debug("Estatísticas");
+        
+        return converterEstatisticas(linkedInAPI.obterAnalytics(idPublicacao));
+    }
+    
+    @Override
+    public Map<String, Estatisticas> obterEstatisticasEmLote(Collection<String> idsPublicacoes) {
+        LOG.debug("Estatísticas em lote");
+        
+        Map<String, Estatisticas> estatisticas = new LinkedHashMap<>();
+        List<String> grupo = new ArrayList<>(LinkedInAPI.MAX_IDS_POR_REQUISICAO);
         
-        // Adapta os analytics do LinkedIn para o formato unificado
-        LinkedInAPI.ShareAnalytics analytics = linkedInAPI.obterAnalytics(idPublicacao);
+        // Agrupa os ids no máximo aceito pela API em cada requisição
+        for (String id : idsPublicacoes) {
+            grupo.add(id);
+            if (grupo.size() == LinkedInAPI.MAX_IDS_POR_REQUISICAO) {
+                coletarEstatisticas(grupo, estatisticas);
+                grupo.clear();
+            }
+        }
+        if (!grupo.isEmpty()) {
+            coletarEstatisticas(grupo, estatisticas);
+        }
         
+        return estatisticas;
+    }
+    
+    private void coletarEstatisticas(List<String> grupo, Map<String, Estatisticas> destino) {
+        for (LinkedInAPI.ShareAnalytics analytics : linkedInAPI.obterAnalyticsEmLote(grupo)) {
+            destino.put(analytics.getShareId(), converterEstatisticas(analytics));
+        }
+    }
+    
+    /**
+     * Converte os analytics do LinkedIn para o formato unificado
+     */
+    private Estatisticas converterEstatisticas(LinkedInAPI.ShareAnalytics analytics) {
         return new Estatisticas(
             analytics.getShareId(),
             analytics.getViews(),
@@ -131,65 +240,79 @@ public class LinkedInAdapter implements GerenciadorMidiaSocial {
     
     @Override
     public List<Publicacao> listarPublicacoes() {
-        System.out.println("\n=== LINKEDIN ADAPTER - Listagem ===");
+        LOG.debug("Listagem");
         
         List<Publicacao> publicacoes = new ArrayList<>();
-        List<LinkedInAPI.ShareData> shares = linkedInAPI.listarShares();
-        
-        for (LinkedInAPI.ShareData share : shares) {
-            List<String> midias = new ArrayList<>();
-            if (share.getImagemUrl() != null && !share.getImagemUrl().isEmpty()) {
-                midias.add(share.getImagemUrl());
-            }
-            
-            TipoConteudo tipo = share.getTipo().equals("ARTICLE") 
-                ? TipoConteudo.ARTIGO : TipoConteudo.TEXTO;
-            
-            Conteudo conteudo = new Conteudo(
-                share.getTexto(),
-                midias,
-                new ArrayList<>(),
-                share.getDataPublicacao(),
-                tipo
-            );
-            
-            publicacoes.add(new Publicacao(
-                share.getId(),
-                "LinkedIn",
-                conteudo,
-                share.getDataPublicacao(),
-                StatusPublicacao.PUBLICADA,
-                "https://linkedin.com/posts/" + share.getId()
-            ));
+        for (LinkedInAPI.ShareData share : linkedInAPI.listarShares()) {
+            publicacoes.add(converterRegistro(share));
         }
         
         return publicacoes;
     }
     
+    @Override
+    public PaginaPublicacoes listarPublicacoes(String cursor, int tamanhoPagina) {
+        LOG.debug("Listagem paginada");
+        
+        IndiceTemporal.Pagina<LinkedInAPI.ShareData> pagina = linkedInAPI.listarShares(cursor, tamanhoPagina);
+        List<Publicacao> publicacoes = new ArrayList<>(pagina.getItens().size());
+        for (LinkedInAPI.ShareData share : pagina.getItens()) {
+            publicacoes.add(converterRegistro(share));
+        }
+        
+        return new PaginaPublicacoes(publicacoes, pagina.getProximoCursor());
+    }
+    
+    @Override
+    public Stream<Publicacao> streamPublicacoes() {
+        return linkedInAPI.streamShares().map(this::converterRegistro);
+    }
+    
+    /**
+     * Reconstrói a publicação unificada a partir de um share armazenado
+     */
+    private Publicacao converterRegistro(LinkedInAPI.ShareData share) {
+        List<String> midias = new ArrayList<>();
+        if (share.getImagemUrl() != null && !share.getImagemUrl().isEmpty()) {
+            midias.add(share.getImagemUrl());
+        }
+        
+        TipoConteudo tipo = share.getTipo().equals("ARTICLE") 
+            ? TipoConteudo.ARTIGO : TipoConteudo.TEXTO;
+        
+        Conteudo conteudo = new Conteudo(
+            share.getTexto(),
+            midias,
+            new ArrayList<>(),
+            share.getDataPublicacao(),
+            tipo
+        );
+        
+        return converterPublicacao(conteudo, share);
+    }
+    
     @Override
     public String getNomePlataforma() {
         return "LinkedIn";
     }
     
+    @Override
+    public void encerrar() {
+        agendador.desvincular("LinkedIn", conta, publicador);
+    }
+    
     @Override
     public boolean validarConteudo(Conteudo conteudo) {
-        // LinkedIn tem limite de 3000 caracteres para posts
-        if (conteudo.getTexto() == null || conteudo.getTexto().isEmpty()) {
-            System.out.println("Texto não pode estar vazio no LinkedIn");
-            return false;
-        }
-        
-        if (conteudo.getTexto().length() > 3000) {
-            System.out.println("Texto muito longo para LinkedIn (máx 3000 caracteres)");
-            return false;
+        // Regras declaradas em ProvedorLinkedIn
+        boolean valido = true;
+        for (Violacao violacao : validador.validar(conteudo, mascaraValidacao)) {
+            LOG.warn(violacao.getMensagem());
+            valido &= !violacao.isErro();
         }
         
-        // Conteúdo profissional - evitar muitas hashtags
-        if (conteudo.getHashtags() != null && conteudo.getHashtags().size() > 5) {
-            System.out.println("Recomendado máximo de 5 hashtags no LinkedIn");
+        if (valido) {
+            LOG.debug("Conteúdo válido para LinkedIn");
         }
-        
-        System.out.println("Conteúdo válido para LinkedIn");
-        return true;
+        return valido;
     }
 }
@@ -0,0 +1,83 @@
+package adapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import modelo.Conteudo;
+import modelo.Publicacao;
+import modelo.ResultadoPublicacao;
+import strategy.EstrategiaPublicacao;
+
+/**
+ * Publicação em lote comum aos adapters
+ * Valida, processa e converte cada conteúdo antes de uma única chamada à API;
+ * um conteúdo inválido ou cuja transformação falhe vira a falha daquele item,
+ * sem impedir o envio dos demais.
+ */
+final class PublicacaoLote {
+
+    private PublicacaoLote() {
+    }
+
+    /**
+     * @param plataforma Nome da plataforma nos resultados e no processamento
+     * @param conteudos Conteúdos a publicar
+     * @param estrategia Estratégia que valida e processa cada conteúdo
+     * @param converter Recebe o conteúdo original e o processado e devolve o
+     *        item no formato da API
+     * @param enviar Envia os itens numa única requisição e devolve os
+     *        registros criados, na mesma ordem
+     * @param converterPublicacao Recebe o conteúdo original e o registro
+     *        criado e devolve a publicação unificada
+     * @return Resultado de cada conteúdo, na mesma ordem da lista recebida
+     */
+    static <N, R> List<ResultadoPublicacao> publicar(String plataforma,
+                                                     List<Conteudo> conteudos,
+                                                     EstrategiaPublicacao estrategia,
+                                                     BiFunction<Conteudo, Conteudo, N> converter,
+                                                     Function<List<N>, List<R>> enviar,
+                                                     BiFunction<Conteudo, R, Publicacao> converterPublicacao) {
+        ResultadoPublicacao[] resultados = new ResultadoPublicacao[conteudos.size()];
+        int[] posicoes = new int[conteudos.size()];
+        List<N> novos = new ArrayList<>(conteudos.size());
+
+        // Valida e processa o lote inteiro antes de qualquer chamada à API
+        for (int i = 0; i < conteudos.size(); i++) {
+            Conteudo conteudo = conteudos.get(i);
+            try {
+                if (!estrategia.validar(conteudo)) {
+                    resultados[i] = ResultadoPublicacao.falha(plataforma,
+                        new IllegalArgumentException("Conteúdo inválido para publicação"));
+                    continue;
+                }
+                N novo = converter.apply(conteudo, estrategia.processarConteudo(conteudo, plataforma));
+                posicoes[novos.size()] = i;
+                novos.add(novo);
+            } catch (RuntimeException e) {
+                resultados[i] = ResultadoPublicacao.falha(plataforma, e);
+            }
+        }
+
+        if (!novos.isEmpty()) {
+            List<R> criados = enviar.apply(novos);
+            for (int j = 0; j < novos.size(); j++) {
+                int i = posicoes[j];
+                if (j >= criados.size()) {
+                    resultados[i] = ResultadoPublicacao.falha(plataforma,
+                        new IllegalStateException("Publicação sem resultado no lote"));
+                    continue;
+                }
+                try {
+                    resultados[i] = ResultadoPublicacao.sucesso(plataforma,
+                        converterPublicacao.apply(conteudos.get(i), criados.get(j)));
+                } catch (RuntimeException e) {
+                    resultados[i] = ResultadoPublicacao.falha(plataforma, e);
+                }
+            }
+        }
+
+        return Arrays.asList(resultados);
+    }
+}
@@ -1,12 +1,24 @@
 package adapter;
 
+import agendamento.AgendadorPublicacoes;
+import api.IndiceTemporal;
 import api.TikTokAPI;
 import interfaces.GerenciadorMidiaSocial;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import log.Log;
+import log.Logger;
 import modelo.*;
+import servico.GeradorIds;
 import strategy.EstrategiaAutenticacao;
 import strategy.EstrategiaPublicacao;
+import validacao.ValidadorConteudo;
+import validacao.Violacao;
 
 /**
  * Adapter para a API do TikTok
@@ -14,37 +26,70 @@ import strategy.EstrategiaPublicacao;
  */
 public class TikTokAdapter implements GerenciadorMidiaSocial {
     
+    private static final Logger LOG = Log.getLogger(TikTokAdapter.class);
+    
     private final TikTokAPI tikTokAPI;
     private final EstrategiaAutenticacao estrategiaAuth;
     private final EstrategiaPublicacao estrategiaPublicacao;
+    private final AgendadorPublicacoes agendador;
+    private final ValidadorConteudo validador;
+    private final long mascaraValidacao;
+    // Conta autenticada, gravada com os agendamentos
+    private volatile String conta = "";
+    // Publicador vinculado ao agendador, guardado para poder ser desvinculado
+    private final Function<Conteudo, Publicacao> publicador = this::executarPublicacao;
     
     public TikTokAdapter(EstrategiaAutenticacao estrategiaAuth,
-                        EstrategiaPublicacao estrategiaPublicacao) {
+                         EstrategiaPublicacao estrategiaPublicacao) {
+        this(estrategiaAuth, estrategiaPublicacao, AgendadorPublicacoes.getInstance());
+    }
+    
+    public TikTokAdapter(EstrategiaAutenticacao estrategiaAuth,
+                         EstrategiaPublicacao estrategiaPublicacao,
+                         AgendadorPublicacoes agendador) {
         this.tikTokAPI = new TikTokAPI();
         this.estrategiaAuth = estrategiaAuth;
         this.estrategiaPublicacao = estrategiaPublicacao;
+        this.agendador = agendador;
+        this.validador = ValidadorConteudo.getInstance();
+        this.mascaraValidacao = validador.mascara("TikTok");
     }
     
     @Override
     public boolean autenticar(Credenciais credenciais) {
-        System.out.println("\n=== TIKTOK ADAPTER - Autenticação ===");
+        LOG.debug("Autenticação");
         
         // Usa a estratégia de autenticação
         boolean authSuccess = estrategiaAuth.autenticar(credenciais);
         
         if (authSuccess) {
             // Adapta para a API específica do TikTok
-            return tikTokAPI.fazerLogin(
+            boolean conectado = tikTokAPI.fazerLogin(
                 credenciais.getUsuario(),
                 credenciais.getAccessToken()
             );
+            if (conectado) {
+                String anterior = conta;
+                conta = credenciais.getUsuario() != null ? credenciais.getUsuario() : "";
+                if (!anterior.equals(conta)) {
+                    agendador.desvincular("TikTok", anterior, publicador);
+                }
+                // Publica também os agendamentos recuperados de execuções anteriores da conta
+                agendador.vincular("TikTok", conta, publicador);
+            }
+            return conectado;
         }
         return false;
     }
     
+    @Override
+    public void atualizarToken(String accessToken) {
+        tikTokAPI.atualizarSessionToken(accessToken);
+    }
+    
     @Override
     public Publicacao publicar(Conteudo conteudo) {
-        System.out.println("\n=== TIKTOK ADAPTER - Publicação ===");
+        LOG.debug("Publicação");
         
         if (!tikTokAPI.estaLogado()) {
             throw new IllegalStateException("Não logado no TikTok");
@@ -55,20 +100,61 @@ public class TikTokAdapter implements GerenciadorMidiaSocial {
             throw new IllegalArgumentException("Conteúdo inválido para publicação");
         }
         
-        Conteudo processado = estrategiaPublicacao.processarConteudo(conteudo);
+        return executarPublicacao(conteudo);
+    }
+    
+    /**
+     * Envia o conteúdo à API do TikTok, sem a validação da estratégia
+     * Usado pela publicação imediata e pelo disparo das publicações agendadas
+     */
+    private Publicacao executarPublicacao(Conteudo conteudo) {
+        if (!tikTokAPI.estaLogado()) {
+            throw new IllegalStateException("Não logado no TikTok");
+        }
         
-        // Adapta o conteúdo unificado para o formato do TikTok
-        String videoUrl = processado.getMidias() != null && !processado.getMidias().isEmpty() 
-            ? processado.getMidias().get(0) : "default_video.mp4";
+        TikTokAPI.NovoVideo novo = converterNovoVideo(estrategiaPublicacao.processarConteudo(conteudo, "TikTok"));
         
         TikTokAPI.VideoData video = tikTokAPI.postarVideo(
+            novo.getDescricao(),
+            novo.getVideoUrl(),
+            novo.getHashtags(),
+            novo.getMusica()
+        );
+        
+        return converterPublicacao(conteudo, video);
+    }
+    
+    @Override
+    public List<ResultadoPublicacao> publicarLote(List<Conteudo> conteudos) {
+        LOG.debug("Publicação em lote");
+        
+        if (!tikTokAPI.estaLogado()) {
+            throw new IllegalStateException("Não logado no TikTok");
+        }
+        
+        return PublicacaoLote.publicar("TikTok", conteudos, estrategiaPublicacao,
+            (conteudo, processado) -> converterNovoVideo(processado),
+            tikTokAPI::postarVideos, this::converterPublicacao);
+    }
+    
+    /**
+     * Adapta o conteúdo unificado para o formato do TikTok
+     */
+    private TikTokAPI.NovoVideo converterNovoVideo(Conteudo processado) {
+        String videoUrl = processado.getMidias() != null && !processado.getMidias().isEmpty() 
+            ? processado.getMidias().get(0) : "default_video.mp4";
+        return new TikTokAPI.NovoVideo(
             processado.getTexto(),
             videoUrl,
             processado.getHashtags(),
             "trending_sound.mp3"
         );
-        
-        // Converte o resultado do TikTok para o formato unificado
+    }
+    
+    /**
+     * Converte o resultado do TikTok para o formato unificado
+     */
+    private Publicacao converterPublicacao(Conteudo conteudo, TikTokAPI.VideoData video) {
         return new Publicacao(
             video.getId(),
             "TikTok",
@@ -81,33 +167,71 @@ public class TikTokAdapter implements GerenciadorMidiaSocial {
     
     @Override
     public Publicacao agendar(Conteudo conteudo) {
-        System.out.println("\n=== TIKTOK ADAPTER - Agendamento ===");
-        System.out.println("Agendando vídeo para: " + conteudo.getDataAgendamento());
+        LOG.debug("Agendamento");
+        LOG.info("Agendando vídeo para: {}", conteudo.getDataAgendamento());
         
-        // Simula agendamento
-        return new Publicacao(
-            "scheduled_tt_" + System.currentTimeMillis(),
+        // Registra no agendador, que chamará executarPublicacao na data agendada
+        return agendador.agendar(
+            GeradorIds.getInstance().gerarTexto("scheduled_tt_"),
             "TikTok",
+            conta,
             conteudo,
-            conteudo.getDataAgendamento(),
-            StatusPublicacao.AGENDADA,
-            "https://tiktok.com/scheduled"
+            "https://tiktok.com/scheduled",
+            this::executarPublicacao
         );
     }
     
+    @Override
+    public boolean cancelarAgendamento(String idPublicacao) {
+        LOG.debug("Cancelamento");
+        return agendador.cancelar(idPublicacao, "TikTok", conta);
+    }
+    
     @Override
     public boolean remover(String idPublicacao) {
-        System.out.println("\n=== TIKTOK ADAPTER - Remoção ===");
+        LOG.debug("Remoção");
         return tikTokAPI.deletarVideo(idPublicacao);
     }
     
     @Override
     public Estatisticas obterEstatisticas(String idPublicacao) {
-        System.out.println("\n=== TIKTOK ADAPTER - Estatísticas ===");
+        LOG.debug("Estatísticas");
+        
+        return converterEstatisticas(tikTokAPI.obterStats(idPublicacao));
+    }
+    
+    @Override
+    public Map<String, Estatisticas> obterEstatisticasEmLote(Collection<String> idsPublicacoes) {
+        LOG.debug("Estatísticas em lote");
         
-        // Adapta as stats do TikTok para o formato unificado
-        TikTokAPI.VideoStats stats = tikTokAPI.obterStats(idPublicacao);
+        Map<String, Estatisticas> estatisticas = new LinkedHashMap<>();
+        List<String> grupo = new ArrayList<>(TikTokAPI.MAX_IDS_POR_REQUISICAO);
+        
+        // Agrupa os ids no máximo aceito pela API em cada requisição
+        for (String id : idsPublicacoes) {
+            grupo.add(id);
+            if (grupo.size() == TikTokAPI.MAX_IDS_POR_REQUISICAO) {
+                coletarEstatisticas(grupo, estatisticas);
+                grupo.clear();
+            }
+        }
+        if (!grupo.isEmpty()) {
+            coletarEstatisticas(grupo, estatisticas);
+        }
         
+        return estatisticas;
+    }
+    
+    private void coletarEstatisticas(List<String> grupo, Map<String, Estatisticas> destino) {
+        for (TikTokAPI.VideoStats stats : tikTokAPI.obterStatsEmLote(grupo)) {
+            destino.put(stats.getVideoId(), converterEstatisticas(stats));
+        }
+    }
+    
+    /**
+     * Converte as stats do TikTok para o formato unificado
+     */
+    private Estatisticas converterEstatisticas(TikTokAPI.VideoStats stats) {
         return new Estatisticas(
             stats.getVideoId(),
             stats.getViews(),
@@ -119,63 +243,76 @@ public class TikTokAdapter implements GerenciadorMidiaSocial {
     
     @Override
     public List<Publicacao> listarPublicacoes() {
-        System.out.println("\n=== TIKTOK ADAPTER - Listagem ===");
+        LOG.debug("Listagem");
         
         List<Publicacao> publicacoes = new ArrayList<>();
-        List<TikTokAPI.VideoData> videos = tikTokAPI.listarVideos();
-        
-        for (TikTokAPI.VideoData video : videos) {
-            List<String> midias = new ArrayList<>();
-            if (video.getVideoUrl() != null) {
-                midias.add(video.getVideoUrl());
-            }
-            
-            Conteudo conteudo = new Conteudo(
-                video.getDescricao(),
-                midias,
-                video.getHashtags(),
-                video.getDataUpload(),
-                TipoConteudo.VIDEO
-            );
-            
-            publicacoes.add(new Publicacao(
-                video.getId(),
-                "TikTok",
-                conteudo,
-                video.getDataUpload(),
-                StatusPublicacao.PUBLICADA,
-                "https://tiktok.com/@user/video/" + video.getId()
-            ));
+        for (TikTokAPI.VideoData video : tikTokAPI.listarVideos()) {
+            publicacoes.add(converterRegistro(video));
         }
         
         return publicacoes;
     }
     
+    @Override
+    public PaginaPublicacoes listarPublicacoes(String cursor, int tamanhoPagina) {
+        LOG.debug("Listagem paginada");
+        
+        IndiceTemporal.Pagina<TikTokAPI.VideoData> pagina = tikTokAPI.listarVideos(cursor, tamanhoPagina);
+        List<Publicacao> publicacoes = new ArrayList<>(pagina.getItens().size());
+        for (TikTokAPI.VideoData video : pagina.getItens()) {
+            publicacoes.add(converterRegistro(video));
+        }
+        
+        return new PaginaPublicacoes(publicacoes, pagina.getProximoCursor());
+    }
+    
+    @Override
+    public Stream<Publicacao> streamPublicacoes() {
+        return tikTokAPI.streamVideos().map(this::converterRegistro);
+    }
+    
+    /**
+     * Reconstrói a publicação unificada a partir de um vídeo armazenado
+     */
+    private Publicacao converterRegistro(TikTokAPI.VideoData video) {
+        List<String> midias = new ArrayList<>();
+        if (video.getVideoUrl() != null) {
+            midias.add(video.getVideoUrl());
+        }
+        
+        Conteudo conteudo = new Conteudo(
+            video.getDescricao(),
+            midias,
+            video.getHashtags(),
+            video.getDataUpload(),
+            TipoConteudo.VIDEO
+        );
+        
+        return converterPublicacao(conteudo, video);
+    }
+    
     @Override
     public String getNomePlataforma() {
         return "TikTok";
     }
     
+    @Override
+    public void encerrar() {
+        agendador.desvincular("TikTok", conta, publicador);
+    }
+    
     @Override
     public boolean validarConteudo(Conteudo conteudo) {
-        // TikTok requer vídeo
-        if (conteudo.getMidias() == null || conteudo.getMidias().isEmpty()) {
-            System.out.println("TikTok requer um vídeo");
-            return false;
-        }
-        
-        if (conteudo.getTipo() != TipoConteudo.VIDEO && conteudo.getTipo() != TipoConteudo.REELS) {
-            System.out.println("TikTok aceita apenas vídeos");
-            return false;
+        // Regras declaradas em ProvedorTikTok
+        boolean valido = true;
+        for (Violacao violacao : validador.validar(conteudo, mascaraValidacao)) {
+            LOG.warn(violacao.getMensagem());
+            valido &= !violacao.isErro();
         }
         
-        // Descrição pode ter até 2200 caracteres
-        if (conteudo.getTexto() != null && conteudo.getTexto().length() > 2200) {
-            System.out.println("Descrição muito longa (máx 2200 caracteres)");
-            return false;
+        if (valido) {
+            LOG.debug("Conteúdo válido para TikTok");
         }
-        
-        System.out.println("Conteúdo válido para TikTok");
-        return true;
+        return valido;
     }
 }
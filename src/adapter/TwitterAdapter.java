@@ -1,12 +1,24 @@
 package adapter;
 
+import agendamento.AgendadorPublicacoes;
+import api.IndiceTemporal;
 import api.TwitterAPI;
 import interfaces.GerenciadorMidiaSocial;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import log.Log;
+import log.Logger;
 import modelo.*;
+import servico.GeradorIds;
 import strategy.EstrategiaAutenticacao;
 import strategy.EstrategiaPublicacao;
+import validacao.ValidadorConteudo;
+import validacao.Violacao;
 
 /**
  * Adapter para a API do Twitter
@@ -14,34 +26,62 @@ import strategy.EstrategiaPublicacao;
  */
 public class TwitterAdapter implements GerenciadorMidiaSocial {
     
+    private static final Logger LOG = Log.getLogger(TwitterAdapter.class);
+    
     private final TwitterAPI twitterAPI;
     private final EstrategiaAutenticacao estrategiaAuth;
     private final EstrategiaPublicacao estrategiaPublicacao;
+    private final AgendadorPublicacoes agendador;
+    private final ValidadorConteudo validador;
+    private final long mascaraValidacao;
+    // Conta autenticada, gravada com os agendamentos
+    private volatile String conta = "";
+    // Publicador vinculado ao agendador, guardado para poder ser desvinculado
+    private final Function<Conteudo, Publicacao> publicador = this::executarPublicacao;
+    
+    public TwitterAdapter(EstrategiaAutenticacao estrategiaAuth,
+                          EstrategiaPublicacao estrategiaPublicacao) {
+        this(estrategiaAuth, estrategiaPublicacao, AgendadorPublicacoes.getInstance());
+    }
     
-    public TwitterAdapter(EstrategiaAutenticacao estrategiaAuth, 
-                         EstrategiaPublicacao estrategiaPublicacao) {
+    public TwitterAdapter(EstrategiaAutenticacao estrategiaAuth,
+                          EstrategiaPublicacao estrategiaPublicacao,
+                          AgendadorPublicacoes agendador) {
         this.twitterAPI = new TwitterAPI();
         this.estrategiaAuth = estrategiaAuth;
         this.estrategiaPublicacao = estrategiaPublicacao;
+        this.agendador = agendador;
+        this.validador = ValidadorConteudo.getInstance();
+        this.mascaraValidacao = validador.mascara("Twitter");
     }
     
     @Override
     public boolean autenticar(Credenciais credenciais) {
-        System.out.println("\n=== TWITTER ADAPTER - Autenticação ===");
+        LOG.debug("Autenticação");
         
         // Usa a estratégia de autenticação
         boolean authSuccess = estrategiaAuth.autenticar(credenciais);
         
         if (authSuccess) {
             // Adapta para a API específica do Twitter
-            return twitterAPI.conectar(credenciais.getApiKey(), credenciais.getApiSecret());
+            boolean conectado = twitterAPI.conectar(credenciais.getApiKey(), credenciais.getApiSecret());
+            if (conectado) {
+                String anterior = conta;
+                conta = credenciais.getUsuario() != null ? credenciais.getUsuario() : "";
+                if (!anterior.equals(conta)) {
+                    agendador.desvincular("Twitter", anterior, publicador);
+                }
+                // Publica também os agendamentos recuperados de execuções anteriores da conta
+                agendador.vincular("Twitter", conta, publicador);
+            }
+            return conectado;
         }
         return false;
     }
     
     @Override
     public Publicacao publicar(Conteudo conteudo) {
-        System.out.println("\n=== TWITTER ADAPTER - Publicação ===");
+        LOG.debug("Publicação");
         
         if (!twitterAPI.estaConectado()) {
             throw new IllegalStateException("Não autenticado no Twitter");
@@ -52,7 +92,19 @@ public class TwitterAdapter implements GerenciadorMidiaSocial {
             throw new IllegalArgumentException("Conteúdo inválido para publicação");
         }
         
-        Conteudo processado = estrategiaPublicacao.processarConteudo(conteudo);
+        return executarPublicacao(conteudo);
+    }
+    
+    /**
+     * Envia o conteúdo à API do Twitter, sem a validação da estratégia
+     * Usado pela publicação imediata e pelo disparo das publicações agendadas
+     */
+    private Publicacao executarPublicacao(Conteudo conteudo) {
+        if (!twitterAPI.estaConectado()) {
+            throw new IllegalStateException("Não autenticado no Twitter");
+        }
+        
+        Conteudo processado = estrategiaPublicacao.processarConteudo(conteudo, "Twitter");
         
         // Adapta o conteúdo unificado para o formato do Twitter
         TwitterAPI.TweetData tweet = twitterAPI.criarTweet(
@@ -61,7 +113,30 @@ public class TwitterAdapter implements GerenciadorMidiaSocial {
             processado.getHashtags()
         );
         
-        // Converte o resultado do Twitter para o formato unificado
+        return converterPublicacao(conteudo, tweet);
+    }
+    
+    @Override
+    public List<ResultadoPublicacao> publicarLote(List<Conteudo> conteudos) {
+        LOG.debug("Publicação em lote");
+        
+        if (!twitterAPI.estaConectado()) {
+            throw new IllegalStateException("Não autenticado no Twitter");
+        }
+        
+        return PublicacaoLote.publicar("Twitter", conteudos, estrategiaPublicacao,
+            (conteudo, processado) -> new TwitterAPI.NovoTweet(
+                processado.getTexto(),
+                processado.getMidias(),
+                processado.getHashtags()
+            ),
+            twitterAPI::criarTweets, this::converterPublicacao);
+    }
+    
+    /**
+     * Converte o resultado do Twitter para o formato unificado
+     */
+    private Publicacao converterPublicacao(Conteudo conteudo, TwitterAPI.TweetData tweet) {
         return new Publicacao(
             tweet.getId(),
             "Twitter",
@@ -74,33 +149,71 @@ public class TwitterAdapter implements GerenciadorMidiaSocial {
     
     @Override
     public Publicacao agendar(Conteudo conteudo) {
-        System.out.println("\n=== TWITTER ADAPTER - Agendamento ===");
-        System.out.println("Agendando tweet para: " + conteudo.getDataAgendamento());
+        LOG.debug("Agendamento");
+        LOG.info("Agendando tweet para: {}", conteudo.getDataAgendamento());
         
-        // Simula agendamento (em produção, usaria scheduler real)
-        return new Publicacao(
-            "scheduled_tw_" + System.currentTimeMillis(),
+        // Registra no agendador, que chamará executarPublicacao na data agendada
+        return agendador.agendar(
+            GeradorIds.getInstance().gerarTexto("scheduled_tw_"),
             "Twitter",
+            conta,
             conteudo,
-            conteudo.getDataAgendamento(),
-            StatusPublicacao.AGENDADA,
-            "https://twitter.com/scheduled"
+            "https://twitter.com/scheduled",
+            this::executarPublicacao
         );
     }
     
+    @Override
+    public boolean cancelarAgendamento(String idPublicacao) {
+        LOG.debug("Cancelamento");
+        return agendador.cancelar(idPublicacao, "Twitter", conta);
+    }
+    
     @Override
     public boolean remover(String idPublicacao) {
-        System.out.println("\n=== TWITTER ADAPTER - Remoção ===");
+        LOG.debug("Remoção");
         return twitterAPI.removerTweet(idPublicacao);
     }
     
     @Override
     public Estatisticas obterEstatisticas(String idPublicacao) {
-        System.out.println("\n=== TWITTER ADAPTER - Estatísticas ===");
+        LOG.debug("Estatísticas");
+        
+        return converterEstatisticas(twitterAPI.obterMetricas(idPublicacao));
+    }
+    
+    @Override
+    public Map<String, Estatisticas> obterEstatisticasEmLote(Collection<String> idsPublicacoes) {
+        LOG.debug("Estatísticas em lote");
         
-        // Adapta as métricas do Twitter para o formato unificado
-        TwitterAPI.TweetMetrics metrics = twitterAPI.obterMetricas(idPublicacao);
+        Map<String, Estatisticas> estatisticas = new LinkedHashMap<>();
+        List<String> grupo = new ArrayList<>(TwitterAPI.MAX_IDS_POR_REQUISICAO);
         
+        // Agrupa os ids no máximo aceito pela API em cada requisição
+        for (String id : idsPublicacoes) {
+            grupo.add(id);
+            if (grupo.size() == TwitterAPI.MAX_IDS_POR_REQUISICAO) {
+                coletarEstatisticas(grupo, estatisticas);
+                grupo.clear();
+            }
+        }
+        if (!grupo.isEmpty()) {
+            coletarEstatisticas(grupo, estatisticas);
+        }
+        
+        return estatisticas;
+    }
+    
+    private void coletarEstatisticas(List<String> grupo, Map<String, Estatisticas> destino) {
+        for (TwitterAPI.TweetMetrics metrics : twitterAPI.obterMetricasEmLote(grupo)) {
+            destino.put(metrics.getTweetId(), converterEstatisticas(metrics));
+        }
+    }
+    
+    /**
+     * Converte as métricas do Twitter para o formato unificado
+     */
+    private Estatisticas converterEstatisticas(TwitterAPI.TweetMetrics metrics) {
         return new Estatisticas(
             metrics.getTweetId(),
             metrics.getImpressions(),
@@ -112,53 +225,71 @@ public class TwitterAdapter implements GerenciadorMidiaSocial {
     
     @Override
     public List<Publicacao> listarPublicacoes() {
-        System.out.println("\n=== TWITTER ADAPTER - Listagem ===");
+        LOG.debug("Listagem");
         
         List<Publicacao> publicacoes = new ArrayList<>();
-        List<TwitterAPI.TweetData> tweets = twitterAPI.listarTweets();
-        
-        for (TwitterAPI.TweetData tweet : tweets) {
-            Conteudo conteudo = new Conteudo(
-                tweet.getTexto(),
-                tweet.getMidias(),
-                tweet.getHashtags(),
-                tweet.getDataCriacao(),
-                TipoConteudo.TEXTO
-            );
-            
-            publicacoes.add(new Publicacao(
-                tweet.getId(),
-                "Twitter",
-                conteudo,
-                tweet.getDataCriacao(),
-                StatusPublicacao.PUBLICADA,
-                "https://twitter.com/post/" + tweet.getId()
-            ));
+        for (TwitterAPI.TweetData tweet : twitterAPI.listarTweets()) {
+            publicacoes.add(converterRegistro(tweet));
         }
         
         return publicacoes;
     }
     
+    @Override
+    public PaginaPublicacoes listarPublicacoes(String cursor, int tamanhoPagina) {
+        LOG.debug("Listagem paginada");
+        
+        IndiceTemporal.Pagina<TwitterAPI.TweetData> pagina = twitterAPI.listarTweets(cursor, tamanhoPagina);
+        List<Publicacao> publicacoes = new ArrayList<>(pagina.getItens().size());
+        for (TwitterAPI.TweetData tweet : pagina.getItens()) {
+            publicacoes.add(converterRegistro(tweet));
+        }
+        
+        return new PaginaPublicacoes(publicacoes, pagina.getProximoCursor());
+    }
+    
+    @Override
+    public Stream<Publicacao> streamPublicacoes() {
+        return twitterAPI.streamTweets().map(this::converterRegistro);
+    }
+    
+    /**
+     * Reconstrói a publicação unificada a partir de um tweet armazenado
+     */
+    private Publicacao converterRegistro(TwitterAPI.TweetData tweet) {
+        Conteudo conteudo = new Conteudo(
+            tweet.getTexto(),
+            tweet.getMidias(),
+            tweet.getHashtags(),
+            tweet.getDataCriacao(),
+            TipoConteudo.TEXTO
+        );
+        
+        return converterPublicacao(conteudo, tweet);
+    }
+    
     @Override
     public String getNomePlataforma() {
         return "Twitter";
     }
     
+    @Override
+    public void encerrar() {
+        agendador.desvincular("Twitter", conta, publicador);
+    }
+    
     @Override
     public boolean validarConteudo(Conteudo conteudo) {
-        // Twitter tem limite de 280 caracteres
-        if (conteudo.getTexto() == null || conteudo.getTexto().length() > 280) {
-            System.out.println("Texto inválido para Twitter (máx 280 caracteres)");
-            return false;
+        // Regras declaradas em ProvedorTwitter
+        boolean valido = true;
+        for (Violacao violacao : validador.validar(conteudo, mascaraValidacao)) {
+            LOG.warn(violacao.getMensagem());
+            valido &= !violacao.isErro();
         }
         
-        // Máximo de 4 imagens por tweet
-        if (conteudo.getMidias() != null && conteudo.getMidias().size() > 4) {
-            System.out.println("Máximo de 4 imagens por tweet");
-            return false;
+        if (valido) {
+            LOG.debug("Conteúdo válido para Twitter");
         }
-        
-        System.out.println("Conteúdo válido para Twitter");
-        return true;
+        return valido;
     }
 }
@@ -0,0 +1,435 @@
+package agendamento;
+
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import log.Log;
+import log.Logger;
+import modelo.Conteudo;
+import modelo.Publicacao;
+import modelo.StatusPublicacao;
+import persistencia.ArquivoAgendamentos;
+import provedor.CatalogoPlataformas;
+import servico.Executores;
+
+/**
+ * Motor de agendamento de publicações
+ * Guarda os conteúdos agendados numa roda de temporização e, quando a data de
+ * agendamento chega, entrega cada um ao adapter que o agendou
+ *
+ * A publicação devolvida por {@link #agendar} descreve o agendamento e não é
+ * alterada depois; a publicação criada na plataforma, a falha ou o
+ * cancelamento chegam pelo futuro de {@link #resultado(String)}.
+ *
+ * Com um {@link ArquivoAgendamentos}, os agendamentos sobrevivem ao reinício:
+ * os pendentes voltam para a roda na criação do agendador, e os vencidos
+ * durante a parada seguem a {@link PoliticaRecuperacao}. Como o adapter que os
+ * agendou não existe mais, são publicados pelo publicador que um adapter da
+ * mesma plataforma e conta registrar em {@link #vincular(String, String, Function)};
+ * o adapter encerrado retira o seu em {@link #desvincular(String, String, Function)}.
+ */
+public class AgendadorPublicacoes {
+
+    private static final Logger LOG = Log.getLogger(AgendadorPublicacoes.class);
+
+    private static final long DURACAO_TICK_MILLIS = 10;
+    private static final String PROPRIEDADE_ARQUIVO = "agendador.arquivo";
+    private static final String PROPRIEDADE_RECUPERACAO = "agendador.recuperacao";
+
+    private static AgendadorPublicacoes instance;
+
+    private final RodaTemporizacao<Agendamento> roda;
+    private final Map<String, Agendamento> agendamentos = new ConcurrentHashMap<>();
+    // Agendamentos retirados do mapa e ainda não publicados, que seguem no
+    // arquivo ao compactar; protegido por si mesmo
+    private final Map<String, Agendamento> emDisparo = new HashMap<>();
+    private final ExecutorService executor;
+    private final ArquivoAgendamentos arquivo;
+    private final AtomicBoolean compactando = new AtomicBoolean();
+    private final Thread relogio;
+    private volatile boolean ativo = true;
+
+    // Publicadores por plataforma e conta, para os agendamentos recuperados do arquivo
+    private final Map<String, Function<Conteudo, Publicacao>> publicadores = new ConcurrentHashMap<>();
+    // Agendamentos recuperados vencidos antes de a conta ter publicador; protegido por si mesmo
+    private final Map<String, List<Agendamento>> semPublicador = new HashMap<>();
+
+    public AgendadorPublicacoes(long duracaoTickMillis, ExecutorService executor) {
+        this(duracaoTickMillis, executor, null, PoliticaRecuperacao.publicarTodas());
+    }
+
+    /**
+     * @param arquivo Arquivo dos agendamentos, ou null para mantê-los só em memória
+     * @param politica Política para os agendamentos recuperados já vencidos
+     */
+    public AgendadorPublicacoes(long duracaoTickMillis, ExecutorService executor,
+                                ArquivoAgendamentos arquivo, PoliticaRecuperacao politica) {
+        this.roda = new RodaTemporizacao<>(duracaoTickMillis, System.currentTimeMillis());
+        this.executor = executor;
+        this.arquivo = arquivo;
+        if (arquivo != null) {
+            recuperar(arquivo.retirarCarregados(), politica);
+        }
+        this.relogio = new Thread(this::executarRelogio, "agendador-publicacoes");
+        this.relogio.setDaemon(true);
+        this.relogio.start();
+    }
+
+    /**
+     * Singleton - obtém o agendador compartilhado pelos adapters
+     */
+    public static synchronized AgendadorPublicacoes getInstance() {
+        if (instance == null) {
+            String arquivo = System.getProperty(PROPRIEDADE_ARQUIVO);
+            String recuperacao = System.getProperty(PROPRIEDADE_RECUPERACAO, "PUBLICAR");
+            instance = new AgendadorPublicacoes(DURACAO_TICK_MILLIS,
+                Executores.criarPadrao("agendador-publicacoes-disparo"),
+                arquivo != null ? new ArquivoAgendamentos(Paths.get(arquivo)) : null,
+                PoliticaRecuperacao.ler(recuperacao));
+        }
+        return instance;
+    }
+
+    /**
+     * Agenda um conteúdo para ser publicado na data de agendamento
+     * @param id ID da publicação agendada
+     * @param plataforma Nome da plataforma
+     * @param conta Conta que agendou, para publicar o agendamento recuperado na mesma conta
+     * @param conteudo Conteúdo a ser publicado
+     * @param url URL provisória da publicação agendada
+     * @param publicador Função do adapter que efetivamente publica o conteúdo
+     * @return Publicação com status AGENDADA
+     */
+    public Publicacao agendar(String id, String plataforma, String conta, Conteudo conteudo, String url,
+                              Function<Conteudo, Publicacao> publicador) {
+        LocalDateTime data = conteudo.getDataAgendamento();
+        if (data == null) {
+            throw new IllegalArgumentException("Data de agendamento não especificada");
+        }
+
+        Publicacao publicacao = new Publicacao(id, plataforma, conteudo, data,
+                                               StatusPublicacao.AGENDADA, url);
+        Agendamento agendamento = new Agendamento(publicacao, conta, publicador,
+            CatalogoPlataformas.getInstance().nomeCanonico(plataforma));
+
+        if (agendamentos.putIfAbsent(id, agendamento) != null) {
+            throw new IllegalStateException("Já existe um agendamento com ID: " + id);
+        }
+        if (arquivo != null) {
+            try {
+                arquivo.gravar(id, plataforma, conta, url, conteudo);
+            } catch (RuntimeException e) {
+                agendamentos.remove(id, agendamento);
+                throw e;
+            }
+        }
+        long prazo = data.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        agendamento.temporizador = roda.agendar(agendamento, prazo);
+        return publicacao;
+    }
+
+    /**
+     * Cancela uma publicação agendada que ainda não foi disparada
+     * O futuro de {@link #resultado(String)} é concluído com a publicação no
+     * status CANCELADA.
+     * @param id ID da publicação agendada
+     * @param plataforma Nome ou alias da plataforma de quem pede o cancelamento
+     * @param conta Conta de quem pede o cancelamento
+     * @return true se o agendamento foi cancelado; false se não estiver
+     *         pendente ou se pertencer a outra plataforma ou conta
+     */
+    public boolean cancelar(String id, String plataforma, String conta) {
+        Agendamento agendamento = agendamentos.get(id);
+        if (agendamento == null) {
+            return false;
+        }
+        String canonica = CatalogoPlataformas.getInstance().nomeCanonico(plataforma);
+        if (!agendamento.plataformaCanonica.equals(canonica)
+                || !agendamento.conta.equals(conta != null ? conta : "")) {
+            LOG.warn("Cancelamento recusado: o agendamento {} não pertence à conta {}", id, canonica + ':' + conta);
+            return false;
+        }
+        if (!agendamentos.remove(id, agendamento)) {
+            return false;
+        }
+        // Se ainda não entrou na roda, o disparo futuro será ignorado por não estar no mapa
+        RodaTemporizacao.Temporizador<Agendamento> temporizador = agendamento.temporizador;
+        if (temporizador != null) {
+            roda.cancelar(temporizador);
+        }
+        esquecer(id);
+        Publicacao publicacao = agendamento.publicacao;
+        agendamento.resultado.complete(new Publicacao(publicacao.getId(), publicacao.getPlataforma(),
+            publicacao.getConteudo(), publicacao.getDataPublicacao(), StatusPublicacao.CANCELADA,
+            publicacao.getUrl()));
+        return true;
+    }
+
+    /**
+     * Registra o publicador de uma conta para os agendamentos recuperados do
+     * arquivo; os que já venceram à espera dele são disparados em seguida
+     * @param plataforma Nome ou alias da plataforma
+     * @param conta Conta autenticada no adapter
+     * @param publicador Função do adapter que efetivamente publica o conteúdo
+     */
+    public void vincular(String plataforma, String conta, Function<Conteudo, Publicacao> publicador) {
+        String chave = chavePublicador(CatalogoPlataformas.getInstance().nomeCanonico(plataforma), conta);
+        List<Agendamento> vencidos;
+        synchronized (semPublicador) {
+            publicadores.put(chave, publicador);
+            vencidos = semPublicador.remove(chave);
+        }
+        if (vencidos != null) {
+            for (Agendamento agendamento : vencidos) {
+                executor.execute(() -> disparar(agendamento));
+            }
+        }
+    }
+
+    /**
+     * Remove o publicador de uma conta, se ainda for o registrado, para que um
+     * adapter descartado não continue publicando os agendamentos recuperados;
+     * os que vencerem depois esperam o próximo {@link #vincular}
+     * @param publicador A mesma função passada a {@link #vincular}
+     * @return true se o publicador foi removido
+     */
+    public boolean desvincular(String plataforma, String conta, Function<Conteudo, Publicacao> publicador) {
+        String chave = chavePublicador(CatalogoPlataformas.getInstance().nomeCanonico(plataforma), conta);
+        synchronized (semPublicador) {
+            return publicadores.remove(chave, publicador);
+        }
+    }
+
+    /**
+     * Obtém uma publicação agendada ainda pendente
+     * @param id ID da publicação agendada
+     * @return Publicação agendada ou null se não estiver pendente
+     */
+    public Publicacao obterAgendamento(String id) {
+        Agendamento agendamento = agendamentos.get(id);
+        return agendamento != null ? agendamento.publicacao : null;
+    }
+
+    /**
+     * Obtém o desfecho de uma publicação agendada ainda não concluída
+     * @param id ID da publicação agendada
+     * @return Futuro concluído com a publicação criada na plataforma, com a
+     *         publicação CANCELADA se o agendamento for cancelado, ou
+     *         excepcionalmente com a falha; null se o agendamento não estiver
+     *         pendente
+     */
+    public CompletableFuture<Publicacao> resultado(String id) {
+        Agendamento agendamento = agendamentos.get(id);
+        if (agendamento == null) {
+            synchronized (emDisparo) {
+                agendamento = emDisparo.get(id);
+            }
+        }
+        return agendamento != null ? agendamento.resultado : null;
+    }
+
+    /**
+     * Quantidade de publicações aguardando disparo
+     */
+    public int pendentes() {
+        return agendamentos.size();
+    }
+
+    /**
+     * Interrompe o relógio do agendador
+     */
+    public void encerrar() {
+        ativo = false;
+        relogio.interrupt();
+        executor.shutdown();
+        if (arquivo != null) {
+            arquivo.close();
+        }
+    }
+
+    private void executarRelogio() {
+        List<Agendamento> vencidos = new ArrayList<>();
+        while (ativo) {
+            roda.avancarAte(System.currentTimeMillis(), vencidos::add);
+            for (Agendamento agendamento : vencidos) {
+                executor.execute(() -> disparar(agendamento));
+            }
+            vencidos.clear();
+
+            long espera = roda.proximoTickMillis() - System.currentTimeMillis();
+            if (espera > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(espera));
+            }
+        }
+    }
+
+    private void disparar(Agendamento agendamento) {
+        Publicacao publicacao = agendamento.publicacao;
+        Function<Conteudo, Publicacao> publicador = publicadorDe(agendamento);
+        if (publicador == null) {
+            return;
+        }
+        String id = publicacao.getId();
+        // Quem remove do mapa primeiro vence a corrida entre disparo e
+        // cancelamento; a compactação vê o agendamento num dos dois mapas
+        synchronized (emDisparo) {
+            if (!agendamentos.remove(id, agendamento)) {
+                return;
+            }
+            emDisparo.put(id, agendamento);
+        }
+
+        Publicacao publicada = null;
+        RuntimeException falha = null;
+        try {
+            publicada = publicador.apply(publicacao.getConteudo());
+        } catch (RuntimeException e) {
+            LOG.error("Falha na publicação agendada {}", id, e);
+            falha = e;
+        }
+        // Removido só depois de publicar: uma queda no meio repete o disparo
+        synchronized (emDisparo) {
+            emDisparo.remove(id);
+        }
+        esquecer(id);
+        if (falha != null) {
+            agendamento.resultado.completeExceptionally(falha);
+        } else {
+            agendamento.resultado.complete(publicada);
+        }
+    }
+
+    /**
+     * Publicador do agendamento; um agendamento recuperado cuja conta ainda
+     * não tem publicador fica à espera de {@link #vincular}
+     */
+    private Function<Conteudo, Publicacao> publicadorDe(Agendamento agendamento) {
+        if (agendamento.publicador != null) {
+            return agendamento.publicador;
+        }
+        String chave = chavePublicador(agendamento.plataformaCanonica, agendamento.conta);
+        synchronized (semPublicador) {
+            Function<Conteudo, Publicacao> publicador = publicadores.get(chave);
+            if (publicador == null) {
+                semPublicador.computeIfAbsent(chave, c -> new ArrayList<>()).add(agendamento);
+            }
+            return publicador;
+        }
+    }
+
+    private static String chavePublicador(String plataformaCanonica, String conta) {
+        return plataformaCanonica + ':' + (conta != null ? conta : "");
+    }
+
+    /**
+     * Registra no arquivo que o agendamento não está mais pendente e
+     * compacta o arquivo em segundo plano quando necessário
+     */
+    private void esquecer(String id) {
+        if (arquivo == null) {
+            return;
+        }
+        try {
+            arquivo.remover(id);
+        } catch (RuntimeException e) {
+            LOG.error("Falha ao registrar a remoção do agendamento {}", id, e);
+            return;
+        }
+        if (arquivo.precisaCompactar() && compactando.compareAndSet(false, true)) {
+            executor.execute(this::compactar);
+        }
+    }
+
+    private void compactar() {
+        try {
+            arquivo.compactar(() -> {
+                List<ArquivoAgendamentos.Registro> pendentes = new ArrayList<>(agendamentos.size());
+                synchronized (emDisparo) {
+                    for (Agendamento agendamento : agendamentos.values()) {
+                        pendentes.add(registro(agendamento));
+                    }
+                    for (Agendamento agendamento : emDisparo.values()) {
+                        pendentes.add(registro(agendamento));
+                    }
+                }
+                return pendentes;
+            });
+        } catch (RuntimeException e) {
+            LOG.error("Falha ao compactar o arquivo de agendamentos", e);
+        } finally {
+            compactando.set(false);
+        }
+    }
+
+    private static ArquivoAgendamentos.Registro registro(Agendamento agendamento) {
+        Publicacao publicacao = agendamento.publicacao;
+        return new ArquivoAgendamentos.Registro(publicacao.getId(), publicacao.getPlataforma(),
+            agendamento.conta, publicacao.getUrl(), publicacao.getConteudo());
+    }
+
+    /**
+     * Devolve à roda os agendamentos lidos do arquivo
+     */
+    private void recuperar(List<ArquivoAgendamentos.Registro> registros, PoliticaRecuperacao politica) {
+        long agora = System.currentTimeMillis();
+        ZoneId fuso = ZoneId.systemDefault();
+        CatalogoPlataformas catalogo = CatalogoPlataformas.getInstance();
+        int descartados = 0;
+
+        for (ArquivoAgendamentos.Registro registro : registros) {
+            LocalDateTime data = registro.getConteudo().getDataAgendamento();
+            long prazo = data.atZone(fuso).toInstant().toEpochMilli();
+            if (prazo <= agora && !politica.publicar(agora - prazo)) {
+                // Direto no arquivo: compactar agora perderia os ainda não devolvidos à roda
+                descartados++;
+                arquivo.remover(registro.getId());
+                continue;
+            }
+
+            Publicacao publicacao = new Publicacao(registro.getId(), registro.getPlataforma(),
+                registro.getConteudo(), data, StatusPublicacao.AGENDADA, registro.getUrl());
+            Agendamento agendamento = new Agendamento(publicacao, registro.getConta(), null,
+                catalogo.nomeCanonico(registro.getPlataforma()));
+            agendamentos.put(registro.getId(), agendamento);
+            agendamento.temporizador = roda.agendar(agendamento, prazo);
+        }
+
+        if (!registros.isEmpty()) {
+            LOG.info("{} agendamentos recuperados, {} vencidos descartados",
+                registros.size() - descartados, descartados);
+        }
+    }
+
+    /**
+     * Publicação pendente, a plataforma e a conta que a agendaram e o
+     * adapter responsável por publicá-la
+     */
+    private static final class Agendamento {
+        private final Publicacao publicacao;
+        private final String conta;
+        // Null nos agendamentos recuperados, publicados pelo publicador da conta
+        private final Function<Conteudo, Publicacao> publicador;
+        private final String plataformaCanonica;
+        private final CompletableFuture<Publicacao> resultado = new CompletableFuture<>();
+        private volatile RodaTemporizacao.Temporizador<Agendamento> temporizador;
+
+        private Agendamento(Publicacao publicacao, String conta, Function<Conteudo, Publicacao> publicador,
+                            String plataformaCanonica) {
+            this.publicacao = publicacao;
+            this.conta = conta != null ? conta : "";
+            this.publicador = publicador;
+            this.plataformaCanonica = plataformaCanonica;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package agendamento;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Política para publicações agendadas cuja data passou enquanto a aplicação
+ * estava parada
+ *
+ * Na recuperação, cada agendamento vencido é publicado se o atraso estiver
+ * dentro da tolerância da política, ou descartado caso contrário.
+ */
+public final class PoliticaRecuperacao {
+
+    private static final PoliticaRecuperacao PUBLICAR_TODAS = new PoliticaRecuperacao(Long.MAX_VALUE);
+    private static final PoliticaRecuperacao DESCARTAR_TODAS = new PoliticaRecuperacao(0);
+
+    private final long atrasoMaximoMillis;
+
+    private PoliticaRecuperacao(long atrasoMaximoMillis) {
+        this.atrasoMaximoMillis = atrasoMaximoMillis;
+    }
+
+    /**
+     * Publica todas as publicações vencidas, qualquer que seja o atraso
+     */
+    public static PoliticaRecuperacao publicarTodas() {
+        return PUBLICAR_TODAS;
+    }
+
+    /**
+     * Descarta todas as publicações vencidas
+     */
+    public static PoliticaRecuperacao descartarTodas() {
+        return DESCARTAR_TODAS;
+    }
+
+    /**
+     * Publica as publicações vencidas há no máximo o atraso informado
+     */
+    public static PoliticaRecuperacao publicarAte(Duration atrasoMaximo) {
+        if (atrasoMaximo.isNegative()) {
+            throw new IllegalArgumentException("Atraso máximo não pode ser negativo");
+        }
+        return new PoliticaRecuperacao(atrasoMaximo.toMillis());
+    }
+
+    /**
+     * Interpreta a política a partir de texto: {@code PUBLICAR}, {@code DESCARTAR}
+     * ou uma duração ISO-8601 (por exemplo {@code PT2H}) com o atraso máximo
+     * @throws IllegalArgumentException se o texto não for reconhecido
+     */
+    public static PoliticaRecuperacao ler(String texto) {
+        String valor = texto.trim().toUpperCase();
+        if (valor.equals("PUBLICAR")) {
+            return PUBLICAR_TODAS;
+        }
+        if (valor.equals("DESCARTAR")) {
+            return DESCARTAR_TODAS;
+        }
+        try {
+            return publicarAte(Duration.parse(valor));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Política de recuperação inválida: " + texto, e);
+        }
+    }
+
+    /**
+     * Verifica se uma publicação vencida deve ser publicada
+     * @param atrasoMillis Tempo desde a data de agendamento
+     */
+    public boolean publicar(long atrasoMillis) {
+        return atrasoMillis <= 0 || atrasoMillis <= atrasoMaximoMillis;
+    }
+
+    @Override
+    public String toString() {
+        if (this == PUBLICAR_TODAS) {
+            return "PoliticaRecuperacao{publicar todas}";
+        }
+        if (this == DESCARTAR_TODAS) {
+            return "PoliticaRecuperacao{descartar todas}";
+        }
+        return "PoliticaRecuperacao{atrasoMaximo=" + Duration.ofMillis(atrasoMaximoMillis) + '}';
+    }
+}
@@ -0,0 +1,192 @@
+package agendamento;
+
+import java.lang.reflect.Array;
+import java.util.function.Consumer;
+
+/**
+ * Roda de temporização hierárquica (hierarchical timing wheel)
+ * Inserção e cancelamento em O(1); o avanço do relógio custa O(1) por tick,
+ * mais o reposicionamento ocasional dos itens dos níveis superiores
+ *
+ * Cada nível tem 256 posições; o nível n cobre 256^(n+1) ticks, de modo que
+ * 6 níveis com ticks de 10ms alcançam prazos de milhares de anos. O desvio
+ * máximo entre o prazo e o disparo é de um tick.
+ */
+public class RodaTemporizacao<T> {
+
+    private static final int BITS_POR_NIVEL = 8;
+    private static final int POSICOES = 1 << BITS_POR_NIVEL;
+    private static final int MASCARA = POSICOES - 1;
+    private static final int NIVEIS = 6;
+
+    private final long duracaoTickMillis;
+    private final long inicioMillis;
+    private final Temporizador<T>[][] niveis;
+    private long tickAtual;
+    private int tamanho;
+
+    public RodaTemporizacao(long duracaoTickMillis, long inicioMillis) {
+        if (duracaoTickMillis <= 0) {
+            throw new IllegalArgumentException("Duração do tick deve ser positiva");
+        }
+        this.duracaoTickMillis = duracaoTickMillis;
+        this.inicioMillis = inicioMillis;
+        this.niveis = criarNiveis();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Temporizador<T>[][] criarNiveis() {
+        return (Temporizador<T>[][]) Array.newInstance(Temporizador.class, NIVEIS, POSICOES);
+    }
+
+    /**
+     * Agenda um item para disparar no instante informado
+     * Prazos já vencidos disparam no próximo tick
+     * @param item Item a ser disparado
+     * @param prazoMillis Instante de disparo (epoch em milissegundos)
+     * @return Temporizador usado para cancelar o item
+     */
+    public synchronized Temporizador<T> agendar(T item, long prazoMillis) {
+        long prazoTick = Math.floorDiv(prazoMillis - inicioMillis + duracaoTickMillis - 1, duracaoTickMillis);
+        Temporizador<T> temporizador = new Temporizador<>(item, Math.max(prazoTick, tickAtual + 1));
+        inserir(temporizador);
+        tamanho++;
+        return temporizador;
+    }
+
+    /**
+     * Cancela um temporizador ainda não disparado
+     * @return true se o temporizador estava pendente
+     */
+    public synchronized boolean cancelar(Temporizador<T> temporizador) {
+        if (temporizador.nivel < 0) {
+            return false;
+        }
+        desligar(temporizador);
+        tamanho--;
+        return true;
+    }
+
+    /**
+     * Avança o relógio até o instante informado, entregando os itens vencidos
+     * O consumidor é chamado com o lock da roda, por isso deve apenas repassar o item
+     * @param agoraMillis Instante atual (epoch em milissegundos)
+     * @param vencidos Consumidor dos itens cujo prazo chegou
+     */
+    public synchronized void avancarAte(long agoraMillis, Consumer<T> vencidos) {
+        long alvo = Math.floorDiv(agoraMillis - inicioMillis, duracaoTickMillis);
+        while (tickAtual < alvo) {
+            tickAtual++;
+            if (tamanho == 0) {
+                // Nada pendente: salta direto para o alvo
+                tickAtual = alvo;
+                break;
+            }
+            cascatear();
+            disparar((int) (tickAtual & MASCARA), vencidos);
+        }
+    }
+
+    /**
+     * Instante (epoch em milissegundos) do próximo tick a ser processado
+     */
+    public synchronized long proximoTickMillis() {
+        return inicioMillis + (tickAtual + 1) * duracaoTickMillis;
+    }
+
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    public long getDuracaoTickMillis() {
+        return duracaoTickMillis;
+    }
+
+    private void inserir(Temporizador<T> temporizador) {
+        long delta = temporizador.prazoTick - tickAtual;
+        int nivel = 0;
+        while (nivel < NIVEIS - 1 && delta >= 1L << (BITS_POR_NIVEL * (nivel + 1))) {
+            nivel++;
+        }
+        int posicao = (int) ((temporizador.prazoTick >>> (BITS_POR_NIVEL * nivel)) & MASCARA);
+
+        Temporizador<T> cabeca = niveis[nivel][posicao];
+        temporizador.nivel = nivel;
+        temporizador.posicao = posicao;
+        temporizador.anterior = null;
+        temporizador.proximo = cabeca;
+        if (cabeca != null) {
+            cabeca.anterior = temporizador;
+        }
+        niveis[nivel][posicao] = temporizador;
+    }
+
+    private void desligar(Temporizador<T> temporizador) {
+        if (temporizador.anterior != null) {
+            temporizador.anterior.proximo = temporizador.proximo;
+        } else {
+            niveis[temporizador.nivel][temporizador.posicao] = temporizador.proximo;
+        }
+        if (temporizador.proximo != null) {
+            temporizador.proximo.anterior = temporizador.anterior;
+        }
+        temporizador.anterior = null;
+        temporizador.proximo = null;
+        temporizador.nivel = -1;
+    }
+
+    /**
+     * Quando um nível completa uma volta, redistribui a posição correspondente
+     * do nível acima para os níveis inferiores
+     */
+    private void cascatear() {
+        for (int nivel = 1; nivel < NIVEIS; nivel++) {
+            if ((tickAtual & ((1L << (BITS_POR_NIVEL * nivel)) - 1)) != 0) {
+                return;
+            }
+            int posicao = (int) ((tickAtual >>> (BITS_POR_NIVEL * nivel)) & MASCARA);
+            Temporizador<T> atual = niveis[nivel][posicao];
+            niveis[nivel][posicao] = null;
+            while (atual != null) {
+                Temporizador<T> proximo = atual.proximo;
+                inserir(atual);
+                atual = proximo;
+            }
+        }
+    }
+
+    private void disparar(int posicao, Consumer<T> vencidos) {
+        Temporizador<T> atual = niveis[0][posicao];
+        niveis[0][posicao] = null;
+        while (atual != null) {
+            Temporizador<T> proximo = atual.proximo;
+            atual.anterior = null;
+            atual.proximo = null;
+            atual.nivel = -1;
+            tamanho--;
+            vencidos.accept(atual.item);
+            atual = proximo;
+        }
+    }
+
+    /**
+     * Nó da roda: lista duplamente encadeada por posição para remoção em O(1)
+     */
+    public static final class Temporizador<T> {
+        private final T item;
+        private final long prazoTick;
+        private Temporizador<T> anterior;
+        private Temporizador<T> proximo;
+        private int nivel = -1;
+        private int posicao;
+
+        private Temporizador(T item, long prazoTick) {
+            this.item = item;
+            this.prazoTick = prazoTick;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+}
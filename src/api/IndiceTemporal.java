@@ -0,0 +1,430 @@
+package api;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Armazenamento concorrente dos registros das APIs simuladas
+ * Mantém um índice por ID para acesso direto e um índice ordenado por
+ * (data, ID) para listagem paginada e em stream numa ordem estável
+ *
+ * Os registros são distribuídos pelo hash do ID em segmentos. Em cada um,
+ * os dois índices são árvores imutáveis guardadas juntas num único estado:
+ * cada escrita copia só o caminho até o registro alterado e publica o novo
+ * estado do segmento com compare-and-set, repetindo se outra escrita no mesmo
+ * segmento publicou antes. Escritas em segmentos diferentes não disputam.
+ *
+ * Leituras não bloqueiam escritores. A listagem, a página e o stream
+ * intercalam por (data, ID) o estado de cada segmento, lido uma vez; como um
+ * ID pertence sempre ao mesmo segmento, um registro nunca aparece duas vezes
+ * nem num índice sem aparecer no outro, mas escritas feitas durante a
+ * leitura podem aparecer em alguns segmentos e não em outros.
+ */
+public class IndiceTemporal<T> {
+
+    private static final int SEGMENTOS = 16;
+
+    private final Function<T, String> extratorId;
+    private final Function<T, LocalDateTime> extratorData;
+    private final AtomicReference<Estado<T>>[] segmentos;
+
+    @SuppressWarnings("unchecked")
+    public IndiceTemporal(Function<T, String> extratorId, Function<T, LocalDateTime> extratorData) {
+        this.extratorId = extratorId;
+        this.extratorData = extratorData;
+        this.segmentos = new AtomicReference[SEGMENTOS];
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new AtomicReference<>(new Estado<>(null, null, 0));
+        }
+    }
+
+    public void adicionar(T registro) {
+        String id = extratorId.apply(registro);
+        Chave chave = new Chave(extratorData.apply(registro), id);
+        AtomicReference<Estado<T>> estado = segmentoDe(id);
+        while (true) {
+            Estado<T> atual = estado.get();
+            T anterior = obter(atual.porId, id);
+            No<Chave, T> porData = atual.porData;
+            if (anterior != null) {
+                porData = remover(porData, new Chave(extratorData.apply(anterior), id));
+            }
+            Estado<T> novo = new Estado<>(inserir(porData, chave, registro), inserir(atual.porId, id, registro),
+                anterior != null ? atual.tamanho : atual.tamanho + 1);
+            if (estado.compareAndSet(atual, novo)) {
+                return;
+            }
+        }
+    }
+
+    public T remover(String id) {
+        AtomicReference<Estado<T>> estado = segmentoDe(id);
+        while (true) {
+            Estado<T> atual = estado.get();
+            T removido = obter(atual.porId, id);
+            if (removido == null) {
+                return null;
+            }
+            Estado<T> novo = new Estado<>(remover(atual.porData, new Chave(extratorData.apply(removido), id)),
+                remover(atual.porId, id), atual.tamanho - 1);
+            if (estado.compareAndSet(atual, novo)) {
+                return removido;
+            }
+        }
+    }
+
+    public T obter(String id) {
+        return obter(segmentoDe(id).get().porId, id);
+    }
+
+    public int tamanho() {
+        int tamanho = 0;
+        for (AtomicReference<Estado<T>> segmento : segmentos) {
+            tamanho += segmento.get().tamanho;
+        }
+        return tamanho;
+    }
+
+    /**
+     * Cópia de todos os registros, ordenados por data
+     */
+    public List<T> listar() {
+        Intercalacao<T> intercalacao = new Intercalacao<>(segmentos, null);
+        List<T> registros = new ArrayList<>(intercalacao.tamanho);
+        while (intercalacao.hasNext()) {
+            registros.add(intercalacao.next());
+        }
+        return registros;
+    }
+
+    /**
+     * Registros em ordem de data, percorridos sob demanda
+     */
+    public Stream<T> stream() {
+        Intercalacao<T> intercalacao = new Intercalacao<>(segmentos, null);
+        return StreamSupport.stream(Spliterators.spliterator(intercalacao, intercalacao.tamanho,
+            Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    /**
+     * Obtém uma página de registros em ordem de data
+     * Cada página lê cada segmento uma vez; páginas seguintes refletem o
+     * instante em que forem pedidas.
+     * @param cursor Cursor devolvido pela página anterior, ou null para a primeira página
+     * @param limite Quantidade máxima de registros
+     * @return Página com os registros e o cursor da próxima página
+     */
+    public Pagina<T> pagina(String cursor, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Tamanho da página deve ser positivo");
+        }
+
+        Chave depoisDe = cursor != null ? decodificar(cursor) : null;
+        Iterator<T> iterator = new Intercalacao<>(segmentos, depoisDe);
+        List<T> itens = new ArrayList<>(Math.min(limite, 64));
+        while (iterator.hasNext() && itens.size() < limite) {
+            itens.add(iterator.next());
+        }
+
+        String proximoCursor = null;
+        if (iterator.hasNext()) {
+            T ultimo = itens.get(itens.size() - 1);
+            proximoCursor = codificar(extratorData.apply(ultimo), extratorId.apply(ultimo));
+        }
+        return new Pagina<>(itens, proximoCursor);
+    }
+
+    private AtomicReference<Estado<T>> segmentoDe(String id) {
+        int h = id.hashCode();
+        h ^= (h >>> 16);
+        return segmentos[h & (SEGMENTOS - 1)];
+    }
+
+    private static String codificar(LocalDateTime data, String id) {
+        String valor = data + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Chave decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            return new Chave(LocalDateTime.parse(valor.substring(0, separador)), valor.substring(separador + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+
+    private static <K extends Comparable<K>, V> V obter(No<K, V> no, K chave) {
+        while (no != null) {
+            int comparacao = chave.compareTo(no.chave);
+            if (comparacao == 0) {
+                return no.valor;
+            }
+            no = comparacao < 0 ? no.esquerda : no.direita;
+        }
+        return null;
+    }
+
+    private static <K extends Comparable<K>, V> No<K, V> inserir(No<K, V> no, K chave, V valor) {
+        if (no == null) {
+            return new No<>(chave, valor, null, null);
+        }
+        int comparacao = chave.compareTo(no.chave);
+        if (comparacao < 0) {
+            return balancear(no.chave, no.valor, inserir(no.esquerda, chave, valor), no.direita);
+        }
+        if (comparacao > 0) {
+            return balancear(no.chave, no.valor, no.esquerda, inserir(no.direita, chave, valor));
+        }
+        return new No<>(chave, valor, no.esquerda, no.direita);
+    }
+
+    private static <K extends Comparable<K>, V> No<K, V> remover(No<K, V> no, K chave) {
+        if (no == null) {
+            return null;
+        }
+        int comparacao = chave.compareTo(no.chave);
+        if (comparacao < 0) {
+            No<K, V> esquerda = remover(no.esquerda, chave);
+            return esquerda == no.esquerda ? no : balancear(no.chave, no.valor, esquerda, no.direita);
+        }
+        if (comparacao > 0) {
+            No<K, V> direita = remover(no.direita, chave);
+            return direita == no.direita ? no : balancear(no.chave, no.valor, no.esquerda, direita);
+        }
+        if (no.esquerda == null) {
+            return no.direita;
+        }
+        if (no.direita == null) {
+            return no.esquerda;
+        }
+        No<K, V> sucessor = no.direita;
+        while (sucessor.esquerda != null) {
+            sucessor = sucessor.esquerda;
+        }
+        return balancear(sucessor.chave, sucessor.valor, no.esquerda, removerMinimo(no.direita));
+    }
+
+    private static <K, V> No<K, V> removerMinimo(No<K, V> no) {
+        if (no.esquerda == null) {
+            return no.direita;
+        }
+        return balancear(no.chave, no.valor, removerMinimo(no.esquerda), no.direita);
+    }
+
+    /**
+     * Novo nó AVL; as subárvores diferem em altura no máximo 2 após uma
+     * inserção ou remoção, o que uma rotação simples ou dupla corrige
+     */
+    private static <K, V> No<K, V> balancear(K chave, V valor, No<K, V> esquerda, No<K, V> direita) {
+        int alturaEsquerda = altura(esquerda);
+        int alturaDireita = altura(direita);
+        if (alturaEsquerda > alturaDireita + 1) {
+            if (altura(esquerda.esquerda) >= altura(esquerda.direita)) {
+                return new No<>(esquerda.chave, esquerda.valor, esquerda.esquerda,
+                    new No<>(chave, valor, esquerda.direita, direita));
+            }
+            No<K, V> meio = esquerda.direita;
+            return new No<>(meio.chave, meio.valor,
+                new No<>(esquerda.chave, esquerda.valor, esquerda.esquerda, meio.esquerda),
+                new No<>(chave, valor, meio.direita, direita));
+        }
+        if (alturaDireita > alturaEsquerda + 1) {
+            if (altura(direita.direita) >= altura(direita.esquerda)) {
+                return new No<>(direita.chave, direita.valor,
+                    new No<>(chave, valor, esquerda, direita.esquerda), direita.direita);
+            }
+            No<K, V> meio = direita.esquerda;
+            return new No<>(meio.chave, meio.valor,
+                new No<>(chave, valor, esquerda, meio.esquerda),
+                new No<>(direita.chave, direita.valor, meio.direita, direita.direita));
+        }
+        return new No<>(chave, valor, esquerda, direita);
+    }
+
+    private static int altura(No<?, ?> no) {
+        return no != null ? no.altura : 0;
+    }
+
+    /**
+     * Página de registros devolvida pelas APIs
+     */
+    public static class Pagina<T> {
+        private final List<T> itens;
+        private final String proximoCursor;
+
+        public Pagina(List<T> itens, String proximoCursor) {
+            this.itens = itens;
+            this.proximoCursor = proximoCursor;
+        }
+
+        // Getters
+        public List<T> getItens() { return itens; }
+        public String getProximoCursor() { return proximoCursor; }
+    }
+
+    /**
+     * Índices de um instante
+     */
+    private static final class Estado<T> {
+        private final No<Chave, T> porData;
+        private final No<String, T> porId;
+        private final int tamanho;
+
+        private Estado(No<Chave, T> porData, No<String, T> porId, int tamanho) {
+            this.porData = porData;
+            this.porId = porId;
+            this.tamanho = tamanho;
+        }
+    }
+
+    /**
+     * Nó imutável de árvore AVL
+     */
+    private static final class No<K, V> {
+        private final K chave;
+        private final V valor;
+        private final No<K, V> esquerda;
+        private final No<K, V> direita;
+        private final int altura;
+
+        private No(K chave, V valor, No<K, V> esquerda, No<K, V> direita) {
+            this.chave = chave;
+            this.valor = valor;
+            this.esquerda = esquerda;
+            this.direita = direita;
+            this.altura = 1 + Math.max(altura(esquerda), altura(direita));
+        }
+    }
+
+    /**
+     * Percorre em ordem os valores com chave maior que a informada
+     */
+    private static final class Iterador<T> implements Iterator<T> {
+        private final Deque<No<Chave, T>> pilha = new ArrayDeque<>();
+
+        private Iterador(No<Chave, T> raiz, Chave depoisDe) {
+            No<Chave, T> no = raiz;
+            while (no != null) {
+                if (depoisDe == null || no.chave.compareTo(depoisDe) > 0) {
+                    pilha.push(no);
+                    no = no.esquerda;
+                } else {
+                    no = no.direita;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pilha.isEmpty();
+        }
+
+        /**
+         * Chave do próximo valor; só pode ser chamado se houver um
+         */
+        private Chave proximaChave() {
+            return pilha.peek().chave;
+        }
+
+        @Override
+        public T next() {
+            if (pilha.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            No<Chave, T> atual = pilha.pop();
+            for (No<Chave, T> no = atual.direita; no != null; no = no.esquerda) {
+                pilha.push(no);
+            }
+            return atual.valor;
+        }
+    }
+
+    /**
+     * Intercala em ordem de (data, ID) os percursos dos segmentos, lendo o
+     * estado de cada um uma única vez
+     */
+    private static final class Intercalacao<T> implements Iterator<T> {
+        private final PriorityQueue<Iterador<T>> fila;
+        private final int tamanho;
+
+        private Intercalacao(AtomicReference<Estado<T>>[] segmentos, Chave depoisDe) {
+            this.fila = new PriorityQueue<>(segmentos.length,
+                (a, b) -> a.proximaChave().compareTo(b.proximaChave()));
+            int total = 0;
+            for (AtomicReference<Estado<T>> segmento : segmentos) {
+                Estado<T> estado = segmento.get();
+                total += estado.tamanho;
+                Iterador<T> iterador = new Iterador<>(estado.porData, depoisDe);
+                if (iterador.hasNext()) {
+                    fila.add(iterador);
+                }
+            }
+            this.tamanho = total;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !fila.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Iterador<T> iterador = fila.poll();
+            if (iterador == null) {
+                throw new NoSuchElementException();
+            }
+            T valor = iterador.next();
+            if (iterador.hasNext()) {
+                fila.add(iterador);
+            }
+            return valor;
+        }
+    }
+
+    private static final class Chave implements Comparable<Chave> {
+        private final LocalDateTime data;
+        private final String id;
+
+        private Chave(LocalDateTime data, String id) {
+            this.data = data;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Chave outra) {
+            int comparacao = data.compareTo(outra.data);
+            return comparacao != 0 ? comparacao : id.compareTo(outra.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Chave)) {
+                return false;
+            }
+            Chave outra = (Chave) o;
+            return data.equals(outra.data) && id.equals(outra.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * data.hashCode() + id.hashCode();
+        }
+    }
+}
@@ -2,6 +2,12 @@ package api;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import log.Log;
+import log.Logger;
+import servico.GeradorIds;
+import simbolos.DicionarioSimbolos;
 
 /**
  * API simulada do Instagram
@@ -9,21 +15,33 @@ import java.util.*;
  */
 public class InstagramAPI {
     
-    private String accessToken;
-    private boolean autenticado = false;
-    private Map<String, PostData> posts = new HashMap<>();
+    private static final Logger LOG = Log.getLogger(InstagramAPI.class);
+    
+    public static final int MAX_IDS_POR_REQUISICAO = 50;
+    
+    private volatile String accessToken;
+    private volatile boolean autenticado = false;
+    private final IndiceTemporal<PostData> posts = new IndiceTemporal<>(PostData::getId, PostData::getTimestamp);
     
     /**
      * Autentica na API do Instagram
      */
     public boolean autenticar(String username, String accessToken) {
-        System.out.println("Autenticando no Instagram...");
+        LOG.debug("Autenticando no Instagram...");
         this.accessToken = accessToken;
         this.autenticado = true;
-        System.out.println("Autenticado no Instagram: @" + username);
+        LOG.info("Autenticado no Instagram: @{}", username);
         return true;
     }
     
+    /**
+     * Troca o access token após uma renovação
+     */
+    public void atualizarAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+        LOG.debug("Token do Instagram atualizado");
+    }
+    
     /**
      * Publica uma foto/vídeo
      */
@@ -32,12 +50,12 @@ public class InstagramAPI {
             throw new IllegalStateException("Não autenticado no Instagram");
         }
         
-        String postId = "ig_" + UUID.randomUUID().toString().substring(0, 8);
+        String postId = GeradorIds.getInstance().gerarTexto("ig_");
         PostData post = new PostData(postId, caption, mediaUrl, tags, 
                                      LocalDateTime.now(), "POST");
-        posts.put(postId, post);
+        posts.adicionar(post);
         
-        System.out.println("Post publicado no Instagram: " + postId);
+        LOG.info("Post publicado no Instagram: {}", postId);
         return post;
     }
     
@@ -49,15 +67,38 @@ public class InstagramAPI {
             throw new IllegalStateException("Não autenticado no Instagram");
         }
         
-        String postId = "story_" + UUID.randomUUID().toString().substring(0, 8);
+        String postId = GeradorIds.getInstance().gerarTexto("story_");
         PostData post = new PostData(postId, "", mediaUrl, new ArrayList<>(), 
                                      LocalDateTime.now(), "STORY");
-        posts.put(postId, post);
+        posts.adicionar(post);
         
-        System.out.println("Story publicado no Instagram: " + postId);
+        LOG.info("Story publicado no Instagram: {}", postId);
         return post;
     }
     
+    /**
+     * Publica vários posts e stories numa única requisição
+     */
+    public List<PostData> publicarLote(List<NovoPost> novosPosts) {
+        if (!autenticado) {
+            throw new IllegalStateException("Não autenticado no Instagram");
+        }
+        
+        LocalDateTime agora = LocalDateTime.now();
+        List<PostData> publicados = new ArrayList<>(novosPosts.size());
+        for (NovoPost novo : novosPosts) {
+            boolean story = "STORY".equals(novo.getTipo());
+            String postId = GeradorIds.getInstance().gerarTexto((story ? "story_" : "ig_"));
+            PostData post = new PostData(postId, story ? "" : novo.getCaption(), novo.getMediaUrl(),
+                                         story ? new ArrayList<>() : novo.getTags(), agora, novo.getTipo());
+            posts.adicionar(post);
+            publicados.add(post);
+        }
+        
+        LOG.info("Lote publicado no Instagram: {}", publicados.size());
+        return publicados;
+    }
+    
     /**
      * Remove um post
      */
@@ -66,9 +107,9 @@ public class InstagramAPI {
             throw new IllegalStateException("Não autenticado no Instagram");
         }
         
-        boolean removido = posts.remove(postId) != null;
+        boolean removido = posts.remover(postId) != null;
         if (removido) {
-            System.out.println("Post deletado: " + postId);
+            LOG.info("Post deletado: {}", postId);
         }
         return removido;
     }
@@ -82,7 +123,7 @@ public class InstagramAPI {
         }
         
         // Simulação de insights
-        Random random = new Random();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         return new PostInsights(
             postId,
             random.nextInt(5000),   // reach
@@ -93,10 +134,50 @@ public class InstagramAPI {
     }
     
     /**
-     * Lista todos os posts
+     * Obtém insights de vários posts numa única requisição
+     * Aceita até MAX_IDS_POR_REQUISICAO ids por chamada
+     */
+    public List<PostInsights> obterInsightsEmLote(Collection<String> postIds) {
+        if (!autenticado) {
+            throw new IllegalStateException("Não autenticado no Instagram");
+        }
+        if (postIds.size() > MAX_IDS_POR_REQUISICAO) {
+            throw new IllegalArgumentException("Máximo de " + MAX_IDS_POR_REQUISICAO + " ids por requisição");
+        }
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<PostInsights> resultado = new ArrayList<>(postIds.size());
+        for (String postId : postIds) {
+            resultado.add(new PostInsights(
+                postId,
+                random.nextInt(5000),  // reach
+                random.nextInt(1000),  // likes
+                random.nextInt(200),   // comments
+                random.nextInt(150)    // saves
+            ));
+        }
+        return resultado;
+    }
+    
+    /**
+     * Lista todos os posts em ordem de publicação
      */
     public List<PostData> listarPosts() {
-        return new ArrayList<>(posts.values());
+        return posts.listar();
+    }
+    
+    /**
+     * Lista uma página de posts em ordem de publicação
+     */
+    public IndiceTemporal.Pagina<PostData> listarPosts(String cursor, int limite) {
+        return posts.pagina(cursor, limite);
+    }
+    
+    /**
+     * Percorre os posts em ordem de publicação, sob demanda
+     */
+    public Stream<PostData> streamPosts() {
+        return posts.stream();
     }
     
     /**
@@ -107,20 +188,21 @@ public class InstagramAPI {
     }
     
     // Classes internas para representar dados específicos do Instagram
+    // Tags compartilhadas pelo dicionário de símbolos
     public static class PostData {
-        private String id;
-        private String caption;
-        private String mediaUrl;
-        private List<String> tags;
-        private LocalDateTime timestamp;
-        private String tipo;
+        private final String id;
+        private final String caption;
+        private final String mediaUrl;
+        private final String[] tags;
+        private final LocalDateTime timestamp;
+        private final String tipo;
         
         public PostData(String id, String caption, String mediaUrl, List<String> tags,
                        LocalDateTime timestamp, String tipo) {
             this.id = id;
             this.caption = caption;
             this.mediaUrl = mediaUrl;
-            this.tags = tags;
+            this.tags = DicionarioSimbolos.getInstance().internar(tags);
             this.timestamp = timestamp;
             this.tipo = tipo;
         }
@@ -129,17 +211,37 @@ public class InstagramAPI {
         public String getId() { return id; }
         public String getCaption() { return caption; }
         public String getMediaUrl() { return mediaUrl; }
-        public List<String> getTags() { return tags; }
+        public List<String> getTags() { return DicionarioSimbolos.lista(tags); }
         public LocalDateTime getTimestamp() { return timestamp; }
         public String getTipo() { return tipo; }
     }
     
+    public static class NovoPost {
+        private final String caption;
+        private final String mediaUrl;
+        private final List<String> tags;
+        private final String tipo;
+        
+        public NovoPost(String caption, String mediaUrl, List<String> tags, String tipo) {
+            this.caption = caption;
+            this.mediaUrl = mediaUrl;
+            this.tags = tags;
+            this.tipo = tipo;
+        }
+        
+        // Getters
+        public String getCaption() { return caption; }
+        public String getMediaUrl() { return mediaUrl; }
+        public List<String> getTags() { return tags; }
+        public String getTipo() { return tipo; }
+    }
+    
     public static class PostInsights {
-        private String postId;
-        private int reach;
-        private int likes;
-        private int comments;
-        private int saves;
+        private final String postId;
+        private final int reach;
+        private final int likes;
+        private final int comments;
+        private final int saves;
         
         public PostInsights(String postId, int reach, int likes, int comments, int saves) {
             this.postId = postId;
@@ -2,6 +2,11 @@ package api;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import log.Log;
+import log.Logger;
+import servico.GeradorIds;
 
 /**
  * API simulada do LinkedIn
@@ -9,21 +14,33 @@ import java.util.*;
  */
 public class LinkedInAPI {
     
-    private String authToken;
-    private boolean conectado = false;
-    private Map<String, ShareData> shares = new HashMap<>();
+    private static final Logger LOG = Log.getLogger(LinkedInAPI.class);
+    
+    public static final int MAX_IDS_POR_REQUISICAO = 50;
+    
+    private volatile String authToken;
+    private volatile boolean conectado = false;
+    private final IndiceTemporal<ShareData> shares = new IndiceTemporal<>(ShareData::getId, ShareData::getDataPublicacao);
     
     /**
      * Estabelece conexão com LinkedIn
      */
     public boolean estabelecerConexao(String clientId, String clientSecret, String authToken) {
-        System.out.println("Estabelecendo conexão com LinkedIn...");
+        LOG.debug("Estabelecendo conexão com LinkedIn...");
         this.authToken = authToken;
         this.conectado = true;
-        System.out.println("Conectado ao LinkedIn com sucesso!");
+        LOG.info("Conectado ao LinkedIn com sucesso!");
         return true;
     }
     
+    /**
+     * Troca o token de autorização após uma renovação
+     */
+    public void atualizarAuthToken(String authToken) {
+        this.authToken = authToken;
+        LOG.debug("Token do LinkedIn atualizado");
+    }
+    
     /**
      * Compartilha conteúdo
      */
@@ -32,12 +49,12 @@ public class LinkedInAPI {
             throw new IllegalStateException("Não conectado ao LinkedIn");
         }
         
-        String shareId = "li_" + UUID.randomUUID().toString().substring(0, 8);
+        String shareId = GeradorIds.getInstance().gerarTexto("li_");
         ShareData share = new ShareData(shareId, texto, linkUrl, imagemUrl, 
                                         LocalDateTime.now(), "SHARE");
-        shares.put(shareId, share);
+        shares.adicionar(share);
         
-        System.out.println("Conteúdo compartilhado no LinkedIn: " + shareId);
+        LOG.info("Conteúdo compartilhado no LinkedIn: {}", shareId);
         return share;
     }
     
@@ -49,15 +66,38 @@ public class LinkedInAPI {
             throw new IllegalStateException("Não conectado ao LinkedIn");
         }
         
-        String shareId = "article_" + UUID.randomUUID().toString().substring(0, 8);
+        String shareId = GeradorIds.getInstance().gerarTexto("article_");
         ShareData share = new ShareData(shareId, titulo + "\n" + conteudo, "", 
                                         imagemCapa, LocalDateTime.now(), "ARTICLE");
-        shares.put(shareId, share);
+        shares.adicionar(share);
         
-        System.out.println("Artigo publicado no LinkedIn: " + shareId);
+        LOG.info("Artigo publicado no LinkedIn: {}", shareId);
         return share;
     }
     
+    /**
+     * Publica vários compartilhamentos e artigos numa única requisição
+     */
+    public List<ShareData> compartilharLote(List<NovoShare> novosShares) {
+        if (!conectado) {
+            throw new IllegalStateException("Não conectado ao LinkedIn");
+        }
+        
+        LocalDateTime agora = LocalDateTime.now();
+        List<ShareData> publicados = new ArrayList<>(novosShares.size());
+        for (NovoShare novo : novosShares) {
+            boolean artigo = "ARTICLE".equals(novo.getTipo());
+            String shareId = GeradorIds.getInstance().gerarTexto((artigo ? "article_" : "li_"));
+            ShareData share = new ShareData(shareId, novo.getTexto(), novo.getLinkUrl(),
+                                            novo.getImagemUrl(), agora, novo.getTipo());
+            shares.adicionar(share);
+            publicados.add(share);
+        }
+        
+        LOG.info("Lote compartilhado no LinkedIn: {}", publicados.size());
+        return publicados;
+    }
+    
     /**
      * Remove compartilhamento
      */
@@ -66,9 +106,9 @@ public class LinkedInAPI {
             throw new IllegalStateException("Não conectado ao LinkedIn");
         }
         
-        boolean removido = shares.remove(shareId) != null;
+        boolean removido = shares.remover(shareId) != null;
         if (removido) {
-            System.out.println("Share removido: " + shareId);
+            LOG.info("Share removido: {}", shareId);
         }
         return removido;
     }
@@ -82,7 +122,7 @@ public class LinkedInAPI {
         }
         
         // Simulação de analytics
-        Random random = new Random();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         return new ShareAnalytics(
             shareId,
             random.nextInt(3000),   // views
@@ -93,10 +133,50 @@ public class LinkedInAPI {
     }
     
     /**
-     * Lista todos os shares
+     * Obtém analytics de vários shares numa única requisição
+     * Aceita até MAX_IDS_POR_REQUISICAO ids por chamada
+     */
+    public List<ShareAnalytics> obterAnalyticsEmLote(Collection<String> shareIds) {
+        if (!conectado) {
+            throw new IllegalStateException("Não conectado ao LinkedIn");
+        }
+        if (shareIds.size() > MAX_IDS_POR_REQUISICAO) {
+            throw new IllegalArgumentException("Máximo de " + MAX_IDS_POR_REQUISICAO + " ids por requisição");
+        }
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<ShareAnalytics> resultado = new ArrayList<>(shareIds.size());
+        for (String shareId : shareIds) {
+            resultado.add(new ShareAnalytics(
+                shareId,
+                random.nextInt(3000),  // views
+                random.nextInt(300),   // reactions
+                random.nextInt(50),    // comments
+                random.nextInt(100)    // shares
+            ));
+        }
+        return resultado;
+    }
+    
+    /**
+     * Lista todos os shares em ordem de publicação
      */
     public List<ShareData> listarShares() {
-        return new ArrayList<>(shares.values());
+        return shares.listar();
+    }
+    
+    /**
+     * Lista uma página de shares em ordem de publicação
+     */
+    public IndiceTemporal.Pagina<ShareData> listarShares(String cursor, int limite) {
+        return shares.pagina(cursor, limite);
+    }
+    
+    /**
+     * Percorre os shares em ordem de publicação, sob demanda
+     */
+    public Stream<ShareData> streamShares() {
+        return shares.stream();
     }
     
     /**
@@ -108,12 +188,12 @@ public class LinkedInAPI {
     
     // Classes internas para representar dados específicos do LinkedIn
     public static class ShareData {
-        private String id;
-        private String texto;
-        private String linkUrl;
-        private String imagemUrl;
-        private LocalDateTime dataPublicacao;
-        private String tipo;
+        private final String id;
+        private final String texto;
+        private final String linkUrl;
+        private final String imagemUrl;
+        private final LocalDateTime dataPublicacao;
+        private final String tipo;
         
         public ShareData(String id, String texto, String linkUrl, String imagemUrl,
                         LocalDateTime dataPublicacao, String tipo) {
@@ -134,12 +214,32 @@ public class LinkedInAPI {
         public String getTipo() { return tipo; }
     }
     
+    public static class NovoShare {
+        private final String texto;
+        private final String linkUrl;
+        private final String imagemUrl;
+        private final String tipo;
+        
+        public NovoShare(String texto, String linkUrl, String imagemUrl, String tipo) {
+            this.texto = texto;
+            this.linkUrl = linkUrl;
+            this.imagemUrl = imagemUrl;
+            this.tipo = tipo;
+        }
+        
+        // Getters
+        public String getTexto() { return texto; }
+        public String getLinkUrl() { return linkUrl; }
+        public String getImagemUrl() { return imagemUrl; }
+        public String getTipo() { return tipo; }
+    }
+    
     public static class ShareAnalytics {
-        private String shareId;
-        private int views;
-        private int reactions;
-        private int comments;
-        private int shares;
+        private final String shareId;
+        private final int views;
+        private final int reactions;
+        private final int comments;
+        private final int shares;
         
         public ShareAnalytics(String shareId, int views, int reactions, 
                              int comments, int shares) {
@@ -2,6 +2,12 @@ package api;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import log.Log;
+import log.Logger;
+import servico.GeradorIds;
+import simbolos.DicionarioSimbolos;
 
 /**
  * API simulada do TikTok
@@ -9,21 +15,33 @@ import java.util.*;
  */
 public class TikTokAPI {
     
-    private String sessionToken;
-    private boolean logado = false;
-    private Map<String, VideoData> videos = new HashMap<>();
+    private static final Logger LOG = Log.getLogger(TikTokAPI.class);
+    
+    public static final int MAX_IDS_POR_REQUISICAO = 20;
+    
+    private volatile String sessionToken;
+    private volatile boolean logado = false;
+    private final IndiceTemporal<VideoData> videos = new IndiceTemporal<>(VideoData::getId, VideoData::getDataUpload);
     
     /**
      * Faz login na API do TikTok
      */
     public boolean fazerLogin(String usuario, String sessionToken) {
-        System.out.println("Fazendo login no TikTok...");
+        LOG.debug("Fazendo login no TikTok...");
         this.sessionToken = sessionToken;
         this.logado = true;
-        System.out.println("Login no TikTok realizado: @" + usuario);
+        LOG.info("Login no TikTok realizado: @{}", usuario);
         return true;
     }
     
+    /**
+     * Troca o token de sessão após uma renovação
+     */
+    public void atualizarSessionToken(String sessionToken) {
+        this.sessionToken = sessionToken;
+        LOG.debug("Token do TikTok atualizado");
+    }
+    
     /**
      * Posta um vídeo
      */
@@ -33,15 +51,37 @@ public class TikTokAPI {
             throw new IllegalStateException("Não logado no TikTok");
         }
         
-        String videoId = "tt_" + UUID.randomUUID().toString().substring(0, 8);
+        String videoId = GeradorIds.getInstance().gerarTexto("tt_");
         VideoData video = new VideoData(videoId, descricao, videoUrl, hashtags, 
                                         musica, LocalDateTime.now());
-        videos.put(videoId, video);
+        videos.adicionar(video);
         
-        System.out.println("Vídeo postado no TikTok: " + videoId);
+        LOG.info("Vídeo postado no TikTok: {}", videoId);
         return video;
     }
     
+    /**
+     * Posta vários vídeos numa única requisição
+     */
+    public List<VideoData> postarVideos(List<NovoVideo> novosVideos) {
+        if (!logado) {
+            throw new IllegalStateException("Não logado no TikTok");
+        }
+        
+        LocalDateTime agora = LocalDateTime.now();
+        List<VideoData> postados = new ArrayList<>(novosVideos.size());
+        for (NovoVideo novo : novosVideos) {
+            String videoId = GeradorIds.getInstance().gerarTexto("tt_");
+            VideoData video = new VideoData(videoId, novo.getDescricao(), novo.getVideoUrl(),
+                                            novo.getHashtags(), novo.getMusica(), agora);
+            videos.adicionar(video);
+            postados.add(video);
+        }
+        
+        LOG.info("Lote de vídeos postado no TikTok: {}", postados.size());
+        return postados;
+    }
+    
     /**
      * Remove um vídeo
      */
@@ -50,9 +90,9 @@ public class TikTokAPI {
             throw new IllegalStateException("Não logado no TikTok");
         }
         
-        boolean removido = videos.remove(videoId) != null;
+        boolean removido = videos.remover(videoId) != null;
         if (removido) {
-            System.out.println("🗑️ Vídeo deletado: " + videoId);
+            LOG.info("🗑️ Vídeo deletado: {}", videoId);
         }
         return removido;
     }
@@ -66,7 +106,7 @@ public class TikTokAPI {
         }
         
         // Simulação de estatísticas
-        Random random = new Random();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         return new VideoStats(
             videoId,
             random.nextInt(50000),  // views
@@ -77,10 +117,50 @@ public class TikTokAPI {
     }
     
     /**
-     * Lista todos os vídeos
+     * Obtém estatísticas de vários vídeos numa única requisição
+     * Aceita até MAX_IDS_POR_REQUISICAO ids por chamada
+     */
+    public List<VideoStats> obterStatsEmLote(Collection<String> videoIds) {
+        if (!logado) {
+            throw new IllegalStateException("Não logado no TikTok");
+        }
+        if (videoIds.size() > MAX_IDS_POR_REQUISICAO) {
+            throw new IllegalArgumentException("Máximo de " + MAX_IDS_POR_REQUISICAO + " ids por requisição");
+        }
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<VideoStats> resultado = new ArrayList<>(videoIds.size());
+        for (String videoId : videoIds) {
+            resultado.add(new VideoStats(
+                videoId,
+                random.nextInt(50000),  // views
+                random.nextInt(5000),   // likes
+                random.nextInt(500),    // comments
+                random.nextInt(1000)    // shares
+            ));
+        }
+        return resultado;
+    }
+    
+    /**
+     * Lista todos os vídeos em ordem de upload
      */
     public List<VideoData> listarVideos() {
-        return new ArrayList<>(videos.values());
+        return videos.listar();
+    }
+    
+    /**
+     * Lista uma página de vídeos em ordem de upload
+     */
+    public IndiceTemporal.Pagina<VideoData> listarVideos(String cursor, int limite) {
+        return videos.pagina(cursor, limite);
+    }
+    
+    /**
+     * Percorre os vídeos em ordem de upload, sob demanda
+     */
+    public Stream<VideoData> streamVideos() {
+        return videos.stream();
     }
     
     /**
@@ -91,20 +171,21 @@ public class TikTokAPI {
     }
     
     // Classes internas para representar dados específicos do TikTok
+    // Hashtags compartilhadas pelo dicionário de símbolos
     public static class VideoData {
-        private String id;
-        private String descricao;
-        private String videoUrl;
-        private List<String> hashtags;
-        private String musica;
-        private LocalDateTime dataUpload;
+        private final String id;
+        private final String descricao;
+        private final String videoUrl;
+        private final String[] hashtags;
+        private final String musica;
+        private final LocalDateTime dataUpload;
         
         public VideoData(String id, String descricao, String videoUrl, 
                         List<String> hashtags, String musica, LocalDateTime dataUpload) {
             this.id = id;
             this.descricao = descricao;
             this.videoUrl = videoUrl;
-            this.hashtags = hashtags;
+            this.hashtags = DicionarioSimbolos.getInstance().internar(hashtags);
             this.musica = musica;
             this.dataUpload = dataUpload;
         }
@@ -113,17 +194,37 @@ public class TikTokAPI {
         public String getId() { return id; }
         public String getDescricao() { return descricao; }
         public String getVideoUrl() { return videoUrl; }
-        public List<String> getHashtags() { return hashtags; }
+        public List<String> getHashtags() { return DicionarioSimbolos.lista(hashtags); }
         public String getMusica() { return musica; }
         public LocalDateTime getDataUpload() { return dataUpload; }
     }
     
+    public static class NovoVideo {
+        private final String descricao;
+        private final String videoUrl;
+        private final List<String> hashtags;
+        private final String musica;
+        
+        public NovoVideo(String descricao, String videoUrl, List<String> hashtags, String musica) {
+            this.descricao = descricao;
+            this.videoUrl = videoUrl;
+            this.hashtags = hashtags;
+            this.musica = musica;
+        }
+        
+        // Getters
+        public String getDescricao() { return descricao; }
+        public String getVideoUrl() { return videoUrl; }
+        public List<String> getHashtags() { return hashtags; }
+        public String getMusica() { return musica; }
+    }
+    
     public static class VideoStats {
-        private String videoId;
-        private int views;
-        private int likes;
-        private int comments;
-        private int shares;
+        private final String videoId;
+        private final int views;
+        private final int likes;
+        private final int comments;
+        private final int shares;
         
         public VideoStats(String videoId, int views, int likes, int comments, int shares) {
             this.videoId = videoId;
@@ -2,6 +2,12 @@ package api;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import log.Log;
+import log.Logger;
+import servico.GeradorIds;
+import simbolos.DicionarioSimbolos;
 
 /**
  * API simulada do Twitter (X)
@@ -9,18 +15,22 @@ import java.util.*;
  */
 public class TwitterAPI {
     
-    private String apiKey;
-    private boolean conectado = false;
-    private Map<String, TweetData> tweets = new HashMap<>();
+    private static final Logger LOG = Log.getLogger(TwitterAPI.class);
+    
+    public static final int MAX_IDS_POR_REQUISICAO = 100;
+    
+    private volatile String apiKey;
+    private volatile boolean conectado = false;
+    private final IndiceTemporal<TweetData> tweets = new IndiceTemporal<>(TweetData::getId, TweetData::getDataCriacao);
     
     /**
      * Conecta à API do Twitter
      */
     public boolean conectar(String apiKey, String apiSecret) {
-        System.out.println("Conectando à API do Twitter...");
+        LOG.debug("Conectando à API do Twitter...");
         this.apiKey = apiKey;
         this.conectado = true;
-        System.out.println("Conectado ao Twitter com sucesso!");
+        LOG.info("Conectado ao Twitter com sucesso!");
         return true;
     }
     
@@ -32,14 +42,36 @@ public class TwitterAPI {
             throw new IllegalStateException("Não conectado à API do Twitter");
         }
         
-        String tweetId = "tw_" + UUID.randomUUID().toString().substring(0, 8);
+        String tweetId = GeradorIds.getInstance().gerarTexto("tw_");
         TweetData tweet = new TweetData(tweetId, texto, midias, hashtags, LocalDateTime.now());
-        tweets.put(tweetId, tweet);
+        tweets.adicionar(tweet);
         
-        System.out.println("Tweet criado: " + tweetId);
+        LOG.info("Tweet criado: {}", tweetId);
         return tweet;
     }
     
+    /**
+     * Cria vários tweets numa única requisição
+     */
+    public List<TweetData> criarTweets(List<NovoTweet> novosTweets) {
+        if (!conectado) {
+            throw new IllegalStateException("Não conectado à API do Twitter");
+        }
+        
+        LocalDateTime agora = LocalDateTime.now();
+        List<TweetData> criados = new ArrayList<>(novosTweets.size());
+        for (NovoTweet novo : novosTweets) {
+            String tweetId = GeradorIds.getInstance().gerarTexto("tw_");
+            TweetData tweet = new TweetData(tweetId, novo.getTexto(), novo.getMidias(),
+                                            novo.getHashtags(), agora);
+            tweets.adicionar(tweet);
+            criados.add(tweet);
+        }
+        
+        LOG.info("Lote de tweets criado: {}", criados.size());
+        return criados;
+    }
+    
     /**
      * Remove um tweet
      */
@@ -48,9 +80,9 @@ public class TwitterAPI {
             throw new IllegalStateException("Não conectado à API do Twitter");
         }
         
-        boolean removido = tweets.remove(tweetId) != null;
+        boolean removido = tweets.remover(tweetId) != null;
         if (removido) {
-            System.out.println("🗑️ Tweet removido: " + tweetId);
+            LOG.info("🗑️ Tweet removido: {}", tweetId);
         }
         return removido;
     }
@@ -64,7 +96,7 @@ public class TwitterAPI {
         }
         
         // Simulação de métricas
-        Random random = new Random();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         return new TweetMetrics(
             tweetId,
             random.nextInt(10000),  // impressions
@@ -75,10 +107,50 @@ public class TwitterAPI {
     }
     
     /**
-     * Lista todos os tweets
+     * Obtém métricas de vários tweets numa única requisição
+     * Aceita até MAX_IDS_POR_REQUISICAO ids por chamada
+     */
+    public List<TweetMetrics> obterMetricasEmLote(Collection<String> tweetIds) {
+        if (!conectado) {
+            throw new IllegalStateException("Não conectado à API do Twitter");
+        }
+        if (tweetIds.size() > MAX_IDS_POR_REQUISICAO) {
+            throw new IllegalArgumentException("Máximo de " + MAX_IDS_POR_REQUISICAO + " ids por requisição");
+        }
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<TweetMetrics> resultado = new ArrayList<>(tweetIds.size());
+        for (String tweetId : tweetIds) {
+            resultado.add(new TweetMetrics(
+                tweetId,
+                random.nextInt(10000),  // impressions
+                random.nextInt(500),    // likes
+                random.nextInt(100),    // retweets
+                random.nextInt(50)      // replies
+            ));
+        }
+        return resultado;
+    }
+    
+    /**
+     * Lista todos os tweets em ordem de criação
      */
     public List<TweetData> listarTweets() {
-        return new ArrayList<>(tweets.values());
+        return tweets.listar();
+    }
+    
+    /**
+     * Lista uma página de tweets em ordem de criação
+     */
+    public IndiceTemporal.Pagina<TweetData> listarTweets(String cursor, int limite) {
+        return tweets.pagina(cursor, limite);
+    }
+    
+    /**
+     * Percorre os tweets em ordem de criação, sob demanda
+     */
+    public Stream<TweetData> streamTweets() {
+        return tweets.stream();
     }
     
     /**
@@ -89,19 +161,20 @@ public class TwitterAPI {
     }
     
     // Classes internas para representar dados específicos do Twitter
+    // Hashtags guardadas como ids do dicionário de símbolos
     public static class TweetData {
-        private String id;
-        private String texto;
-        private List<String> midias;
-        private List<String> hashtags;
-        private LocalDateTime dataCriacao;
+        private final String id;
+        private final String texto;
+        private final List<String> midias;
+        private final String[] hashtags;
+        private final LocalDateTime dataCriacao;
         
         public TweetData(String id, String texto, List<String> midias, 
                         List<String> hashtags, LocalDateTime dataCriacao) {
             this.id = id;
             this.texto = texto;
             this.midias = midias;
-            this.hashtags = hashtags;
+            this.hashtags = DicionarioSimbolos.getInstance().internar(hashtags);
             this.dataCriacao = dataCriacao;
         }
         
@@ -109,16 +182,33 @@ public class TwitterAPI {
         public String getId() { return id; }
         public String getTexto() { return texto; }
         public List<String> getMidias() { return midias; }
-        public List<String> getHashtags() { return hashtags; }
+        public List<String> getHashtags() { return DicionarioSimbolos.lista(hashtags); }
         public LocalDateTime getDataCriacao() { return dataCriacao; }
     }
     
+    public static class NovoTweet {
+        private final String texto;
+        private final List<String> midias;
+        private final List<String> hashtags;
+        
+        public NovoTweet(String texto, List<String> midias, List<String> hashtags) {
+            this.texto = texto;
+            this.midias = midias;
+            this.hashtags = hashtags;
+        }
+        
+        // Getters
+        public String getTexto() { return texto; }
+        public List<String> getMidias() { return midias; }
+        public List<String> getHashtags() { return hashtags; }
+    }
+    
     public static class TweetMetrics {
-        private String tweetId;
-        private int impressions;
-        private int likes;
-        private int retweets;
-        private int replies;
+        private final String tweetId;
+        private final int impressions;
+        private final int likes;
+        private final int retweets;
+        private final int replies;
         
         public TweetMetrics(String tweetId, int impressions, int likes, 
                            int retweets, int replies) {
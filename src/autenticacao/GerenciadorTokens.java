@@ -0,0 +1,250 @@
+package autenticacao;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import log.Log;
+import log.Logger;
+import modelo.Credenciais;
+import servico.Executores;
+import strategy.EstrategiaAutenticacao;
+
+/**
+ * Ciclo de vida dos tokens de acesso
+ *
+ * Registra a expiração do token de cada credencial e o renova em segundo
+ * plano antes que expire, para que as publicações encontrem sempre um token
+ * válido sem esperar. Renovações simultâneas da mesma credencial, seja pelo
+ * agendamento ou por chamadores que encontraram o token expirado, são
+ * agrupadas numa única chamada a {@link EstrategiaAutenticacao#renovarToken}.
+ *
+ * Cada credencial é registrada uma única vez, mesmo que vários gerenciadores
+ * da mesma conta a registrem: o registro conta as referências e só deixa de
+ * ser acompanhado quando a última é liberada.
+ */
+public class GerenciadorTokens implements AutoCloseable {
+
+    private static final Logger LOG = Log.getLogger(GerenciadorTokens.class);
+
+    private static final Duration ANTECEDENCIA_PADRAO = Duration.ofMinutes(5);
+    private static final long NOVA_TENTATIVA_MILLIS = 5_000;
+
+    private static GerenciadorTokens instance;
+
+    private final Map<String, Registro> registros = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService relogio;
+    private final Executor executor;
+    private final long antecedenciaMillis;
+
+    /**
+     * @param antecedencia Quanto tempo antes da expiração o token é renovado,
+     *                     limitado à metade da validade do token
+     * @param executor Executor das chamadas de renovação
+     */
+    public GerenciadorTokens(Duration antecedencia, Executor executor) {
+        this.antecedenciaMillis = antecedencia.toMillis();
+        this.executor = executor;
+        this.relogio = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "renovacao-tokens");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Singleton - obtém o gerenciador compartilhado pelos adapters
+     */
+    public static synchronized GerenciadorTokens getInstance() {
+        if (instance == null) {
+            instance = new GerenciadorTokens(ANTECEDENCIA_PADRAO, Executores.criarPadrao("renovacao-tokens-execucao"));
+        }
+        return instance;
+    }
+
+    /**
+     * Passa a acompanhar o token de uma credencial recém-autenticada, ou
+     * acrescenta uma referência à credencial já acompanhada, com o token novo
+     * Estratégias cujo token não expira são ignoradas
+     * @param chave Identificador da credencial (plataforma e conta)
+     * @param estrategia Estratégia que autenticou e que renovará o token
+     * @param credenciais Credenciais usadas na autenticação
+     * @return true se a credencial passou a ser acompanhada; cada registro
+     *         deve ser desfeito com {@link #liberar(String)}
+     */
+    public boolean registrar(String chave, EstrategiaAutenticacao estrategia, Credenciais credenciais) {
+        Duration validade = estrategia.getValidadeToken();
+        if (validade == null) {
+            return false;
+        }
+
+        long validadeMillis = validade.toMillis();
+        TokenAcesso token = new TokenAcesso(credenciais.getAccessToken(), credenciais.getRefreshToken(),
+            System.currentTimeMillis() + validadeMillis);
+        Registro registro = new Registro(estrategia, validadeMillis, token);
+
+        registros.compute(chave, (c, anterior) -> {
+            if (anterior != null) {
+                anterior.cancelarAgendamento();
+                registro.referencias = anterior.referencias;
+            }
+            registro.referencias++;
+            // Agendado dentro do compute para não concorrer com liberar()
+            agendarRenovacao(chave, registro, atrasoRenovacao(registro));
+            return registro;
+        });
+        return true;
+    }
+
+    /**
+     * Obtém o token válido de uma credencial
+     * Só espera se o token já tiver expirado, o que indica que a renovação
+     * antecipada falhou ou não aconteceu a tempo
+     * @return Token válido, ou null se a credencial não for acompanhada
+     */
+    public TokenAcesso obterToken(String chave) {
+        Registro registro = registros.get(chave);
+        if (registro == null) {
+            return null;
+        }
+
+        TokenAcesso token = registro.token;
+        if (!token.expirado(System.currentTimeMillis())) {
+            return token;
+        }
+        try {
+            return renovar(chave, registro).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Não foi possível renovar o token de " + chave, e.getCause());
+        }
+    }
+
+    /**
+     * Renova o token de uma credencial, ou junta-se à renovação em andamento
+     */
+    public CompletableFuture<TokenAcesso> renovar(String chave) {
+        Registro registro = registros.get(chave);
+        if (registro == null) {
+            return CompletableFuture.failedFuture(
+                new IllegalArgumentException("Credencial não registrada: " + chave));
+        }
+        return renovar(chave, registro);
+    }
+
+    /**
+     * Libera uma referência obtida em {@link #registrar}; com a última, o
+     * token deixa de ser acompanhado
+     */
+    public void liberar(String chave) {
+        registros.computeIfPresent(chave, (c, registro) -> {
+            if (--registro.referencias > 0) {
+                return registro;
+            }
+            registro.cancelarAgendamento();
+            return null;
+        });
+    }
+
+    /**
+     * Deixa de acompanhar o token de uma credencial, com todas as referências
+     */
+    public void remover(String chave) {
+        Registro registro = registros.remove(chave);
+        if (registro != null) {
+            registro.cancelarAgendamento();
+        }
+    }
+
+    public int tamanho() {
+        return registros.size();
+    }
+
+    @Override
+    public void close() {
+        relogio.shutdownNow();
+        registros.clear();
+    }
+
+    private CompletableFuture<TokenAcesso> renovar(String chave, Registro registro) {
+        while (true) {
+            CompletableFuture<TokenAcesso> emAndamento = registro.renovacao.get();
+            if (emAndamento != null) {
+                return emAndamento;
+            }
+
+            CompletableFuture<TokenAcesso> renovacao = new CompletableFuture<>();
+            if (registro.renovacao.compareAndSet(null, renovacao)) {
+                executor.execute(() -> executarRenovacao(chave, registro, renovacao));
+                return renovacao;
+            }
+        }
+    }
+
+    private void executarRenovacao(String chave, Registro registro, CompletableFuture<TokenAcesso> renovacao) {
+        try {
+            TokenAcesso atual = registro.token;
+            String novoValor = registro.estrategia.renovarToken(atual.getRefreshToken());
+            TokenAcesso novo = new TokenAcesso(novoValor, atual.getRefreshToken(),
+                System.currentTimeMillis() + registro.validadeMillis);
+
+            // O token é publicado antes de liberar a renovação, para que quem
+            // chegar depois já encontre o token novo
+            registro.token = novo;
+            registro.renovacao.set(null);
+            renovacao.complete(novo);
+            LOG.debug("Token de {} renovado até {}", chave, novo.getExpiraEm());
+
+            if (registros.get(chave) == registro) {
+                agendarRenovacao(chave, registro, atrasoRenovacao(registro));
+            }
+        } catch (RuntimeException e) {
+            registro.renovacao.set(null);
+            renovacao.completeExceptionally(e);
+            LOG.warn("Falha ao renovar token de {}", chave, e);
+
+            if (registros.get(chave) == registro) {
+                agendarRenovacao(chave, registro, NOVA_TENTATIVA_MILLIS);
+            }
+        }
+    }
+
+    private long atrasoRenovacao(Registro registro) {
+        long antecedencia = Math.min(antecedenciaMillis, registro.validadeMillis / 2);
+        return Math.max(0, registro.token.getExpiraEmMillis() - antecedencia - System.currentTimeMillis());
+    }
+
+    private void agendarRenovacao(String chave, Registro registro, long atrasoMillis) {
+        registro.cancelarAgendamento();
+        registro.agendamento = relogio.schedule(() -> renovar(chave, registro), atrasoMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Registro {
+        private final EstrategiaAutenticacao estrategia;
+        private final long validadeMillis;
+        private final AtomicReference<CompletableFuture<TokenAcesso>> renovacao = new AtomicReference<>();
+        private volatile TokenAcesso token;
+        private volatile ScheduledFuture<?> agendamento;
+        // Alterado só dentro de compute no mapa de registros
+        private int referencias;
+
+        private Registro(EstrategiaAutenticacao estrategia, long validadeMillis, TokenAcesso token) {
+            this.estrategia = estrategia;
+            this.validadeMillis = validadeMillis;
+            this.token = token;
+        }
+
+        private void cancelarAgendamento() {
+            ScheduledFuture<?> atual = agendamento;
+            if (atual != null) {
+                atual.cancel(false);
+            }
+        }
+    }
+}
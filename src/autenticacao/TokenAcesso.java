@@ -0,0 +1,50 @@
+package autenticacao;
+
+import java.time.Instant;
+
+/**
+ * Token de acesso com sua data de expiração
+ * Imutável: cada renovação produz uma nova instância
+ */
+public final class TokenAcesso {
+    private final String valor;
+    private final String refreshToken;
+    private final long expiraEmMillis;
+
+    public TokenAcesso(String valor, String refreshToken, long expiraEmMillis) {
+        this.valor = valor;
+        this.refreshToken = refreshToken;
+        this.expiraEmMillis = expiraEmMillis;
+    }
+
+    /**
+     * Verifica se o token já expirou no instante informado
+     */
+    public boolean expirado(long agoraMillis) {
+        return agoraMillis >= expiraEmMillis;
+    }
+
+    // Getters
+    public String getValor() {
+        return valor;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public long getExpiraEmMillis() {
+        return expiraEmMillis;
+    }
+
+    public Instant getExpiraEm() {
+        return Instant.ofEpochMilli(expiraEmMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "TokenAcesso{" +
+                "expiraEm=" + getExpiraEm() +
+                '}';
+    }
+}
@@ -0,0 +1,212 @@
+package cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import modelo.Estatisticas;
+
+/**
+ * Cache de estatísticas com expiração por plataforma e limite de entradas
+ *
+ * As entradas são distribuídas em segmentos, cada um com seu próprio lock e
+ * sua própria ordem LRU, para que leituras concorrentes de publicações
+ * diferentes raramente disputem o mesmo lock. Quando um segmento atinge sua
+ * cota, a entrada usada há mais tempo é descartada.
+ */
+public class CacheEstatisticas {
+
+    private static final int SEGMENTOS = 16;
+
+    private final Segmento[] segmentos;
+    private final Map<String, Long> ttlPorPlataformaNanos = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final long ttlPadraoNanos;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder despejos = new LongAdder();
+    private final LongAdder expiracoes = new LongAdder();
+
+    public CacheEstatisticas(Duration ttlPadrao, int maximoEntradas) {
+        this(ttlPadrao, maximoEntradas, new HashMap<>());
+    }
+
+    /**
+     * @param ttlPadrao Tempo de vida para plataformas sem TTL próprio
+     * @param maximoEntradas Quantidade máxima de estatísticas em memória
+     * @param ttlPorPlataforma Tempo de vida por nome de plataforma
+     */
+    public CacheEstatisticas(Duration ttlPadrao, int maximoEntradas, Map<String, Duration> ttlPorPlataforma) {
+        if (maximoEntradas <= 0) {
+            throw new IllegalArgumentException("Máximo de entradas deve ser positivo");
+        }
+        this.ttlPadraoNanos = ttlPadrao.toNanos();
+        for (Map.Entry<String, Duration> ttl : ttlPorPlataforma.entrySet()) {
+            ttlPorPlataformaNanos.put(ttl.getKey(), ttl.getValue().toNanos());
+        }
+
+        int cotaPorSegmento = Math.max(1, (maximoEntradas + SEGMENTOS - 1) / SEGMENTOS);
+        this.segmentos = new Segmento[SEGMENTOS];
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento(cotaPorSegmento);
+        }
+    }
+
+    /**
+     * Obtém as estatísticas em cache de uma publicação
+     * @return Estatísticas ou null se ausentes ou expiradas
+     */
+    public Estatisticas obter(String plataforma, String idPublicacao) {
+        String chave = chave(plataforma, idPublicacao);
+        Segmento segmento = segmentoDe(chave);
+        long agora = System.nanoTime();
+
+        synchronized (segmento) {
+            Entrada entrada = segmento.get(chave);
+            if (entrada == null) {
+                falhas.increment();
+                return null;
+            }
+            if (agora - entrada.expiraEm >= 0) {
+                segmento.remove(chave);
+                expiracoes.increment();
+                falhas.increment();
+                return null;
+            }
+            acertos.increment();
+            return entrada.valor;
+        }
+    }
+
+    /**
+     * Guarda as estatísticas de uma publicação
+     */
+    public void guardar(String plataforma, String idPublicacao, Estatisticas estatisticas) {
+        String chave = chave(plataforma, idPublicacao);
+        Segmento segmento = segmentoDe(chave);
+        Entrada entrada = new Entrada(estatisticas, System.nanoTime() + ttlDe(plataforma));
+
+        synchronized (segmento) {
+            segmento.put(chave, entrada);
+        }
+    }
+
+    /**
+     * Remove as estatísticas de uma publicação
+     */
+    public void invalidar(String plataforma, String idPublicacao) {
+        String chave = chave(plataforma, idPublicacao);
+        Segmento segmento = segmentoDe(chave);
+        synchronized (segmento) {
+            segmento.remove(chave);
+        }
+    }
+
+    /**
+     * Remove todas as entradas expiradas
+     */
+    public void limparExpirados() {
+        long agora = System.nanoTime();
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                Iterator<Entrada> entradas = segmento.values().iterator();
+                while (entradas.hasNext()) {
+                    if (agora - entradas.next().expiraEm >= 0) {
+                        entradas.remove();
+                        expiracoes.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    public int tamanho() {
+        int total = 0;
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.size();
+            }
+        }
+        return total;
+    }
+
+    // Contadores
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    public long getDespejos() {
+        return despejos.sum();
+    }
+
+    public long getExpiracoes() {
+        return expiracoes.sum();
+    }
+
+    public double getTaxaAcerto() {
+        long a = acertos.sum();
+        long total = a + falhas.sum();
+        return total == 0 ? 0.0 : (a * 100.0) / total;
+    }
+
+    private long ttlDe(String plataforma) {
+        Long ttl = ttlPorPlataformaNanos.get(plataforma);
+        return ttl != null ? ttl : ttlPadraoNanos;
+    }
+
+    private static String chave(String plataforma, String idPublicacao) {
+        return plataforma + ':' + idPublicacao;
+    }
+
+    private Segmento segmentoDe(String chave) {
+        int h = chave.hashCode();
+        h ^= (h >>> 16);
+        return segmentos[h & (SEGMENTOS - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheEstatisticas{" +
+                "tamanho=%d, acertos=%d, falhas=%d, despejos=%d, expiracoes=%d, taxaAcerto=%.2f%%}",
+                tamanho(), getAcertos(), getFalhas(), getDespejos(), getExpiracoes(), getTaxaAcerto());
+    }
+
+    private static final class Entrada {
+        private final Estatisticas valor;
+        private final long expiraEm;
+
+        private Entrada(Estatisticas valor, long expiraEm) {
+            this.valor = valor;
+            this.expiraEm = expiraEm;
+        }
+    }
+
+    /**
+     * Segmento LRU: LinkedHashMap em ordem de acesso que descarta a entrada
+     * mais antiga ao ultrapassar a cota
+     */
+    private final class Segmento extends LinkedHashMap<String, Entrada> {
+        private final int cota;
+
+        private Segmento(int cota) {
+            super(16, 0.75f, true);
+            this.cota = cota;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+            if (size() > cota) {
+                despejos.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
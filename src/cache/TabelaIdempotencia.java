@@ -0,0 +1,259 @@
+package cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import modelo.Publicacao;
+
+/**
+ * Tabela de chaves de idempotência das publicações
+ *
+ * Associa a chave de idempotência de uma conta numa plataforma à publicação
+ * criada com ela. A primeira chamada com uma chave reserva a entrada e
+ * publica; chamadas repetidas, simultâneas ou posteriores, recebem a mesma
+ * publicação sem chamar a plataforma. Uma publicação que falhou libera a
+ * chave para uma nova tentativa.
+ *
+ * Como o cache de estatísticas, as entradas ficam em segmentos com lock
+ * próprio e cota própria; cada segmento guarda as publicações concluídas na
+ * ordem de conclusão, descarta a mais antiga ao ultrapassar a cota e as
+ * expira após o TTL. As reservas ainda publicando ficam fora da cota, num
+ * mapa à parte do segmento: nunca são descartadas, pois uma nova tentativa
+ * com a chave publicaria de novo.
+ */
+public class TabelaIdempotencia {
+
+    private static final int SEGMENTOS = 16;
+    private static final Duration TTL_PADRAO = Duration.ofHours(24);
+    private static final int MAXIMO_ENTRADAS_PADRAO = 100_000;
+
+    private static TabelaIdempotencia instance;
+
+    private final Segmento[] segmentos;
+    private final long ttlNanos;
+
+    private final LongAdder repetidas = new LongAdder();
+    private final LongAdder despejos = new LongAdder();
+
+    /**
+     * @param ttl Tempo por que uma publicação concluída é lembrada
+     * @param maximoEntradas Quantidade máxima de chaves em memória
+     */
+    public TabelaIdempotencia(Duration ttl, int maximoEntradas) {
+        if (maximoEntradas <= 0) {
+            throw new IllegalArgumentException("Máximo de entradas deve ser positivo");
+        }
+        this.ttlNanos = ttl.toNanos();
+
+        int cotaPorSegmento = Math.max(1, (maximoEntradas + SEGMENTOS - 1) / SEGMENTOS);
+        this.segmentos = new Segmento[SEGMENTOS];
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento(cotaPorSegmento);
+        }
+    }
+
+    /**
+     * Singleton - obtém a tabela compartilhada pelos gerenciadores da aplicação
+     */
+    public static synchronized TabelaIdempotencia getInstance() {
+        if (instance == null) {
+            instance = new TabelaIdempotencia(TTL_PADRAO, MAXIMO_ENTRADAS_PADRAO);
+        }
+        return instance;
+    }
+
+    /**
+     * Publica uma única vez por chave
+     * @param publicar Publicação a executar se a chave ainda não foi usada
+     * @return Publicação criada por esta chamada ou pela primeira com a mesma chave
+     */
+    public Publicacao executar(String plataforma, String conta, String chaveIdempotencia,
+                               Supplier<Publicacao> publicar) {
+        CompletableFuture<Publicacao> reserva = new CompletableFuture<>();
+        CompletableFuture<Publicacao> existente = reservar(plataforma, conta, chaveIdempotencia, reserva);
+        if (existente != null) {
+            return aguardar(existente);
+        }
+
+        Publicacao publicacao;
+        try {
+            publicacao = publicar.get();
+        } catch (RuntimeException | Error e) {
+            descartar(plataforma, conta, chaveIdempotencia, reserva, e);
+            throw e;
+        }
+        concluir(plataforma, conta, chaveIdempotencia, reserva, publicacao);
+        return publicacao;
+    }
+
+    /**
+     * Reserva uma chave para publicar
+     * @param reserva Resultado a ser concluído por quem obtiver a reserva
+     * @return null se a reserva foi obtida (o chamador deve publicar e chamar
+     *         concluir ou descartar), ou o resultado de quem já reservou a chave
+     */
+    public CompletableFuture<Publicacao> reservar(String plataforma, String conta, String chaveIdempotencia,
+                                                  CompletableFuture<Publicacao> reserva) {
+        String chave = chave(plataforma, conta, chaveIdempotencia);
+        Segmento segmento = segmentoDe(chave);
+        long agora = System.nanoTime();
+
+        synchronized (segmento) {
+            segmento.removerExpiradas(agora);
+            CompletableFuture<Publicacao> pendente = segmento.pendentes.get(chave);
+            if (pendente != null) {
+                repetidas.increment();
+                return pendente;
+            }
+            Entrada entrada = segmento.get(chave);
+            if (entrada != null && !entrada.expirada(agora)) {
+                repetidas.increment();
+                return entrada.resultado;
+            }
+            segmento.pendentes.put(chave, reserva);
+            return null;
+        }
+    }
+
+    /**
+     * Registra a publicação criada com uma chave reservada
+     */
+    public void concluir(String plataforma, String conta, String chaveIdempotencia,
+                         CompletableFuture<Publicacao> reserva, Publicacao publicacao) {
+        String chave = chave(plataforma, conta, chaveIdempotencia);
+        Segmento segmento = segmentoDe(chave);
+        synchronized (segmento) {
+            if (segmento.pendentes.remove(chave, reserva)) {
+                // Reinserida no fim: a ordem do segmento é a ordem de expiração
+                segmento.remove(chave);
+                segmento.put(chave, new Entrada(reserva, System.nanoTime() + ttlNanos));
+            }
+        }
+        reserva.complete(publicacao);
+    }
+
+    /**
+     * Libera uma chave reservada cuja publicação falhou
+     * Quem aguardava a reserva recebe a mesma falha
+     */
+    public void descartar(String plataforma, String conta, String chaveIdempotencia,
+                          CompletableFuture<Publicacao> reserva, Throwable erro) {
+        String chave = chave(plataforma, conta, chaveIdempotencia);
+        Segmento segmento = segmentoDe(chave);
+        synchronized (segmento) {
+            segmento.pendentes.remove(chave, reserva);
+        }
+        reserva.completeExceptionally(erro);
+    }
+
+    /**
+     * Aguarda o resultado de uma reserva, repassando a falha original
+     */
+    public static Publicacao aguardar(CompletableFuture<Publicacao> resultado) {
+        try {
+            return resultado.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw e;
+        }
+    }
+
+    public int tamanho() {
+        int total = 0;
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.size() + segmento.pendentes.size();
+            }
+        }
+        return total;
+    }
+
+    // Contadores
+    public long getRepetidas() {
+        return repetidas.sum();
+    }
+
+    public long getDespejos() {
+        return despejos.sum();
+    }
+
+    // Contas e chaves não contêm o caractere nulo, portanto a junção não é ambígua
+    private static String chave(String plataforma, String conta, String chaveIdempotencia) {
+        return plataforma + '\0' + conta + '\0' + chaveIdempotencia;
+    }
+
+    private Segmento segmentoDe(String chave) {
+        int h = chave.hashCode();
+        h ^= (h >>> 16);
+        return segmentos[h & (SEGMENTOS - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return "TabelaIdempotencia{tamanho=" + tamanho() + ", repetidas=" + getRepetidas()
+            + ", despejos=" + getDespejos() + '}';
+    }
+
+    /**
+     * Publicação concluída com uma chave
+     */
+    private static final class Entrada {
+        private final CompletableFuture<Publicacao> resultado;
+        private final long expiraEm;
+
+        private Entrada(CompletableFuture<Publicacao> resultado, long expiraEm) {
+            this.resultado = resultado;
+            this.expiraEm = expiraEm;
+        }
+
+        private boolean expirada(long agora) {
+            return agora - expiraEm >= 0;
+        }
+    }
+
+    /**
+     * Publicações concluídas em ordem de conclusão, descartando a mais antiga
+     * ao ultrapassar a cota, e as reservas em andamento, fora da cota
+     */
+    private final class Segmento extends LinkedHashMap<String, Entrada> {
+        private final int cota;
+        private final Map<String, CompletableFuture<Publicacao>> pendentes = new HashMap<>();
+
+        private Segmento(int cota) {
+            super(16, 0.75f, false);
+            this.cota = cota;
+        }
+
+        /**
+         * Remove as entradas expiradas do início do segmento, que são as mais
+         * antigas; para na primeira ainda válida
+         */
+        private void removerExpiradas(long agora) {
+            Iterator<Entrada> entradas = values().iterator();
+            while (entradas.hasNext() && entradas.next().expirada(agora)) {
+                entradas.remove();
+            }
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+            if (size() > cota) {
+                despejos.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
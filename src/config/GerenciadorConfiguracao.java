@@ -1,150 +1,209 @@
 package config;
 
 import factory.ConfiguracaoPlataforma;
+import factory.SocialMediaFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+import log.Log;
+import log.Logger;
 
 /**
  * Gerenciador de configurações por ambiente
  * Implementa configuração dinâmica baseada no ambiente
+ *
+ * As configurações vêm de um arquivo no formato de plataformas.properties:
+ * o informado pela propriedade {@code config.arquivo} ou, na falta dele, o
+ * embutido no jar. O estado fica num {@link SnapshotConfiguracao} imutável
+ * publicado por uma única referência atômica: leituras não bloqueiam e
+ * alterações (troca de ambiente, configuração adicionada ou recarga do
+ * arquivo) substituem o snapshot inteiro de uma vez. Um arquivo externo é
+ * observado e recarregado automaticamente quando alterado.
+ *
+ * Cada alteração é repassada aos ouvintes registrados, em ordem. Na instância
+ * única, as plataformas alteradas têm o limite de taxa reaplicado e os
+ * gerenciadores registrados a partir da configuração descartados, para que
+ * sejam recriados com a nova composição.
  */
-public class GerenciadorConfiguracao {
-    
-    private static GerenciadorConfiguracao instance;
-    private String ambienteAtual;
-    private Map<String, Map<String, ConfiguracaoPlataforma>> configuracoesPorAmbiente;
-    
-    private GerenciadorConfiguracao() {
-        configuracoesPorAmbiente = new HashMap<>();
-        inicializarConfiguracoes();
-        ambienteAtual = "DESENVOLVIMENTO"; // padrão
-    }
-    
+public class GerenciadorConfiguracao implements AutoCloseable {
+
+    private static final Logger LOG = Log.getLogger(GerenciadorConfiguracao.class);
+
+    private static final String PROPRIEDADE_ARQUIVO = "config.arquivo";
+    private static final String RECURSO_PADRAO = "plataformas.properties";
+    // Editores costumam gravar o arquivo em mais de uma etapa
+    private static final long ESPERA_ESCRITA_MILLIS = 100;
+
+    private final AtomicReference<SnapshotConfiguracao> estado;
+    private final List<BiConsumer<SnapshotConfiguracao, SnapshotConfiguracao>> ouvintes = new CopyOnWriteArrayList<>();
+    private final Path arquivo;
+    private final WatchService observador;
+
+    /**
+     * Carrega as configurações de um arquivo e passa a observá-lo
+     * @param arquivo Arquivo de configuração, ou null para usar as configurações embutidas
+     * @throws UncheckedIOException se o arquivo não puder ser lido
+     */
+    public GerenciadorConfiguracao(Path arquivo) {
+        this.arquivo = arquivo != null ? arquivo.toAbsolutePath() : null;
+        this.estado = new AtomicReference<>(arquivo != null ? lerArquivo(this.arquivo) : lerPadrao());
+        this.observador = this.arquivo != null ? observar(this.arquivo) : null;
+        LOG.info("Configurações carregadas de {} no ambiente {}",
+            this.arquivo != null ? this.arquivo : RECURSO_PADRAO, estado.get().getAmbiente());
+    }
+
     /**
-     * Singleton - obtém instância única
+     * Singleton - obtém instância única, criada na primeira chamada
      */
     public static GerenciadorConfiguracao getInstance() {
-        if (instance == null) {
-            instance = new GerenciadorConfiguracao();
-        }
-        return instance;
+        return Instancia.UNICA;
     }
-    
+
     /**
-     * Inicializa configurações para cada ambiente
+     * Snapshot atual das configurações, consistente entre si
      */
-    private void inicializarConfiguracoes() {
-        // DESENVOLVIMENTO
-        Map<String, ConfiguracaoPlataforma> dev = new HashMap<>();
-        dev.put("TWITTER", new ConfiguracaoPlataforma("TWITTER", "OAUTH2", "IMEDIATA", true));
-        dev.put("INSTAGRAM", new ConfiguracaoPlataforma("INSTAGRAM", "APIKEY", "IMEDIATA", true));
-        dev.put("LINKEDIN", new ConfiguracaoPlataforma("LINKEDIN", "OAUTH2", "IMEDIATA", false));
-        dev.put("TIKTOK", new ConfiguracaoPlataforma("TIKTOK", "JWT", "IMEDIATA", true));
-        configuracoesPorAmbiente.put("DESENVOLVIMENTO", dev);
-        
-        // HOMOLOGAÇÃO
-        Map<String, ConfiguracaoPlataforma> homolog = new HashMap<>();
-        homolog.put("TWITTER", new ConfiguracaoPlataforma("TWITTER", "OAUTH2", "AGENDADA", true));
-        homolog.put("INSTAGRAM", new ConfiguracaoPlataforma("INSTAGRAM", "APIKEY", "AGENDADA", true));
-        homolog.put("LINKEDIN", new ConfiguracaoPlataforma("LINKEDIN", "OAUTH2", "AGENDADA", true));
-        homolog.put("TIKTOK", new ConfiguracaoPlataforma("TIKTOK", "JWT", "AGENDADA", true));
-        configuracoesPorAmbiente.put("HOMOLOGACAO", homolog);
-        
-        // PRODUÇÃO
-        Map<String, ConfiguracaoPlataforma> prod = new HashMap<>();
-        prod.put("TWITTER", new ConfiguracaoPlataforma("TWITTER", "OAUTH2", "AGENDADA", true));
-        prod.put("INSTAGRAM", new ConfiguracaoPlataforma("INSTAGRAM", "OAUTH2", "AGENDADA", true));
-        prod.put("LINKEDIN", new ConfiguracaoPlataforma("LINKEDIN", "OAUTH2", "AGENDADA", true));
-        prod.put("TIKTOK", new ConfiguracaoPlataforma("TIKTOK", "JWT", "AGENDADA", true));
-        configuracoesPorAmbiente.put("PRODUCAO", prod);
-    }
-    
+    public SnapshotConfiguracao getSnapshot() {
+        return estado.get();
+    }
+
     /**
      * Define o ambiente atual
      */
     public void setAmbiente(String ambiente) {
-        if (!configuracoesPorAmbiente.containsKey(ambiente.toUpperCase())) {
-            throw new IllegalArgumentException("Ambiente não configurado: " + ambiente);
-        }
-        this.ambienteAtual = ambiente.toUpperCase();
-        System.out.println("Ambiente alterado para: " + ambienteAtual);
+        SnapshotConfiguracao novo = alterar(atual -> atual.comAmbiente(ambiente));
+        LOG.info("Ambiente alterado para: {}", novo.getAmbiente());
     }
-    
+
     /**
      * Obtém o ambiente atual
      */
     public String getAmbienteAtual() {
-        return ambienteAtual;
+        return estado.get().getAmbiente();
     }
-    
+
     /**
      * Obtém configuração de uma plataforma no ambiente atual
      */
     public ConfiguracaoPlataforma obterConfiguracao(String plataforma) {
-        Map<String, ConfiguracaoPlataforma> configs = configuracoesPorAmbiente.get(ambienteAtual);
-        
-        if (configs == null) {
-            throw new IllegalStateException("Configurações não encontradas para ambiente: " + ambienteAtual);
-        }
-        
-        ConfiguracaoPlataforma config = configs.get(plataforma.toUpperCase());
-        
+        ConfiguracaoPlataforma config = estado.get().obter(plataforma);
+
         if (config == null) {
             throw new IllegalArgumentException("Plataforma não configurada: " + plataforma);
         }
-        
+
         return config;
     }
-    
+
     /**
      * Obtém todas as plataformas ativas no ambiente atual
      */
     public List<ConfiguracaoPlataforma> obterPlataformasAtivas() {
-        List<ConfiguracaoPlataforma> ativas = new ArrayList<>();
-        Map<String, ConfiguracaoPlataforma> configs = configuracoesPorAmbiente.get(ambienteAtual);
-        
-        for (ConfiguracaoPlataforma config : configs.values()) {
-            if (config.isAtiva()) {
-                ativas.add(config);
-            }
-        }
-        
-        return ativas;
+        return estado.get().getAtivas();
     }
-    
+
     /**
      * Lista todas as plataformas configuradas
      */
     public List<String> listarPlataformas() {
-        Map<String, ConfiguracaoPlataforma> configs = configuracoesPorAmbiente.get(ambienteAtual);
-        return new ArrayList<>(configs.keySet());
+        List<String> plataformas = new ArrayList<>();
+        for (ConfiguracaoPlataforma config : estado.get().getConfiguracoes()) {
+            plataformas.add(config.getNomePlataforma());
+        }
+        return plataformas;
     }
-    
+
     /**
      * Adiciona ou atualiza configuração de plataforma
+     * Vale até a próxima recarga do arquivo de configuração
      */
     public void adicionarConfiguracao(String ambiente, ConfiguracaoPlataforma config) {
-        String ambienteUpper = ambiente.toUpperCase();
-        
-        if (!configuracoesPorAmbiente.containsKey(ambienteUpper)) {
-            configuracoesPorAmbiente.put(ambienteUpper, new HashMap<>());
+        alterar(atual -> atual.comConfiguracao(ambiente, config));
+
+        LOG.info("Configuração adicionada: {} no ambiente {}", config.getNomePlataforma(), ambiente);
+    }
+
+    /**
+     * Lê de novo o arquivo de configuração
+     * Em caso de erro as configurações atuais são mantidas
+     * @return true se as configurações mudaram
+     */
+    public boolean recarregar() {
+        if (arquivo == null) {
+            return false;
+        }
+        SnapshotConfiguracao lido;
+        try {
+            lido = lerArquivo(arquivo);
+        } catch (RuntimeException e) {
+            LOG.error("Configurações de {} mantidas: arquivo inválido", arquivo, e);
+            return false;
         }
-        
-        Map<String, ConfiguracaoPlataforma> configs = configuracoesPorAmbiente.get(ambienteUpper);
-        configs.put(config.getNomePlataforma().toUpperCase(), config);
-        
-        System.out.println("Configuração adicionada: " + config.getNomePlataforma() + " no ambiente " + ambiente);
+
+        SnapshotConfiguracao anterior = estado.get();
+        SnapshotConfiguracao novo = alterar(atual -> atual.mesmasConfiguracoes(lido) ? atual : atual.recarregado(lido));
+        if (novo == anterior) {
+            return false;
+        }
+        LOG.info("Configurações recarregadas de {} no ambiente {}", arquivo, novo.getAmbiente());
+        return true;
     }
-    
+
+    /**
+     * Registra uma ação executada após cada alteração das configurações
+     * @param ouvinte Recebe o snapshot anterior e o novo
+     */
+    public void adicionarOuvinte(BiConsumer<SnapshotConfiguracao, SnapshotConfiguracao> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    /**
+     * Publica o snapshot alterado e avisa os ouvintes
+     * As alterações são serializadas para que os ouvintes as recebam na ordem
+     * em que foram publicadas; as leituras continuam sem bloquear.
+     */
+    private synchronized SnapshotConfiguracao alterar(UnaryOperator<SnapshotConfiguracao> alteracao) {
+        SnapshotConfiguracao anterior = estado.get();
+        SnapshotConfiguracao novo = alteracao.apply(anterior);
+        if (novo == anterior) {
+            return novo;
+        }
+        estado.set(novo);
+        for (BiConsumer<SnapshotConfiguracao, SnapshotConfiguracao> ouvinte : ouvintes) {
+            try {
+                ouvinte.accept(anterior, novo);
+            } catch (RuntimeException e) {
+                LOG.error("Falha ao aplicar a alteração das configurações", e);
+            }
+        }
+        return novo;
+    }
+
     /**
      * Exibe todas as configurações do ambiente atual
      */
     public void exibirConfiguracoes() {
-        System.out.println("\n📋 CONFIGURAÇÕES DO AMBIENTE: " + ambienteAtual);
+        SnapshotConfiguracao snapshot = estado.get();
+        System.out.println("\n📋 CONFIGURAÇÕES DO AMBIENTE: " + snapshot.getAmbiente());
         System.out.println("═".repeat(60));
-        
-        Map<String, ConfiguracaoPlataforma> configs = configuracoesPorAmbiente.get(ambienteAtual);
-        
-        for (ConfiguracaoPlataforma config : configs.values()) {
+
+        for (ConfiguracaoPlataforma config : snapshot.getConfiguracoes()) {
             String status = config.isAtiva() ? "✅ ATIVA" : "❌ INATIVA";
             System.out.printf("%-15s | %-10s | %-10s | %s%n",
                 config.getNomePlataforma(),
@@ -153,7 +212,113 @@ public class GerenciadorConfiguracao {
                 status
             );
         }
-        
+
         System.out.println("═".repeat(60));
     }
+
+    /**
+     * Para de observar o arquivo de configuração
+     */
+    @Override
+    public void close() {
+        if (observador != null) {
+            try {
+                observador.close();
+            } catch (IOException e) {
+                LOG.warn("Falha ao encerrar a observação de {}", arquivo, e);
+            }
+        }
+    }
+
+    private static SnapshotConfiguracao lerPadrao() {
+        try (InputStream entrada = GerenciadorConfiguracao.class.getResourceAsStream(RECURSO_PADRAO)) {
+            if (entrada == null) {
+                throw new IllegalStateException("Configurações embutidas não encontradas: " + RECURSO_PADRAO);
+            }
+            return ler(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static SnapshotConfiguracao lerArquivo(Path arquivo) {
+        try (Reader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            return ler(leitor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler " + arquivo, e);
+        }
+    }
+
+    private static SnapshotConfiguracao ler(Reader leitor) throws IOException {
+        Properties propriedades = new Properties();
+        propriedades.load(leitor);
+        return SnapshotConfiguracao.ler(propriedades);
+    }
+
+    /**
+     * Observa o diretório do arquivo numa thread daemon, pois o WatchService
+     * só observa diretórios
+     */
+    private WatchService observar(Path arquivo) {
+        try {
+            WatchService servico = arquivo.getFileSystem().newWatchService();
+            arquivo.getParent().register(servico,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            Thread thread = new Thread(() -> aguardarAlteracoes(servico), "config-observador");
+            thread.setDaemon(true);
+            thread.start();
+            return servico;
+        } catch (IOException e) {
+            LOG.warn("Alterações em {} não serão aplicadas automaticamente", arquivo, e);
+            return null;
+        }
+    }
+
+    private void aguardarAlteracoes(WatchService servico) {
+        Path nome = arquivo.getFileName();
+        try {
+            while (true) {
+                WatchKey chave = servico.take();
+                boolean alterado = contemArquivo(chave, nome);
+                boolean valida = chave.reset();
+                if (alterado) {
+                    // Agrupa as notificações de uma mesma gravação numa única recarga
+                    while ((chave = servico.poll(ESPERA_ESCRITA_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                        contemArquivo(chave, nome);
+                        valida = chave.reset();
+                    }
+                    recarregar();
+                }
+                if (!valida) {
+                    LOG.warn("Diretório de {} não está mais acessível; recarga automática encerrada", arquivo);
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Encerrado por close()
+        }
+    }
+
+    private static boolean contemArquivo(WatchKey chave, Path nome) {
+        boolean contem = false;
+        for (WatchEvent<?> evento : chave.pollEvents()) {
+            contem |= nome.equals(evento.context());
+        }
+        return contem;
+    }
+
+    private static final class Instancia {
+        private static final GerenciadorConfiguracao UNICA = criar();
+
+        private static GerenciadorConfiguracao criar() {
+            String arquivo = System.getProperty(PROPRIEDADE_ARQUIVO);
+            GerenciadorConfiguracao gerenciador = new GerenciadorConfiguracao(arquivo != null ? Paths.get(arquivo) : null);
+            gerenciador.adicionarOuvinte((anterior, novo) -> {
+                for (String plataforma : novo.plataformasAlteradas(anterior)) {
+                    SocialMediaFactory.aplicarConfiguracao(plataforma, novo.obter(plataforma));
+                }
+            });
+            return gerenciador;
+        }
+    }
 }
@@ -0,0 +1,235 @@
+package config;
+
+import factory.ConfiguracaoPlataforma;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import provedor.CatalogoPlataformas;
+
+/**
+ * Estado imutável das configurações de todos os ambientes
+ *
+ * Cada alteração (recarga do arquivo, troca de ambiente ou configuração
+ * adicionada) produz um novo snapshot; as tabelas que não mudaram são
+ * compartilhadas com o anterior. As plataformas do ambiente atual e a lista
+ * das ativas são calculadas na criação, portanto a leitura é apenas uma
+ * consulta num mapa que nunca é alterado.
+ */
+public final class SnapshotConfiguracao {
+
+    private static final String CHAVE_AMBIENTE = "ambiente";
+    private static final CatalogoPlataformas CATALOGO = CatalogoPlataformas.getInstance();
+
+    private final Map<String, Map<String, ConfiguracaoPlataforma>> porAmbiente;
+    private final String ambientePadrao;
+    private final String ambiente;
+    private final Map<String, ConfiguracaoPlataforma> atual;
+    private final List<ConfiguracaoPlataforma> ativas;
+
+    private SnapshotConfiguracao(Map<String, Map<String, ConfiguracaoPlataforma>> porAmbiente,
+                                 String ambientePadrao, String ambiente) {
+        Map<String, ConfiguracaoPlataforma> configs = porAmbiente.get(ambiente);
+        if (configs == null) {
+            throw new IllegalArgumentException("Ambiente não configurado: " + ambiente);
+        }
+        this.porAmbiente = porAmbiente;
+        this.ambientePadrao = ambientePadrao;
+        this.ambiente = ambiente;
+        this.atual = configs;
+
+        List<ConfiguracaoPlataforma> lista = new ArrayList<>();
+        for (ConfiguracaoPlataforma config : configs.values()) {
+            if (config.isAtiva()) {
+                lista.add(config);
+            }
+        }
+        this.ativas = Collections.unmodifiableList(lista);
+    }
+
+    /**
+     * Lê as configurações no formato de plataformas.properties
+     * @throws IllegalArgumentException se alguma chave ou valor for inválido
+     */
+    public static SnapshotConfiguracao ler(Properties propriedades) {
+        Map<String, Map<String, Map<String, String>>> campos = new TreeMap<>();
+        String ambientePadrao = null;
+
+        for (String chave : propriedades.stringPropertyNames()) {
+            String valor = propriedades.getProperty(chave).trim();
+            if (chave.equals(CHAVE_AMBIENTE)) {
+                ambientePadrao = normalizar(valor);
+                continue;
+            }
+            int primeiro = chave.indexOf('.');
+            int ultimo = chave.lastIndexOf('.');
+            if (primeiro <= 0 || ultimo == primeiro || ultimo == chave.length() - 1) {
+                throw new IllegalArgumentException("Chave inválida: " + chave);
+            }
+            String ambiente = normalizar(chave.substring(0, primeiro));
+            String plataforma = nomePlataforma(chave.substring(primeiro + 1, ultimo));
+            campos.computeIfAbsent(ambiente, a -> new TreeMap<>())
+                  .computeIfAbsent(plataforma, p -> new TreeMap<>())
+                  .put(chave.substring(ultimo + 1), valor);
+        }
+
+        if (campos.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum ambiente configurado");
+        }
+        Map<String, Map<String, ConfiguracaoPlataforma>> porAmbiente = new TreeMap<>();
+        for (Map.Entry<String, Map<String, Map<String, String>>> ambiente : campos.entrySet()) {
+            Map<String, ConfiguracaoPlataforma> configs = new TreeMap<>();
+            for (Map.Entry<String, Map<String, String>> plataforma : ambiente.getValue().entrySet()) {
+                configs.put(plataforma.getKey(), criar(ambiente.getKey(), plataforma.getKey(), plataforma.getValue()));
+            }
+            porAmbiente.put(ambiente.getKey(), Collections.unmodifiableMap(configs));
+        }
+        if (ambientePadrao == null) {
+            ambientePadrao = porAmbiente.keySet().iterator().next();
+        }
+        return new SnapshotConfiguracao(Collections.unmodifiableMap(porAmbiente), ambientePadrao, ambientePadrao);
+    }
+
+    /**
+     * Snapshot com as mesmas configurações e outro ambiente atual
+     * @throws IllegalArgumentException se o ambiente não estiver configurado
+     */
+    public SnapshotConfiguracao comAmbiente(String novoAmbiente) {
+        String nome = normalizar(novoAmbiente);
+        return nome.equals(ambiente) ? this : new SnapshotConfiguracao(porAmbiente, ambientePadrao, nome);
+    }
+
+    /**
+     * Snapshot com a configuração de uma plataforma adicionada ou substituída
+     */
+    public SnapshotConfiguracao comConfiguracao(String nomeAmbiente, ConfiguracaoPlataforma config) {
+        String nome = normalizar(nomeAmbiente);
+        Map<String, Map<String, ConfiguracaoPlataforma>> ambientes = new TreeMap<>(porAmbiente);
+        Map<String, ConfiguracaoPlataforma> configs = new TreeMap<>(ambientes.getOrDefault(nome, Map.of()));
+        configs.put(nomePlataforma(config.getNomePlataforma()), config);
+        ambientes.put(nome, Collections.unmodifiableMap(configs));
+        return new SnapshotConfiguracao(Collections.unmodifiableMap(ambientes), ambientePadrao, ambiente);
+    }
+
+    /**
+     * Aplica as configurações de um snapshot recém-lido mantendo o ambiente
+     * atual, exceto se o ambiente padrão do arquivo tiver mudado ou se o
+     * ambiente atual deixou de existir
+     */
+    SnapshotConfiguracao recarregado(SnapshotConfiguracao lido) {
+        String novoAmbiente = ambiente;
+        if (!lido.ambientePadrao.equals(ambientePadrao) || !lido.porAmbiente.containsKey(ambiente)) {
+            novoAmbiente = lido.ambientePadrao;
+        }
+        return new SnapshotConfiguracao(lido.porAmbiente, lido.ambientePadrao, novoAmbiente);
+    }
+
+    /**
+     * Configuração de uma plataforma no ambiente atual
+     * @return Configuração, ou null se a plataforma não estiver configurada
+     */
+    public ConfiguracaoPlataforma obter(String plataforma) {
+        return atual.get(nomePlataforma(plataforma));
+    }
+
+    public String getAmbiente() {
+        return ambiente;
+    }
+
+    public String getAmbientePadrao() {
+        return ambientePadrao;
+    }
+
+    public Set<String> getAmbientes() {
+        return porAmbiente.keySet();
+    }
+
+    public Collection<ConfiguracaoPlataforma> getConfiguracoes() {
+        return atual.values();
+    }
+
+    public List<ConfiguracaoPlataforma> getAtivas() {
+        return ativas;
+    }
+
+    /**
+     * Plataformas cuja configuração no ambiente atual difere da de outro
+     * snapshot, inclusive as adicionadas e as removidas
+     */
+    public Set<String> plataformasAlteradas(SnapshotConfiguracao anterior) {
+        Set<String> alteradas = new TreeSet<>();
+        for (Map.Entry<String, ConfiguracaoPlataforma> config : atual.entrySet()) {
+            if (!config.getValue().equals(anterior.atual.get(config.getKey()))) {
+                alteradas.add(config.getKey());
+            }
+        }
+        for (String plataforma : anterior.atual.keySet()) {
+            if (!atual.containsKey(plataforma)) {
+                alteradas.add(plataforma);
+            }
+        }
+        return alteradas;
+    }
+
+    /**
+     * Verifica se as configurações de todos os ambientes são iguais
+     */
+    public boolean mesmasConfiguracoes(SnapshotConfiguracao outro) {
+        return ambientePadrao.equals(outro.ambientePadrao) && porAmbiente.equals(outro.porAmbiente);
+    }
+
+    private static ConfiguracaoPlataforma criar(String ambiente, String plataforma, Map<String, String> campos) {
+        String prefixo = ambiente + "." + plataforma + ".";
+        for (String campo : campos.keySet()) {
+            switch (campo) {
+                case "autenticacao":
+                case "publicacao":
+                case "ativa":
+                case "limitePorMinuto":
+                case "rajadaMaxima":
+                case "capacidadeFila":
+                    break;
+                default:
+                    throw new IllegalArgumentException("Campo desconhecido: " + prefixo + campo);
+            }
+        }
+        return new ConfiguracaoPlataforma(
+            plataforma,
+            normalizar(campos.getOrDefault("autenticacao", "OAUTH2")),
+            normalizar(campos.getOrDefault("publicacao", "IMEDIATA")),
+            Boolean.parseBoolean(campos.getOrDefault("ativa", "true")),
+            inteiro(prefixo + "limitePorMinuto", campos.get("limitePorMinuto")),
+            inteiro(prefixo + "rajadaMaxima", campos.get("rajadaMaxima")),
+            inteiro(prefixo + "capacidadeFila", campos.get("capacidadeFila")));
+    }
+
+    private static int inteiro(String chave, String valor) {
+        if (valor == null) {
+            return 0;
+        }
+        try {
+            int numero = Integer.parseInt(valor);
+            if (numero < 0) {
+                throw new IllegalArgumentException("Valor negativo em " + chave + ": " + valor);
+            }
+            return numero;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Número inválido em " + chave + ": " + valor, e);
+        }
+    }
+
+    // Aliases de uma plataforma levam à mesma configuração
+    private static String nomePlataforma(String plataforma) {
+        return CATALOGO.nomeCanonico(plataforma);
+    }
+
+    private static String normalizar(String nome) {
+        return nome.trim().toUpperCase(Locale.ROOT);
+    }
+}
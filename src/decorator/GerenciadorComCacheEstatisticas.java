@@ -0,0 +1,78 @@
+package decorator;
+
+import cache.CacheEstatisticas;
+import interfaces.GerenciadorMidiaSocial;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import modelo.Estatisticas;
+
+/**
+ * Decorator que guarda em cache as estatísticas obtidas da plataforma
+ * Leituras repetidas da mesma publicação dentro do TTL não chamam a API
+ *
+ * As instâncias de Estatisticas em cache são compartilhadas entre os chamadores
+ * e não devem ser alteradas
+ */
+public class GerenciadorComCacheEstatisticas extends GerenciadorMidiaSocialDecorator {
+
+    private final CacheEstatisticas cache;
+
+    public GerenciadorComCacheEstatisticas(GerenciadorMidiaSocial gerenciador, CacheEstatisticas cache) {
+        super(gerenciador);
+        this.cache = cache;
+    }
+
+    @Override
+    public Estatisticas obterEstatisticas(String idPublicacao) {
+        String plataforma = gerenciador.getNomePlataforma();
+        Estatisticas estatisticas = cache.obter(plataforma, idPublicacao);
+        if (estatisticas == null) {
+            estatisticas = gerenciador.obterEstatisticas(idPublicacao);
+            cache.guardar(plataforma, idPublicacao, estatisticas);
+        }
+        return estatisticas;
+    }
+
+    @Override
+    public Map<String, Estatisticas> obterEstatisticasEmLote(Collection<String> idsPublicacoes) {
+        String plataforma = gerenciador.getNomePlataforma();
+        Map<String, Estatisticas> estatisticas = new LinkedHashMap<>();
+        List<String> ausentes = new ArrayList<>();
+        
+        for (String id : idsPublicacoes) {
+            Estatisticas emCache = cache.obter(plataforma, id);
+            if (emCache != null) {
+                estatisticas.put(id, emCache);
+            } else {
+                ausentes.add(id);
+            }
+        }
+        
+        // Apenas os ids fora do cache vão à plataforma
+        if (!ausentes.isEmpty()) {
+            Map<String, Estatisticas> obtidas = gerenciador.obterEstatisticasEmLote(ausentes);
+            for (Map.Entry<String, Estatisticas> obtida : obtidas.entrySet()) {
+                cache.guardar(plataforma, obtida.getKey(), obtida.getValue());
+                estatisticas.put(obtida.getKey(), obtida.getValue());
+            }
+        }
+        return estatisticas;
+    }
+
+    @Override
+    public boolean remover(String idPublicacao) {
+        boolean removido = gerenciador.remover(idPublicacao);
+        cache.invalidar(gerenciador.getNomePlataforma(), idPublicacao);
+        return removido;
+    }
+
+    /**
+     * Obtém o cache usado pelo decorator
+     */
+    public CacheEstatisticas getCache() {
+        return cache;
+    }
+}
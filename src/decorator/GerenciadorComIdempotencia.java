@@ -0,0 +1,154 @@
+package decorator;
+
+import cache.TabelaIdempotencia;
+import interfaces.GerenciadorMidiaSocial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import modelo.Conteudo;
+import modelo.Credenciais;
+import modelo.Publicacao;
+import modelo.ResultadoPublicacao;
+
+/**
+ * Decorator que publica no máximo uma vez por chave de idempotência
+ *
+ * Conteúdos com {@link Conteudo#getChaveIdempotencia()} passam pela
+ * {@link TabelaIdempotencia}: repetir a publicação ou o agendamento com a
+ * mesma chave, na mesma conta, devolve a publicação original. Conteúdos sem
+ * chave seguem direto para a plataforma.
+ */
+public class GerenciadorComIdempotencia extends GerenciadorMidiaSocialDecorator {
+
+    private final TabelaIdempotencia tabela;
+    private final String plataforma;
+    private volatile String conta = "";
+
+    public GerenciadorComIdempotencia(GerenciadorMidiaSocial gerenciador, TabelaIdempotencia tabela) {
+        super(gerenciador);
+        this.tabela = tabela;
+        this.plataforma = gerenciador.getNomePlataforma();
+    }
+
+    @Override
+    public boolean autenticar(Credenciais credenciais) {
+        boolean autenticado = gerenciador.autenticar(credenciais);
+        if (autenticado && credenciais.getUsuario() != null) {
+            conta = credenciais.getUsuario();
+        }
+        return autenticado;
+    }
+
+    @Override
+    public Publicacao publicar(Conteudo conteudo) {
+        String chave = conteudo != null ? conteudo.getChaveIdempotencia() : null;
+        if (chave == null) {
+            return gerenciador.publicar(conteudo);
+        }
+        return tabela.executar(plataforma, conta, chave, () -> gerenciador.publicar(conteudo));
+    }
+
+    @Override
+    public Publicacao agendar(Conteudo conteudo) {
+        String chave = conteudo != null ? conteudo.getChaveIdempotencia() : null;
+        if (chave == null) {
+            return gerenciador.agendar(conteudo);
+        }
+        return tabela.executar(plataforma, conta, chave, () -> gerenciador.agendar(conteudo));
+    }
+
+    /**
+     * Envia num único lote os conteúdos sem chave e os de chaves ainda não
+     * usadas; os de chaves já usadas recebem a publicação original
+     */
+    @Override
+    public List<ResultadoPublicacao> publicarLote(List<Conteudo> conteudos) {
+        if (conteudos.stream().allMatch(c -> c == null || c.getChaveIdempotencia() == null)) {
+            return gerenciador.publicarLote(conteudos);
+        }
+
+        String conta = this.conta;
+        int total = conteudos.size();
+        ResultadoPublicacao[] resultados = new ResultadoPublicacao[total];
+        List<Conteudo> enviar = new ArrayList<>(total);
+        int[] posicoes = new int[total];
+        List<CompletableFuture<Publicacao>> reservas = new ArrayList<>(total);
+        List<CompletableFuture<Publicacao>> existentes = new ArrayList<>(Collections.nCopies(total, null));
+
+        for (int i = 0; i < total; i++) {
+            Conteudo conteudo = conteudos.get(i);
+            String chave = conteudo != null ? conteudo.getChaveIdempotencia() : null;
+            CompletableFuture<Publicacao> reserva = null;
+            if (chave != null) {
+                reserva = new CompletableFuture<>();
+                CompletableFuture<Publicacao> existente = tabela.reservar(plataforma, conta, chave, reserva);
+                if (existente != null) {
+                    existentes.set(i, existente);
+                    continue;
+                }
+            }
+            posicoes[enviar.size()] = i;
+            enviar.add(conteudo);
+            reservas.add(reserva);
+        }
+
+        if (!enviar.isEmpty()) {
+            List<ResultadoPublicacao> obtidos;
+            try {
+                obtidos = gerenciador.publicarLote(enviar);
+            } catch (RuntimeException | Error e) {
+                for (int j = 0; j < enviar.size(); j++) {
+                    if (reservas.get(j) != null) {
+                        tabela.descartar(plataforma, conta, enviar.get(j).getChaveIdempotencia(), reservas.get(j), e);
+                    }
+                }
+                throw e;
+            }
+
+            for (int j = 0; j < obtidos.size(); j++) {
+                ResultadoPublicacao resultado = obtidos.get(j);
+                CompletableFuture<Publicacao> reserva = reservas.get(j);
+                if (reserva != null) {
+                    String chave = enviar.get(j).getChaveIdempotencia();
+                    if (resultado.isSucesso()) {
+                        tabela.concluir(plataforma, conta, chave, reserva, resultado.getPublicacao());
+                    } else {
+                        tabela.descartar(plataforma, conta, chave, reserva, resultado.getErro());
+                    }
+                }
+                resultados[posicoes[j]] = resultado;
+            }
+            // Reservas sem resultado não podem prender a chave
+            for (int j = obtidos.size(); j < enviar.size(); j++) {
+                IllegalStateException erro = new IllegalStateException("Publicação sem resultado no lote");
+                if (reservas.get(j) != null) {
+                    tabela.descartar(plataforma, conta, enviar.get(j).getChaveIdempotencia(), reservas.get(j), erro);
+                }
+                resultados[posicoes[j]] = ResultadoPublicacao.falha(plataforma, erro);
+            }
+        }
+
+        // Só depois de concluir as próprias reservas, pois uma chave repetida
+        // dentro do lote aguarda a primeira ocorrência
+        for (int i = 0; i < total; i++) {
+            CompletableFuture<Publicacao> existente = existentes.get(i);
+            if (existente != null) {
+                try {
+                    resultados[i] = ResultadoPublicacao.sucesso(plataforma, TabelaIdempotencia.aguardar(existente));
+                } catch (RuntimeException e) {
+                    resultados[i] = ResultadoPublicacao.falha(plataforma, e);
+                }
+            }
+        }
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Obtém a tabela usada pelo decorator
+     */
+    public TabelaIdempotencia getTabela() {
+        return tabela;
+    }
+}
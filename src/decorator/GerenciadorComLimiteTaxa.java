@@ -0,0 +1,81 @@
+package decorator;
+
+import interfaces.GerenciadorMidiaSocial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import limite.LimitadorTaxa;
+import modelo.Conteudo;
+import modelo.Credenciais;
+import modelo.Publicacao;
+import modelo.ResultadoPublicacao;
+
+/**
+ * Decorator que respeita o limite de taxa da plataforma antes de publicar
+ * ou remover
+ *
+ * O limite é aplicado por conta: a conta é o usuário das credenciais usadas
+ * na última autenticação bem-sucedida. Com a fila da conta cheia, a operação
+ * lança {@link limite.ContrapressaoException} sem chamar a plataforma.
+ */
+public class GerenciadorComLimiteTaxa extends GerenciadorMidiaSocialDecorator {
+
+    private final LimitadorTaxa limitador;
+    private final String plataforma;
+    private volatile String conta = "";
+
+    public GerenciadorComLimiteTaxa(GerenciadorMidiaSocial gerenciador, LimitadorTaxa limitador) {
+        super(gerenciador);
+        this.limitador = limitador;
+        this.plataforma = gerenciador.getNomePlataforma().toUpperCase(Locale.ROOT);
+    }
+
+    @Override
+    public boolean autenticar(Credenciais credenciais) {
+        boolean autenticado = gerenciador.autenticar(credenciais);
+        if (autenticado && credenciais.getUsuario() != null) {
+            conta = credenciais.getUsuario();
+        }
+        return autenticado;
+    }
+
+    @Override
+    public Publicacao publicar(Conteudo conteudo) {
+        limitador.adquirir(plataforma, conta, 1);
+        return gerenciador.publicar(conteudo);
+    }
+
+    /**
+     * Publica o lote em partes de no máximo uma rajada, cada parte
+     * aguardando as vagas de todos os seus itens
+     */
+    @Override
+    public List<ResultadoPublicacao> publicarLote(List<Conteudo> conteudos) {
+        int rajada = limitador.getRajada(plataforma);
+        if (conteudos.size() <= rajada) {
+            limitador.adquirir(plataforma, conta, Math.max(1, conteudos.size()));
+            return gerenciador.publicarLote(conteudos);
+        }
+
+        List<ResultadoPublicacao> resultados = new ArrayList<>(conteudos.size());
+        for (int inicio = 0; inicio < conteudos.size(); inicio += rajada) {
+            List<Conteudo> parte = conteudos.subList(inicio, Math.min(inicio + rajada, conteudos.size()));
+            limitador.adquirir(plataforma, conta, parte.size());
+            resultados.addAll(gerenciador.publicarLote(parte));
+        }
+        return resultados;
+    }
+
+    @Override
+    public boolean remover(String idPublicacao) {
+        limitador.adquirir(plataforma, conta, 1);
+        return gerenciador.remover(idPublicacao);
+    }
+
+    /**
+     * Obtém o limitador usado pelo decorator
+     */
+    public LimitadorTaxa getLimitador() {
+        return limitador;
+    }
+}
@@ -0,0 +1,127 @@
+package decorator;
+
+import interfaces.GerenciadorMidiaSocial;
+import java.util.List;
+import log.Log;
+import log.Logger;
+import modelo.Conteudo;
+import modelo.Credenciais;
+import modelo.Publicacao;
+import modelo.ResultadoPublicacao;
+import persistencia.Outbox;
+import persistencia.RegistroOutbox;
+import persistencia.RegistroOutbox.Operacao;
+
+/**
+ * Decorator que grava cada publicação e agendamento no {@link Outbox} antes
+ * de enviá-los à plataforma
+ *
+ * A chamada só segue para a plataforma depois que a requisição está em
+ * disco, e é marcada como concluída ao terminar, com sucesso ou falha. As
+ * requisições que ficaram pendentes numa execução anterior são reenviadas
+ * quando a mesma conta volta a se autenticar.
+ */
+public class GerenciadorComOutbox extends GerenciadorMidiaSocialDecorator {
+
+    private static final Logger LOG = Log.getLogger(GerenciadorComOutbox.class);
+
+    private final Outbox outbox;
+    private final String plataforma;
+    private volatile String conta = "";
+
+    public GerenciadorComOutbox(GerenciadorMidiaSocial gerenciador, Outbox outbox) {
+        super(gerenciador);
+        this.outbox = outbox;
+        this.plataforma = gerenciador.getNomePlataforma();
+    }
+
+    @Override
+    public boolean autenticar(Credenciais credenciais) {
+        boolean autenticado = gerenciador.autenticar(credenciais);
+        if (autenticado && credenciais.getUsuario() != null) {
+            conta = credenciais.getUsuario();
+            reenviarPendentes();
+        }
+        return autenticado;
+    }
+
+    @Override
+    public Publicacao publicar(Conteudo conteudo) {
+        long sequencia = registrar(Operacao.PUBLICAR, conteudo);
+        try {
+            return gerenciador.publicar(conteudo);
+        } finally {
+            outbox.concluir(sequencia);
+        }
+    }
+
+    @Override
+    public Publicacao agendar(Conteudo conteudo) {
+        long sequencia = registrar(Operacao.AGENDAR, conteudo);
+        try {
+            return gerenciador.agendar(conteudo);
+        } finally {
+            outbox.concluir(sequencia);
+        }
+    }
+
+    /**
+     * Grava todos os conteúdos do lote e aguarda uma única gravação em disco
+     */
+    @Override
+    public List<ResultadoPublicacao> publicarLote(List<Conteudo> conteudos) {
+        long[] sequencias = new long[conteudos.size()];
+        for (int i = 0; i < sequencias.length; i++) {
+            sequencias[i] = outbox.registrar(Operacao.PUBLICAR, plataforma, conta, conteudos.get(i));
+        }
+        try {
+            if (sequencias.length > 0) {
+                outbox.aguardarGravacao(sequencias[sequencias.length - 1]);
+            }
+            return gerenciador.publicarLote(conteudos);
+        } finally {
+            for (long sequencia : sequencias) {
+                outbox.concluir(sequencia);
+            }
+        }
+    }
+
+    /**
+     * Obtém o outbox usado pelo decorator
+     */
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    private long registrar(Operacao operacao, Conteudo conteudo) {
+        long sequencia = outbox.registrar(operacao, plataforma, conta, conteudo);
+        try {
+            outbox.aguardarGravacao(sequencia);
+        } catch (RuntimeException e) {
+            outbox.concluir(sequencia);
+            throw e;
+        }
+        return sequencia;
+    }
+
+    /**
+     * Reenvia as requisições desta conta que a execução anterior não concluiu
+     * Uma requisição que falhar de novo fica pendente até a próxima abertura
+     * do outbox
+     */
+    private void reenviarPendentes() {
+        for (RegistroOutbox registro : outbox.retirarRecuperados(plataforma, conta)) {
+            try {
+                if (registro.getOperacao() == Operacao.AGENDAR) {
+                    gerenciador.agendar(registro.getConteudo());
+                } else {
+                    gerenciador.publicar(registro.getConteudo());
+                }
+                outbox.concluir(registro.getSequencia());
+                LOG.info("Requisição pendente {} reenviada para {}", registro.getSequencia(), plataforma);
+            } catch (RuntimeException e) {
+                LOG.warn("Falha ao reenviar a requisição pendente {}", registro, e);
+            }
+        }
+    }
+}
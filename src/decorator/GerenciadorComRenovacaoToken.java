@@ -0,0 +1,139 @@
+package decorator;
+
+import autenticacao.GerenciadorTokens;
+import autenticacao.TokenAcesso;
+import interfaces.GerenciadorMidiaSocial;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import modelo.Conteudo;
+import modelo.Credenciais;
+import modelo.Estatisticas;
+import modelo.Publicacao;
+import modelo.ResultadoPublicacao;
+import strategy.EstrategiaAutenticacao;
+
+/**
+ * Decorator que mantém o token da conta autenticada sempre válido
+ *
+ * Após a autenticação o token da conta passa a ser renovado em segundo plano
+ * pelo {@link GerenciadorTokens}, num registro compartilhado pelos
+ * gerenciadores da mesma conta. Antes de cada operação na plataforma o
+ * decorator confirma, sem esperar, que o token ainda vale e repassa ao
+ * gerenciador decorado o token renovado.
+ */
+public class GerenciadorComRenovacaoToken extends GerenciadorMidiaSocialDecorator {
+
+    private final EstrategiaAutenticacao estrategiaAuth;
+    private final GerenciadorTokens tokens;
+    private volatile String chave;
+    // Último token repassado ao gerenciador decorado
+    private volatile String tokenRepassado;
+
+    public GerenciadorComRenovacaoToken(GerenciadorMidiaSocial gerenciador,
+                                        EstrategiaAutenticacao estrategiaAuth,
+                                        GerenciadorTokens tokens) {
+        super(gerenciador);
+        this.estrategiaAuth = estrategiaAuth;
+        this.tokens = tokens;
+    }
+
+    @Override
+    public boolean autenticar(Credenciais credenciais) {
+        boolean autenticado = gerenciador.autenticar(credenciais);
+        if (autenticado) {
+            registrar(credenciais);
+        }
+        return autenticado;
+    }
+
+    private synchronized void registrar(Credenciais credenciais) {
+        String novaChave = gerenciador.getNomePlataforma() + ":" + credenciais.getUsuario();
+        boolean registrado = tokens.registrar(novaChave, estrategiaAuth, credenciais);
+        // Registrar antes de liberar mantém o registro quando a conta é a mesma
+        String anterior = chave;
+        if (anterior != null) {
+            tokens.liberar(anterior);
+        }
+        chave = registrado ? novaChave : null;
+        tokenRepassado = credenciais.getAccessToken();
+    }
+
+    @Override
+    public Publicacao publicar(Conteudo conteudo) {
+        garantirToken();
+        return gerenciador.publicar(conteudo);
+    }
+
+    @Override
+    public List<ResultadoPublicacao> publicarLote(List<Conteudo> conteudos) {
+        garantirToken();
+        return gerenciador.publicarLote(conteudos);
+    }
+
+    @Override
+    public Publicacao agendar(Conteudo conteudo) {
+        garantirToken();
+        return gerenciador.agendar(conteudo);
+    }
+
+    @Override
+    public boolean remover(String idPublicacao) {
+        garantirToken();
+        return gerenciador.remover(idPublicacao);
+    }
+
+    @Override
+    public Estatisticas obterEstatisticas(String idPublicacao) {
+        garantirToken();
+        return gerenciador.obterEstatisticas(idPublicacao);
+    }
+
+    @Override
+    public Map<String, Estatisticas> obterEstatisticasEmLote(Collection<String> idsPublicacoes) {
+        garantirToken();
+        return gerenciador.obterEstatisticasEmLote(idsPublicacoes);
+    }
+
+    /**
+     * Libera o registro da conta, que deixa de ser renovado se nenhum outro
+     * gerenciador o usar, e encerra o gerenciador decorado
+     */
+    @Override
+    public void encerrar() {
+        liberarConta();
+        gerenciador.encerrar();
+    }
+
+    private synchronized void liberarConta() {
+        String atual = chave;
+        if (atual != null) {
+            chave = null;
+            tokens.liberar(atual);
+        }
+    }
+
+    /**
+     * Confirma que o token da conta vale, só esperando se ele já tiver
+     * expirado, e repassa ao gerenciador decorado o token renovado
+     */
+    private void garantirToken() {
+        String atual = chave;
+        if (atual == null) {
+            return;
+        }
+        TokenAcesso token = tokens.obterToken(atual);
+        if (token != null && !Objects.equals(token.getValor(), tokenRepassado)) {
+            gerenciador.atualizarToken(token.getValor());
+            tokenRepassado = token.getValor();
+        }
+    }
+
+    /**
+     * Obtém o gerenciador de tokens usado pelo decorator
+     */
+    public GerenciadorTokens getTokens() {
+        return tokens;
+    }
+}
@@ -0,0 +1,208 @@
+package decorator;
+
+import interfaces.GerenciadorMidiaSocial;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import log.Log;
+import log.Logger;
+import modelo.Conteudo;
+import modelo.Estatisticas;
+import modelo.PaginaPublicacoes;
+import modelo.Publicacao;
+import modelo.ResultadoPublicacao;
+import resiliencia.CircuitoAbertoException;
+import resiliencia.ClassificadorFalhas;
+import resiliencia.DisjuntorCircuito;
+import resiliencia.PoliticaRetentativa;
+import resiliencia.TipoFalha;
+
+/**
+ * Decorator que protege as operações na plataforma com disjuntor e novas
+ * tentativas
+ *
+ * Com o circuito da plataforma aberto a operação lança
+ * {@link CircuitoAbertoException} sem chamar a plataforma. Falhas
+ * transitórias das leituras são tentadas de novo conforme a
+ * {@link PoliticaRetentativa}; falhas permanentes são repassadas na hora.
+ *
+ * Uma escrita que falha pode já ter sido aceita pela plataforma, então só é
+ * repetida quando o conteúdo tem chave de idempotência. O lote nunca é
+ * reenviado inteiro: só os itens que falharam, um a um, e com a mesma regra.
+ * Cancelamento e remoção não são repetidos.
+ */
+public class GerenciadorComResiliencia extends GerenciadorMidiaSocialDecorator {
+
+    private static final Logger LOG = Log.getLogger(GerenciadorComResiliencia.class);
+
+    private final DisjuntorCircuito disjuntor;
+    private final PoliticaRetentativa politica;
+    private final ClassificadorFalhas classificador;
+
+    public GerenciadorComResiliencia(GerenciadorMidiaSocial gerenciador, DisjuntorCircuito disjuntor) {
+        this(gerenciador, disjuntor, PoliticaRetentativa.padrao(), ClassificadorFalhas.PADRAO);
+    }
+
+    public GerenciadorComResiliencia(GerenciadorMidiaSocial gerenciador,
+                                     DisjuntorCircuito disjuntor,
+                                     PoliticaRetentativa politica,
+                                     ClassificadorFalhas classificador) {
+        super(gerenciador);
+        this.disjuntor = disjuntor;
+        this.politica = politica;
+        this.classificador = classificador;
+    }
+
+    @Override
+    public Publicacao publicar(Conteudo conteudo) {
+        return executar(() -> gerenciador.publicar(conteudo), repetivel(conteudo));
+    }
+
+    @Override
+    public List<ResultadoPublicacao> publicarLote(List<Conteudo> conteudos) {
+        List<ResultadoPublicacao> resultados = executar(() -> gerenciador.publicarLote(conteudos), false);
+        if (politica.getMaxTentativas() == 1) {
+            return resultados;
+        }
+
+        List<ResultadoPublicacao> finais = null;
+        for (int i = 0; i < resultados.size() && i < conteudos.size(); i++) {
+            ResultadoPublicacao resultado = resultados.get(i);
+            Conteudo conteudo = conteudos.get(i);
+            if (resultado.isSucesso() || !repetivel(conteudo) || !transitoria(resultado.getErro())) {
+                continue;
+            }
+            if (finais == null) {
+                finais = new ArrayList<>(resultados);
+            }
+            finais.set(i, repetirItem(conteudo, resultado));
+        }
+        return finais != null ? finais : resultados;
+    }
+
+    @Override
+    public Publicacao agendar(Conteudo conteudo) {
+        return executar(() -> gerenciador.agendar(conteudo), repetivel(conteudo));
+    }
+
+    @Override
+    public boolean cancelarAgendamento(String idPublicacao) {
+        return executar(() -> gerenciador.cancelarAgendamento(idPublicacao), false);
+    }
+
+    @Override
+    public boolean remover(String idPublicacao) {
+        return executar(() -> gerenciador.remover(idPublicacao), false);
+    }
+
+    @Override
+    public Estatisticas obterEstatisticas(String idPublicacao) {
+        return executar(() -> gerenciador.obterEstatisticas(idPublicacao), true);
+    }
+
+    @Override
+    public Map<String, Estatisticas> obterEstatisticasEmLote(Collection<String> idsPublicacoes) {
+        return executar(() -> gerenciador.obterEstatisticasEmLote(idsPublicacoes), true);
+    }
+
+    @Override
+    public List<Publicacao> listarPublicacoes() {
+        return executar(gerenciador::listarPublicacoes, true);
+    }
+
+    @Override
+    public PaginaPublicacoes listarPublicacoes(String cursor, int tamanhoPagina) {
+        return executar(() -> gerenciador.listarPublicacoes(cursor, tamanhoPagina), true);
+    }
+
+    /**
+     * Obtém o disjuntor da plataforma
+     */
+    public DisjuntorCircuito getDisjuntor() {
+        return disjuntor;
+    }
+
+    /**
+     * Uma escrita só pode ser repetida se a plataforma reconhecer a repetição
+     */
+    private static boolean repetivel(Conteudo conteudo) {
+        return conteudo != null && conteudo.getChaveIdempotencia() != null;
+    }
+
+    private boolean transitoria(Throwable erro) {
+        return erro instanceof RuntimeException
+            && classificador.classificar((RuntimeException) erro) == TipoFalha.TRANSITORIA;
+    }
+
+    /**
+     * Publica de novo um item que falhou no lote; o envio do lote conta como
+     * a primeira tentativa
+     */
+    private ResultadoPublicacao repetirItem(Conteudo conteudo, ResultadoPublicacao falha) {
+        RuntimeException erro = (RuntimeException) falha.getErro();
+        if (!aguardar(politica.esperaNanos(1))) {
+            return falha;
+        }
+        try {
+            return ResultadoPublicacao.sucesso(falha.getPlataforma(),
+                tentar(() -> gerenciador.publicar(conteudo), 2, erro));
+        } catch (RuntimeException e) {
+            return ResultadoPublicacao.falha(falha.getPlataforma(), e);
+        }
+    }
+
+    /**
+     * @param repetivel false para uma única tentativa
+     */
+    private <T> T executar(Supplier<T> operacao, boolean repetivel) {
+        // Começar pela última tentativa permitida dispensa as novas tentativas
+        return repetivel ? tentar(operacao, 1, null) : tentar(operacao, politica.getMaxTentativas(), null);
+    }
+
+    private <T> T tentar(Supplier<T> operacao, int primeiraTentativa, RuntimeException falhaAnterior) {
+        RuntimeException ultimaFalha = falhaAnterior;
+        for (int tentativa = primeiraTentativa; ; tentativa++) {
+            if (!disjuntor.permitir()) {
+                throw new CircuitoAbertoException(disjuntor.getNome(), disjuntor.getEsperaRestante(), ultimaFalha);
+            }
+
+            try {
+                T resultado = operacao.get();
+                disjuntor.registrarSucesso();
+                return resultado;
+            } catch (RuntimeException e) {
+                if (classificador.classificar(e) == TipoFalha.PERMANENTE) {
+                    disjuntor.registrarIgnorada();
+                    throw e;
+                }
+                disjuntor.registrarFalha();
+                if (tentativa >= politica.getMaxTentativas() || !aguardar(politica.esperaNanos(tentativa))) {
+                    throw e;
+                }
+                LOG.debug("Falha transitória em {}, nova tentativa: {}", disjuntor.getNome(), e.getMessage());
+                ultimaFalha = e;
+            } catch (Error e) {
+                disjuntor.registrarIgnorada();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * @return false se a thread foi interrompida durante a espera
+     */
+    private static boolean aguardar(long esperaNanos) {
+        long prazo = System.nanoTime() + esperaNanos;
+        long restante;
+        while ((restante = prazo - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
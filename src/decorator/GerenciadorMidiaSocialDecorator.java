@@ -0,0 +1,109 @@
+package decorator;
+
+import interfaces.GerenciadorMidiaSocial;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import modelo.Conteudo;
+import modelo.Credenciais;
+import modelo.Estatisticas;
+import modelo.PaginaPublicacoes;
+import modelo.Publicacao;
+import modelo.ResultadoPublicacao;
+
+/**
+ * Decorator base para gerenciadores de mídia social
+ * Repassa todas as operações ao gerenciador decorado; as subclasses
+ * sobrescrevem apenas as operações que precisam enriquecer
+ */
+public abstract class GerenciadorMidiaSocialDecorator implements GerenciadorMidiaSocial {
+
+    protected final GerenciadorMidiaSocial gerenciador;
+
+    protected GerenciadorMidiaSocialDecorator(GerenciadorMidiaSocial gerenciador) {
+        this.gerenciador = gerenciador;
+    }
+
+    @Override
+    public boolean autenticar(Credenciais credenciais) {
+        return gerenciador.autenticar(credenciais);
+    }
+
+    @Override
+    public void atualizarToken(String accessToken) {
+        gerenciador.atualizarToken(accessToken);
+    }
+
+    @Override
+    public void encerrar() {
+        gerenciador.encerrar();
+    }
+
+    @Override
+    public Publicacao publicar(Conteudo conteudo) {
+        return gerenciador.publicar(conteudo);
+    }
+
+    @Override
+    public List<ResultadoPublicacao> publicarLote(List<Conteudo> conteudos) {
+        return gerenciador.publicarLote(conteudos);
+    }
+
+    @Override
+    public Publicacao agendar(Conteudo conteudo) {
+        return gerenciador.agendar(conteudo);
+    }
+
+    @Override
+    public boolean cancelarAgendamento(String idPublicacao) {
+        return gerenciador.cancelarAgendamento(idPublicacao);
+    }
+
+    @Override
+    public boolean remover(String idPublicacao) {
+        return gerenciador.remover(idPublicacao);
+    }
+
+    @Override
+    public Estatisticas obterEstatisticas(String idPublicacao) {
+        return gerenciador.obterEstatisticas(idPublicacao);
+    }
+
+    @Override
+    public Map<String, Estatisticas> obterEstatisticasEmLote(Collection<String> idsPublicacoes) {
+        return gerenciador.obterEstatisticasEmLote(idsPublicacoes);
+    }
+
+    @Override
+    public List<Publicacao> listarPublicacoes() {
+        return gerenciador.listarPublicacoes();
+    }
+
+    @Override
+    public PaginaPublicacoes listarPublicacoes(String cursor, int tamanhoPagina) {
+        return gerenciador.listarPublicacoes(cursor, tamanhoPagina);
+    }
+
+    @Override
+    public Stream<Publicacao> streamPublicacoes() {
+        return gerenciador.streamPublicacoes();
+    }
+
+    @Override
+    public String getNomePlataforma() {
+        return gerenciador.getNomePlataforma();
+    }
+
+    @Override
+    public boolean validarConteudo(Conteudo conteudo) {
+        return gerenciador.validarConteudo(conteudo);
+    }
+
+    /**
+     * Obtém o gerenciador decorado
+     */
+    public GerenciadorMidiaSocial getGerenciador() {
+        return gerenciador;
+    }
+}
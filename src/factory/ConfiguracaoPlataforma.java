@@ -1,53 +1,94 @@
 package factory;
 
+import java.util.Objects;
+
 /**
  * Classe que representa a configuração de uma plataforma
+ * Imutável: as configurações são compartilhadas entre threads pelos snapshots
+ * de {@link config.GerenciadorConfiguracao}
  */
 public class ConfiguracaoPlataforma {
-    private String nomePlataforma;
-    private String tipoAutenticacao;
-    private String tipoPublicacao;
-    private boolean ativa;
+    private final String nomePlataforma;
+    private final String tipoAutenticacao;
+    private final String tipoPublicacao;
+    private final boolean ativa;
+    private final int limitePorMinuto;
+    private final int rajadaMaxima;
+    private final int capacidadeFila;
     
     public ConfiguracaoPlataforma(String nomePlataforma, String tipoAutenticacao, 
                                  String tipoPublicacao, boolean ativa) {
+        this(nomePlataforma, tipoAutenticacao, tipoPublicacao, ativa, 0, 0, 0);
+    }
+    
+    /**
+     * @param limitePorMinuto Requisições por minuto aceitas pela plataforma por conta (0 = sem limite)
+     * @param rajadaMaxima Requisições que podem ser feitas de uma vez
+     * @param capacidadeFila Requisições que podem aguardar vaga antes da contrapressão
+     */
+    public ConfiguracaoPlataforma(String nomePlataforma, String tipoAutenticacao, 
+                                 String tipoPublicacao, boolean ativa,
+                                 int limitePorMinuto, int rajadaMaxima, int capacidadeFila) {
         this.nomePlataforma = nomePlataforma;
         this.tipoAutenticacao = tipoAutenticacao;
         this.tipoPublicacao = tipoPublicacao;
         this.ativa = ativa;
+        this.limitePorMinuto = limitePorMinuto;
+        this.rajadaMaxima = rajadaMaxima;
+        this.capacidadeFila = capacidadeFila;
     }
     
-    // Getters e Setters
+    // Getters
     public String getNomePlataforma() {
         return nomePlataforma;
     }
     
-    public void setNomePlataforma(String nomePlataforma) {
-        this.nomePlataforma = nomePlataforma;
-    }
-    
     public String getTipoAutenticacao() {
         return tipoAutenticacao;
     }
     
-    public void setTipoAutenticacao(String tipoAutenticacao) {
-        this.tipoAutenticacao = tipoAutenticacao;
-    }
-    
     public String getTipoPublicacao() {
         return tipoPublicacao;
     }
     
-    public void setTipoPublicacao(String tipoPublicacao) {
-        this.tipoPublicacao = tipoPublicacao;
-    }
-    
     public boolean isAtiva() {
         return ativa;
     }
     
-    public void setAtiva(boolean ativa) {
-        this.ativa = ativa;
+    public int getLimitePorMinuto() {
+        return limitePorMinuto;
+    }
+    
+    public int getRajadaMaxima() {
+        return rajadaMaxima;
+    }
+    
+    public int getCapacidadeFila() {
+        return capacidadeFila;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConfiguracaoPlataforma)) {
+            return false;
+        }
+        ConfiguracaoPlataforma outra = (ConfiguracaoPlataforma) o;
+        return ativa == outra.ativa
+                && limitePorMinuto == outra.limitePorMinuto
+                && rajadaMaxima == outra.rajadaMaxima
+                && capacidadeFila == outra.capacidadeFila
+                && Objects.equals(nomePlataforma, outra.nomePlataforma)
+                && Objects.equals(tipoAutenticacao, outra.tipoAutenticacao)
+                && Objects.equals(tipoPublicacao, outra.tipoPublicacao);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(nomePlataforma, tipoAutenticacao, tipoPublicacao, ativa,
+                limitePorMinuto, rajadaMaxima, capacidadeFila);
     }
     
     @Override
@@ -57,6 +98,7 @@ public class ConfiguracaoPlataforma {
                 ", tipoAutenticacao='" + tipoAutenticacao + '\'' +
                 ", tipoPublicacao='" + tipoPublicacao + '\'' +
                 ", ativa=" + ativa +
+                ", limitePorMinuto=" + limitePorMinuto +
                 '}';
     }
 }
@@ -0,0 +1,291 @@
+package factory;
+
+import interfaces.GerenciadorMidiaSocial;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import log.Log;
+import log.Logger;
+import modelo.Credenciais;
+import provedor.CatalogoPlataformas;
+
+/**
+ * Registro de gerenciadores já autenticados
+ *
+ * Guarda um gerenciador por plataforma, conta, configuração de estratégias e
+ * credenciais, de modo que chamadas repetidas obtêm a mesma instância
+ * conectada numa única consulta, sem recriar adapter, API e estratégias nem
+ * autenticar de novo. As credenciais entram na chave como um resumo SHA-256:
+ * quem apresenta um segredo ou token diferente para a mesma conta passa por
+ * uma nova autenticação em vez de receber a instância já conectada.
+ *
+ * A criação e a autenticação acontecem fora do mapa, uma única vez por chave;
+ * chamadas simultâneas com a mesma chave aguardam o mesmo futuro, e as de
+ * outras chaves não esperam. Gerenciadores sem uso por mais que o tempo
+ * ocioso são descartados.
+ */
+public class RegistroGerenciadores implements AutoCloseable {
+
+    private static final Logger LOG = Log.getLogger(RegistroGerenciadores.class);
+
+    private static final Duration TEMPO_OCIOSO_PADRAO = Duration.ofMinutes(30);
+    private static final String ESTRATEGIAS_PADRAO = "PADRAO";
+
+    private static RegistroGerenciadores instance;
+
+    private final Map<Chave, Entrada> entradas = new ConcurrentHashMap<>();
+    private final long tempoOciosoNanos;
+    private final ScheduledExecutorService limpeza;
+
+    /**
+     * @param tempoOcioso Tempo sem uso após o qual um gerenciador é descartado
+     */
+    public RegistroGerenciadores(Duration tempoOcioso) {
+        this.tempoOciosoNanos = tempoOcioso.toNanos();
+        this.limpeza = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "registro-gerenciadores");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = Math.max(1, tempoOcioso.toMillis() / 2);
+        limpeza.scheduleWithFixedDelay(this::removerOciosos, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Singleton - obtém o registro compartilhado pela aplicação
+     */
+    public static synchronized RegistroGerenciadores getInstance() {
+        if (instance == null) {
+            instance = new RegistroGerenciadores(TEMPO_OCIOSO_PADRAO);
+        }
+        return instance;
+    }
+
+    /**
+     * Obtém o gerenciador autenticado de uma conta criado a partir da configuração
+     */
+    public GerenciadorMidiaSocial obter(ConfiguracaoPlataforma config, Credenciais credenciais) {
+        Chave chave = new Chave(config.getNomePlataforma(), credenciais,
+            config.getTipoAutenticacao() + "/" + config.getTipoPublicacao());
+        return obter(chave, credenciais, () -> SocialMediaFactory.criarDaConfiguracao(config));
+    }
+
+    /**
+     * Obtém o gerenciador autenticado de uma conta com as estratégias padrão da plataforma
+     */
+    public GerenciadorMidiaSocial obter(String plataforma, Credenciais credenciais) {
+        Chave chave = new Chave(plataforma, credenciais, ESTRATEGIAS_PADRAO);
+        return obter(chave, credenciais, () -> SocialMediaFactory.criarGerenciadorPadrao(plataforma));
+    }
+
+    /**
+     * Descarta os gerenciadores de uma conta numa plataforma,
+     * por exemplo após troca de credenciais
+     * @return Quantidade de gerenciadores descartados
+     */
+    public int invalidar(String plataforma, String conta) {
+        String nomePlataforma = Chave.normalizar(plataforma);
+        return invalidarSe(chave -> chave.plataforma.equals(nomePlataforma) && Objects.equals(chave.conta, conta));
+    }
+
+    /**
+     * Descarta os gerenciadores de uma plataforma criados a partir de uma
+     * configuração, por exemplo após a configuração mudar
+     * @return Quantidade de gerenciadores descartados
+     */
+    public int invalidarConfigurados(String plataforma) {
+        String nomePlataforma = Chave.normalizar(plataforma);
+        return invalidarSe(chave -> chave.plataforma.equals(nomePlataforma)
+            && !chave.estrategias.equals(ESTRATEGIAS_PADRAO));
+    }
+
+    /**
+     * Descarta todos os gerenciadores
+     */
+    public void invalidarTodos() {
+        for (Chave chave : entradas.keySet()) {
+            descartar(entradas.remove(chave));
+        }
+    }
+
+    /**
+     * Descarta os gerenciadores sem uso há mais que o tempo ocioso
+     */
+    public void removerOciosos() {
+        long agora = System.nanoTime();
+        int removidos = 0;
+        for (Map.Entry<Chave, Entrada> entrada : entradas.entrySet()) {
+            if (entrada.getValue().gerenciador.isDone()
+                    && agora - entrada.getValue().ultimoUso > tempoOciosoNanos
+                    && entradas.remove(entrada.getKey(), entrada.getValue())) {
+                descartar(entrada.getValue());
+                removidos++;
+            }
+        }
+        if (removidos > 0) {
+            LOG.debug("Gerenciadores ociosos descartados: {}", removidos);
+        }
+    }
+
+    public int tamanho() {
+        return entradas.size();
+    }
+
+    @Override
+    public void close() {
+        limpeza.shutdownNow();
+        invalidarTodos();
+    }
+
+    private int invalidarSe(Predicate<Chave> condicao) {
+        int removidos = 0;
+        for (Chave chave : entradas.keySet()) {
+            if (condicao.test(chave)) {
+                Entrada removida = entradas.remove(chave);
+                if (removida != null) {
+                    descartar(removida);
+                    removidos++;
+                }
+            }
+        }
+        return removidos;
+    }
+
+    private GerenciadorMidiaSocial obter(Chave chave, Credenciais credenciais,
+                                         Supplier<GerenciadorMidiaSocial> criador) {
+        Entrada entrada = entradas.get(chave);
+        if (entrada == null) {
+            // Apenas um chamador por chave cria e autentica; os demais aguardam o resultado
+            Entrada nova = new Entrada();
+            entrada = entradas.putIfAbsent(chave, nova);
+            if (entrada == null) {
+                entrada = nova;
+                criar(chave, nova, credenciais, criador);
+            }
+        }
+        entrada.ultimoUso = System.nanoTime();
+        return aguardar(entrada.gerenciador);
+    }
+
+    /**
+     * Cria e autentica o gerenciador da entrada reservada; numa falha a
+     * entrada sai do registro para que a próxima chamada tente de novo
+     */
+    private void criar(Chave chave, Entrada entrada, Credenciais credenciais,
+                       Supplier<GerenciadorMidiaSocial> criador) {
+        try {
+            GerenciadorMidiaSocial gerenciador = criador.get();
+            if (!gerenciador.autenticar(credenciais)) {
+                throw new IllegalStateException("Falha na autenticação de '" + chave.conta
+                    + "' em " + chave.plataforma);
+            }
+            LOG.debug("Gerenciador registrado: {} para '{}'", chave.plataforma, chave.conta);
+            entrada.gerenciador.complete(gerenciador);
+        } catch (RuntimeException | Error e) {
+            entradas.remove(chave, entrada);
+            entrada.gerenciador.completeExceptionally(e);
+        }
+    }
+
+    private static GerenciadorMidiaSocial aguardar(CompletableFuture<GerenciadorMidiaSocial> gerenciador) {
+        try {
+            return gerenciador.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Encerra um gerenciador descartado, liberando a renovação de token e o
+     * vínculo do adapter com o agendador; um ainda em criação é encerrado
+     * assim que ficar pronto
+     */
+    private static void descartar(Entrada entrada) {
+        if (entrada != null) {
+            entrada.gerenciador.thenAccept(GerenciadorMidiaSocial::encerrar);
+        }
+    }
+
+    private static final class Entrada {
+        private final CompletableFuture<GerenciadorMidiaSocial> gerenciador = new CompletableFuture<>();
+        private volatile long ultimoUso = System.nanoTime();
+    }
+
+    private static final class Chave {
+        private static final CatalogoPlataformas CATALOGO = CatalogoPlataformas.getInstance();
+
+        private final String plataforma;
+        private final String conta;
+        private final String estrategias;
+        private final String resumoCredenciais;
+        private final int hash;
+
+        private Chave(String plataforma, Credenciais credenciais, String estrategias) {
+            this.plataforma = normalizar(plataforma);
+            this.conta = credenciais.getUsuario();
+            this.estrategias = estrategias.toUpperCase(Locale.ROOT);
+            this.resumoCredenciais = resumir(credenciais);
+            this.hash = Objects.hash(this.plataforma, conta, this.estrategias, resumoCredenciais);
+        }
+
+        /**
+         * Resumo das chaves, segredos e tokens; os valores em si não ficam no registro
+         */
+        private static String resumir(Credenciais credenciais) {
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                for (String valor : new String[] {credenciais.getApiKey(), credenciais.getApiSecret(),
+                        credenciais.getAccessToken(), credenciais.getRefreshToken()}) {
+                    // O tamanho antes de cada campo, -1 se nulo, torna a junção não ambígua
+                    byte[] bytes = valor != null ? valor.getBytes(StandardCharsets.UTF_8) : new byte[0];
+                    sha256.update(ByteBuffer.allocate(Integer.BYTES).putInt(valor != null ? bytes.length : -1).array());
+                    sha256.update(bytes);
+                }
+                return Base64.getEncoder().withoutPadding().encodeToString(sha256.digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 indisponível", e);
+            }
+        }
+
+        // Aliases da mesma plataforma compartilham a instância
+        private static String normalizar(String plataforma) {
+            return CATALOGO.nomeCanonico(plataforma);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Chave)) {
+                return false;
+            }
+            Chave outra = (Chave) o;
+            return plataforma.equals(outra.plataforma) && Objects.equals(conta, outra.conta)
+                && estrategias.equals(outra.estrategias) && resumoCredenciais.equals(outra.resumoCredenciais);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
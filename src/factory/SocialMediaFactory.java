@@ -1,18 +1,38 @@
 package factory;
 
-import adapter.*;
+import adapter.GerenciadorAssincronoAdapter;
+import autenticacao.GerenciadorTokens;
+import cache.TabelaIdempotencia;
+import decorator.GerenciadorComIdempotencia;
+import decorator.GerenciadorComLimiteTaxa;
+import decorator.GerenciadorComOutbox;
+import decorator.GerenciadorComRenovacaoToken;
+import decorator.GerenciadorComResiliencia;
 import interfaces.GerenciadorMidiaSocial;
+import interfaces.GerenciadorMidiaSocialAssincrono;
+import java.util.concurrent.Executor;
+import limite.LimitadorTaxa;
+import log.Log;
+import log.Logger;
+import modelo.Credenciais;
+import persistencia.Outbox;
+import provedor.CatalogoPlataformas;
+import provedor.ProvedorPlataforma;
+import resiliencia.RegistroDisjuntores;
 import strategy.*;
 
 /**
  * Factory Method para criar instâncias de gerenciadores de mídia social
  * Implementa o padrão Factory Method
+ * As plataformas e seus aliases vêm dos provedores do {@link CatalogoPlataformas}
  */
 public class SocialMediaFactory {
     
+    private static final Logger LOG = Log.getLogger(SocialMediaFactory.class);
+    
     /**
      * Cria um gerenciador de mídia social baseado na plataforma
-     * @param plataforma Nome da plataforma
+     * @param plataforma Nome ou alias da plataforma
      * @param estrategiaAuth Estratégia de autenticação
      * @param estrategiaPublicacao Estratégia de publicação
      * @return Gerenciador de mídia social
@@ -22,77 +42,152 @@ public class SocialMediaFactory {
             EstrategiaAutenticacao estrategiaAuth,
             EstrategiaPublicacao estrategiaPublicacao) {
         
-        System.out.println("\nFACTORY - Criando gerenciador para: " + plataforma);
+        LOG.debug("Criando gerenciador para: {}", plataforma);
         
-        switch (plataforma.toUpperCase()) {
-            case "TWITTER":
-            case "X":
-                return new TwitterAdapter(estrategiaAuth, estrategiaPublicacao);
-            
-            case "INSTAGRAM":
-            case "IG":
-                return new InstagramAdapter(estrategiaAuth, estrategiaPublicacao);
-            
-            case "LINKEDIN":
-            case "LI":
-                return new LinkedInAdapter(estrategiaAuth, estrategiaPublicacao);
-            
-            case "TIKTOK":
-            case "TT":
-                return new TikTokAdapter(estrategiaAuth, estrategiaPublicacao);
-            
-            default:
-                throw new IllegalArgumentException("Plataforma não suportada: " + plataforma);
+        return comProtecoes(criarBase(plataforma, estrategiaAuth, estrategiaPublicacao));
+    }
+    
+    /**
+     * Cria o adapter da plataforma com a renovação de token, quando a
+     * estratégia emite tokens que expiram
+     */
+    private static GerenciadorMidiaSocial criarBase(
+            String plataforma,
+            EstrategiaAutenticacao estrategiaAuth,
+            EstrategiaPublicacao estrategiaPublicacao) {
+        GerenciadorMidiaSocial gerenciador = CatalogoPlataformas.getInstance().resolver(plataforma)
+            .criarAdapter(estrategiaAuth, estrategiaPublicacao);
+        
+        // Tokens que expiram passam a ser renovados antes da expiração
+        if (estrategiaAuth.getValidadeToken() != null) {
+            return new GerenciadorComRenovacaoToken(gerenciador, estrategiaAuth, GerenciadorTokens.getInstance());
         }
+        return gerenciador;
     }
     
+    /**
+     * Envolve o gerenciador com o disjuntor da plataforma e novas tentativas,
+     * por fora dos demais decorators para que cada tentativa respeite o
+     * limite de taxa e um circuito aberto falhe antes de consumir tokens.
+     * A deduplicação fica por fora do disjuntor: uma chave já publicada não
+     * chega a ele. Com o outbox configurado, a requisição é gravada antes de
+     * tudo, e um reenvio após uma queda passa pela deduplicação.
+     */
+    private static GerenciadorMidiaSocial comProtecoes(GerenciadorMidiaSocial gerenciador) {
+        GerenciadorMidiaSocial resiliente = new GerenciadorComResiliencia(gerenciador,
+            RegistroDisjuntores.getInstance().obter(gerenciador.getNomePlataforma()));
+        GerenciadorMidiaSocial idempotente = new GerenciadorComIdempotencia(resiliente, TabelaIdempotencia.getInstance());
+        return Outbox.configurado() ? new GerenciadorComOutbox(idempotente, Outbox.getInstance()) : idempotente;
+    }
+    
+    /**
+     * Cria um gerenciador assíncrono baseado na plataforma
+     * @param plataforma Nome ou alias da plataforma
+     * @param estrategiaAuth Estratégia de autenticação
+     * @param estrategiaPublicacao Estratégia de publicação
+     * @param executor Executor onde as chamadas à plataforma serão executadas
+     * @return Gerenciador de mídia social assíncrono
+     */
+    public static GerenciadorMidiaSocialAssincrono criarGerenciadorAssincrono(
+            String plataforma,
+            EstrategiaAutenticacao estrategiaAuth,
+            EstrategiaPublicacao estrategiaPublicacao,
+            Executor executor) {
+
+        return new GerenciadorAssincronoAdapter(
+            criarGerenciador(plataforma, estrategiaAuth, estrategiaPublicacao), executor);
+    }
+
+    /**
+     * Cria um gerenciador assíncrono com estratégias padrão e o executor
+     * compartilhado pelos gerenciadores assíncronos
+     * @param plataforma Nome ou alias da plataforma
+     * @return Gerenciador de mídia social assíncrono
+     */
+    public static GerenciadorMidiaSocialAssincrono criarGerenciadorAssincronoPadrao(String plataforma) {
+        return new GerenciadorAssincronoAdapter(criarGerenciadorPadrao(plataforma));
+    }
+
     /**
      * Cria um gerenciador com estratégias padrão
-     * @param plataforma Nome da plataforma
+     * @param plataforma Nome ou alias da plataforma
      * @return Gerenciador de mídia social
      */
     public static GerenciadorMidiaSocial criarGerenciadorPadrao(String plataforma) {
-        EstrategiaAutenticacao authStrategy = obterEstrategiaAuthPadrao(plataforma);
+        ProvedorPlataforma provedor = CatalogoPlataformas.getInstance().resolver(plataforma);
+        EstrategiaAutenticacao authStrategy = provedor.criarEstrategiaAutenticacaoPadrao();
         EstrategiaPublicacao pubStrategy = new PublicacaoImediata();
         
         return criarGerenciador(plataforma, authStrategy, pubStrategy);
     }
     
-    /**
-     * Obtém a estratégia de autenticação padrão para cada plataforma
-     */
-    private static EstrategiaAutenticacao obterEstrategiaAuthPadrao(String plataforma) {
-        switch (plataforma.toUpperCase()) {
-            case "TWITTER":
-            case "X":
-                return new AutenticacaoOAuth2();
-            
-            case "INSTAGRAM":
-                return new AutenticacaoApiKey();
-            
-            case "LINKEDIN":
-                return new AutenticacaoOAuth2();
-            
-            case "TIKTOK":
-                return new AutenticacaoJWT();
-            
-            default:
-                return new AutenticacaoOAuth2();
-        }
-    }
-    
     /**
      * Cria um gerenciador com base em configuração
      * @param config Configuração da plataforma
      * @return Gerenciador de mídia social
      */
     public static GerenciadorMidiaSocial criarDaConfiguracao(ConfiguracaoPlataforma config) {
-        System.out.println("\nFACTORY - Criando da configuração: " + config.getNomePlataforma());
+        LOG.debug("Criando da configuração: {}", config.getNomePlataforma());
         
         EstrategiaAutenticacao authStrategy = criarEstrategiaAuth(config.getTipoAutenticacao());
         EstrategiaPublicacao pubStrategy = criarEstrategiaPublicacao(config.getTipoPublicacao());
+        GerenciadorMidiaSocial gerenciador = criarBase(config.getNomePlataforma(), authStrategy, pubStrategy);
         
-        return criarGerenciador(config.getNomePlataforma(), authStrategy, pubStrategy);
+        // Todas as plataformas passam pelo limitador da aplicação: sem limite
+        // configurado ele não espera, e um limite aplicado por recarga vale
+        // também para os gerenciadores já criados
+        LimitadorTaxa limitador = LimitadorTaxa.getInstance();
+        if (config.getLimitePorMinuto() > 0) {
+            limitador.configurar(config);
+        }
+        gerenciador = new GerenciadorComLimiteTaxa(gerenciador, limitador);
+        return comProtecoes(gerenciador);
+    }
+    
+    /**
+     * Aplica a configuração alterada de uma plataforma: reconfigura o limite
+     * de taxa e descarta os gerenciadores registrados a partir da configuração,
+     * que serão recriados no próximo uso
+     * @param plataforma Nome ou alias da plataforma
+     * @param config Nova configuração, ou null se a plataforma deixou de ser configurada
+     */
+    public static void aplicarConfiguracao(String plataforma, ConfiguracaoPlataforma config) {
+        if (config != null) {
+            LimitadorTaxa.getInstance().configurar(config);
+        } else {
+            LimitadorTaxa.getInstance().remover(plataforma);
+        }
+        int descartados = RegistroGerenciadores.getInstance().invalidarConfigurados(plataforma);
+        LOG.info("Configuração de {} aplicada; gerenciadores descartados: {}", plataforma, descartados);
+    }
+    
+    /**
+     * Obtém um gerenciador já autenticado para a conta, reutilizando a
+     * instância registrada quando houver
+     * @param plataforma Nome ou alias da plataforma
+     * @param credenciais Credenciais da conta
+     * @return Gerenciador conectado com as estratégias padrão da plataforma
+     */
+    public static GerenciadorMidiaSocial obterGerenciador(String plataforma, Credenciais credenciais) {
+        return RegistroGerenciadores.getInstance().obter(plataforma, credenciais);
+    }
+    
+    /**
+     * Obtém um gerenciador já autenticado para a conta, criado a partir da
+     * configuração na primeira chamada
+     * @param config Configuração da plataforma
+     * @param credenciais Credenciais da conta
+     * @return Gerenciador conectado
+     */
+    public static GerenciadorMidiaSocial obterGerenciador(ConfiguracaoPlataforma config, Credenciais credenciais) {
+        return RegistroGerenciadores.getInstance().obter(config, credenciais);
+    }
+    
+    /**
+     * Descarta os gerenciadores registrados de uma conta
+     */
+    public static void invalidarGerenciadores(String plataforma, String conta) {
+        RegistroGerenciadores.getInstance().invalidar(plataforma, conta);
     }
     
     /**
@@ -1,10 +1,15 @@
 package interfaces;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 import modelo.Conteudo;
 import modelo.Credenciais;
 import modelo.Estatisticas;
+import modelo.PaginaPublicacoes;
 import modelo.Publicacao;
+import modelo.ResultadoPublicacao;
 
 /**
  * Interface unificada para gerenciamento de mídias sociais
@@ -19,6 +24,21 @@ public interface GerenciadorMidiaSocial {
      */
     boolean autenticar(Credenciais credenciais);
     
+    /**
+     * Passa a usar um token de acesso renovado nas chamadas à plataforma
+     * Plataformas que não autenticam por token ignoram a troca.
+     * @param accessToken Novo token de acesso
+     */
+    default void atualizarToken(String accessToken) {
+    }
+    
+    /**
+     * Libera os recursos do gerenciador, como o vínculo com o agendador;
+     * a instância não deve mais ser usada
+     */
+    default void encerrar() {
+    }
+    
     /**
      * Publica conteúdo na plataforma
      * @param conteudo Conteúdo a ser publicado
@@ -26,6 +46,13 @@ public interface GerenciadorMidiaSocial {
      */
     Publicacao publicar(Conteudo conteudo);
     
+    /**
+     * Publica vários conteúdos numa única requisição à plataforma
+     * @param conteudos Conteúdos a serem publicados
+     * @return Resultado de cada conteúdo, na mesma ordem da lista recebida
+     */
+    List<ResultadoPublicacao> publicarLote(List<Conteudo> conteudos);
+    
     /**
      * Agenda uma publicação futura
      * @param conteudo Conteúdo a ser agendado
@@ -33,6 +60,13 @@ public interface GerenciadorMidiaSocial {
      */
     Publicacao agendar(Conteudo conteudo);
     
+    /**
+     * Cancela uma publicação agendada que ainda não foi publicada
+     * @param idPublicacao ID da publicação agendada
+     * @return true se o agendamento foi cancelado
+     */
+    boolean cancelarAgendamento(String idPublicacao);
+    
     /**
      * Remove uma publicação
      * @param idPublicacao ID da publicação
@@ -47,12 +81,34 @@ public interface GerenciadorMidiaSocial {
      */
     Estatisticas obterEstatisticas(String idPublicacao);
     
+    /**
+     * Obtém estatísticas de várias publicações, agrupando os ids por requisição
+     * @param idsPublicacoes IDs das publicações
+     * @return Estatísticas indexadas pelo ID da publicação
+     */
+    Map<String, Estatisticas> obterEstatisticasEmLote(Collection<String> idsPublicacoes);
+    
     /**
      * Lista todas as publicações
      * @return Lista de publicações
      */
     List<Publicacao> listarPublicacoes();
     
+    /**
+     * Lista uma página de publicações em ordem de data de publicação
+     * @param cursor Cursor da página anterior, ou null para a primeira página
+     * @param tamanhoPagina Quantidade máxima de publicações na página
+     * @return Página de publicações com o cursor da próxima página
+     */
+    PaginaPublicacoes listarPublicacoes(String cursor, int tamanhoPagina);
+    
+    /**
+     * Percorre as publicações em ordem de data de publicação, convertendo
+     * cada registro da plataforma apenas quando consumido
+     * @return Stream de publicações
+     */
+    Stream<Publicacao> streamPublicacoes();
+    
     /**
      * Obtém o nome da plataforma
      * @return Nome da plataforma
@@ -0,0 +1,104 @@
+package interfaces;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import modelo.Conteudo;
+import modelo.Credenciais;
+import modelo.Estatisticas;
+import modelo.PaginaPublicacoes;
+import modelo.Publicacao;
+import modelo.ResultadoPublicacao;
+
+/**
+ * Versão não bloqueante da interface unificada para gerenciamento de mídias sociais
+ * Cada operação retorna imediatamente um CompletableFuture concluído quando a
+ * plataforma responder
+ */
+public interface GerenciadorMidiaSocialAssincrono {
+
+    /**
+     * Autentica na plataforma de mídia social
+     * @param credenciais Credenciais de autenticação
+     * @return Futuro com true se autenticação for bem-sucedida
+     */
+    CompletableFuture<Boolean> autenticar(Credenciais credenciais);
+
+    /**
+     * Publica conteúdo na plataforma
+     * @param conteudo Conteúdo a ser publicado
+     * @return Futuro com a publicação criada
+     */
+    CompletableFuture<Publicacao> publicar(Conteudo conteudo);
+
+    /**
+     * Publica vários conteúdos numa única requisição à plataforma
+     * @param conteudos Conteúdos a serem publicados
+     * @return Futuro com o resultado de cada conteúdo, na ordem da lista recebida
+     */
+    CompletableFuture<List<ResultadoPublicacao>> publicarLote(List<Conteudo> conteudos);
+
+    /**
+     * Agenda uma publicação futura
+     * @param conteudo Conteúdo a ser agendado
+     * @return Futuro com a publicação agendada
+     */
+    CompletableFuture<Publicacao> agendar(Conteudo conteudo);
+
+    /**
+     * Cancela uma publicação agendada que ainda não foi publicada
+     * @param idPublicacao ID da publicação agendada
+     * @return Futuro com true se o agendamento foi cancelado
+     */
+    CompletableFuture<Boolean> cancelarAgendamento(String idPublicacao);
+
+    /**
+     * Remove uma publicação
+     * @param idPublicacao ID da publicação
+     * @return Futuro com true se removida com sucesso
+     */
+    CompletableFuture<Boolean> remover(String idPublicacao);
+
+    /**
+     * Obtém estatísticas de uma publicação
+     * @param idPublicacao ID da publicação
+     * @return Futuro com as estatísticas da publicação
+     */
+    CompletableFuture<Estatisticas> obterEstatisticas(String idPublicacao);
+
+    /**
+     * Obtém estatísticas de várias publicações, agrupando os ids por requisição
+     * @param idsPublicacoes IDs das publicações
+     * @return Futuro com as estatísticas indexadas pelo ID da publicação
+     */
+    CompletableFuture<Map<String, Estatisticas>> obterEstatisticasEmLote(Collection<String> idsPublicacoes);
+
+    /**
+     * Lista todas as publicações
+     * @return Futuro com a lista de publicações
+     */
+    CompletableFuture<List<Publicacao>> listarPublicacoes();
+
+    /**
+     * Lista uma página de publicações em ordem de data de publicação
+     * @param cursor Cursor da página anterior, ou null para a primeira página
+     * @param tamanhoPagina Quantidade máxima de publicações na página
+     * @return Futuro com a página de publicações
+     */
+    CompletableFuture<PaginaPublicacoes> listarPublicacoes(String cursor, int tamanhoPagina);
+
+    /**
+     * Obtém o nome da plataforma
+     * @return Nome da plataforma
+     */
+    String getNomePlataforma();
+
+    /**
+     * Valida se o conteúdo é compatível com a plataforma
+     * Operação local, sem I/O, por isso permanece síncrona
+     * @param conteudo Conteúdo a ser validado
+     * @return true se válido
+     */
+    boolean validarConteudo(Conteudo conteudo);
+}
@@ -0,0 +1,103 @@
+package limite;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens sem locks
+ *
+ * Implementado como GCRA: em vez de guardar a quantidade de tokens e o
+ * instante da última recarga, guarda apenas o instante teórico em que o
+ * balde estará cheio de novo. Adquirir tokens é um único compareAndSet
+ * sobre esse instante, sem alocação.
+ *
+ * Quando não há tokens, a aquisição pode reservar um instante futuro, desde
+ * que a espera não ultrapasse a capacidade da fila; os reservantes são
+ * atendidos na ordem em que reservaram, exatamente na taxa configurada.
+ */
+public class BaldeTokens {
+
+    private final long intervaloNanos;
+    private final long rajadaNanos;
+    private final long esperaMaximaNanos;
+    private final int rajada;
+    private final int capacidadeFila;
+
+    // Instante teórico (System.nanoTime) em que o balde estará cheio
+    private final AtomicLong cheioEm;
+
+    /**
+     * @param tokensPorPeriodo Quantidade de tokens repostos a cada período
+     * @param periodo Período de reposição
+     * @param rajada Quantidade máxima de tokens acumulados
+     * @param capacidadeFila Quantidade de tokens que podem ser reservados além da rajada
+     */
+    public BaldeTokens(int tokensPorPeriodo, Duration periodo, int rajada, int capacidadeFila) {
+        if (tokensPorPeriodo <= 0 || rajada <= 0 || capacidadeFila < 0) {
+            throw new IllegalArgumentException("Taxa e rajada devem ser positivas e a fila não negativa");
+        }
+        this.intervaloNanos = Math.max(1, periodo.toNanos() / tokensPorPeriodo);
+        this.rajada = rajada;
+        this.capacidadeFila = capacidadeFila;
+        this.rajadaNanos = intervaloNanos * rajada;
+        this.esperaMaximaNanos = intervaloNanos * capacidadeFila;
+        this.cheioEm = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Tenta adquirir tokens sem esperar
+     * @return true se os tokens foram adquiridos
+     */
+    public boolean tentarAdquirir(int tokens) {
+        return reservar(tokens, 0) == 0;
+    }
+
+    /**
+     * Reserva tokens, agora ou num instante futuro
+     * @param tokens Quantidade de tokens
+     * @param esperaMaximaNanos Espera máxima aceita, limitada à capacidade da fila
+     * @return Espera em nanossegundos até os tokens valerem, ou -1 se a espera
+     *         excederia o limite (nada é reservado nesse caso)
+     */
+    public long reservar(int tokens, long esperaMaximaNanos) {
+        long limiteEspera = Math.min(esperaMaximaNanos, this.esperaMaximaNanos);
+        long custo = intervaloNanos * tokens;
+
+        while (true) {
+            long atual = cheioEm.get();
+            long agora = System.nanoTime();
+            long base = atual - agora > 0 ? atual : agora;
+            long novo = base + custo;
+            long espera = Math.max(0, novo - agora - rajadaNanos);
+            if (espera > limiteEspera) {
+                return -1;
+            }
+            if (cheioEm.compareAndSet(atual, novo)) {
+                return espera;
+            }
+        }
+    }
+
+    /**
+     * Espera estimada para que um token fique disponível
+     */
+    public Duration esperaEstimada() {
+        long espera = cheioEm.get() + intervaloNanos - System.nanoTime() - rajadaNanos;
+        return Duration.ofNanos(Math.max(0, espera));
+    }
+
+    /**
+     * Espera máxima que uma reserva pode aceitar
+     */
+    public Duration getEsperaMaxima() {
+        return Duration.ofNanos(esperaMaximaNanos);
+    }
+
+    public int getRajada() {
+        return rajada;
+    }
+
+    public int getCapacidadeFila() {
+        return capacidadeFila;
+    }
+}
@@ -0,0 +1,36 @@
+package limite;
+
+import java.time.Duration;
+
+/**
+ * Sinaliza que a fila de espera do limite de taxa de uma conta está cheia
+ * O chamador deve reduzir o ritmo e tentar de novo após a espera sugerida;
+ * nenhuma chamada foi feita à plataforma
+ */
+public class ContrapressaoException extends RuntimeException {
+
+    private final String plataforma;
+    private final String conta;
+    private final Duration esperaSugerida;
+
+    public ContrapressaoException(String plataforma, String conta, Duration esperaSugerida) {
+        super("Limite de taxa de " + plataforma + " esgotado para a conta '" + conta
+            + "'; tente novamente em " + esperaSugerida.toMillis() + "ms");
+        this.plataforma = plataforma;
+        this.conta = conta;
+        this.esperaSugerida = esperaSugerida;
+    }
+
+    // Getters
+    public String getPlataforma() {
+        return plataforma;
+    }
+
+    public String getConta() {
+        return conta;
+    }
+
+    public Duration getEsperaSugerida() {
+        return esperaSugerida;
+    }
+}
@@ -0,0 +1,167 @@
+package limite;
+
+import factory.ConfiguracaoPlataforma;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import provedor.CatalogoPlataformas;
+
+/**
+ * Limitador de taxa por plataforma e conta
+ *
+ * Cada plataforma com limite configurado em {@link ConfiguracaoPlataforma}
+ * recebe um {@link BaldeTokens} por conta. Com o balde vazio o chamador
+ * reserva a próxima vaga e aguarda por ela, até o tamanho da fila; além
+ * disso recebe {@link ContrapressaoException} sem chegar à plataforma.
+ */
+public class LimitadorTaxa {
+
+    private static final Duration PERIODO = Duration.ofMinutes(1);
+
+    private static LimitadorTaxa instance;
+
+    private final Map<String, Plataforma> plataformas = new ConcurrentHashMap<>();
+    private final CatalogoPlataformas catalogo = CatalogoPlataformas.getInstance();
+
+    /**
+     * Obtém o limitador compartilhado pelos gerenciadores da aplicação
+     */
+    public static synchronized LimitadorTaxa getInstance() {
+        if (instance == null) {
+            instance = new LimitadorTaxa();
+        }
+        return instance;
+    }
+
+    /**
+     * Aplica o limite de taxa de uma plataforma
+     * Os baldes das contas só são recriados se o limite tiver mudado
+     */
+    public void configurar(ConfiguracaoPlataforma config) {
+        String plataforma = normalizar(config.getNomePlataforma());
+        if (config.getLimitePorMinuto() <= 0) {
+            plataformas.remove(plataforma);
+            return;
+        }
+
+        Plataforma nova = new Plataforma(config.getLimitePorMinuto(),
+            Math.max(1, config.getRajadaMaxima()), Math.max(0, config.getCapacidadeFila()));
+        plataformas.merge(plataforma, nova, (atual, recebida) -> atual.mesmoLimite(recebida) ? atual : recebida);
+    }
+
+    /**
+     * Retira o limite de taxa de uma plataforma
+     */
+    public void remover(String plataforma) {
+        plataformas.remove(normalizar(plataforma));
+    }
+
+    /**
+     * Verifica se a plataforma tem limite de taxa configurado
+     */
+    public boolean possuiLimite(String plataforma) {
+        return plataformas.containsKey(normalizar(plataforma));
+    }
+
+    /**
+     * Maior quantidade de tokens que uma única requisição pode pedir
+     */
+    public int getRajada(String plataforma) {
+        Plataforma limite = plataformas.get(normalizar(plataforma));
+        return limite != null ? limite.rajada : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Tenta adquirir tokens sem esperar
+     * @return true se adquiridos ou se a plataforma não tem limite
+     */
+    public boolean tentarAdquirir(String plataforma, String conta, int tokens) {
+        BaldeTokens balde = balde(plataforma, conta);
+        return balde == null || balde.tentarAdquirir(tokens);
+    }
+
+    /**
+     * Adquire tokens, aguardando na fila da conta se necessário
+     * @throws ContrapressaoException se a fila da conta estiver cheia
+     */
+    public void adquirir(String plataforma, String conta, int tokens) {
+        BaldeTokens balde = balde(plataforma, conta);
+        if (balde == null) {
+            return;
+        }
+
+        long espera = balde.reservar(tokens, Long.MAX_VALUE);
+        if (espera < 0) {
+            throw new ContrapressaoException(plataforma, conta, balde.esperaEstimada());
+        }
+        if (espera > 0) {
+            aguardar(espera);
+        }
+    }
+
+    /**
+     * Espera estimada até a próxima vaga de uma conta
+     */
+    public Duration esperaEstimada(String plataforma, String conta) {
+        BaldeTokens balde = balde(plataforma, conta);
+        return balde != null ? balde.esperaEstimada() : Duration.ZERO;
+    }
+
+    private BaldeTokens balde(String plataforma, String conta) {
+        Plataforma limite = plataformas.get(normalizar(plataforma));
+        return limite != null ? limite.balde(conta) : null;
+    }
+
+    /**
+     * A vaga já está reservada: a espera não é interrompível para não
+     * desperdiçá-la, mas o estado de interrupção é preservado
+     */
+    private static void aguardar(long esperaNanos) {
+        long prazo = System.nanoTime() + esperaNanos;
+        boolean interrompida = false;
+        long restante;
+        while ((restante = prazo - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+            interrompida |= Thread.interrupted();
+        }
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Aliases compartilham o limite da plataforma
+    private String normalizar(String plataforma) {
+        return catalogo.nomeCanonico(plataforma);
+    }
+
+    /**
+     * Limite de uma plataforma e os baldes de suas contas
+     */
+    private static final class Plataforma {
+        private final int porMinuto;
+        private final int rajada;
+        private final int capacidadeFila;
+        private final Map<String, BaldeTokens> porConta = new ConcurrentHashMap<>();
+
+        private Plataforma(int porMinuto, int rajada, int capacidadeFila) {
+            this.porMinuto = porMinuto;
+            this.rajada = rajada;
+            this.capacidadeFila = capacidadeFila;
+        }
+
+        private BaldeTokens balde(String conta) {
+            BaldeTokens balde = porConta.get(conta);
+            if (balde == null) {
+                balde = porConta.computeIfAbsent(conta,
+                    c -> new BaldeTokens(porMinuto, PERIODO, rajada, capacidadeFila));
+            }
+            return balde;
+        }
+
+        private boolean mesmoLimite(Plataforma outra) {
+            return porMinuto == outra.porMinuto && rajada == outra.rajada
+                && capacidadeFila == outra.capacidadeFila;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package log;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appender que escreve as mensagens de log numa thread dedicada
+ *
+ * As threads chamadoras apenas reservam uma posição num buffer circular de
+ * capacidade fixa (várias produtoras, uma consumidora) e nunca bloqueiam.
+ * A thread escritora formata as mensagens em lote e faz uma única escrita
+ * na saída por lote.
+ *
+ * Sob pressão (buffer acima de 3/4 da capacidade) apenas uma amostra das
+ * mensagens DEBUG é aceita; com o buffer cheio qualquer mensagem é
+ * descartada. Os descartes são contados e informados na própria saída.
+ */
+public class AppenderAssincrono {
+
+    private static final int TAXA_AMOSTRAGEM_DEBUG = 16;
+    private static final int LOTE_MAXIMO = 256;
+    private static final long ESPERA_MAXIMA_NANOS = Duration.ofMillis(50).toNanos();
+    private static final DateTimeFormatter FORMATO_HORA = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    private final PrintStream saida;
+    private final AtomicReferenceArray<Evento> eventos;
+    private final int mascara;
+    private final int limiarPressao;
+    private final ZoneId zona = ZoneId.systemDefault();
+
+    // Próxima posição a reservar pelas produtoras
+    private final AtomicLong cauda = new AtomicLong();
+    // Próxima posição a ler; alterada apenas pela thread escritora
+    private volatile long cabeca;
+    // Posição até a qual as mensagens já foram escritas na saída
+    private volatile long escritos;
+    private volatile boolean aguardando;
+
+    private final LongAdder descartados = new LongAdder();
+    private final Thread escritor;
+
+    /**
+     * @param saida Destino das mensagens
+     * @param capacidade Quantidade de mensagens pendentes, arredondada para potência de 2
+     */
+    public AppenderAssincrono(PrintStream saida, int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva");
+        }
+        int tamanho = Integer.highestOneBit(capacidade);
+        if (tamanho < capacidade) {
+            tamanho <<= 1;
+        }
+        this.saida = saida;
+        this.eventos = new AtomicReferenceArray<>(tamanho);
+        this.mascara = tamanho - 1;
+        this.limiarPressao = tamanho - (tamanho >> 2);
+
+        this.escritor = new Thread(this::escrever, "log-escritor");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Registra uma mensagem sem bloquear a thread chamadora
+     */
+    public void registrar(NivelLog nivel, String logger, String mensagem,
+                          Object arg1, Object arg2, Throwable erro) {
+        if (nivel == NivelLog.DEBUG && ocupacao() >= limiarPressao
+                && ThreadLocalRandom.current().nextInt(TAXA_AMOSTRAGEM_DEBUG) != 0) {
+            descartados.increment();
+            return;
+        }
+
+        Evento evento = new Evento(System.currentTimeMillis(), nivel, Thread.currentThread().getName(),
+            logger, mensagem, arg1, arg2, erro);
+        if (!oferecer(evento)) {
+            descartados.increment();
+            return;
+        }
+        if (aguardando) {
+            LockSupport.unpark(escritor);
+        }
+    }
+
+    /**
+     * Aguarda até que as mensagens registradas antes da chamada sejam escritas
+     * @param limite Tempo máximo de espera
+     */
+    public void descarregar(Duration limite) {
+        long alvo = cauda.get();
+        long prazo = System.nanoTime() + limite.toNanos();
+        while (escritos < alvo && System.nanoTime() - prazo < 0) {
+            LockSupport.unpark(escritor);
+            LockSupport.parkNanos(Duration.ofMillis(1).toNanos());
+        }
+    }
+
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    public int getCapacidade() {
+        return mascara + 1;
+    }
+
+    private long ocupacao() {
+        return cauda.get() - cabeca;
+    }
+
+    private boolean oferecer(Evento evento) {
+        while (true) {
+            long posicao = cauda.get();
+            if (posicao - cabeca > mascara) {
+                return false;
+            }
+            if (cauda.compareAndSet(posicao, posicao + 1)) {
+                eventos.lazySet((int) posicao & mascara, evento);
+                return true;
+            }
+        }
+    }
+
+    private Evento consumir() {
+        long posicao = cabeca;
+        int indice = (int) posicao & mascara;
+        // Posição reservada mas ainda não preenchida é tratada como vazia
+        Evento evento = eventos.get(indice);
+        if (evento != null) {
+            eventos.lazySet(indice, null);
+            cabeca = posicao + 1;
+        }
+        return evento;
+    }
+
+    private void escrever() {
+        StringBuilder buffer = new StringBuilder(4096);
+        long descartesInformados = 0;
+
+        while (true) {
+            int lidos = 0;
+            Evento evento;
+            while (lidos < LOTE_MAXIMO && (evento = consumir()) != null) {
+                formatar(evento, buffer);
+                lidos++;
+            }
+
+            long totalDescartados = descartados.sum();
+            if (totalDescartados > descartesInformados) {
+                buffer.append(FORMATO_HORA.format(LocalTime.now(zona)))
+                      .append(" WARN  [log-escritor] AppenderAssincrono - ")
+                      .append(totalDescartados - descartesInformados)
+                      .append(" mensagens descartadas por pressão no buffer")
+                      .append(System.lineSeparator());
+                descartesInformados = totalDescartados;
+            }
+
+            if (buffer.length() > 0) {
+                saida.print(buffer);
+                saida.flush();
+                buffer.setLength(0);
+            }
+            escritos = cabeca;
+
+            if (lidos == 0) {
+                aguardando = true;
+                if (ocupacao() == 0) {
+                    LockSupport.parkNanos(this, ESPERA_MAXIMA_NANOS);
+                }
+                aguardando = false;
+            }
+        }
+    }
+
+    private void formatar(Evento evento, StringBuilder buffer) {
+        FORMATO_HORA.formatTo(LocalTime.ofInstant(Instant.ofEpochMilli(evento.instante), zona), buffer);
+        buffer.append(' ').append(evento.nivel.name());
+        for (int i = evento.nivel.name().length(); i < 5; i++) {
+            buffer.append(' ');
+        }
+        buffer.append(" [").append(evento.thread).append("] ")
+              .append(evento.logger).append(" - ");
+        substituirParametros(evento, buffer);
+        buffer.append(System.lineSeparator());
+
+        if (evento.erro != null) {
+            StringWriter pilha = new StringWriter();
+            evento.erro.printStackTrace(new PrintWriter(pilha));
+            buffer.append(pilha);
+        }
+    }
+
+    private static void substituirParametros(Evento evento, StringBuilder buffer) {
+        String mensagem = evento.mensagem;
+        int inicio = 0;
+        int usados = 0;
+        int marcador;
+        while (usados < 2 && (marcador = mensagem.indexOf("{}", inicio)) >= 0) {
+            buffer.append(mensagem, inicio, marcador)
+                  .append(usados == 0 ? evento.arg1 : evento.arg2);
+            inicio = marcador + 2;
+            usados++;
+        }
+        buffer.append(mensagem, inicio, mensagem.length());
+    }
+
+    private static final class Evento {
+        private final long instante;
+        private final NivelLog nivel;
+        private final String thread;
+        private final String logger;
+        private final String mensagem;
+        private final Object arg1;
+        private final Object arg2;
+        private final Throwable erro;
+
+        private Evento(long instante, NivelLog nivel, String thread, String logger,
+                       String mensagem, Object arg1, Object arg2, Throwable erro) {
+            this.instante = instante;
+            this.nivel = nivel;
+            this.thread = thread;
+            this.logger = logger;
+            this.mensagem = mensagem;
+            this.arg1 = arg1;
+            this.arg2 = arg2;
+            this.erro = erro;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package log;
+
+import java.time.Duration;
+
+/**
+ * Fachada de log do sistema
+ *
+ * O nível global vem da propriedade de sistema "log.nivel" (padrão INFO) e
+ * pode ser alterado em tempo de execução. As mensagens são entregues a um
+ * único {@link AppenderAssincrono}, que as escreve fora da thread chamadora.
+ */
+public final class Log {
+
+    static volatile int limiar = lerNivelInicial().ordinal();
+
+    private static final AppenderAssincrono APPENDER = new AppenderAssincrono(System.out, 8192);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(
+            () -> APPENDER.descarregar(Duration.ofSeconds(2)), "log-encerramento"));
+    }
+
+    private Log() {
+    }
+
+    /**
+     * Obtém um logger nomeado pela classe
+     */
+    public static Logger getLogger(Class<?> classe) {
+        return new Logger(classe.getSimpleName());
+    }
+
+    public static NivelLog getNivel() {
+        return NivelLog.values()[limiar];
+    }
+
+    public static void setNivel(NivelLog nivel) {
+        limiar = nivel.ordinal();
+    }
+
+    /**
+     * Aguarda a escrita de todas as mensagens registradas até o momento
+     */
+    public static void descarregar() {
+        APPENDER.descarregar(Duration.ofSeconds(5));
+    }
+
+    /**
+     * Quantidade de mensagens descartadas por pressão no buffer
+     */
+    public static long getDescartados() {
+        return APPENDER.getDescartados();
+    }
+
+    static void registrar(NivelLog nivel, String logger, String mensagem,
+                          Object arg1, Object arg2, Throwable erro) {
+        APPENDER.registrar(nivel, logger, mensagem, arg1, arg2, erro);
+    }
+
+    private static NivelLog lerNivelInicial() {
+        String nivel = System.getProperty("log.nivel");
+        if (nivel == null) {
+            return NivelLog.INFO;
+        }
+        try {
+            return NivelLog.valueOf(nivel.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return NivelLog.INFO;
+        }
+    }
+}
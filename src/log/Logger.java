@@ -0,0 +1,134 @@
+package log;
+
+/**
+ * Logger nomeado obtido por {@link Log#getLogger(Class)}
+ *
+ * Cada método verifica o nível antes de qualquer trabalho: com o nível
+ * desligado a chamada não formata nem aloca nada. Os parâmetros "{}" são
+ * substituídos apenas na thread de escrita, portanto os argumentos não
+ * devem ser alterados depois de registrados.
+ */
+public final class Logger {
+
+    private final String nome;
+
+    Logger(String nome) {
+        this.nome = nome;
+    }
+
+    public boolean isAtivo(NivelLog nivel) {
+        return nivel.ordinal() >= Log.limiar;
+    }
+
+    public boolean isDebugAtivo() {
+        return Log.limiar <= NivelLog.DEBUG.ordinal();
+    }
+
+    public boolean isInfoAtivo() {
+        return Log.limiar <= NivelLog.INFO.ordinal();
+    }
+
+    // DEBUG
+    public void debug(String mensagem) {
+        if (isDebugAtivo()) {
+            Log.registrar(NivelLog.DEBUG, nome, mensagem, null, null, null);
+        }
+    }
+
+    public void debug(String mensagem, Object arg) {
+        if (isDebugAtivo()) {
+            Log.registrar(NivelLog.DEBUG, nome, mensagem, arg, null, null);
+        }
+    }
+
+    public void debug(String mensagem, Object arg1, Object arg2) {
+        if (isDebugAtivo()) {
+            Log.registrar(NivelLog.DEBUG, nome, mensagem, arg1, arg2, null);
+        }
+    }
+
+    // INFO
+    public void info(String mensagem) {
+        if (isInfoAtivo()) {
+            Log.registrar(NivelLog.INFO, nome, mensagem, null, null, null);
+        }
+    }
+
+    public void info(String mensagem, Object arg) {
+        if (isInfoAtivo()) {
+            Log.registrar(NivelLog.INFO, nome, mensagem, arg, null, null);
+        }
+    }
+
+    public void info(String mensagem, Object arg1, Object arg2) {
+        if (isInfoAtivo()) {
+            Log.registrar(NivelLog.INFO, nome, mensagem, arg1, arg2, null);
+        }
+    }
+
+    // WARN
+    public void warn(String mensagem) {
+        if (isAtivo(NivelLog.WARN)) {
+            Log.registrar(NivelLog.WARN, nome, mensagem, null, null, null);
+        }
+    }
+
+    public void warn(String mensagem, Object arg) {
+        if (isAtivo(NivelLog.WARN)) {
+            Log.registrar(NivelLog.WARN, nome, mensagem, arg, null, null);
+        }
+    }
+
+    public void warn(String mensagem, Object arg1, Object arg2) {
+        if (isAtivo(NivelLog.WARN)) {
+            Log.registrar(NivelLog.WARN, nome, mensagem, arg1, arg2, null);
+        }
+    }
+
+    public void warn(String mensagem, Throwable erro) {
+        if (isAtivo(NivelLog.WARN)) {
+            Log.registrar(NivelLog.WARN, nome, mensagem, null, null, erro);
+        }
+    }
+
+    public void warn(String mensagem, Object arg, Throwable erro) {
+        if (isAtivo(NivelLog.WARN)) {
+            Log.registrar(NivelLog.WARN, nome, mensagem, arg, null, erro);
+        }
+    }
+
+    // ERROR
+    public void error(String mensagem) {
+        if (isAtivo(NivelLog.ERROR)) {
+            Log.registrar(NivelLog.ERROR, nome, mensagem, null, null, null);
+        }
+    }
+
+    public void error(String mensagem, Object arg) {
+        if (isAtivo(NivelLog.ERROR)) {
+            Log.registrar(NivelLog.ERROR, nome, mensagem, arg, null, null);
+        }
+    }
+
+    public void error(String mensagem, Object arg1, Object arg2) {
+        if (isAtivo(NivelLog.ERROR)) {
+            Log.registrar(NivelLog.ERROR, nome, mensagem, arg1, arg2, null);
+        }
+    }
+
+    public void error(String mensagem, Throwable erro) {
+        if (isAtivo(NivelLog.ERROR)) {
+            Log.registrar(NivelLog.ERROR, nome, mensagem, null, null, erro);
+        }
+    }
+
+    public void error(String mensagem, Object arg, Throwable erro) {
+        if (isAtivo(NivelLog.ERROR)) {
+            Log.registrar(NivelLog.ERROR, nome, mensagem, arg, null, erro);
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
@@ -0,0 +1,13 @@
+package log;
+
+/**
+ * Enum que representa os níveis de log, do mais detalhado ao mais grave
+ * OFF desliga todas as mensagens
+ */
+public enum NivelLog {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF
+}
@@ -1,25 +1,44 @@
 package modelo;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import simbolos.DicionarioSimbolos;
 
 /**
  * Classe que representa o conteúdo a ser publicado nas redes sociais
+ * As hashtags são guardadas como instâncias compartilhadas pelo
+ * {@link DicionarioSimbolos}; o getter devolve uma cópia mutável.
  */
 public class Conteudo {
+    private static final DicionarioSimbolos SIMBOLOS = DicionarioSimbolos.getInstance();
+
     private String texto;
     private List<String> midias;
-    private List<String> hashtags;
+    private String[] hashtags;
     private LocalDateTime dataAgendamento;
     private TipoConteudo tipo;
+    private String chaveIdempotencia;
 
     public Conteudo(String texto, List<String> midias, List<String> hashtags, 
                     LocalDateTime dataAgendamento, TipoConteudo tipo) {
+        this(texto, midias, hashtags, dataAgendamento, tipo, null);
+    }
+
+    /**
+     * @param chaveIdempotencia Chave que identifica esta publicação entre
+     *        tentativas repetidas; publicar de novo com a mesma chave devolve a
+     *        publicação original (null = sem deduplicação)
+     */
+    public Conteudo(String texto, List<String> midias, List<String> hashtags, 
+                    LocalDateTime dataAgendamento, TipoConteudo tipo, String chaveIdempotencia) {
         this.texto = texto;
         this.midias = midias;
-        this.hashtags = hashtags;
+        this.hashtags = SIMBOLOS.internar(hashtags);
         this.dataAgendamento = dataAgendamento;
         this.tipo = tipo;
+        this.chaveIdempotencia = chaveIdempotencia;
     }
 
     // Getters e Setters
@@ -39,12 +58,40 @@ public class Conteudo {
         this.midias = midias;
     }
 
+    /**
+     * Quantidade de mídias, sem criar a lista
+     * @return A quantidade, ou -1 se não houver lista
+     */
+    public int getQuantidadeMidias() {
+        return midias != null ? midias.size() : -1;
+    }
+
+    /**
+     * Cópia das hashtags; alterar a lista não altera o conteúdo, use
+     * {@link #setHashtags(List)} para isso
+     * @return Nova lista mutável, ou null se não houver lista
+     */
     public List<String> getHashtags() {
-        return hashtags;
+        return hashtags != null ? new ArrayList<>(Arrays.asList(hashtags)) : null;
     }
 
     public void setHashtags(List<String> hashtags) {
-        this.hashtags = hashtags;
+        this.hashtags = SIMBOLOS.internar(hashtags);
+    }
+
+    /**
+     * Vetor guardado, para compartilhar com a versão compacta sem copiar
+     */
+    String[] hashtagsInternadas() {
+        return hashtags;
+    }
+
+    /**
+     * Quantidade de hashtags, sem criar a lista
+     * @return A quantidade, ou -1 se não houver lista
+     */
+    public int getQuantidadeHashtags() {
+        return hashtags != null ? hashtags.length : -1;
     }
 
     public LocalDateTime getDataAgendamento() {
@@ -63,14 +110,23 @@ public class Conteudo {
         this.tipo = tipo;
     }
 
+    public String getChaveIdempotencia() {
+        return chaveIdempotencia;
+    }
+
+    public void setChaveIdempotencia(String chaveIdempotencia) {
+        this.chaveIdempotencia = chaveIdempotencia;
+    }
+
     @Override
     public String toString() {
         return "Conteudo{" +
                 "texto='" + texto + '\'' +
                 ", midias=" + midias +
-                ", hashtags=" + hashtags +
+                ", hashtags=" + Arrays.toString(hashtags) +
                 ", dataAgendamento=" + dataAgendamento +
                 ", tipo=" + tipo +
+                (chaveIdempotencia != null ? ", chaveIdempotencia='" + chaveIdempotencia + '\'' : "") +
                 '}';
     }
 }
@@ -0,0 +1,202 @@
+package modelo;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import simbolos.DicionarioSimbolos;
+
+/**
+ * Representação imutável e compacta de um {@link Conteudo}
+ *
+ * A data de agendamento é guardada em milissegundos desde a época (no fuso
+ * do sistema) e as hashtags como instâncias do {@link DicionarioSimbolos},
+ * num vetor compartilhado com o conteúdo de origem. Pode ser compartilhado entre
+ * threads sem cópia.
+ */
+public final class ConteudoCompacto {
+
+    /** Valor de data para "sem data" */
+    public static final long SEM_DATA = Long.MIN_VALUE;
+
+    private static final DicionarioSimbolos SIMBOLOS = DicionarioSimbolos.getInstance();
+
+    private final String texto;
+    private final List<String> midias;
+    private final String[] hashtags;
+    private final long dataAgendamentoMillis;
+    private final TipoConteudo tipo;
+    private final String chaveIdempotencia;
+
+    private ConteudoCompacto(Construtor construtor) {
+        this.texto = construtor.texto;
+        this.midias = construtor.midias;
+        this.hashtags = construtor.hashtags;
+        this.dataAgendamentoMillis = construtor.dataAgendamentoMillis;
+        this.tipo = construtor.tipo;
+        this.chaveIdempotencia = construtor.chaveIdempotencia;
+    }
+
+    public static Construtor construtor() {
+        return new Construtor();
+    }
+
+    /**
+     * Converte um conteúdo; a data perde a precisão abaixo de milissegundos
+     */
+    public static ConteudoCompacto de(Conteudo conteudo) {
+        Construtor construtor = construtor()
+            .texto(conteudo.getTexto())
+            .midias(conteudo.getMidias());
+        // O vetor do conteúdo não é alterado no lugar; setHashtags troca-o
+        construtor.hashtags = conteudo.hashtagsInternadas();
+        return construtor
+            .dataAgendamento(conteudo.getDataAgendamento())
+            .tipo(conteudo.getTipo())
+            .chaveIdempotencia(conteudo.getChaveIdempotencia())
+            .construir();
+    }
+
+    /**
+     * Novo conteúdo mutável com os mesmos dados
+     */
+    public Conteudo paraConteudo() {
+        return new Conteudo(texto, midias != null ? new ArrayList<>(midias) : null, getHashtags(),
+            getDataAgendamento(), tipo, chaveIdempotencia);
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public List<String> getMidias() {
+        return midias;
+    }
+
+    public List<String> getHashtags() {
+        return DicionarioSimbolos.lista(hashtags);
+    }
+
+    /**
+     * @return Milissegundos desde a época, ou {@link #SEM_DATA}
+     */
+    public long getDataAgendamentoMillis() {
+        return dataAgendamentoMillis;
+    }
+
+    public LocalDateTime getDataAgendamento() {
+        return paraData(dataAgendamentoMillis);
+    }
+
+    public TipoConteudo getTipo() {
+        return tipo;
+    }
+
+    public String getChaveIdempotencia() {
+        return chaveIdempotencia;
+    }
+
+    static long paraMillis(LocalDateTime data) {
+        return data != null ? data.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : SEM_DATA;
+    }
+
+    static LocalDateTime paraData(long millis) {
+        return millis != SEM_DATA ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()) : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConteudoCompacto)) {
+            return false;
+        }
+        ConteudoCompacto outro = (ConteudoCompacto) o;
+        return dataAgendamentoMillis == outro.dataAgendamentoMillis
+            && Objects.equals(texto, outro.texto)
+            && Objects.equals(midias, outro.midias)
+            && Arrays.equals(hashtags, outro.hashtags)
+            && tipo == outro.tipo
+            && Objects.equals(chaveIdempotencia, outro.chaveIdempotencia);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Objects.hash(texto, midias, dataAgendamentoMillis, tipo, chaveIdempotencia);
+        return 31 * h + Arrays.hashCode(hashtags);
+    }
+
+    @Override
+    public String toString() {
+        return "ConteudoCompacto{" +
+                "texto='" + texto + '\'' +
+                ", midias=" + getMidias() +
+                ", hashtags=" + getHashtags() +
+                ", dataAgendamento=" + getDataAgendamento() +
+                ", tipo=" + tipo +
+                (chaveIdempotencia != null ? ", chaveIdempotencia='" + chaveIdempotencia + '\'' : "") +
+                '}';
+    }
+
+    /**
+     * Construtor passo a passo de um {@link ConteudoCompacto}
+     */
+    public static final class Construtor {
+        private String texto;
+        private List<String> midias;
+        private String[] hashtags;
+        private long dataAgendamentoMillis = SEM_DATA;
+        private TipoConteudo tipo;
+        private String chaveIdempotencia;
+
+        private Construtor() {
+        }
+
+        public Construtor texto(String texto) {
+            this.texto = texto;
+            return this;
+        }
+
+        public Construtor midias(List<String> midias) {
+            this.midias = midias != null ? Collections.unmodifiableList(new ArrayList<>(midias)) : null;
+            return this;
+        }
+
+        public Construtor hashtags(List<String> hashtags) {
+            this.hashtags = SIMBOLOS.internar(hashtags);
+            return this;
+        }
+
+        public Construtor dataAgendamento(LocalDateTime dataAgendamento) {
+            this.dataAgendamentoMillis = paraMillis(dataAgendamento);
+            return this;
+        }
+
+        /**
+         * @param millis Milissegundos desde a época, ou {@link #SEM_DATA}
+         */
+        public Construtor dataAgendamentoMillis(long millis) {
+            this.dataAgendamentoMillis = millis;
+            return this;
+        }
+
+        public Construtor tipo(TipoConteudo tipo) {
+            this.tipo = tipo;
+            return this;
+        }
+
+        public Construtor chaveIdempotencia(String chaveIdempotencia) {
+            this.chaveIdempotencia = chaveIdempotencia;
+            return this;
+        }
+
+        public ConteudoCompacto construir() {
+            return new ConteudoCompacto(this);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package modelo;
+
+import java.util.Objects;
+
+/**
+ * Representação imutável das {@link Estatisticas} de uma publicação
+ *
+ * Guarda só os contadores; a taxa de engajamento é calculada quando pedida.
+ * Pode ser compartilhada entre threads sem cópia.
+ */
+public final class EstatisticasCompactas {
+
+    private final String idPublicacao;
+    private final int visualizacoes;
+    private final int curtidas;
+    private final int compartilhamentos;
+    private final int comentarios;
+
+    public EstatisticasCompactas(String idPublicacao, int visualizacoes, int curtidas,
+                                 int compartilhamentos, int comentarios) {
+        this.idPublicacao = idPublicacao;
+        this.visualizacoes = visualizacoes;
+        this.curtidas = curtidas;
+        this.compartilhamentos = compartilhamentos;
+        this.comentarios = comentarios;
+    }
+
+    public static Construtor construtor() {
+        return new Construtor();
+    }
+
+    public static EstatisticasCompactas de(Estatisticas estatisticas) {
+        return new EstatisticasCompactas(estatisticas.getIdPublicacao(), estatisticas.getVisualizacoes(),
+            estatisticas.getCurtidas(), estatisticas.getCompartilhamentos(), estatisticas.getComentarios());
+    }
+
+    /**
+     * Novas estatísticas mutáveis com os mesmos contadores
+     */
+    public Estatisticas paraEstatisticas() {
+        return new Estatisticas(idPublicacao, visualizacoes, curtidas, compartilhamentos, comentarios);
+    }
+
+    public String getIdPublicacao() {
+        return idPublicacao;
+    }
+
+    public int getVisualizacoes() {
+        return visualizacoes;
+    }
+
+    public int getCurtidas() {
+        return curtidas;
+    }
+
+    public int getCompartilhamentos() {
+        return compartilhamentos;
+    }
+
+    public int getComentarios() {
+        return comentarios;
+    }
+
+    /**
+     * Interações por visualização, em porcentagem
+     */
+    public double getTaxaEngajamento() {
+        if (visualizacoes == 0) return 0.0;
+        long totalInteracoes = (long) curtidas + compartilhamentos + comentarios;
+        return (totalInteracoes * 100.0) / visualizacoes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EstatisticasCompactas)) {
+            return false;
+        }
+        EstatisticasCompactas outras = (EstatisticasCompactas) o;
+        return visualizacoes == outras.visualizacoes
+            && curtidas == outras.curtidas
+            && compartilhamentos == outras.compartilhamentos
+            && comentarios == outras.comentarios
+            && Objects.equals(idPublicacao, outras.idPublicacao);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idPublicacao, visualizacoes, curtidas, compartilhamentos, comentarios);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EstatisticasCompactas{" +
+                "idPublicacao='%s', " +
+                "visualizacoes=%d, " +
+                "curtidas=%d, " +
+                "compartilhamentos=%d, " +
+                "comentarios=%d, " +
+                "taxaEngajamento=%.2f%%}",
+                idPublicacao, visualizacoes, curtidas, compartilhamentos,
+                comentarios, getTaxaEngajamento());
+    }
+
+    /**
+     * Construtor passo a passo de {@link EstatisticasCompactas}
+     */
+    public static final class Construtor {
+        private String idPublicacao;
+        private int visualizacoes;
+        private int curtidas;
+        private int compartilhamentos;
+        private int comentarios;
+
+        private Construtor() {
+        }
+
+        public Construtor idPublicacao(String idPublicacao) {
+            this.idPublicacao = idPublicacao;
+            return this;
+        }
+
+        public Construtor visualizacoes(int visualizacoes) {
+            this.visualizacoes = visualizacoes;
+            return this;
+        }
+
+        public Construtor curtidas(int curtidas) {
+            this.curtidas = curtidas;
+            return this;
+        }
+
+        public Construtor compartilhamentos(int compartilhamentos) {
+            this.compartilhamentos = compartilhamentos;
+            return this;
+        }
+
+        public Construtor comentarios(int comentarios) {
+            this.comentarios = comentarios;
+            return this;
+        }
+
+        public EstatisticasCompactas construir() {
+            return new EstatisticasCompactas(idPublicacao, visualizacoes, curtidas, compartilhamentos, comentarios);
+        }
+    }
+}
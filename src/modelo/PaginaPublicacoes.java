@@ -0,0 +1,42 @@
+package modelo;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe que representa uma página da listagem de publicações
+ * O cursor é opaco e deve ser repassado sem alterações para obter a próxima página
+ */
+public class PaginaPublicacoes {
+    private final List<Publicacao> publicacoes;
+    private final String proximoCursor;
+
+    public PaginaPublicacoes(List<Publicacao> publicacoes, String proximoCursor) {
+        this.publicacoes = Collections.unmodifiableList(publicacoes);
+        this.proximoCursor = proximoCursor;
+    }
+
+    /**
+     * Verifica se existem mais publicações após esta página
+     */
+    public boolean temProximaPagina() {
+        return proximoCursor != null;
+    }
+
+    // Getters
+    public List<Publicacao> getPublicacoes() {
+        return publicacoes;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "PaginaPublicacoes{" +
+                "publicacoes=" + publicacoes.size() +
+                ", proximoCursor='" + proximoCursor + '\'' +
+                '}';
+    }
+}
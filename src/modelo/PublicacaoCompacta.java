@@ -0,0 +1,235 @@
+package modelo;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import provedor.CatalogoPlataformas;
+
+/**
+ * Representação imutável e compacta de uma {@link Publicacao}
+ *
+ * A plataforma é guardada como o código do {@link CatalogoPlataformas}, de
+ * modo que plataformas adicionadas por provedores também têm representação
+ * compacta, e a data de publicação fica em milissegundos desde a época (no
+ * fuso do sistema). Pode ser compartilhada entre threads sem cópia.
+ */
+public final class PublicacaoCompacta {
+
+    private static final int SEM_PLATAFORMA = -1;
+
+    private final String id;
+    private final int codigoPlataforma;
+    private final ConteudoCompacto conteudo;
+    private final long dataPublicacaoMillis;
+    private final StatusPublicacao status;
+    private final String url;
+
+    private PublicacaoCompacta(Construtor construtor) {
+        this.id = construtor.id;
+        this.codigoPlataforma = construtor.codigoPlataforma;
+        this.conteudo = construtor.conteudo;
+        this.dataPublicacaoMillis = construtor.dataPublicacaoMillis;
+        this.status = construtor.status;
+        this.url = construtor.url;
+    }
+
+    public static Construtor construtor() {
+        return new Construtor();
+    }
+
+    /**
+     * Converte uma publicação; a data perde a precisão abaixo de milissegundos
+     * @throws IllegalArgumentException se a plataforma não estiver no catálogo
+     */
+    public static PublicacaoCompacta de(Publicacao publicacao) {
+        Conteudo conteudo = publicacao.getConteudo();
+        return de(publicacao, conteudo != null ? ConteudoCompacto.de(conteudo) : null);
+    }
+
+    /**
+     * Converte uma publicação reaproveitando o conteúdo já convertido, como
+     * nas publicações do mesmo conteúdo em várias plataformas
+     * @throws IllegalArgumentException se a plataforma não estiver no catálogo
+     */
+    public static PublicacaoCompacta de(Publicacao publicacao, ConteudoCompacto conteudo) {
+        return construtor()
+            .id(publicacao.getId())
+            .plataforma(publicacao.getPlataforma())
+            .conteudo(conteudo)
+            .dataPublicacao(publicacao.getDataPublicacao())
+            .status(publicacao.getStatus())
+            .url(publicacao.getUrl())
+            .construir();
+    }
+
+    /**
+     * Nova publicação mutável com os mesmos dados; a plataforma vem com o
+     * nome canônico do catálogo, por exemplo "TWITTER"
+     */
+    public Publicacao paraPublicacao() {
+        return new Publicacao(id, getPlataforma(), conteudo != null ? conteudo.paraConteudo() : null,
+            getDataPublicacao(), status, url);
+    }
+
+    /**
+     * Cópia com outro status, para acompanhar o ciclo da publicação
+     */
+    public PublicacaoCompacta comStatus(StatusPublicacao novoStatus) {
+        if (novoStatus == status) {
+            return this;
+        }
+        return construtor()
+            .id(id).codigoPlataforma(codigoPlataforma).conteudo(conteudo)
+            .dataPublicacaoMillis(dataPublicacaoMillis).status(novoStatus).url(url)
+            .construir();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Nome canônico da plataforma no {@link CatalogoPlataformas}
+     */
+    public String getPlataforma() {
+        return CatalogoPlataformas.getInstance().nome(codigoPlataforma);
+    }
+
+    /**
+     * Código da plataforma no {@link CatalogoPlataformas}
+     */
+    public int getCodigoPlataforma() {
+        return codigoPlataforma;
+    }
+
+    public ConteudoCompacto getConteudo() {
+        return conteudo;
+    }
+
+    /**
+     * @return Milissegundos desde a época, ou {@link ConteudoCompacto#SEM_DATA}
+     */
+    public long getDataPublicacaoMillis() {
+        return dataPublicacaoMillis;
+    }
+
+    public LocalDateTime getDataPublicacao() {
+        return ConteudoCompacto.paraData(dataPublicacaoMillis);
+    }
+
+    public StatusPublicacao getStatus() {
+        return status;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PublicacaoCompacta)) {
+            return false;
+        }
+        PublicacaoCompacta outra = (PublicacaoCompacta) o;
+        return dataPublicacaoMillis == outra.dataPublicacaoMillis
+            && Objects.equals(id, outra.id)
+            && codigoPlataforma == outra.codigoPlataforma
+            && Objects.equals(conteudo, outra.conteudo)
+            && status == outra.status
+            && Objects.equals(url, outra.url);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, codigoPlataforma, conteudo, dataPublicacaoMillis, status, url);
+    }
+
+    @Override
+    public String toString() {
+        return "PublicacaoCompacta{" +
+                "id='" + id + '\'' +
+                ", plataforma=" + getPlataforma() +
+                ", dataPublicacao=" + getDataPublicacao() +
+                ", status=" + status +
+                ", url='" + url + '\'' +
+                '}';
+    }
+
+    /**
+     * Construtor passo a passo de uma {@link PublicacaoCompacta}
+     */
+    public static final class Construtor {
+        private String id;
+        private int codigoPlataforma = SEM_PLATAFORMA;
+        private ConteudoCompacto conteudo;
+        private long dataPublicacaoMillis = ConteudoCompacto.SEM_DATA;
+        private StatusPublicacao status;
+        private String url;
+
+        private Construtor() {
+        }
+
+        public Construtor id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        /**
+         * @param plataforma Nome ou alias de uma plataforma do catálogo
+         * @throws IllegalArgumentException se a plataforma não estiver no catálogo
+         */
+        public Construtor plataforma(String plataforma) {
+            this.codigoPlataforma = CatalogoPlataformas.getInstance().codigo(plataforma);
+            return this;
+        }
+
+        /**
+         * @param codigo Código obtido em {@link CatalogoPlataformas#codigo(String)}
+         */
+        public Construtor codigoPlataforma(int codigo) {
+            this.codigoPlataforma = codigo;
+            return this;
+        }
+
+        public Construtor conteudo(ConteudoCompacto conteudo) {
+            this.conteudo = conteudo;
+            return this;
+        }
+
+        public Construtor dataPublicacao(LocalDateTime dataPublicacao) {
+            this.dataPublicacaoMillis = ConteudoCompacto.paraMillis(dataPublicacao);
+            return this;
+        }
+
+        /**
+         * @param millis Milissegundos desde a época, ou {@link ConteudoCompacto#SEM_DATA}
+         */
+        public Construtor dataPublicacaoMillis(long millis) {
+            this.dataPublicacaoMillis = millis;
+            return this;
+        }
+
+        public Construtor status(StatusPublicacao status) {
+            this.status = status;
+            return this;
+        }
+
+        public Construtor url(String url) {
+            this.url = url;
+            return this;
+        }
+
+        /**
+         * @throws NullPointerException se faltar o id ou a plataforma
+         */
+        public PublicacaoCompacta construir() {
+            Objects.requireNonNull(id, "id");
+            if (codigoPlataforma == SEM_PLATAFORMA) {
+                throw new NullPointerException("plataforma");
+            }
+            return new PublicacaoCompacta(this);
+        }
+    }
+}
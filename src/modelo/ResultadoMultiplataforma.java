@@ -0,0 +1,74 @@
+package modelo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe que agrega os resultados de uma publicação em várias plataformas
+ */
+public class ResultadoMultiplataforma {
+    private final List<ResultadoPublicacao> resultados;
+    private final Duration duracao;
+
+    public ResultadoMultiplataforma(List<ResultadoPublicacao> resultados, Duration duracao) {
+        this.resultados = Collections.unmodifiableList(new ArrayList<>(resultados));
+        this.duracao = duracao;
+    }
+
+    /**
+     * Obtém as publicações criadas com sucesso
+     */
+    public List<Publicacao> getPublicacoes() {
+        List<Publicacao> publicacoes = new ArrayList<>();
+        for (ResultadoPublicacao resultado : resultados) {
+            if (resultado.isSucesso()) {
+                publicacoes.add(resultado.getPublicacao());
+            }
+        }
+        return publicacoes;
+    }
+
+    /**
+     * Obtém os resultados que falharam
+     */
+    public List<ResultadoPublicacao> getFalhas() {
+        List<ResultadoPublicacao> falhas = new ArrayList<>();
+        for (ResultadoPublicacao resultado : resultados) {
+            if (!resultado.isSucesso()) {
+                falhas.add(resultado);
+            }
+        }
+        return falhas;
+    }
+
+    /**
+     * Verifica se todas as plataformas publicaram com sucesso
+     */
+    public boolean isCompleto() {
+        for (ResultadoPublicacao resultado : resultados) {
+            if (!resultado.isSucesso()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Getters
+    public List<ResultadoPublicacao> getResultados() {
+        return resultados;
+    }
+
+    public Duration getDuracao() {
+        return duracao;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoMultiplataforma{" +
+                "resultados=" + resultados +
+                ", duracao=" + duracao.toMillis() + "ms" +
+                '}';
+    }
+}
@@ -0,0 +1,62 @@
+package modelo;
+
+/**
+ * Classe que representa o resultado de uma tentativa de publicação
+ * Guarda a publicação criada ou o erro que impediu a publicação
+ */
+public class ResultadoPublicacao {
+    private final String plataforma;
+    private final Publicacao publicacao;
+    private final Throwable erro;
+
+    private ResultadoPublicacao(String plataforma, Publicacao publicacao, Throwable erro) {
+        this.plataforma = plataforma;
+        this.publicacao = publicacao;
+        this.erro = erro;
+    }
+
+    /**
+     * Cria um resultado de sucesso
+     */
+    public static ResultadoPublicacao sucesso(String plataforma, Publicacao publicacao) {
+        return new ResultadoPublicacao(plataforma, publicacao, null);
+    }
+
+    /**
+     * Cria um resultado de falha
+     */
+    public static ResultadoPublicacao falha(String plataforma, Throwable erro) {
+        return new ResultadoPublicacao(plataforma, null, erro);
+    }
+
+    public boolean isSucesso() {
+        return erro == null;
+    }
+
+    // Getters
+    public String getPlataforma() {
+        return plataforma;
+    }
+
+    public Publicacao getPublicacao() {
+        return publicacao;
+    }
+
+    public Throwable getErro() {
+        return erro;
+    }
+
+    @Override
+    public String toString() {
+        if (isSucesso()) {
+            return "ResultadoPublicacao{" +
+                    "plataforma='" + plataforma + '\'' +
+                    ", publicacao=" + publicacao +
+                    '}';
+        }
+        return "ResultadoPublicacao{" +
+                "plataforma='" + plataforma + '\'' +
+                ", erro='" + erro.getMessage() + '\'' +
+                '}';
+    }
+}
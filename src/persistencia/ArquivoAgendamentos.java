@@ -0,0 +1,374 @@
+package persistencia;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+import log.Log;
+import log.Logger;
+import modelo.Conteudo;
+
+/**
+ * Arquivo das publicações agendadas
+ *
+ * Diário binário somente de inclusão: cada agendamento grava um registro com
+ * o conteúdo e cada disparo ou cancelamento grava a remoção do seu ID. Na
+ * abertura o arquivo é lido em sequência e restam os agendamentos sem
+ * remoção; quando as remoções passam a ser maioria o arquivo é reescrito só
+ * com os vivos.
+ *
+ * Os registros vão direto para o sistema operacional, sobrevivendo à queda
+ * do processo; o fsync é feito apenas ao compactar e ao fechar.
+ *
+ * Formato: cabeçalho (int mágico, byte versão) seguido de registros com
+ * tamanho (int), CRC32C (int) e dados. Um registro incompleto no fim do
+ * arquivo, deixado por uma queda durante a gravação, é descartado. Arquivos
+ * da versão 1, sem a conta, são lidos com a conta vazia e reescritos na
+ * versão atual.
+ */
+public class ArquivoAgendamentos implements AutoCloseable {
+
+    private static final Logger LOG = Log.getLogger(ArquivoAgendamentos.class);
+
+    private static final int MAGICO = 0x41474E44;
+    private static final byte VERSAO = 2;
+    private static final byte VERSAO_SEM_CONTA = 1;
+    private static final int CABECALHO = 5;
+    private static final byte AGENDADO = 1;
+    private static final byte REMOVIDO = 2;
+    private static final int BUFFER = 1 << 16;
+    private static final int MINIMO_PARA_COMPACTAR = 10_000;
+
+    private final Path arquivo;
+    private FileChannel canal;
+    private List<Registro> carregados;
+    private long vivos;
+    private long removidos;
+
+    /**
+     * Abre o arquivo, criando-o se não existir, e carrega os agendamentos pendentes
+     * @throws UncheckedIOException se o arquivo não puder ser lido ou gravado
+     */
+    public ArquivoAgendamentos(Path arquivo) {
+        this.arquivo = arquivo;
+        try {
+            Path diretorio = arquivo.toAbsolutePath().getParent();
+            if (diretorio != null) {
+                Files.createDirectories(diretorio);
+            }
+            boolean versaoAtual = carregar();
+            if (!versaoAtual || removidos > vivos && removidos >= MINIMO_PARA_COMPACTAR) {
+                reescrever(carregados);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o arquivo de agendamentos " + arquivo, e);
+        }
+    }
+
+    /**
+     * Retira os agendamentos pendentes lidos na abertura, na ordem em que foram gravados
+     * Chamadas seguintes devolvem uma lista vazia
+     */
+    public synchronized List<Registro> retirarCarregados() {
+        List<Registro> registros = carregados;
+        carregados = List.of();
+        return registros;
+    }
+
+    /**
+     * Grava um agendamento
+     */
+    public void gravar(String id, String plataforma, String conta, String url, Conteudo conteudo) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeByte(AGENDADO);
+            escreverRegistro(saida, new Registro(id, plataforma, conta, url, conteudo));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        anexar(bytes.toByteArray(), true);
+    }
+
+    /**
+     * Grava a remoção de um agendamento disparado ou cancelado
+     */
+    public void remover(String id) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeByte(REMOVIDO);
+            CodecConteudo.escreverTexto(saida, id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        anexar(bytes.toByteArray(), false);
+    }
+
+    /**
+     * Verifica se as remoções já ocupam a maior parte do arquivo
+     */
+    public synchronized boolean precisaCompactar() {
+        return removidos > vivos && removidos >= MINIMO_PARA_COMPACTAR;
+    }
+
+    /**
+     * Reescreve o arquivo apenas com os agendamentos informados
+     * @param pendentes Agendamentos vivos; obtidos durante a chamada, com as
+     *                  gravações bloqueadas
+     */
+    public synchronized void compactar(Supplier<? extends Collection<Registro>> pendentes) {
+        try {
+            reescrever(pendentes.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao compactar o arquivo de agendamentos " + arquivo, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            canal.force(false);
+            canal.close();
+        } catch (IOException e) {
+            LOG.warn("Falha ao fechar o arquivo de agendamentos {}", arquivo, e);
+        }
+    }
+
+    private synchronized void anexar(byte[] dados, boolean agendado) {
+        ByteBuffer registro = ByteBuffer.allocate(8 + dados.length);
+        registro.putInt(dados.length).putInt(crc(dados, dados.length)).put(dados).flip();
+        try {
+            while (registro.hasRemaining()) {
+                canal.write(registro);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar no arquivo de agendamentos " + arquivo, e);
+        }
+        if (agendado) {
+            vivos++;
+        } else {
+            vivos = Math.max(0, vivos - 1);
+            removidos++;
+        }
+    }
+
+    /**
+     * @return false se o arquivo está numa versão anterior e deve ser reescrito
+     */
+    private boolean carregar() throws IOException {
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long tamanhoArquivo = canal.size();
+        if (tamanhoArquivo < CABECALHO) {
+            canal.truncate(0);
+            canal.write(cabecalho(), 0);
+            canal.position(CABECALHO);
+            carregados = new ArrayList<>();
+            return true;
+        }
+
+        // Leitura por janela em buffer de heap: os campos são decodificados
+        // direto do array, sem chamadas por byte
+        Map<String, Registro> pendentes = new LinkedHashMap<>();
+        // Plataforma e URL provisória se repetem em todos os agendamentos; uma
+        // única instância de cada reduz a memória retida na carga
+        Map<String, String> repetidos = new HashMap<>();
+        ByteBuffer janela = ByteBuffer.allocate(BUFFER).flip();
+        canal.position(0);
+        preencher(janela, CABECALHO);
+        byte versao = janela.remaining() >= CABECALHO && janela.getInt() == MAGICO ? janela.get() : 0;
+        if (versao != VERSAO && versao != VERSAO_SEM_CONTA) {
+            throw new IOException("Arquivo de agendamentos em formato desconhecido: " + arquivo);
+        }
+
+        long validos = CABECALHO;
+        long registros = 0;
+        while (true) {
+            if (!preencher(janela, 8)) {
+                break;
+            }
+            int inicio = janela.position();
+            int tamanho = janela.getInt(inicio);
+            int crcGravado = janela.getInt(inicio + 4);
+            if (tamanho <= 0 || tamanho > tamanhoArquivo - validos - 8) {
+                break;
+            }
+            if (janela.capacity() < 8 + tamanho) {
+                janela = ByteBuffer.allocate(Math.max(8 + tamanho, janela.capacity() * 2))
+                    .put(janela).flip();
+            }
+            if (!preencher(janela, 8 + tamanho)) {
+                break;
+            }
+            inicio = janela.position();
+            CRC32C crc = new CRC32C();
+            crc.update(janela.array(), inicio + 8, tamanho);
+            if ((int) crc.getValue() != crcGravado) {
+                break;
+            }
+
+            ByteBuffer registro = janela.slice(inicio + 8, tamanho);
+            if (registro.get() == AGENDADO) {
+                Registro lido = lerRegistro(registro, versao, repetidos);
+                pendentes.put(lido.getId(), lido);
+            } else {
+                pendentes.remove(CodecConteudo.lerTexto(registro));
+            }
+            janela.position(inicio + 8 + tamanho);
+            validos += 8 + tamanho;
+            registros++;
+        }
+
+        if (tamanhoArquivo > validos) {
+            LOG.warn("Registro incompleto no fim de {}; {} bytes descartados", arquivo, tamanhoArquivo - validos);
+            canal.truncate(validos);
+        }
+        canal.position(validos);
+
+        carregados = new ArrayList<>(pendentes.values());
+        vivos = carregados.size();
+        removidos = registros - vivos;
+        return versao == VERSAO;
+    }
+
+    /**
+     * Garante ao menos {@code minimo} bytes disponíveis na janela, lendo mais do arquivo
+     * @return false se o arquivo terminou antes
+     */
+    private boolean preencher(ByteBuffer janela, int minimo) throws IOException {
+        if (janela.remaining() >= minimo) {
+            return true;
+        }
+        janela.compact();
+        while (janela.position() < minimo) {
+            if (canal.read(janela) < 0) {
+                janela.flip();
+                return false;
+            }
+        }
+        janela.flip();
+        return true;
+    }
+
+    private void reescrever(Collection<Registro> pendentes) throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel novo = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                 StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream canalSaida = Channels.newOutputStream(novo);
+            DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(canalSaida, BUFFER));
+            saida.writeInt(MAGICO);
+            saida.writeByte(VERSAO);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream registro = new DataOutputStream(bytes);
+            for (Registro pendente : pendentes) {
+                bytes.reset();
+                registro.writeByte(AGENDADO);
+                escreverRegistro(registro, pendente);
+                byte[] dados = bytes.toByteArray();
+                saida.writeInt(dados.length);
+                saida.writeInt(crc(dados, dados.length));
+                saida.write(dados);
+            }
+            saida.flush();
+            novo.force(true);
+        }
+
+        canal.close();
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        canal.position(canal.size());
+
+        LOG.info("Arquivo de agendamentos {} compactado: {} pendentes", arquivo, pendentes.size());
+        vivos = pendentes.size();
+        removidos = 0;
+    }
+
+    private static ByteBuffer cabecalho() {
+        return ByteBuffer.allocate(CABECALHO).putInt(MAGICO).put(VERSAO).flip();
+    }
+
+    private static int crc(byte[] dados, int tamanho) {
+        CRC32C crc = new CRC32C();
+        crc.update(dados, 0, tamanho);
+        return (int) crc.getValue();
+    }
+
+    private static void escreverRegistro(DataOutputStream saida, Registro registro) throws IOException {
+        CodecConteudo.escreverTexto(saida, registro.id);
+        CodecConteudo.escreverTexto(saida, registro.plataforma);
+        CodecConteudo.escreverTexto(saida, registro.conta);
+        CodecConteudo.escreverTexto(saida, registro.url);
+        CodecConteudo.escrever(saida, registro.conteudo);
+    }
+
+    private static Registro lerRegistro(ByteBuffer entrada, byte versao, Map<String, String> repetidos) {
+        String id = CodecConteudo.lerTexto(entrada);
+        String plataforma = compartilhar(CodecConteudo.lerTexto(entrada), repetidos);
+        String conta = versao == VERSAO_SEM_CONTA ? "" : compartilhar(CodecConteudo.lerTexto(entrada), repetidos);
+        String url = compartilhar(CodecConteudo.lerTexto(entrada), repetidos);
+        return new Registro(id, plataforma, conta, url, CodecConteudo.ler(entrada));
+    }
+
+    private static String compartilhar(String texto, Map<String, String> repetidos) {
+        if (texto == null) {
+            return null;
+        }
+        String existente = repetidos.putIfAbsent(texto, texto);
+        return existente != null ? existente : texto;
+    }
+
+    /**
+     * Agendamento gravado no arquivo
+     */
+    public static final class Registro {
+        private final String id;
+        private final String plataforma;
+        private final String conta;
+        private final String url;
+        private final Conteudo conteudo;
+
+        public Registro(String id, String plataforma, String conta, String url, Conteudo conteudo) {
+            this.id = id;
+            this.plataforma = plataforma;
+            this.conta = conta;
+            this.url = url;
+            this.conteudo = conteudo;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getPlataforma() {
+            return plataforma;
+        }
+
+        public String getConta() {
+            return conta;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public Conteudo getConteudo() {
+            return conteudo;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package persistencia;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import modelo.Conteudo;
+import modelo.TipoConteudo;
+
+/**
+ * Formato binário compacto de {@link Conteudo} usado nos arquivos de
+ * persistência
+ *
+ * Textos são gravados em UTF-8 precedidos do tamanho (-1 para null), listas
+ * precedidas da quantidade de itens e datas como segundos e nanos desde a
+ * época, sem fuso. Novos campos devem ser acrescentados no final.
+ */
+public final class CodecConteudo {
+
+    private static final int NULO = -1;
+
+    private CodecConteudo() {
+    }
+
+    public static void escrever(DataOutput saida, Conteudo conteudo) throws IOException {
+        escreverTexto(saida, conteudo.getTexto());
+        escreverLista(saida, conteudo.getMidias());
+        escreverLista(saida, conteudo.getHashtags());
+        escreverData(saida, conteudo.getDataAgendamento());
+        saida.writeByte(conteudo.getTipo() != null ? conteudo.getTipo().ordinal() : NULO);
+        escreverTexto(saida, conteudo.getChaveIdempotencia());
+    }
+
+    public static Conteudo ler(DataInput entrada) throws IOException {
+        String texto = lerTexto(entrada);
+        List<String> midias = lerLista(entrada);
+        List<String> hashtags = lerLista(entrada);
+        LocalDateTime dataAgendamento = lerData(entrada);
+        int tipo = entrada.readByte();
+        String chaveIdempotencia = lerTexto(entrada);
+        return new Conteudo(texto, midias, hashtags, dataAgendamento,
+            tipo != NULO ? TipoConteudo.values()[tipo] : null, chaveIdempotencia);
+    }
+
+    /**
+     * Lê um conteúdo a partir da posição do buffer, avançando-a
+     * Evita o custo por campo de um {@link DataInput} na leitura de arquivos grandes
+     */
+    public static Conteudo ler(ByteBuffer entrada) {
+        String texto = lerTexto(entrada);
+        List<String> midias = lerLista(entrada);
+        List<String> hashtags = lerLista(entrada);
+        LocalDateTime dataAgendamento = lerData(entrada);
+        int tipo = entrada.get();
+        String chaveIdempotencia = lerTexto(entrada);
+        return new Conteudo(texto, midias, hashtags, dataAgendamento,
+            tipo != NULO ? TipoConteudo.values()[tipo] : null, chaveIdempotencia);
+    }
+
+    public static void escreverTexto(DataOutput saida, String texto) throws IOException {
+        if (texto == null) {
+            saida.writeInt(NULO);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        saida.writeInt(bytes.length);
+        saida.write(bytes);
+    }
+
+    public static String lerTexto(DataInput entrada) throws IOException {
+        int tamanho = entrada.readInt();
+        if (tamanho == NULO) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static String lerTexto(ByteBuffer entrada) {
+        int tamanho = entrada.getInt();
+        if (tamanho == NULO) {
+            return null;
+        }
+        String texto;
+        if (entrada.hasArray()) {
+            texto = new String(entrada.array(), entrada.arrayOffset() + entrada.position(), tamanho,
+                StandardCharsets.UTF_8);
+            entrada.position(entrada.position() + tamanho);
+        } else {
+            byte[] bytes = new byte[tamanho];
+            entrada.get(bytes);
+            texto = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return texto;
+    }
+
+    public static void escreverData(DataOutput saida, LocalDateTime data) throws IOException {
+        if (data == null) {
+            saida.writeLong(Long.MIN_VALUE);
+            return;
+        }
+        saida.writeLong(data.toEpochSecond(ZoneOffset.UTC));
+        saida.writeInt(data.getNano());
+    }
+
+    public static LocalDateTime lerData(DataInput entrada) throws IOException {
+        long segundos = entrada.readLong();
+        if (segundos == Long.MIN_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(segundos, entrada.readInt(), ZoneOffset.UTC);
+    }
+
+    public static LocalDateTime lerData(ByteBuffer entrada) {
+        long segundos = entrada.getLong();
+        if (segundos == Long.MIN_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(segundos, entrada.getInt(), ZoneOffset.UTC);
+    }
+
+    private static void escreverLista(DataOutput saida, List<String> lista) throws IOException {
+        if (lista == null) {
+            saida.writeInt(NULO);
+            return;
+        }
+        saida.writeInt(lista.size());
+        for (String item : lista) {
+            escreverTexto(saida, item);
+        }
+    }
+
+    private static List<String> lerLista(DataInput entrada) throws IOException {
+        int tamanho = entrada.readInt();
+        if (tamanho == NULO) {
+            return null;
+        }
+        List<String> lista = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            lista.add(lerTexto(entrada));
+        }
+        return lista;
+    }
+
+    private static List<String> lerLista(ByteBuffer entrada) {
+        int tamanho = entrada.getInt();
+        if (tamanho == NULO) {
+            return null;
+        }
+        List<String> lista = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            lista.add(lerTexto(entrada));
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,492 @@
+package persistencia;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+import log.Log;
+import log.Logger;
+import modelo.Conteudo;
+
+/**
+ * Outbox de publicações: log somente de inclusão gravado antes do envio
+ *
+ * Cada requisição aceita é anexada a um segmento de tamanho fixo mapeado em
+ * memória; ao terminar o envio, um registro de conclusão é anexado. Anexar
+ * é uma cópia para a memória mapeada sob um lock curto. Uma thread de
+ * gravação faz o fsync de tudo o que foi anexado desde o anterior e libera
+ * de uma vez todos os chamadores que aguardavam (group commit), de modo que
+ * o custo de um fsync é dividido entre as publicações que chegaram juntas.
+ *
+ * Segmentos cujos registros foram todos concluídos são apagados, sempre do
+ * mais antigo para o mais novo. Na abertura os segmentos existentes são
+ * lidos e as requisições não concluídas ficam disponíveis para reenvio; a
+ * entrega é pelo menos uma vez.
+ *
+ * Formato de cada registro: tamanho total (int), CRC32C do restante (int),
+ * tipo (byte), sequência (long) e dados. Um tamanho zero marca o fim dos
+ * registros do segmento; um CRC inválido, uma gravação interrompida.
+ */
+public class Outbox implements AutoCloseable {
+
+    private static final Logger LOG = Log.getLogger(Outbox.class);
+
+    private static final String PROPRIEDADE_DIRETORIO = "outbox.diretorio";
+    private static final int TAMANHO_SEGMENTO_PADRAO = 16 << 20;
+    private static final String PREFIXO = "outbox-";
+    private static final String SUFIXO = ".log";
+
+    private static final int CABECALHO = 17;
+    private static final byte REGISTRO = 1;
+    private static final byte CONCLUSAO = 2;
+    private static final long ESPERA_GRAVADOR_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static Outbox instance;
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+
+    // Segmentos vivos, do mais antigo ao atual; protegidos por this
+    private final ArrayDeque<Segmento> segmentos = new ArrayDeque<>();
+    private Segmento atual;
+    private long proximaSequencia;
+    private long proximoIndice;
+
+    // Requisições não concluídas e o segmento em que foram gravadas
+    private final Map<Long, Segmento> emAndamento = new ConcurrentHashMap<>();
+    private final List<RegistroOutbox> recuperados = new ArrayList<>();
+
+    private final Object gravacao = new Object();
+    private volatile long sequenciaGravada;
+    private volatile boolean fechado;
+    private final Thread gravador;
+
+    /**
+     * Abre o outbox de um diretório, recuperando as requisições pendentes
+     * @param diretorio Diretório dos segmentos, criado se não existir
+     * @param tamanhoSegmento Tamanho de cada segmento em bytes
+     * @throws UncheckedIOException se o diretório não puder ser lido ou gravado
+     */
+    public Outbox(Path diretorio, int tamanhoSegmento) {
+        if (tamanhoSegmento < 4096) {
+            throw new IllegalArgumentException("Tamanho de segmento deve ter ao menos 4096 bytes");
+        }
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        try {
+            Files.createDirectories(diretorio);
+            recuperar();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o outbox em " + diretorio, e);
+        }
+        this.sequenciaGravada = proximaSequencia - 1;
+
+        this.gravador = new Thread(this::gravar, "outbox-gravador");
+        this.gravador.setDaemon(true);
+        this.gravador.start();
+    }
+
+    /**
+     * Verifica se o outbox da aplicação foi configurado pela propriedade
+     * {@code outbox.diretorio}
+     */
+    public static boolean configurado() {
+        return System.getProperty(PROPRIEDADE_DIRETORIO) != null;
+    }
+
+    /**
+     * Singleton - obtém o outbox do diretório da propriedade {@code outbox.diretorio}
+     * @throws IllegalStateException se a propriedade não estiver definida
+     */
+    public static synchronized Outbox getInstance() {
+        if (instance == null) {
+            String diretorio = System.getProperty(PROPRIEDADE_DIRETORIO);
+            if (diretorio == null) {
+                throw new IllegalStateException("Outbox não configurado: defina " + PROPRIEDADE_DIRETORIO);
+            }
+            instance = new Outbox(Paths.get(diretorio), TAMANHO_SEGMENTO_PADRAO);
+        }
+        return instance;
+    }
+
+    /**
+     * Anexa uma requisição aceita ao log
+     * A requisição só é durável depois de {@link #aguardarGravacao(long)}
+     * @return Sequência da requisição
+     */
+    public long registrar(RegistroOutbox.Operacao operacao, String plataforma, String conta, Conteudo conteudo) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeByte(operacao.ordinal());
+            CodecConteudo.escreverTexto(saida, plataforma);
+            CodecConteudo.escreverTexto(saida, conta);
+            CodecConteudo.escrever(saida, conteudo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return anexar(REGISTRO, -1, bytes.toByteArray());
+    }
+
+    /**
+     * Aguarda até que a requisição e todas as anteriores estejam em disco
+     * A espera não é interrompível, mas o estado de interrupção é preservado
+     */
+    public void aguardarGravacao(long sequencia) {
+        if (sequenciaGravada >= sequencia) {
+            return;
+        }
+        LockSupport.unpark(gravador);
+        boolean interrompida = false;
+        synchronized (gravacao) {
+            while (sequenciaGravada < sequencia) {
+                if (fechado) {
+                    throw new IllegalStateException("Outbox fechado antes da gravação");
+                }
+                try {
+                    gravacao.wait();
+                } catch (InterruptedException e) {
+                    interrompida = true;
+                }
+            }
+        }
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Marca uma requisição como concluída
+     * A conclusão não espera o fsync: se perdida, a requisição é reenviada
+     */
+    public void concluir(long sequencia) {
+        Segmento segmento = emAndamento.remove(sequencia);
+        if (segmento == null) {
+            return;
+        }
+        anexar(CONCLUSAO, sequencia, new byte[0]);
+        segmento.pendentes.decrementAndGet();
+    }
+
+    /**
+     * Retira as requisições recuperadas na abertura de uma conta numa plataforma
+     * Cada requisição é entregue a um único chamador, que deve reenviá-la e concluí-la
+     */
+    public List<RegistroOutbox> retirarRecuperados(String plataforma, String conta) {
+        List<RegistroOutbox> retirados = new ArrayList<>();
+        synchronized (recuperados) {
+            Iterator<RegistroOutbox> registros = recuperados.iterator();
+            while (registros.hasNext()) {
+                RegistroOutbox registro = registros.next();
+                if (registro.getPlataforma().equalsIgnoreCase(plataforma) && registro.getConta().equals(conta)) {
+                    retirados.add(registro);
+                    registros.remove();
+                }
+            }
+        }
+        return retirados;
+    }
+
+    /**
+     * Quantidade de requisições não concluídas
+     */
+    public int pendentes() {
+        return emAndamento.size();
+    }
+
+    /**
+     * Quantidade de segmentos em disco
+     */
+    public synchronized int segmentos() {
+        return segmentos.size();
+    }
+
+    @Override
+    public void close() {
+        fechado = true;
+        LockSupport.unpark(gravador);
+        try {
+            gravador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            for (Segmento segmento : segmentos) {
+                segmento.fechar();
+            }
+        }
+        synchronized (gravacao) {
+            gravacao.notifyAll();
+        }
+    }
+
+    private long anexar(byte tipo, long sequenciaConcluida, byte[] dados) {
+        int tamanho = CABECALHO + dados.length;
+        if (tamanho > tamanhoSegmento) {
+            throw new IllegalArgumentException("Registro de " + tamanho + " bytes excede o segmento");
+        }
+        byte[] registro = new byte[tamanho];
+        ByteBuffer buffer = ByteBuffer.wrap(registro);
+        buffer.putInt(tamanho).putInt(0).put(tipo);
+
+        long sequencia;
+        synchronized (this) {
+            if (fechado) {
+                throw new IllegalStateException("Outbox fechado");
+            }
+            sequencia = tipo == REGISTRO ? proximaSequencia++ : sequenciaConcluida;
+            buffer.putLong(sequencia).put(dados);
+            CRC32C crc = new CRC32C();
+            crc.update(registro, 8, tamanho - 8);
+            buffer.putInt(4, (int) crc.getValue());
+
+            if (atual.escrito + tamanho > atual.capacidade) {
+                atual.selado = true;
+                atual = criarSegmento();
+            }
+            atual.mapa.put(atual.escrito, registro);
+            atual.escrito += tamanho;
+            if (tipo == REGISTRO) {
+                atual.pendentes.incrementAndGet();
+                emAndamento.put(sequencia, atual);
+            }
+        }
+        LockSupport.unpark(gravador);
+        return sequencia;
+    }
+
+    /**
+     * Thread de gravação: faz o fsync do que foi anexado, libera quem
+     * aguardava e apaga os segmentos antigos já concluídos
+     */
+    private void gravar() {
+        List<Segmento> sujos = new ArrayList<>();
+        List<Integer> posicoes = new ArrayList<>();
+        while (true) {
+            long alvo;
+            boolean encerrar = fechado;
+            sujos.clear();
+            posicoes.clear();
+            synchronized (this) {
+                alvo = proximaSequencia - 1;
+                for (Segmento segmento : segmentos) {
+                    if (segmento.escrito > segmento.gravado) {
+                        sujos.add(segmento);
+                        posicoes.add(segmento.escrito);
+                    }
+                }
+            }
+
+            try {
+                for (int i = 0; i < sujos.size(); i++) {
+                    Segmento segmento = sujos.get(i);
+                    int posicao = posicoes.get(i);
+                    segmento.mapa.force(segmento.gravado, posicao - segmento.gravado);
+                    segmento.gravado = posicao;
+                }
+            } catch (RuntimeException e) {
+                LOG.error("Falha no fsync do outbox em {}", diretorio, e);
+                LockSupport.parkNanos(ESPERA_GRAVADOR_NANOS);
+                continue;
+            }
+
+            if (alvo > sequenciaGravada) {
+                synchronized (gravacao) {
+                    sequenciaGravada = alvo;
+                    gravacao.notifyAll();
+                }
+            }
+            apagarConcluidos();
+
+            if (encerrar) {
+                return;
+            }
+            if (sujos.isEmpty()) {
+                LockSupport.parkNanos(this, ESPERA_GRAVADOR_NANOS);
+            }
+        }
+    }
+
+    private synchronized void apagarConcluidos() {
+        while (segmentos.size() > 1) {
+            Segmento maisAntigo = segmentos.peekFirst();
+            if (!maisAntigo.selado || maisAntigo.pendentes.get() > 0 || maisAntigo.gravado < maisAntigo.escrito) {
+                return;
+            }
+            segmentos.pollFirst();
+            maisAntigo.fechar();
+            try {
+                Files.deleteIfExists(maisAntigo.arquivo);
+            } catch (IOException e) {
+                LOG.warn("Falha ao apagar o segmento {}", maisAntigo.arquivo, e);
+            }
+        }
+    }
+
+    private Segmento criarSegmento() {
+        Path arquivo = diretorio.resolve(String.format("%s%012d%s", PREFIXO, proximoIndice++, SUFIXO));
+        try {
+            Segmento segmento = new Segmento(arquivo, tamanhoSegmento, true);
+            // O novo arquivo só sobrevive a uma queda com o diretório gravado
+            try (FileChannel dir = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+                dir.force(true);
+            } catch (IOException e) {
+                LOG.debug("fsync do diretório {} indisponível", diretorio);
+            }
+            segmentos.addLast(segmento);
+            return segmento;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar o segmento " + arquivo, e);
+        }
+    }
+
+    /**
+     * Lê os segmentos existentes, do mais antigo ao mais novo, e reconstrói
+     * o estado das requisições pendentes
+     */
+    private synchronized void recuperar() throws IOException {
+        List<Path> arquivos = new ArrayList<>();
+        try (DirectoryStream<Path> lista = Files.newDirectoryStream(diretorio, PREFIXO + "*" + SUFIXO)) {
+            lista.forEach(arquivos::add);
+        }
+        arquivos.sort(null);
+
+        Map<Long, RegistroOutbox> pendentes = new LinkedHashMap<>();
+        Map<Long, Segmento> origem = new ConcurrentHashMap<>();
+        long maiorSequencia = -1;
+        boolean interrompido = false;
+        for (Path arquivo : arquivos) {
+            Segmento segmento = new Segmento(arquivo, (int) Files.size(arquivo), false);
+            segmentos.addLast(segmento);
+            proximoIndice = indice(arquivo) + 1;
+
+            ByteBuffer mapa = segmento.mapa;
+            int posicao = 0;
+            interrompido = false;
+            while (posicao + CABECALHO <= segmento.capacidade) {
+                int tamanho = mapa.getInt(posicao);
+                if (tamanho == 0) {
+                    break;
+                }
+                if (tamanho < CABECALHO || posicao + tamanho > segmento.capacidade
+                        || !crcValido(mapa, posicao, tamanho)) {
+                    LOG.warn("Registro interrompido em {} na posição {}; restante ignorado", arquivo, posicao);
+                    interrompido = true;
+                    break;
+                }
+                byte tipo = mapa.get(posicao + 8);
+                long sequencia = mapa.getLong(posicao + 9);
+                if (tipo == REGISTRO) {
+                    pendentes.put(sequencia, decodificar(sequencia, mapa, posicao + CABECALHO, tamanho - CABECALHO));
+                    origem.put(sequencia, segmento);
+                    maiorSequencia = Math.max(maiorSequencia, sequencia);
+                } else if (tipo == CONCLUSAO) {
+                    pendentes.remove(sequencia);
+                    origem.remove(sequencia);
+                }
+                posicao += tamanho;
+            }
+            segmento.escrito = posicao;
+            segmento.gravado = posicao;
+            segmento.selado = true;
+        }
+
+        for (Map.Entry<Long, Segmento> entrada : origem.entrySet()) {
+            entrada.getValue().pendentes.incrementAndGet();
+            emAndamento.put(entrada.getKey(), entrada.getValue());
+        }
+        recuperados.addAll(pendentes.values());
+        proximaSequencia = maiorSequencia + 1;
+
+        // Continua no último segmento, salvo se terminou numa gravação
+        // interrompida: restos após ela poderiam ser lidos como registros
+        Segmento ultimo = segmentos.peekLast();
+        if (ultimo != null && !interrompido && ultimo.capacidade == tamanhoSegmento) {
+            ultimo.selado = false;
+            atual = ultimo;
+        } else {
+            atual = criarSegmento();
+        }
+        apagarConcluidos();
+
+        if (!recuperados.isEmpty()) {
+            LOG.info("Outbox em {}: {} requisições pendentes recuperadas", diretorio, recuperados.size());
+        }
+    }
+
+    private static boolean crcValido(ByteBuffer mapa, int posicao, int tamanho) {
+        CRC32C crc = new CRC32C();
+        crc.update(mapa.duplicate().position(posicao + 8).limit(posicao + tamanho));
+        return (int) crc.getValue() == mapa.getInt(posicao + 4);
+    }
+
+    private static RegistroOutbox decodificar(long sequencia, ByteBuffer mapa, int inicio, int tamanho)
+            throws IOException {
+        byte[] dados = new byte[tamanho];
+        mapa.get(inicio, dados);
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(dados))) {
+            RegistroOutbox.Operacao operacao = RegistroOutbox.Operacao.values()[entrada.readByte()];
+            String plataforma = CodecConteudo.lerTexto(entrada);
+            String conta = CodecConteudo.lerTexto(entrada);
+            return new RegistroOutbox(sequencia, operacao, plataforma, conta, CodecConteudo.ler(entrada));
+        }
+    }
+
+    private static long indice(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+
+    /**
+     * Arquivo de segmento mapeado em memória
+     */
+    private static final class Segmento {
+        private final Path arquivo;
+        private final FileChannel canal;
+        private final MappedByteBuffer mapa;
+        private final int capacidade;
+        // Alterados sob o lock do outbox
+        private volatile int escrito;
+        private volatile boolean selado;
+        // Alterado apenas pela thread de gravação e na abertura
+        private volatile int gravado;
+        private final AtomicInteger pendentes = new AtomicInteger();
+
+        private Segmento(Path arquivo, int capacidade, boolean novo) throws IOException {
+            this.arquivo = arquivo;
+            this.capacidade = capacidade;
+            this.canal = novo
+                ? FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, capacidade);
+        }
+
+        private void fechar() {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                LOG.warn("Falha ao fechar o segmento {}", arquivo, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package persistencia;
+
+import modelo.Conteudo;
+
+/**
+ * Requisição aceita e gravada no outbox, ainda não concluída
+ */
+public class RegistroOutbox {
+
+    public enum Operacao { PUBLICAR, AGENDAR }
+
+    private final long sequencia;
+    private final Operacao operacao;
+    private final String plataforma;
+    private final String conta;
+    private final Conteudo conteudo;
+
+    public RegistroOutbox(long sequencia, Operacao operacao, String plataforma, String conta, Conteudo conteudo) {
+        this.sequencia = sequencia;
+        this.operacao = operacao;
+        this.plataforma = plataforma;
+        this.conta = conta;
+        this.conteudo = conteudo;
+    }
+
+    // Getters
+    public long getSequencia() {
+        return sequencia;
+    }
+
+    public Operacao getOperacao() {
+        return operacao;
+    }
+
+    public String getPlataforma() {
+        return plataforma;
+    }
+
+    public String getConta() {
+        return conta;
+    }
+
+    public Conteudo getConteudo() {
+        return conteudo;
+    }
+
+    @Override
+    public String toString() {
+        return "RegistroOutbox{" +
+                "sequencia=" + sequencia +
+                ", operacao=" + operacao +
+                ", plataforma='" + plataforma + '\'' +
+                ", conta='" + conta + '\'' +
+                '}';
+    }
+}
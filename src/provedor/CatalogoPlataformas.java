@@ -0,0 +1,135 @@
+package provedor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import log.Log;
+import log.Logger;
+
+/**
+ * Catálogo das plataformas disponíveis
+ *
+ * Os provedores são descobertos uma única vez via {@link ServiceLoader}, no
+ * primeiro uso. Nomes e aliases vão para uma tabela pré-calculada em
+ * maiúsculas, de modo que a resolução não diferencia maiúsculas e é uma
+ * única consulta num mapa imutável. Cada plataforma também tem um código,
+ * sua posição em {@link #getPlataformas()}, usado pelos modelos compactos;
+ * o código só vale dentro do processo, pois depende da ordem de descoberta.
+ */
+public final class CatalogoPlataformas {
+
+    private static final Logger LOG = Log.getLogger(CatalogoPlataformas.class);
+
+    private static CatalogoPlataformas instance;
+
+    private final Map<String, ProvedorPlataforma> porNome;
+    private final Map<String, Integer> codigos;
+    private final List<String> nomes;
+
+    /**
+     * Cria um catálogo com os provedores informados
+     * @throws IllegalStateException se dois provedores usarem o mesmo nome ou alias
+     */
+    public CatalogoPlataformas(Iterable<? extends ProvedorPlataforma> provedores) {
+        Map<String, ProvedorPlataforma> tabela = new HashMap<>();
+        Map<String, Integer> tabelaCodigos = new HashMap<>();
+        List<String> canonicos = new ArrayList<>();
+        for (ProvedorPlataforma provedor : provedores) {
+            String nome = normalizar(provedor.getNome());
+            Integer codigo = canonicos.size();
+            registrar(tabela, nome, provedor);
+            tabelaCodigos.put(nome, codigo);
+            for (String alias : provedor.getAliases()) {
+                registrar(tabela, normalizar(alias), provedor);
+                tabelaCodigos.put(normalizar(alias), codigo);
+            }
+            canonicos.add(nome);
+            LOG.debug("Plataforma registrada: {} {}", nome, provedor.getAliases());
+        }
+        this.porNome = Map.copyOf(tabela);
+        this.codigos = Map.copyOf(tabelaCodigos);
+        this.nomes = Collections.unmodifiableList(canonicos);
+    }
+
+    /**
+     * Singleton - obtém o catálogo com os provedores do classpath
+     */
+    public static synchronized CatalogoPlataformas getInstance() {
+        if (instance == null) {
+            instance = new CatalogoPlataformas(ServiceLoader.load(ProvedorPlataforma.class));
+        }
+        return instance;
+    }
+
+    /**
+     * Obtém o provedor de uma plataforma pelo nome ou alias
+     * @throws IllegalArgumentException se a plataforma não for suportada
+     */
+    public ProvedorPlataforma resolver(String plataforma) {
+        ProvedorPlataforma provedor = plataforma != null ? porNome.get(normalizar(plataforma)) : null;
+        if (provedor == null) {
+            throw new IllegalArgumentException("Plataforma não suportada: " + plataforma);
+        }
+        return provedor;
+    }
+
+    /**
+     * Nome canônico de uma plataforma, ou o próprio nome em maiúsculas
+     * se nenhum provedor o reconhecer
+     */
+    public String nomeCanonico(String plataforma) {
+        String nome = normalizar(plataforma);
+        ProvedorPlataforma provedor = porNome.get(nome);
+        return provedor != null ? normalizar(provedor.getNome()) : nome;
+    }
+
+    /**
+     * Código compacto de uma plataforma pelo nome ou alias
+     * @return Posição da plataforma em {@link #getPlataformas()}
+     * @throws IllegalArgumentException se a plataforma não for suportada
+     */
+    public int codigo(String plataforma) {
+        Integer codigo = plataforma != null ? codigos.get(normalizar(plataforma)) : null;
+        if (codigo == null) {
+            throw new IllegalArgumentException("Plataforma não suportada: " + plataforma);
+        }
+        return codigo;
+    }
+
+    /**
+     * Nome canônico da plataforma de um código obtido em {@link #codigo(String)}
+     * @throws IndexOutOfBoundsException se o código não for deste catálogo
+     */
+    public String nome(int codigo) {
+        return nomes.get(codigo);
+    }
+
+    public boolean suporta(String plataforma) {
+        return plataforma != null && porNome.containsKey(normalizar(plataforma));
+    }
+
+    /**
+     * Nomes canônicos das plataformas, na ordem de descoberta
+     */
+    public List<String> getPlataformas() {
+        return nomes;
+    }
+
+    private static void registrar(Map<String, ProvedorPlataforma> tabela, String nome,
+                                  ProvedorPlataforma provedor) {
+        ProvedorPlataforma anterior = tabela.putIfAbsent(nome, provedor);
+        if (anterior != null && anterior != provedor) {
+            throw new IllegalStateException("Nome de plataforma '" + nome + "' registrado por "
+                + anterior.getClass().getName() + " e " + provedor.getClass().getName());
+        }
+    }
+
+    // toUpperCase devolve a própria string quando ela já está em maiúsculas
+    private static String normalizar(String nome) {
+        return nome.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,46 @@
+package provedor;
+
+import adapter.InstagramAdapter;
+import interfaces.GerenciadorMidiaSocial;
+import java.util.List;
+import strategy.AutenticacaoApiKey;
+import strategy.EstrategiaAutenticacao;
+import strategy.EstrategiaPublicacao;
+import validacao.Regra;
+import validacao.Regra.Medida;
+
+/**
+ * Provedor da plataforma Instagram
+ */
+public class ProvedorInstagram implements ProvedorPlataforma {
+
+    @Override
+    public String getNome() {
+        return "INSTAGRAM";
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return List.of("IG");
+    }
+
+    @Override
+    public List<Regra> getRegras() {
+        return List.of(
+            Regra.minimo(Medida.MIDIAS, 1, "Instagram requer pelo menos uma mídia"),
+            Regra.maximo(Medida.TEXTO, 2200, "Caption muito longa (máx 2200 caracteres)"),
+            Regra.maximo(Medida.HASHTAGS, 30, "Máximo de 30 hashtags no Instagram")
+        );
+    }
+
+    @Override
+    public EstrategiaAutenticacao criarEstrategiaAutenticacaoPadrao() {
+        return new AutenticacaoApiKey();
+    }
+
+    @Override
+    public GerenciadorMidiaSocial criarAdapter(EstrategiaAutenticacao estrategiaAuth,
+                                               EstrategiaPublicacao estrategiaPublicacao) {
+        return new InstagramAdapter(estrategiaAuth, estrategiaPublicacao);
+    }
+}
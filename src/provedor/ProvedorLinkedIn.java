@@ -0,0 +1,46 @@
+package provedor;
+
+import adapter.LinkedInAdapter;
+import interfaces.GerenciadorMidiaSocial;
+import java.util.List;
+import strategy.AutenticacaoOAuth2;
+import strategy.EstrategiaAutenticacao;
+import strategy.EstrategiaPublicacao;
+import validacao.Regra;
+import validacao.Regra.Medida;
+
+/**
+ * Provedor da plataforma LinkedIn
+ */
+public class ProvedorLinkedIn implements ProvedorPlataforma {
+
+    @Override
+    public String getNome() {
+        return "LINKEDIN";
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return List.of("LI");
+    }
+
+    @Override
+    public List<Regra> getRegras() {
+        return List.of(
+            Regra.minimo(Medida.TEXTO, 1, "Texto não pode estar vazio no LinkedIn"),
+            Regra.maximo(Medida.TEXTO, 3000, "Texto muito longo para LinkedIn (máx 3000 caracteres)"),
+            Regra.maximo(Medida.HASHTAGS, 5, "Recomendado máximo de 5 hashtags no LinkedIn").comoAviso()
+        );
+    }
+
+    @Override
+    public EstrategiaAutenticacao criarEstrategiaAutenticacaoPadrao() {
+        return new AutenticacaoOAuth2();
+    }
+
+    @Override
+    public GerenciadorMidiaSocial criarAdapter(EstrategiaAutenticacao estrategiaAuth,
+                                               EstrategiaPublicacao estrategiaPublicacao) {
+        return new LinkedInAdapter(estrategiaAuth, estrategiaPublicacao);
+    }
+}
@@ -0,0 +1,54 @@
+package provedor;
+
+import interfaces.GerenciadorMidiaSocial;
+import java.util.List;
+import strategy.EstrategiaAutenticacao;
+import strategy.EstrategiaPublicacao;
+import validacao.Regra;
+
+/**
+ * Provedor de uma plataforma de mídia social
+ *
+ * Implementações são descobertas via {@link java.util.ServiceLoader} e
+ * registradas em META-INF/services/provedor.ProvedorPlataforma, de modo que
+ * uma nova rede pode ser distribuída num jar separado sem alterar a factory.
+ * O provedor deve ser leve: adapter e API da plataforma só devem ser
+ * referenciados dentro de {@link #criarAdapter}, para que suas classes sejam
+ * carregadas apenas quando a plataforma for usada.
+ */
+public interface ProvedorPlataforma {
+
+    /**
+     * Nome canônico da plataforma, por exemplo "TWITTER"
+     */
+    String getNome();
+
+    /**
+     * Nomes alternativos aceitos para a plataforma, por exemplo "X"
+     */
+    default List<String> getAliases() {
+        return List.of();
+    }
+
+    /**
+     * Regras de conteúdo da plataforma, compiladas pelo
+     * {@link validacao.ValidadorConteudo}
+     */
+    default List<Regra> getRegras() {
+        return List.of();
+    }
+
+    /**
+     * Cria a estratégia de autenticação usada quando nenhuma é informada
+     */
+    EstrategiaAutenticacao criarEstrategiaAutenticacaoPadrao();
+
+    /**
+     * Cria o adapter da plataforma
+     * @param estrategiaAuth Estratégia de autenticação
+     * @param estrategiaPublicacao Estratégia de publicação
+     * @return Gerenciador de mídia social da plataforma
+     */
+    GerenciadorMidiaSocial criarAdapter(EstrategiaAutenticacao estrategiaAuth,
+                                        EstrategiaPublicacao estrategiaPublicacao);
+}
@@ -0,0 +1,48 @@
+package provedor;
+
+import adapter.TikTokAdapter;
+import interfaces.GerenciadorMidiaSocial;
+import java.util.EnumSet;
+import java.util.List;
+import modelo.TipoConteudo;
+import strategy.AutenticacaoJWT;
+import strategy.EstrategiaAutenticacao;
+import strategy.EstrategiaPublicacao;
+import validacao.Regra;
+import validacao.Regra.Medida;
+
+/**
+ * Provedor da plataforma TikTok
+ */
+public class ProvedorTikTok implements ProvedorPlataforma {
+
+    @Override
+    public String getNome() {
+        return "TIKTOK";
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return List.of("TT");
+    }
+
+    @Override
+    public List<Regra> getRegras() {
+        return List.of(
+            Regra.minimo(Medida.MIDIAS, 1, "TikTok requer um vídeo"),
+            Regra.tipos(EnumSet.of(TipoConteudo.VIDEO, TipoConteudo.REELS), "TikTok aceita apenas vídeos"),
+            Regra.maximo(Medida.TEXTO, 2200, "Descrição muito longa (máx 2200 caracteres)")
+        );
+    }
+
+    @Override
+    public EstrategiaAutenticacao criarEstrategiaAutenticacaoPadrao() {
+        return new AutenticacaoJWT();
+    }
+
+    @Override
+    public GerenciadorMidiaSocial criarAdapter(EstrategiaAutenticacao estrategiaAuth,
+                                               EstrategiaPublicacao estrategiaPublicacao) {
+        return new TikTokAdapter(estrategiaAuth, estrategiaPublicacao);
+    }
+}
@@ -0,0 +1,46 @@
+package provedor;
+
+import adapter.TwitterAdapter;
+import interfaces.GerenciadorMidiaSocial;
+import java.util.List;
+import strategy.AutenticacaoOAuth2;
+import strategy.EstrategiaAutenticacao;
+import strategy.EstrategiaPublicacao;
+import validacao.Regra;
+import validacao.Regra.Medida;
+
+/**
+ * Provedor da plataforma Twitter
+ */
+public class ProvedorTwitter implements ProvedorPlataforma {
+
+    @Override
+    public String getNome() {
+        return "TWITTER";
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return List.of("X");
+    }
+
+    @Override
+    public List<Regra> getRegras() {
+        return List.of(
+            Regra.minimo(Medida.TEXTO, 0, "Twitter requer texto"),
+            Regra.maximo(Medida.TEXTO_PONDERADO, 280, "Texto inválido para Twitter (máx 280 caracteres ponderados)"),
+            Regra.maximo(Medida.MIDIAS, 4, "Máximo de 4 imagens por tweet")
+        );
+    }
+
+    @Override
+    public EstrategiaAutenticacao criarEstrategiaAutenticacaoPadrao() {
+        return new AutenticacaoOAuth2();
+    }
+
+    @Override
+    public GerenciadorMidiaSocial criarAdapter(EstrategiaAutenticacao estrategiaAuth,
+                                               EstrategiaPublicacao estrategiaPublicacao) {
+        return new TwitterAdapter(estrategiaAuth, estrategiaPublicacao);
+    }
+}
@@ -0,0 +1,30 @@
+package resiliencia;
+
+import java.time.Duration;
+
+/**
+ * Sinaliza que o circuito da plataforma está aberto
+ * A chamada falhou imediatamente, sem chegar à plataforma
+ */
+public class CircuitoAbertoException extends RuntimeException {
+
+    private final String plataforma;
+    private final Duration esperaRestante;
+
+    public CircuitoAbertoException(String plataforma, Duration esperaRestante, Throwable causa) {
+        // Sem pilha: com o circuito aberto esta exceção é lançada a cada chamada
+        super("Circuito de " + plataforma + " aberto; nova tentativa em "
+            + esperaRestante.toMillis() + "ms", causa, false, false);
+        this.plataforma = plataforma;
+        this.esperaRestante = esperaRestante;
+    }
+
+    // Getters
+    public String getPlataforma() {
+        return plataforma;
+    }
+
+    public Duration getEsperaRestante() {
+        return esperaRestante;
+    }
+}
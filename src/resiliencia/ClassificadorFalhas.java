@@ -0,0 +1,29 @@
+package resiliencia;
+
+import limite.ContrapressaoException;
+
+/**
+ * Decide se uma falha deve ser tentada de novo e contar para o circuito
+ */
+@FunctionalInterface
+public interface ClassificadorFalhas {
+
+    /**
+     * Classificação padrão: os adapters usam IllegalArgumentException para
+     * conteúdo inválido e IllegalStateException para conta não autenticada;
+     * essas falhas, a contrapressão do limite de taxa e um circuito aberto
+     * são permanentes. Qualquer outra falha é considerada transitória.
+     */
+    ClassificadorFalhas PADRAO = erro -> {
+        if (erro instanceof IllegalArgumentException
+                || erro instanceof IllegalStateException
+                || erro instanceof UnsupportedOperationException
+                || erro instanceof ContrapressaoException
+                || erro instanceof CircuitoAbertoException) {
+            return TipoFalha.PERMANENTE;
+        }
+        return TipoFalha.TRANSITORIA;
+    };
+
+    TipoFalha classificar(RuntimeException erro);
+}
@@ -0,0 +1,143 @@
+package resiliencia;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import log.Log;
+import log.Logger;
+
+/**
+ * Disjuntor (circuit breaker) de uma plataforma
+ *
+ * Fechado, deixa passar as chamadas e conta as falhas transitórias seguidas;
+ * ao atingir o limite abre e, durante o tempo aberto, recusa as chamadas
+ * sem chegar à plataforma. Passado esse tempo, uma única chamada de teste
+ * é liberada (meio aberto): se der certo o circuito fecha, se falhar volta
+ * a abrir.
+ *
+ * O estado é um objeto imutável numa referência atômica. Verificar se uma
+ * chamada pode seguir é uma leitura volátil, e um sucesso com o circuito
+ * fechado e sem falhas pendentes não escreve nada.
+ */
+public class DisjuntorCircuito {
+
+    private static final Logger LOG = Log.getLogger(DisjuntorCircuito.class);
+
+    public enum Fase { FECHADO, ABERTO, MEIO_ABERTO }
+
+    private static final Estado FECHADO = new Estado(Fase.FECHADO, 0, 0);
+
+    private final String nome;
+    private final int limiteFalhas;
+    private final long tempoAbertoNanos;
+    private final AtomicReference<Estado> estado = new AtomicReference<>(FECHADO);
+
+    /**
+     * @param nome Nome da plataforma protegida
+     * @param limiteFalhas Falhas transitórias seguidas que abrem o circuito
+     * @param tempoAberto Tempo em que o circuito recusa chamadas antes do teste
+     */
+    public DisjuntorCircuito(String nome, int limiteFalhas, Duration tempoAberto) {
+        if (limiteFalhas <= 0 || tempoAberto.isNegative()) {
+            throw new IllegalArgumentException("Limite de falhas deve ser positivo e o tempo aberto não negativo");
+        }
+        this.nome = nome;
+        this.limiteFalhas = limiteFalhas;
+        this.tempoAbertoNanos = tempoAberto.toNanos();
+    }
+
+    /**
+     * Verifica se uma chamada pode seguir para a plataforma
+     * Quem recebe true deve informar o resultado por registrarSucesso,
+     * registrarFalha ou registrarIgnorada
+     */
+    public boolean permitir() {
+        Estado atual = estado.get();
+        if (atual.fase == Fase.FECHADO) {
+            return true;
+        }
+        if (atual.fase == Fase.MEIO_ABERTO || System.nanoTime() - atual.abertoAte < 0) {
+            return false;
+        }
+        // Apenas quem vence a disputa faz a chamada de teste
+        return estado.compareAndSet(atual, new Estado(Fase.MEIO_ABERTO, atual.falhas, 0));
+    }
+
+    public void registrarSucesso() {
+        while (true) {
+            Estado atual = estado.get();
+            // Resultado atrasado de uma chamada anterior à abertura não fecha o circuito
+            if (atual == FECHADO || atual.fase == Fase.ABERTO) {
+                return;
+            }
+            if (estado.compareAndSet(atual, FECHADO)) {
+                if (atual.fase == Fase.MEIO_ABERTO) {
+                    LOG.info("Circuito de {} fechado", nome);
+                }
+                return;
+            }
+        }
+    }
+
+    public void registrarFalha() {
+        while (true) {
+            Estado atual = estado.get();
+            if (atual.fase == Fase.ABERTO) {
+                return;
+            }
+            int falhas = atual.falhas + 1;
+            boolean abrir = atual.fase == Fase.MEIO_ABERTO || falhas >= limiteFalhas;
+            Estado novo = abrir
+                ? new Estado(Fase.ABERTO, falhas, System.nanoTime() + tempoAbertoNanos)
+                : new Estado(Fase.FECHADO, falhas, 0);
+            if (estado.compareAndSet(atual, novo)) {
+                if (abrir) {
+                    LOG.warn("Circuito de {} aberto após {} falhas seguidas", nome, falhas);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Registra uma chamada cujo resultado não diz nada sobre a saúde da
+     * plataforma, como uma falha permanente
+     * Uma chamada de teste assim libera o teste para a próxima chamada
+     */
+    public void registrarIgnorada() {
+        Estado atual = estado.get();
+        if (atual.fase == Fase.MEIO_ABERTO) {
+            estado.compareAndSet(atual, new Estado(Fase.ABERTO, atual.falhas, System.nanoTime()));
+        }
+    }
+
+    public Fase getFase() {
+        return estado.get().fase;
+    }
+
+    /**
+     * Tempo até o circuito liberar a chamada de teste
+     */
+    public Duration getEsperaRestante() {
+        Estado atual = estado.get();
+        return atual.fase == Fase.ABERTO
+            ? Duration.ofNanos(Math.max(0, atual.abertoAte - System.nanoTime()))
+            : Duration.ZERO;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    private static final class Estado {
+        private final Fase fase;
+        private final int falhas;
+        // System.nanoTime em que o circuito aberto libera o teste
+        private final long abertoAte;
+
+        private Estado(Fase fase, int falhas, long abertoAte) {
+            this.fase = fase;
+            this.falhas = falhas;
+            this.abertoAte = abertoAte;
+        }
+    }
+}
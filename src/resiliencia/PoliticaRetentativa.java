@@ -0,0 +1,67 @@
+package resiliencia;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Quantas vezes e com que espera uma falha transitória é tentada de novo
+ *
+ * A espera cresce exponencialmente a partir da espera inicial até a espera
+ * máxima, e a espera efetiva é sorteada entre zero e esse teto ("full
+ * jitter"), para que chamadores que falharam juntos não voltem juntos.
+ */
+public final class PoliticaRetentativa {
+
+    private static final PoliticaRetentativa PADRAO =
+        new PoliticaRetentativa(3, Duration.ofMillis(100), Duration.ofSeconds(2));
+
+    private final int maxTentativas;
+    private final long esperaInicialNanos;
+    private final long esperaMaximaNanos;
+
+    /**
+     * @param maxTentativas Total de tentativas, incluindo a primeira
+     * @param esperaInicial Teto da espera antes da segunda tentativa
+     * @param esperaMaxima Teto da espera entre tentativas
+     */
+    public PoliticaRetentativa(int maxTentativas, Duration esperaInicial, Duration esperaMaxima) {
+        if (maxTentativas <= 0 || esperaInicial.isNegative() || esperaMaxima.compareTo(esperaInicial) < 0) {
+            throw new IllegalArgumentException("Tentativas devem ser positivas e a espera máxima não menor que a inicial");
+        }
+        this.maxTentativas = maxTentativas;
+        this.esperaInicialNanos = esperaInicial.toNanos();
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+    }
+
+    /**
+     * Três tentativas, esperando até 100ms e depois até 200ms
+     */
+    public static PoliticaRetentativa padrao() {
+        return PADRAO;
+    }
+
+    /**
+     * Uma única tentativa
+     */
+    public static PoliticaRetentativa semRetentativa() {
+        return new PoliticaRetentativa(1, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * Sorteia a espera antes da próxima tentativa
+     * @param tentativa Número da tentativa que falhou, a partir de 1
+     * @return Espera em nanossegundos
+     */
+    public long esperaNanos(int tentativa) {
+        long teto = esperaInicialNanos;
+        for (int i = 1; i < tentativa && teto < esperaMaximaNanos; i++) {
+            teto <<= 1;
+        }
+        teto = Math.min(teto, esperaMaximaNanos);
+        return teto > 0 ? ThreadLocalRandom.current().nextLong(teto + 1) : 0;
+    }
+
+    public int getMaxTentativas() {
+        return maxTentativas;
+    }
+}
@@ -0,0 +1,52 @@
+package resiliencia;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import provedor.CatalogoPlataformas;
+
+/**
+ * Disjuntores compartilhados por plataforma
+ *
+ * Todos os gerenciadores de uma plataforma usam o mesmo disjuntor: quando
+ * ela cai, as chamadas de qualquer conta passam a falhar imediatamente.
+ */
+public class RegistroDisjuntores {
+
+    private static final int LIMITE_FALHAS_PADRAO = 5;
+    private static final Duration TEMPO_ABERTO_PADRAO = Duration.ofSeconds(30);
+
+    private static RegistroDisjuntores instance;
+
+    private final Map<String, DisjuntorCircuito> disjuntores = new ConcurrentHashMap<>();
+    private final CatalogoPlataformas catalogo = CatalogoPlataformas.getInstance();
+    private final int limiteFalhas;
+    private final Duration tempoAberto;
+
+    /**
+     * @param limiteFalhas Falhas transitórias seguidas que abrem um circuito
+     * @param tempoAberto Tempo em que um circuito aberto recusa chamadas
+     */
+    public RegistroDisjuntores(int limiteFalhas, Duration tempoAberto) {
+        this.limiteFalhas = limiteFalhas;
+        this.tempoAberto = tempoAberto;
+    }
+
+    /**
+     * Singleton - obtém o registro compartilhado pela aplicação
+     */
+    public static synchronized RegistroDisjuntores getInstance() {
+        if (instance == null) {
+            instance = new RegistroDisjuntores(LIMITE_FALHAS_PADRAO, TEMPO_ABERTO_PADRAO);
+        }
+        return instance;
+    }
+
+    /**
+     * Obtém o disjuntor de uma plataforma, criando-o no primeiro uso
+     */
+    public DisjuntorCircuito obter(String plataforma) {
+        String nome = catalogo.nomeCanonico(plataforma);
+        return disjuntores.computeIfAbsent(nome, n -> new DisjuntorCircuito(n, limiteFalhas, tempoAberto));
+    }
+}
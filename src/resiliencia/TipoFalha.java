@@ -0,0 +1,19 @@
+package resiliencia;
+
+/**
+ * Classificação de uma falha numa operação da plataforma
+ */
+public enum TipoFalha {
+    /**
+     * Falha da plataforma que pode não se repetir: a operação é tentada de
+     * novo e a falha conta para abrir o circuito
+     */
+    TRANSITORIA,
+
+    /**
+     * Falha que se repetiria em qualquer nova tentativa, como conteúdo
+     * inválido, conta não autenticada ou limite de taxa esgotado: é repassada
+     * ao chamador sem nova tentativa e não conta para abrir o circuito
+     */
+    PERMANENTE
+}
@@ -0,0 +1,33 @@
+package servico;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fábrica dos executores usados pelos serviços de I/O com as plataformas
+ */
+public final class Executores {
+
+    private Executores() {
+    }
+
+    /**
+     * Cria o executor padrão: uma thread virtual por tarefa quando disponível (Java 21+),
+     * ou um pool de threads daemon sob demanda nas versões anteriores
+     * @param nomeThread Nome das threads do pool alternativo
+     * @return Executor para tarefas bloqueantes de I/O
+     */
+    public static ExecutorService criarPadrao(String nomeThread) {
+        try {
+            return (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(tarefa -> {
+                Thread thread = new Thread(tarefa, nomeThread);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
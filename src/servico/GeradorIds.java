@@ -0,0 +1,182 @@
+package servico;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import log.Log;
+import log.Logger;
+
+/**
+ * Gerador de IDs de 64 bits ordenados pelo tempo (no estilo Snowflake)
+ *
+ * Cada ID tem 41 bits de milissegundos desde 2024-01-01 UTC, 10 bits com o
+ * número do nó e 12 bits de sequência. O relógio e a sequência ficam num
+ * único {@link AtomicLong} avançado por compareAndSet, sem locks: dentro do
+ * mesmo milissegundo a sequência é incrementada e, ao se esgotar, avança
+ * para o milissegundo seguinte em vez de esperar. Pelo mesmo motivo um
+ * relógio que volta atrás não repete IDs, apenas adia o avanço do tempo.
+ *
+ * IDs de nós diferentes nunca colidem desde que cada nó tenha um número
+ * próprio, definido pela propriedade {@code ids.no} (0 a 1023).
+ *
+ * A forma textual tem 13 caracteres em base 32 (alfabeto de Crockford) com
+ * largura fixa, de modo que a ordem lexicográfica é a mesma dos números.
+ */
+public final class GeradorIds {
+
+    private static final Logger LOG = Log.getLogger(GeradorIds.class);
+
+    private static final String PROPRIEDADE_NO = "ids.no";
+
+    /** Início da contagem do tempo: 2024-01-01T00:00:00Z */
+    public static final long EPOCA_MILLIS = 1_704_067_200_000L;
+
+    private static final int BITS_SEQUENCIA = 12;
+    private static final int BITS_NO = 10;
+    private static final int DESLOCAMENTO_TEMPO = BITS_SEQUENCIA + BITS_NO;
+    private static final long MASCARA_SEQUENCIA = (1L << BITS_SEQUENCIA) - 1;
+    public static final int MAXIMO_NO = (1 << BITS_NO) - 1;
+
+    private static final int TAMANHO_TEXTO = 13;
+    private static final byte[] ALFABETO = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] VALORES = new byte[128];
+
+    static {
+        Arrays.fill(VALORES, (byte) -1);
+        for (int i = 0; i < ALFABETO.length; i++) {
+            VALORES[ALFABETO[i]] = (byte) i;
+            VALORES[Character.toLowerCase(ALFABETO[i])] = (byte) i;
+        }
+    }
+
+    private final long no;
+    // Milissegundos desde a época deslocados pela sequência, mais a sequência
+    private final AtomicLong ultimo = new AtomicLong();
+
+    /**
+     * @param no Número do nó, único entre os processos que geram IDs
+     */
+    public GeradorIds(int no) {
+        if (no < 0 || no > MAXIMO_NO) {
+            throw new IllegalArgumentException("Número do nó deve estar entre 0 e " + MAXIMO_NO);
+        }
+        this.no = no;
+    }
+
+    /**
+     * Singleton - obtém o gerador do processo, com o nó da propriedade {@code ids.no}
+     */
+    public static GeradorIds getInstance() {
+        return Instancia.UNICA;
+    }
+
+    /**
+     * Gera um novo ID, maior que todos os gerados antes por este gerador
+     */
+    public long gerar() {
+        long agora = (System.currentTimeMillis() - EPOCA_MILLIS) << BITS_SEQUENCIA;
+        while (true) {
+            long anterior = ultimo.get();
+            long proximo = agora > anterior ? agora : anterior + 1;
+            if (ultimo.compareAndSet(anterior, proximo)) {
+                return (proximo >>> BITS_SEQUENCIA) << DESLOCAMENTO_TEMPO
+                    | no << BITS_SEQUENCIA
+                    | (proximo & MASCARA_SEQUENCIA);
+            }
+        }
+    }
+
+    /**
+     * Gera um novo ID na forma textual
+     */
+    public String gerarTexto() {
+        return codificar(gerar());
+    }
+
+    /**
+     * Gera um novo ID na forma textual precedido de um prefixo ASCII, como "tw_"
+     */
+    public String gerarTexto(String prefixo) {
+        int tamanhoPrefixo = prefixo.length();
+        byte[] texto = new byte[tamanhoPrefixo + TAMANHO_TEXTO];
+        for (int i = 0; i < tamanhoPrefixo; i++) {
+            texto[i] = (byte) prefixo.charAt(i);
+        }
+        escrever(gerar(), texto, tamanhoPrefixo);
+        return new String(texto, StandardCharsets.ISO_8859_1);
+    }
+
+    public int getNo() {
+        return (int) no;
+    }
+
+    /**
+     * Forma textual de um ID: 13 caracteres que ordenam como o número
+     */
+    public static String codificar(long id) {
+        byte[] texto = new byte[TAMANHO_TEXTO];
+        escrever(id, texto, 0);
+        return new String(texto, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Converte a forma textual de volta ao ID, ignorando um prefixo terminado em '_'
+     * @throws IllegalArgumentException se o texto não for um ID válido
+     */
+    public static long decodificar(String texto) {
+        int inicio = texto.length() - TAMANHO_TEXTO;
+        if (inicio < 0 || (inicio > 0 && texto.charAt(inicio - 1) != '_')) {
+            throw new IllegalArgumentException("ID inválido: " + texto);
+        }
+        long id = 0;
+        for (int i = inicio; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            int valor = c < VALORES.length ? VALORES[c] : -1;
+            if (valor < 0 || (i == inicio && valor > 0xF)) {
+                throw new IllegalArgumentException("ID inválido: " + texto);
+            }
+            id = id << 5 | valor;
+        }
+        return id;
+    }
+
+    /**
+     * Instante em que um ID foi gerado, com precisão de milissegundos
+     */
+    public static Instant instante(long id) {
+        return Instant.ofEpochMilli((id >>> DESLOCAMENTO_TEMPO) + EPOCA_MILLIS);
+    }
+
+    /**
+     * Menor ID possível gerado no instante informado, para buscas por intervalo
+     */
+    public static long menorIdEm(Instant instante) {
+        long millis = Math.max(0, instante.toEpochMilli() - EPOCA_MILLIS);
+        return millis << DESLOCAMENTO_TEMPO;
+    }
+
+    // 64 bits em 13 dígitos de 5 bits; o primeiro leva apenas os 4 bits mais altos
+    private static void escrever(long id, byte[] destino, int inicio) {
+        for (int i = inicio + TAMANHO_TEXTO - 1; i >= inicio; i--) {
+            destino[i] = ALFABETO[(int) (id & 0x1F)];
+            id >>>= 5;
+        }
+    }
+
+    private static final class Instancia {
+        private static final GeradorIds UNICA = criar();
+
+        private static GeradorIds criar() {
+            String no = System.getProperty(PROPRIEDADE_NO);
+            if (no != null) {
+                return new GeradorIds(Integer.parseInt(no.trim()));
+            }
+            // Sem configuração, deriva o nó do processo; processos em hosts
+            // diferentes podem coincidir
+            int derivado = (int) (ProcessHandle.current().pid() & MAXIMO_NO);
+            LOG.info("Propriedade {} não definida; usando o nó {} derivado do processo", PROPRIEDADE_NO, derivado);
+            return new GeradorIds(derivado);
+        }
+    }
+}
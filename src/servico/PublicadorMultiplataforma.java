@@ -0,0 +1,163 @@
+package servico;
+
+import interfaces.GerenciadorMidiaSocial;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import modelo.Conteudo;
+import modelo.Publicacao;
+import modelo.ResultadoMultiplataforma;
+import modelo.ResultadoPublicacao;
+import validacao.ValidadorConteudo;
+import validacao.Violacao;
+
+/**
+ * Serviço que publica conteúdo em várias plataformas em paralelo
+ * Cada plataforma é atendida por uma thread própria (virtual, quando a JVM suportar),
+ * de modo que o tempo total fica limitado pela plataforma mais lenta
+ */
+public class PublicadorMultiplataforma implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Duration prazoGlobal;
+    private final ValidadorConteudo validador = ValidadorConteudo.getInstance();
+
+    public PublicadorMultiplataforma(Duration prazoGlobal) {
+        this(Executores.criarPadrao("publicador-multiplataforma"), prazoGlobal);
+    }
+
+    public PublicadorMultiplataforma(ExecutorService executor, Duration prazoGlobal) {
+        this.executor = executor;
+        this.prazoGlobal = prazoGlobal;
+    }
+
+    /**
+     * Publica o mesmo conteúdo em todas as plataformas
+     * @param gerenciadores Gerenciadores de destino
+     * @param conteudo Conteúdo a ser publicado
+     * @return Resultado agregado por plataforma
+     */
+    public ResultadoMultiplataforma publicar(List<GerenciadorMidiaSocial> gerenciadores, Conteudo conteudo) {
+        Map<GerenciadorMidiaSocial, Conteudo> destinos = new LinkedHashMap<>();
+        for (GerenciadorMidiaSocial gerenciador : gerenciadores) {
+            destinos.put(gerenciador, conteudo);
+        }
+        return publicar(destinos);
+    }
+
+    /**
+     * Publica um conteúdo específico em cada plataforma
+     * @param destinos Conteúdo a ser publicado em cada gerenciador
+     * @return Resultado agregado por plataforma, na ordem dos destinos
+     */
+    public ResultadoMultiplataforma publicar(Map<GerenciadorMidiaSocial, Conteudo> destinos) {
+        long inicio = System.nanoTime();
+        long limite = inicio + prazoGlobal.toNanos();
+
+        Map<Conteudo, Map<String, String>> recusas = validar(destinos);
+
+        List<GerenciadorMidiaSocial> gerenciadores = new ArrayList<>(destinos.size());
+        List<Future<Publicacao>> tarefas = new ArrayList<>(destinos.size());
+
+        // Dispara todas as plataformas antes de esperar por qualquer uma;
+        // as que recusaram o conteúdo falham sem chamar a plataforma
+        for (Map.Entry<GerenciadorMidiaSocial, Conteudo> destino : destinos.entrySet()) {
+            GerenciadorMidiaSocial gerenciador = destino.getKey();
+            Conteudo conteudo = destino.getValue();
+            gerenciadores.add(gerenciador);
+            Map<String, String> recusadas = recusas.get(conteudo);
+            String recusa = recusadas != null ? recusadas.get(gerenciador.getNomePlataforma()) : null;
+            tarefas.add(recusa != null ? null : executor.submit(() -> publicarEm(gerenciador, conteudo)));
+        }
+
+        List<ResultadoPublicacao> resultados = new ArrayList<>(tarefas.size());
+        for (int i = 0; i < tarefas.size(); i++) {
+            String plataforma = gerenciadores.get(i).getNomePlataforma();
+            Future<Publicacao> tarefa = tarefas.get(i);
+            if (tarefa == null) {
+                String recusa = recusas.get(destinos.get(gerenciadores.get(i))).get(plataforma);
+                resultados.add(ResultadoPublicacao.falha(plataforma, new IllegalArgumentException(recusa)));
+            } else {
+                resultados.add(aguardar(plataforma, tarefa, limite));
+            }
+        }
+
+        return new ResultadoMultiplataforma(resultados, Duration.ofNanos(System.nanoTime() - inicio));
+    }
+
+    /**
+     * Valida cada conteúdo uma única vez para todas as suas plataformas de
+     * destino
+     * @return Por conteúdo, a mensagem de recusa de cada plataforma que o recusou
+     */
+    private Map<Conteudo, Map<String, String>> validar(Map<GerenciadorMidiaSocial, Conteudo> destinos) {
+        Map<Conteudo, List<String>> plataformasPorConteudo = new IdentityHashMap<>();
+        for (Map.Entry<GerenciadorMidiaSocial, Conteudo> destino : destinos.entrySet()) {
+            String plataforma = destino.getKey().getNomePlataforma();
+            if (validador.suporta(plataforma)) {
+                plataformasPorConteudo.computeIfAbsent(destino.getValue(), c -> new ArrayList<>()).add(plataforma);
+            }
+        }
+
+        Map<Conteudo, Map<String, String>> recusas = new IdentityHashMap<>();
+        for (Map.Entry<Conteudo, List<String>> entrada : plataformasPorConteudo.entrySet()) {
+            Conteudo conteudo = entrada.getKey();
+            List<Violacao> violacoes = validador.validar(conteudo, entrada.getValue());
+            for (String plataforma : entrada.getValue()) {
+                StringBuilder mensagem = null;
+                String canonica = validador.nomeCanonico(plataforma);
+                for (Violacao violacao : violacoes) {
+                    if (violacao.isErro() && violacao.getPlataforma().equals(canonica)) {
+                        mensagem = mensagem == null
+                            ? new StringBuilder("Conteúdo inválido para ").append(plataforma).append(": ")
+                            : mensagem.append("; ");
+                        mensagem.append(violacao.getMensagem());
+                    }
+                }
+                if (mensagem != null) {
+                    recusas.computeIfAbsent(conteudo, c -> new LinkedHashMap<>()).put(plataforma, mensagem.toString());
+                }
+            }
+        }
+        return recusas;
+    }
+
+    private Publicacao publicarEm(GerenciadorMidiaSocial gerenciador, Conteudo conteudo) {
+        // Plataformas fora do catálogo validam por conta própria
+        if (!validador.suporta(gerenciador.getNomePlataforma()) && !gerenciador.validarConteudo(conteudo)) {
+            throw new IllegalArgumentException(
+                "Conteúdo inválido para " + gerenciador.getNomePlataforma());
+        }
+        return gerenciador.publicar(conteudo);
+    }
+
+    private ResultadoPublicacao aguardar(String plataforma, Future<Publicacao> tarefa, long limite) {
+        try {
+            long restante = Math.max(0, limite - System.nanoTime());
+            return ResultadoPublicacao.sucesso(plataforma, tarefa.get(restante, TimeUnit.NANOSECONDS));
+        } catch (ExecutionException e) {
+            return ResultadoPublicacao.falha(plataforma, e.getCause());
+        } catch (TimeoutException e) {
+            tarefa.cancel(true);
+            return ResultadoPublicacao.falha(plataforma,
+                new TimeoutException("Prazo global de " + prazoGlobal.toMillis() + "ms excedido"));
+        } catch (InterruptedException e) {
+            tarefa.cancel(true);
+            Thread.currentThread().interrupt();
+            return ResultadoPublicacao.falha(plataforma, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
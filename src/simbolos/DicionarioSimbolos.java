@@ -0,0 +1,138 @@
+package simbolos;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dicionário de símbolos repetidos, como as hashtags
+ *
+ * Guarda uma instância compartilhada de cada texto distinto; os registros
+ * guardam vetores dessas instâncias, de modo que uma hashtag repetida em
+ * milhões de registros ocupa memória uma única vez. Consultas não bloqueiam.
+ *
+ * Hashtags são texto livre dos usuários, portanto o dicionário tem capacidade
+ * limitada (propriedade {@code simbolos.capacidade}): cheio, ele descarta um
+ * símbolo qualquer para registrar o novo. Descartar só deixa de compartilhar
+ * a instância, pois cada registro guarda o próprio texto. URLs de mídia, em
+ * geral únicas por publicação, não passam pelo dicionário.
+ */
+public final class DicionarioSimbolos {
+
+    private static final String PROPRIEDADE_CAPACIDADE = "simbolos.capacidade";
+    private static final int CAPACIDADE_PADRAO = 1 << 16;
+    private static final String[] VAZIO = new String[0];
+
+    private final ConcurrentHashMap<String, String> simbolos = new ConcurrentHashMap<>();
+    private final int capacidade;
+    private final LongAdder despejos = new LongAdder();
+
+    /**
+     * @param capacidade Quantidade máxima de símbolos guardados
+     */
+    public DicionarioSimbolos(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva");
+        }
+        this.capacidade = capacidade;
+    }
+
+    private static final class Instancia {
+        private static final DicionarioSimbolos DICIONARIO =
+            new DicionarioSimbolos(Integer.getInteger(PROPRIEDADE_CAPACIDADE, CAPACIDADE_PADRAO));
+    }
+
+    /**
+     * Singleton - dicionário compartilhado pelos modelos e pelas APIs
+     */
+    public static DicionarioSimbolos getInstance() {
+        return Instancia.DICIONARIO;
+    }
+
+    /**
+     * Instância compartilhada de um texto repetido, registrando-o se for novo
+     * @return A instância guardada, ou null para null
+     */
+    public String internar(String simbolo) {
+        if (simbolo == null) {
+            return null;
+        }
+        String existente = simbolos.get(simbolo);
+        if (existente != null) {
+            return existente;
+        }
+        if (simbolos.size() >= capacidade) {
+            despejar();
+        }
+        existente = simbolos.putIfAbsent(simbolo, simbolo);
+        return existente != null ? existente : simbolo;
+    }
+
+    /**
+     * Instâncias compartilhadas dos símbolos de uma coleção, na mesma ordem
+     * @return Novo vetor, ou null para uma coleção nula
+     */
+    public String[] internar(Collection<String> simbolos) {
+        if (simbolos == null) {
+            return null;
+        }
+        if (simbolos.isEmpty()) {
+            return VAZIO;
+        }
+        String[] resultado = new String[simbolos.size()];
+        int i = 0;
+        for (String simbolo : simbolos) {
+            resultado[i++] = internar(simbolo);
+        }
+        return resultado;
+    }
+
+    /**
+     * Lista somente leitura sobre um vetor de símbolos, sem copiá-lo
+     * @return A lista, ou null para um vetor nulo
+     */
+    public static List<String> lista(String[] simbolos) {
+        return simbolos != null ? Collections.unmodifiableList(Arrays.asList(simbolos)) : null;
+    }
+
+    /**
+     * Quantidade de símbolos guardados
+     */
+    public int tamanho() {
+        return simbolos.size();
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    /**
+     * Quantidade de símbolos descartados por falta de espaço
+     */
+    public long getDespejos() {
+        return despejos.sum();
+    }
+
+    /**
+     * Descarta um símbolo qualquer; registros simultâneos podem ultrapassar a
+     * capacidade em no máximo um símbolo por thread
+     */
+    private void despejar() {
+        Iterator<String> iterador = simbolos.keySet().iterator();
+        if (iterador.hasNext()) {
+            iterador.next();
+            iterador.remove();
+            despejos.increment();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DicionarioSimbolos{simbolos=" + tamanho() + ", capacidade=" + capacidade
+            + ", despejos=" + getDespejos() + '}';
+    }
+}
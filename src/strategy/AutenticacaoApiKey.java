@@ -1,5 +1,7 @@
 package strategy;
 
+import log.Log;
+import log.Logger;
 import modelo.Credenciais;
 
 /**
@@ -7,29 +9,31 @@ import modelo.Credenciais;
  */
 public class AutenticacaoApiKey implements EstrategiaAutenticacao {
     
-    private boolean autenticado = false;
-    private String apiKeyAtual;
+    private static final Logger LOG = Log.getLogger(AutenticacaoApiKey.class);
+    
+    private volatile boolean autenticado = false;
+    private volatile String apiKeyAtual;
     
     @Override
     public boolean autenticar(Credenciais credenciais) {
-        System.out.println("Autenticando via API Key...");
-        System.out.println("Usuário: " + credenciais.getUsuario());
+        LOG.debug("Autenticando via API Key...");
+        LOG.debug("Usuário: {}", credenciais.getUsuario());
         
         // Simulação de autenticação via API Key
         if (credenciais.getApiKey() != null && !credenciais.getApiKey().isEmpty()) {
             this.apiKeyAtual = credenciais.getApiKey();
             this.autenticado = true;
-            System.out.println("Autenticação via API Key bem-sucedida!");
+            LOG.info("Autenticação via API Key bem-sucedida!");
             return true;
         }
         
-        System.out.println("Falha na autenticação via API Key");
+        LOG.warn("Falha na autenticação via API Key");
         return false;
     }
     
     @Override
     public String renovarToken(String refreshToken) {
-        System.out.println("API Key não requer renovação");
+        LOG.debug("API Key não requer renovação");
         return apiKeyAtual;
     }
     
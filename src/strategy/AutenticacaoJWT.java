@@ -1,5 +1,8 @@
 package strategy;
 
+import java.time.Duration;
+import log.Log;
+import log.Logger;
 import modelo.Credenciais;
 
 /**
@@ -7,36 +10,45 @@ import modelo.Credenciais;
  */
 public class AutenticacaoJWT implements EstrategiaAutenticacao {
     
-    private boolean autenticado = false;
-    private String jwtToken;
+    private static final Logger LOG = Log.getLogger(AutenticacaoJWT.class);
+    
+    private static final Duration VALIDADE_TOKEN = Duration.ofMinutes(15);
+    
+    private volatile boolean autenticado = false;
+    private volatile String jwtToken;
     
     @Override
     public boolean autenticar(Credenciais credenciais) {
-        System.out.println("Autenticando via JWT...");
-        System.out.println("Usuário: " + credenciais.getUsuario());
+        LOG.debug("Autenticando via JWT...");
+        LOG.debug("Usuário: {}", credenciais.getUsuario());
         
         // Simulação de autenticação JWT
         if (credenciais.getAccessToken() != null && !credenciais.getAccessToken().isEmpty()) {
             this.jwtToken = credenciais.getAccessToken();
             this.autenticado = true;
-            System.out.println("Autenticação JWT bem-sucedida!");
+            LOG.info("Autenticação JWT bem-sucedida!");
             return true;
         }
         
-        System.out.println("Falha na autenticação JWT");
+        LOG.warn("Falha na autenticação JWT");
         return false;
     }
     
     @Override
     public String renovarToken(String refreshToken) {
-        System.out.println("Renovando JWT Token...");
+        LOG.debug("Renovando JWT Token...");
         // Simulação de renovação de JWT
         String novoToken = "jwt_" + System.currentTimeMillis();
         this.jwtToken = novoToken;
-        System.out.println("JWT Token renovado com sucesso!");
+        LOG.info("JWT Token renovado com sucesso!");
         return novoToken;
     }
     
+    @Override
+    public Duration getValidadeToken() {
+        return VALIDADE_TOKEN;
+    }
+    
     @Override
     public boolean estaAutenticado() {
         return autenticado && jwtToken != null;
@@ -1,5 +1,8 @@
 package strategy;
 
+import java.time.Duration;
+import log.Log;
+import log.Logger;
 import modelo.Credenciais;
 
 /**
@@ -7,36 +10,45 @@ import modelo.Credenciais;
  */
 public class AutenticacaoOAuth2 implements EstrategiaAutenticacao {
     
-    private boolean autenticado = false;
-    private String tokenAtual;
+    private static final Logger LOG = Log.getLogger(AutenticacaoOAuth2.class);
+    
+    private static final Duration VALIDADE_TOKEN = Duration.ofHours(1);
+    
+    private volatile boolean autenticado = false;
+    private volatile String tokenAtual;
     
     @Override
     public boolean autenticar(Credenciais credenciais) {
-        System.out.println("Autenticando via OAuth 2.0...");
-        System.out.println("Cliente: " + credenciais.getUsuario());
+        LOG.debug("Autenticando via OAuth 2.0...");
+        LOG.debug("Cliente: {}", credenciais.getUsuario());
         
         // Simulação de autenticação OAuth 2.0
         if (credenciais.getApiKey() != null && credenciais.getApiSecret() != null) {
             this.tokenAtual = credenciais.getAccessToken();
             this.autenticado = true;
-            System.out.println("Autenticação OAuth 2.0 bem-sucedida!");
+            LOG.info("Autenticação OAuth 2.0 bem-sucedida!");
             return true;
         }
         
-        System.out.println("Falha na autenticação OAuth 2.0");
+        LOG.warn("Falha na autenticação OAuth 2.0");
         return false;
     }
     
     @Override
     public String renovarToken(String refreshToken) {
-        System.out.println("Renovando token OAuth 2.0...");
+        LOG.debug("Renovando token OAuth 2.0...");
         // Simulação de renovação de token
         String novoToken = "new_oauth_token_" + System.currentTimeMillis();
         this.tokenAtual = novoToken;
-        System.out.println("Token renovado com sucesso!");
+        LOG.info("Token renovado com sucesso!");
         return novoToken;
     }
     
+    @Override
+    public Duration getValidadeToken() {
+        return VALIDADE_TOKEN;
+    }
+    
     @Override
     public boolean estaAutenticado() {
         return autenticado && tokenAtual != null;
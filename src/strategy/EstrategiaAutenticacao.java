@@ -1,5 +1,6 @@
 package strategy;
 
+import java.time.Duration;
 import modelo.Credenciais;
 
 /**
@@ -26,4 +27,12 @@ public interface EstrategiaAutenticacao {
      * @return true se autenticado
      */
     boolean estaAutenticado();
+    
+    /**
+     * Tempo de validade de um token emitido ou renovado por esta estratégia
+     * @return Validade do token, ou null se o token não expira
+     */
+    default Duration getValidadeToken() {
+        return null;
+    }
 }
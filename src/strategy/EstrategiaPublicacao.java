@@ -14,6 +14,17 @@ public interface EstrategiaPublicacao {
      */
     Conteudo processarConteudo(Conteudo conteudo);
     
+    /**
+     * Processa o conteúdo antes de publicar numa plataforma
+     * Por padrão, o processamento é o mesmo para todas as plataformas
+     * @param conteudo Conteúdo a ser processado
+     * @param plataforma Plataforma de destino
+     * @return Conteúdo processado
+     */
+    default Conteudo processarConteudo(Conteudo conteudo, String plataforma) {
+        return processarConteudo(conteudo);
+    }
+    
     /**
      * Valida o conteúdo para a plataforma
      * @param conteudo Conteúdo a ser validado
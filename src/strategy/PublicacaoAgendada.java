@@ -1,32 +1,59 @@
 package strategy;
 
 import java.time.LocalDateTime;
+import log.Log;
+import log.Logger;
 import modelo.Conteudo;
+import transformacao.PipelineTransformacao;
 
 /**
  * Estratégia de publicação agendada
  */
 public class PublicacaoAgendada implements EstrategiaPublicacao {
     
+    private static final Logger LOG = Log.getLogger(PublicacaoAgendada.class);
+    
+    private final PipelineTransformacao pipeline;
+    
+    public PublicacaoAgendada() {
+        this(PipelineTransformacao.vazio());
+    }
+    
+    /**
+     * @param pipeline Transformações aplicadas ao conteúdo antes de publicar;
+     *        compartilhe o mesmo pipeline entre as plataformas para reaproveitar
+     *        o trabalho comum
+     */
+    public PublicacaoAgendada(PipelineTransformacao pipeline) {
+        this.pipeline = pipeline;
+    }
+    
     @Override
     public Conteudo processarConteudo(Conteudo conteudo) {
-        System.out.println("Processando para publicação agendada...");
-        System.out.println("Data: " + conteudo.getDataAgendamento());
-        // Processa o conteúdo para publicação agendada
-        return conteudo;
+        LOG.debug("Processando para publicação agendada...");
+        LOG.debug("Data: {}", conteudo.getDataAgendamento());
+        // Sem plataforma, só as etapas comuns a todas
+        return pipeline.aplicar(conteudo, null);
+    }
+    
+    @Override
+    public Conteudo processarConteudo(Conteudo conteudo, String plataforma) {
+        LOG.debug("Processando para publicação agendada em {}...", plataforma);
+        LOG.debug("Data: {}", conteudo.getDataAgendamento());
+        return pipeline.aplicar(conteudo, plataforma);
     }
     
     @Override
     public boolean validar(Conteudo conteudo) {
-        System.out.println("Validando conteúdo para publicação agendada...");
+        LOG.debug("Validando conteúdo para publicação agendada...");
         // Validações para agendamento
         if (conteudo.getDataAgendamento() == null) {
-            System.out.println("Data de agendamento não especificada");
+            LOG.warn("Data de agendamento não especificada");
             return false;
         }
         
         if (conteudo.getDataAgendamento().isBefore(LocalDateTime.now())) {
-            System.out.println("Data de agendamento está no passado");
+            LOG.warn("Data de agendamento está no passado");
             return false;
         }
         
@@ -1,22 +1,48 @@
 package strategy;
 
+import log.Log;
+import log.Logger;
 import modelo.Conteudo;
+import transformacao.PipelineTransformacao;
 
 /**
  * Estratégia de publicação imediata
  */
 public class PublicacaoImediata implements EstrategiaPublicacao {
     
+    private static final Logger LOG = Log.getLogger(PublicacaoImediata.class);
+    
+    private final PipelineTransformacao pipeline;
+    
+    public PublicacaoImediata() {
+        this(PipelineTransformacao.vazio());
+    }
+    
+    /**
+     * @param pipeline Transformações aplicadas ao conteúdo antes de publicar;
+     *        compartilhe o mesmo pipeline entre as plataformas para reaproveitar
+     *        o trabalho comum
+     */
+    public PublicacaoImediata(PipelineTransformacao pipeline) {
+        this.pipeline = pipeline;
+    }
+    
     @Override
     public Conteudo processarConteudo(Conteudo conteudo) {
-        System.out.println("Processando para publicação imediata...");
-        // Processa o conteúdo para publicação imediata
-        return conteudo;
+        LOG.debug("Processando para publicação imediata...");
+        // Sem plataforma, só as etapas comuns a todas
+        return pipeline.aplicar(conteudo, null);
+    }
+    
+    @Override
+    public Conteudo processarConteudo(Conteudo conteudo, String plataforma) {
+        LOG.debug("Processando para publicação imediata em {}...", plataforma);
+        return pipeline.aplicar(conteudo, plataforma);
     }
     
     @Override
     public boolean validar(Conteudo conteudo) {
-        System.out.println("Validando conteúdo para publicação imediata...");
+        LOG.debug("Validando conteúdo para publicação imediata...");
         // Validações básicas
         return conteudo.getTexto() != null && !conteudo.getTexto().isEmpty();
     }
@@ -0,0 +1,37 @@
+package transformacao;
+
+import modelo.Conteudo;
+
+/**
+ * Etapa de um {@link PipelineTransformacao}
+ *
+ * Uma etapa não altera o conteúdo recebido: devolve um novo conteúdo com as
+ * mudanças ou, se não houver nada a mudar, o próprio conteúdo recebido, o que
+ * permite às etapas seguintes reaproveitar o resultado entre plataformas.
+ */
+public interface EtapaTransformacao {
+
+    /**
+     * Transforma o conteúdo para a plataforma
+     * @param plataforma Plataforma de destino; null apenas em etapas que não
+     *        dependem da plataforma
+     * @return Conteúdo transformado, ou o próprio conteúdo se nada mudou
+     */
+    Conteudo aplicar(Conteudo conteudo, String plataforma);
+
+    /**
+     * Indica se o resultado depende da plataforma
+     * Etapas que não dependem são calculadas uma vez por conteúdo e
+     * compartilhadas por todas as plataformas.
+     */
+    default boolean dependeDaPlataforma() {
+        return true;
+    }
+
+    /**
+     * Nome da etapa, para logs
+     */
+    default String getNome() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,244 @@
+package transformacao;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+import modelo.Conteudo;
+import validacao.ContadorTexto;
+import validacao.MedidasTexto;
+import validacao.Regra;
+import validacao.ValidadorConteudo;
+
+/**
+ * Etapas de transformação prontas para compor um {@link PipelineTransformacao}
+ */
+public final class Etapas {
+
+    private static final String RETICENCIAS = "…";
+    private static final MedidasTexto MEDIDAS_RETICENCIAS = ContadorTexto.medir(RETICENCIAS);
+    private static final Regra.Medida[] MEDIDAS_TEXTO = {
+        Regra.Medida.TEXTO, Regra.Medida.GRAFEMAS, Regra.Medida.TEXTO_PONDERADO
+    };
+
+    private Etapas() {
+    }
+
+    /**
+     * Hashtags com um único '#' e sem espaços, sem repetições (ignorando
+     * maiúsculas, mantendo a primeira grafia) e sem hashtags vazias
+     * Não depende da plataforma.
+     */
+    public static EtapaTransformacao normalizarHashtags() {
+        return new Etapa("normalizarHashtags", false, (conteudo, plataforma) -> {
+            List<String> hashtags = conteudo.getHashtags();
+            if (hashtags == null || hashtags.isEmpty()) {
+                return conteudo;
+            }
+            List<String> normalizadas = new ArrayList<>(hashtags.size());
+            Set<String> vistas = new HashSet<>();
+            for (String hashtag : hashtags) {
+                String normalizada = normalizarHashtag(hashtag);
+                if (normalizada != null && vistas.add(normalizada.toLowerCase(Locale.ROOT))) {
+                    normalizadas.add(normalizada);
+                }
+            }
+            return normalizadas.equals(hashtags) ? conteudo : comHashtags(conteudo, normalizadas);
+        });
+    }
+
+    /**
+     * Substitui as URLs do texto, por exemplo por links encurtados
+     * Não depende da plataforma.
+     * @param substituta Recebe a URL e devolve a substituta (null mantém a URL)
+     */
+    public static EtapaTransformacao substituirLinks(UnaryOperator<String> substituta) {
+        return new Etapa("substituirLinks", false,
+            (conteudo, plataforma) -> substituirLinks(conteudo, substituta));
+    }
+
+    /**
+     * Substitui as URLs do texto conforme a plataforma, por exemplo com
+     * parâmetros de campanha por rede
+     * @param substituta Recebe a URL e a plataforma e devolve a substituta
+     *        (null mantém a URL)
+     */
+    public static EtapaTransformacao substituirLinksPorPlataforma(BiFunction<String, String, String> substituta) {
+        return new Etapa("substituirLinksPorPlataforma", true,
+            (conteudo, plataforma) -> substituirLinks(conteudo, url -> substituta.apply(url, plataforma)));
+    }
+
+    /**
+     * Reescreve as menções (@perfil) do texto para o perfil correspondente em
+     * cada plataforma
+     * @param perfil Recebe o perfil sem '@' e a plataforma e devolve o perfil
+     *        na plataforma (null mantém a menção)
+     */
+    public static EtapaTransformacao reescreverMencoes(BiFunction<String, String, String> perfil) {
+        return new Etapa("reescreverMencoes", true, (conteudo, plataforma) -> {
+            String texto = conteudo.getTexto();
+            if (texto == null || texto.indexOf('@') < 0) {
+                return conteudo;
+            }
+            StringBuilder resultado = null;
+            int copiado = 0;
+            for (int i = texto.indexOf('@'); i >= 0; i = texto.indexOf('@', i + 1)) {
+                if (i > 0 && Character.isLetterOrDigit(texto.charAt(i - 1))) {
+                    continue;  // e-mail ou texto colado
+                }
+                int fim = i + 1;
+                while (fim < texto.length() && caractereDePerfil(texto.charAt(fim))) {
+                    fim++;
+                }
+                while (fim > i + 1 && texto.charAt(fim - 1) == '.') {
+                    fim--;  // ponto final da frase
+                }
+                if (fim == i + 1) {
+                    continue;
+                }
+                String substituto = perfil.apply(texto.substring(i + 1, fim), plataforma);
+                if (substituto != null) {
+                    if (resultado == null) {
+                        resultado = new StringBuilder(texto.length() + 16);
+                    }
+                    resultado.append(texto, copiado, i + 1).append(substituto);
+                    copiado = fim;
+                }
+                i = fim - 1;
+            }
+            return resultado == null ? conteudo
+                : comTexto(conteudo, resultado.append(texto, copiado, texto.length()).toString());
+        });
+    }
+
+    /**
+     * Trunca o texto nos limites de tamanho declarados pela plataforma, sem
+     * partir grafemas nem URLs, terminando com reticências
+     */
+    public static EtapaTransformacao truncarTexto() {
+        return truncarTexto(ValidadorConteudo.getInstance());
+    }
+
+    /**
+     * Trunca o texto nos limites de tamanho do validador informado
+     */
+    public static EtapaTransformacao truncarTexto(ValidadorConteudo validador) {
+        return new Etapa("truncarTexto", true, (conteudo, plataforma) -> {
+            String texto = conteudo.getTexto();
+            if (texto == null || !validador.suporta(plataforma)) {
+                return conteudo;
+            }
+            String truncado = texto;
+            for (Regra.Medida medida : MEDIDAS_TEXTO) {
+                int limite = validador.maximo(plataforma, medida);
+                if (limite == Integer.MAX_VALUE || ContadorTexto.fimPrefixo(truncado, medida, limite) == truncado.length()) {
+                    continue;
+                }
+                int reserva = medida == Regra.Medida.TEXTO ? MEDIDAS_RETICENCIAS.getCodePoints()
+                    : medida == Regra.Medida.GRAFEMAS ? MEDIDAS_RETICENCIAS.getGrafemas()
+                    : MEDIDAS_RETICENCIAS.getPonderado();
+                int fim = ContadorTexto.fimPrefixo(truncado, medida, Math.max(0, limite - reserva));
+                while (fim > 0 && Character.isWhitespace(truncado.charAt(fim - 1))) {
+                    fim--;
+                }
+                truncado = truncado.substring(0, fim) + RETICENCIAS;
+            }
+            return truncado == texto ? conteudo : comTexto(conteudo, truncado);
+        });
+    }
+
+    /**
+     * Copia o conteúdo com outro texto
+     */
+    public static Conteudo comTexto(Conteudo conteudo, String texto) {
+        return new Conteudo(texto, conteudo.getMidias(), conteudo.getHashtags(),
+            conteudo.getDataAgendamento(), conteudo.getTipo(), conteudo.getChaveIdempotencia());
+    }
+
+    /**
+     * Copia o conteúdo com outras hashtags
+     */
+    public static Conteudo comHashtags(Conteudo conteudo, List<String> hashtags) {
+        return new Conteudo(conteudo.getTexto(), conteudo.getMidias(), hashtags,
+            conteudo.getDataAgendamento(), conteudo.getTipo(), conteudo.getChaveIdempotencia());
+    }
+
+    private static String normalizarHashtag(String hashtag) {
+        if (hashtag == null) {
+            return null;
+        }
+        StringBuilder normalizada = new StringBuilder(hashtag.length() + 1).append('#');
+        for (int i = 0; i < hashtag.length(); i++) {
+            char c = hashtag.charAt(i);
+            if (c != '#' && !Character.isWhitespace(c)) {
+                normalizada.append(c);
+            }
+        }
+        return normalizada.length() > 1 ? normalizada.toString() : null;
+    }
+
+    private static Conteudo substituirLinks(Conteudo conteudo, UnaryOperator<String> substituta) {
+        String texto = conteudo.getTexto();
+        if (texto == null || texto.indexOf("://") < 0) {
+            return conteudo;
+        }
+        StringBuilder resultado = null;
+        int copiado = 0;
+        int i = 0;
+        while (i < texto.length()) {
+            int fim = ContadorTexto.fimUrl(texto, i);
+            if (fim < 0) {
+                i++;
+                continue;
+            }
+            String substituto = substituta.apply(texto.substring(i, fim));
+            if (substituto != null) {
+                if (resultado == null) {
+                    resultado = new StringBuilder(texto.length() + 16);
+                }
+                resultado.append(texto, copiado, i).append(substituto);
+                copiado = fim;
+            }
+            i = fim;
+        }
+        return resultado == null ? conteudo
+            : comTexto(conteudo, resultado.append(texto, copiado, texto.length()).toString());
+    }
+
+    private static boolean caractereDePerfil(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+    }
+
+    /**
+     * Etapa a partir de uma função
+     */
+    private static final class Etapa implements EtapaTransformacao {
+        private final String nome;
+        private final boolean dependeDaPlataforma;
+        private final BiFunction<Conteudo, String, Conteudo> transformacao;
+
+        private Etapa(String nome, boolean dependeDaPlataforma, BiFunction<Conteudo, String, Conteudo> transformacao) {
+            this.nome = nome;
+            this.dependeDaPlataforma = dependeDaPlataforma;
+            this.transformacao = transformacao;
+        }
+
+        @Override
+        public Conteudo aplicar(Conteudo conteudo, String plataforma) {
+            return transformacao.apply(conteudo, plataforma);
+        }
+
+        @Override
+        public boolean dependeDaPlataforma() {
+            return dependeDaPlataforma;
+        }
+
+        @Override
+        public String getNome() {
+            return nome;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package transformacao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import log.Log;
+import log.Logger;
+import modelo.Conteudo;
+
+/**
+ * Sequência de etapas de transformação aplicada ao conteúdo antes de publicar
+ *
+ * O resultado de cada etapa é memorizado por (conteúdo de entrada,
+ * plataforma); etapas que não dependem da plataforma são memorizadas só pelo
+ * conteúdo. Assim, ao publicar o mesmo {@code Conteudo} em várias redes com o
+ * mesmo pipeline, o trabalho comum é feito uma única vez e as etapas
+ * seguintes também são compartilhadas enquanto a saída for a mesma. Etapas
+ * que não dependem da plataforma devem vir primeiro.
+ *
+ * As entradas são reconhecidas pela identidade do conteúdo; trocar algum
+ * campo com os setters invalida o resultado memorizado. As etapas devem ser
+ * funções puras; duas threads que pedem a mesma entrada ao mesmo tempo podem
+ * calculá-la ambas.
+ */
+public final class PipelineTransformacao {
+
+    private static final Logger LOG = Log.getLogger(PipelineTransformacao.class);
+
+    private static final int SEGMENTOS = 16;
+    private static final int MAXIMO_ENTRADAS_PADRAO = 4096;
+    private static final PipelineTransformacao VAZIO = new PipelineTransformacao(Collections.emptyList(), SEGMENTOS);
+
+    private final List<EtapaTransformacao> etapas;
+    private final int maximoEntradas;
+    private final Segmento[] segmentos;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder calculos = new LongAdder();
+
+    public PipelineTransformacao(EtapaTransformacao... etapas) {
+        this(Arrays.asList(etapas), MAXIMO_ENTRADAS_PADRAO);
+    }
+
+    /**
+     * @param etapas Etapas na ordem de aplicação
+     * @param maximoEntradas Quantidade máxima de resultados memorizados
+     */
+    public PipelineTransformacao(List<EtapaTransformacao> etapas, int maximoEntradas) {
+        if (maximoEntradas <= 0) {
+            throw new IllegalArgumentException("Máximo de entradas deve ser positivo");
+        }
+        for (EtapaTransformacao etapa : etapas) {
+            Objects.requireNonNull(etapa, "etapa");
+        }
+        this.etapas = Collections.unmodifiableList(new ArrayList<>(etapas));
+        this.maximoEntradas = maximoEntradas;
+
+        int cotaPorSegmento = Math.max(1, (maximoEntradas + SEGMENTOS - 1) / SEGMENTOS);
+        this.segmentos = new Segmento[SEGMENTOS];
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento(cotaPorSegmento);
+        }
+    }
+
+    /**
+     * Pipeline sem etapas: devolve o próprio conteúdo
+     */
+    public static PipelineTransformacao vazio() {
+        return VAZIO;
+    }
+
+    /**
+     * Novo pipeline com as etapas deste seguidas da informada
+     * O novo pipeline tem sua própria memória.
+     */
+    public PipelineTransformacao com(EtapaTransformacao etapa) {
+        List<EtapaTransformacao> novas = new ArrayList<>(etapas);
+        novas.add(etapa);
+        return new PipelineTransformacao(novas, maximoEntradas);
+    }
+
+    /**
+     * Aplica as etapas ao conteúdo para a plataforma
+     * @param plataforma Plataforma de destino; com null, as etapas que
+     *        dependem da plataforma são puladas
+     * @return Conteúdo transformado, ou o próprio conteúdo se nenhuma etapa o mudou
+     */
+    public Conteudo aplicar(Conteudo conteudo, String plataforma) {
+        Conteudo atual = conteudo;
+        for (int i = 0; i < etapas.size(); i++) {
+            EtapaTransformacao etapa = etapas.get(i);
+            boolean depende = etapa.dependeDaPlataforma();
+            if (depende && plataforma == null) {
+                continue;
+            }
+            atual = aplicar(i, etapa, atual, depende ? plataforma : null);
+        }
+        return atual;
+    }
+
+    private Conteudo aplicar(int indice, EtapaTransformacao etapa, Conteudo entrada, String plataforma) {
+        Chave chave = new Chave(indice, entrada, plataforma);
+        Segmento segmento = segmentos[chave.hash & (SEGMENTOS - 1)];
+
+        synchronized (segmento) {
+            Resultado resultado = segmento.get(chave);
+            if (resultado != null && resultado.valePara(entrada)) {
+                acertos.increment();
+                return resultado.saida;
+            }
+        }
+
+        Conteudo saida = etapa.aplicar(entrada, plataforma);
+        if (saida == null) {
+            throw new IllegalStateException("Etapa " + etapa.getNome() + " devolveu conteúdo nulo");
+        }
+        calculos.increment();
+        LOG.debug("Etapa {} aplicada para {}", etapa.getNome(), plataforma != null ? plataforma : "todas as plataformas");
+
+        synchronized (segmento) {
+            segmento.put(chave, new Resultado(entrada, saida));
+        }
+        return saida;
+    }
+
+    public List<EtapaTransformacao> getEtapas() {
+        return etapas;
+    }
+
+    /**
+     * Etapas atendidas pela memória
+     */
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    /**
+     * Etapas efetivamente executadas
+     */
+    public long getCalculos() {
+        return calculos.sum();
+    }
+
+    public int tamanho() {
+        int total = 0;
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.size();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        List<String> nomes = new ArrayList<>(etapas.size());
+        for (EtapaTransformacao etapa : etapas) {
+            nomes.add(etapa.getNome());
+        }
+        return "PipelineTransformacao{etapas=" + nomes + ", acertos=" + getAcertos()
+            + ", calculos=" + getCalculos() + '}';
+    }
+
+    /**
+     * Etapa, conteúdo de entrada (por identidade) e plataforma
+     */
+    private static final class Chave {
+        private final int etapa;
+        private final Conteudo entrada;
+        private final String plataforma;
+        private final int hash;
+
+        private Chave(int etapa, Conteudo entrada, String plataforma) {
+            this.etapa = etapa;
+            this.entrada = entrada;
+            this.plataforma = plataforma;
+            int h = (System.identityHashCode(entrada) * 31 + etapa) * 31 + Objects.hashCode(plataforma);
+            this.hash = h ^ (h >>> 16);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Chave)) {
+                return false;
+            }
+            Chave outra = (Chave) o;
+            return etapa == outra.etapa && entrada == outra.entrada
+                && Objects.equals(plataforma, outra.plataforma);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Saída de uma etapa e os campos da entrada de que ela foi calculada
+     */
+    private static final class Resultado {
+        private final Conteudo saida;
+        private final Object texto;
+        private final Object midias;
+        private final Object hashtags;
+        private final Object dataAgendamento;
+        private final Object tipo;
+        private final Object chaveIdempotencia;
+
+        private Resultado(Conteudo entrada, Conteudo saida) {
+            this.saida = saida;
+            this.texto = entrada.getTexto();
+            this.midias = entrada.getMidias();
+            this.hashtags = entrada.getHashtags();
+            this.dataAgendamento = entrada.getDataAgendamento();
+            this.tipo = entrada.getTipo();
+            this.chaveIdempotencia = entrada.getChaveIdempotencia();
+        }
+
+        /**
+         * Verifica se a entrada não foi alterada desde o cálculo
+         */
+        private boolean valePara(Conteudo entrada) {
+            return texto == entrada.getTexto()
+                && Objects.equals(midias, entrada.getMidias())
+                && Objects.equals(hashtags, entrada.getHashtags())
+                && dataAgendamento == entrada.getDataAgendamento()
+                && tipo == entrada.getTipo()
+                && chaveIdempotencia == entrada.getChaveIdempotencia();
+        }
+    }
+
+    /**
+     * Segmento LRU: LinkedHashMap em ordem de acesso que descarta a entrada
+     * mais antiga ao ultrapassar a cota
+     */
+    private static final class Segmento extends LinkedHashMap<Chave, Resultado> {
+        private final int cota;
+
+        private Segmento(int cota) {
+            super(16, 0.75f, true);
+            this.cota = cota;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Chave, Resultado> maisAntiga) {
+            return size() > cota;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package validacao;
+
+/**
+ * Contador do tamanho de textos como as plataformas o medem
+ *
+ * Uma única passada pelo texto calcula code points, grupos de grafemas e o
+ * tamanho ponderado do Twitter, sem alocar. Os grupos de grafemas seguem as
+ * regras estendidas do Unicode (UAX #29) nos casos que aparecem em posts:
+ * marcas combinantes, seletores de variação, modificadores de tom de pele,
+ * sequências de emoji unidas por ZWJ, pares de indicadores regionais
+ * (bandeiras), tags e CR LF.
+ *
+ * No tamanho ponderado cada URL iniciada por http:// ou https:// vale 23,
+ * cada emoji vale 2 e os demais code points valem 1 nas faixas latinas e de
+ * pontuação comum ou 2 nas outras, como CJK. O texto não é normalizado (NFC)
+ * antes da contagem.
+ */
+public final class ContadorTexto {
+
+    private static final int TAMANHO_URL = 23;
+    private static final int ZWJ = 0x200D;
+    private static final int CR = '\r';
+    private static final int LF = '\n';
+
+    private ContadorTexto() {
+    }
+
+    /**
+     * Mede um texto
+     * @param texto Texto a medir
+     * @param destino Onde gravar as medidas
+     * @return O próprio destino
+     */
+    public static MedidasTexto medir(CharSequence texto, MedidasTexto destino) {
+        percorrer(texto, destino, null, 0);
+        return destino;
+    }
+
+    /**
+     * Mede um texto num novo objeto de medidas
+     */
+    public static MedidasTexto medir(CharSequence texto) {
+        return medir(texto, new MedidasTexto());
+    }
+
+    /**
+     * Tamanho ponderado do Twitter
+     */
+    public static int tamanhoTwitter(CharSequence texto) {
+        return medir(texto, new MedidasTexto()).ponderado;
+    }
+
+    /**
+     * Fim do maior prefixo do texto que cabe no limite sem partir grafemas
+     * nem URLs
+     * @param medida Medida de texto: TEXTO, GRAFEMAS ou TEXTO_PONDERADO
+     * @return Posição (em chars) do fim do prefixo; o tamanho do texto se ele
+     *         inteiro couber
+     */
+    public static int fimPrefixo(CharSequence texto, Regra.Medida medida, int limite) {
+        if (medida != Regra.Medida.TEXTO && medida != Regra.Medida.GRAFEMAS
+                && medida != Regra.Medida.TEXTO_PONDERADO) {
+            throw new IllegalArgumentException("Medida não é de texto: " + medida);
+        }
+        return percorrer(texto, null, medida, limite);
+    }
+
+    /**
+     * Fim de uma URL iniciada por http:// ou https:// na posição, ou -1 se
+     * não houver. A URL termina no primeiro espaço, sem a pontuação final.
+     */
+    public static int fimUrl(CharSequence texto, int inicio) {
+        char c = texto.charAt(inicio);
+        if (c != 'h' && c != 'H') {
+            return -1;
+        }
+        if (inicio > 0 && !inicioPalavra(texto.charAt(inicio - 1))) {
+            return -1;
+        }
+        int esquema = comeca(texto, inicio, "https://") ? 8 : comeca(texto, inicio, "http://") ? 7 : 0;
+        if (esquema == 0) {
+            return -1;
+        }
+
+        int fim = inicio + esquema;
+        int tamanho = texto.length();
+        while (fim < tamanho && !Character.isWhitespace(texto.charAt(fim))) {
+            fim++;
+        }
+        while (fim > inicio + esquema && ".,;:!?)]}'\"".indexOf(texto.charAt(fim - 1)) >= 0) {
+            fim--;
+        }
+        return fim > inicio + esquema ? fim : -1;
+    }
+
+    /**
+     * Percorre o texto uma vez, grupo de grafemas a grupo
+     * Com uma medida, para no primeiro grupo que ultrapassa o limite e devolve
+     * onde ele começa; sem medida, grava as medidas no destino.
+     */
+    private static int percorrer(CharSequence texto, MedidasTexto destino, Regra.Medida medida, int limite) {
+        int tamanho = texto.length();
+        // Totais dos grupos já fechados
+        int codePoints = 0;
+        int grafemas = 0;
+        int ponderado = 0;
+
+        // Grupo em andamento: um grupo de grafemas ou uma URL inteira
+        int inicioGrupo = 0;
+        int codePointsGrupo = 0;
+        int grafemasGrupo = 0;
+        int pesoGrupo = 0;
+        boolean grupoEmoji = false;
+        int anterior = -1;
+        int regionaisSeguidos = 0;
+
+        int i = 0;
+        while (i < tamanho) {
+            char c = texto.charAt(i);
+            int cp = c;
+            int fimUrl = -1;
+            boolean continua = false;
+            if (c >= 0x80 || c == 'h' || c == 'H' || c == LF || anterior == ZWJ) {
+                fimUrl = fimUrl(texto, i);
+                if (fimUrl < 0) {
+                    cp = Character.codePointAt(texto, i);
+                    boolean regional = regional(cp);
+                    continua = anterior >= 0 && (estende(cp)
+                        || anterior == ZWJ
+                        || (anterior == CR && cp == LF)
+                        || (regional && regionaisSeguidos % 2 == 1));
+                    regionaisSeguidos = regional ? regionaisSeguidos + 1 : 0;
+                }
+            } else {
+                // ASCII comum: sempre abre um grupo de peso 1
+                regionaisSeguidos = 0;
+            }
+
+            if (!continua) {
+                codePoints += codePointsGrupo;
+                grafemas += grafemasGrupo;
+                ponderado += pesoGrupo;
+                if (medida != null && excede(medida, limite, codePoints, grafemas, ponderado)) {
+                    return inicioGrupo;
+                }
+                inicioGrupo = i;
+                codePointsGrupo = 0;
+                grafemasGrupo = 1;
+            }
+
+            if (fimUrl > 0) {
+                int codePointsUrl = Character.codePointCount(texto, i, fimUrl);
+                codePointsGrupo = codePointsUrl;
+                grafemasGrupo = codePointsUrl;
+                pesoGrupo = TAMANHO_URL;
+                grupoEmoji = false;
+                anterior = -1;
+                regionaisSeguidos = 0;
+                i = fimUrl;
+                continue;
+            }
+
+            i += Character.charCount(cp);
+            codePointsGrupo++;
+            if (!continua) {
+                grupoEmoji = emoji(cp);
+                pesoGrupo = grupoEmoji ? 2 : peso(cp);
+            } else if (cp == 0xFE0F || (anterior == ZWJ && emoji(cp))) {
+                // Apresentação como emoji: o grupo inteiro vale 2
+                grupoEmoji = true;
+                pesoGrupo = 2;
+            } else if (!grupoEmoji) {
+                pesoGrupo += peso(cp);
+            }
+            anterior = cp;
+        }
+
+        codePoints += codePointsGrupo;
+        grafemas += grafemasGrupo;
+        ponderado += pesoGrupo;
+        if (medida != null) {
+            return excede(medida, limite, codePoints, grafemas, ponderado) ? inicioGrupo : tamanho;
+        }
+        destino.codePoints = codePoints;
+        destino.grafemas = grafemas;
+        destino.ponderado = ponderado;
+        return tamanho;
+    }
+
+    private static boolean excede(Regra.Medida medida, int limite, int codePoints, int grafemas, int ponderado) {
+        int valor = medida == Regra.Medida.TEXTO ? codePoints
+            : medida == Regra.Medida.GRAFEMAS ? grafemas : ponderado;
+        return valor > limite;
+    }
+
+    /**
+     * Code points que se juntam ao anterior no mesmo grupo de grafemas
+     */
+    private static boolean estende(int cp) {
+        if (cp == ZWJ
+                || (cp >= 0xFE00 && cp <= 0xFE0F)          // seletores de variação
+                || (cp >= 0x1F3FB && cp <= 0x1F3FF)        // tons de pele
+                || (cp >= 0xE0020 && cp <= 0xE007F)        // tags
+                || (cp >= 0xE0100 && cp <= 0xE01EF)) {     // seletores de variação suplementares
+            return true;
+        }
+        if (cp < 0x0300
+                || (cp >= 0x3040 && cp < 0xA000 && cp != 0x3099 && cp != 0x309A)  // kana, CJK
+                || (cp >= 0xAC00 && cp < 0xD7B0)) {        // sílabas hangul
+            return false;
+        }
+        int tipo = Character.getType(cp);
+        return tipo == Character.NON_SPACING_MARK
+            || tipo == Character.ENCLOSING_MARK
+            || tipo == Character.COMBINING_SPACING_MARK;
+    }
+
+    private static boolean regional(int cp) {
+        return cp >= 0x1F1E6 && cp <= 0x1F1FF;
+    }
+
+    private static boolean emoji(int cp) {
+        return (cp >= 0x1F000 && cp <= 0x1FAFF)
+            || (cp >= 0x2600 && cp <= 0x27BF)
+            || (cp >= 0x2B00 && cp <= 0x2BFF)
+            || (cp >= 0x2300 && cp <= 0x23FF);
+    }
+
+    /**
+     * Peso do code point no Twitter: 1 nas faixas latinas, gregas, cirílicas
+     * e afins e na pontuação comum; 2 nas demais
+     */
+    private static int peso(int cp) {
+        return cp <= 0x10FF
+            || (cp >= 0x2000 && cp <= 0x200D)
+            || (cp >= 0x2010 && cp <= 0x201F)
+            || (cp >= 0x2032 && cp <= 0x2037) ? 1 : 2;
+    }
+
+    private static boolean inicioPalavra(char anterior) {
+        return Character.isWhitespace(anterior) || "([{<\"'".indexOf(anterior) >= 0;
+    }
+
+    private static boolean comeca(CharSequence texto, int inicio, String prefixo) {
+        if (texto.length() - inicio < prefixo.length()) {
+            return false;
+        }
+        for (int j = 0; j < prefixo.length(); j++) {
+            if (Character.toLowerCase(texto.charAt(inicio + j)) != prefixo.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
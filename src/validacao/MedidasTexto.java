@@ -0,0 +1,41 @@
+package validacao;
+
+/**
+ * Medidas de um texto calculadas pelo {@link ContadorTexto}
+ *
+ * Objeto mutável para ser reutilizado entre medições, de modo que medir
+ * não aloca; não deve ser compartilhado entre threads.
+ */
+public final class MedidasTexto {
+
+    int codePoints;
+    int grafemas;
+    int ponderado;
+
+    /**
+     * Quantidade de code points Unicode
+     */
+    public int getCodePoints() {
+        return codePoints;
+    }
+
+    /**
+     * Quantidade de caracteres percebidos pelo leitor (grupos de grafemas)
+     */
+    public int getGrafemas() {
+        return grafemas;
+    }
+
+    /**
+     * Tamanho pelas regras de contagem do Twitter: URLs valem 23, emoji e
+     * caracteres fora dos alfabetos latinos e afins (como CJK) valem 2
+     */
+    public int getPonderado() {
+        return ponderado;
+    }
+
+    @Override
+    public String toString() {
+        return "MedidasTexto{codePoints=" + codePoints + ", grafemas=" + grafemas + ", ponderado=" + ponderado + '}';
+    }
+}
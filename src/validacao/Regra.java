@@ -0,0 +1,129 @@
+package validacao;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import modelo.TipoConteudo;
+
+/**
+ * Regra de conteúdo de uma plataforma
+ *
+ * Uma regra limita uma medida do conteúdo (mínimo ou máximo) ou restringe
+ * os tipos aceitos. Conteúdos sem texto ou sem lista têm medida -1, de modo
+ * que um mínimo 0 torna o campo obrigatório e um máximo nunca o recusa.
+ * As regras de cada plataforma são declaradas pelo seu provedor e compiladas
+ * pelo {@link ValidadorConteudo}.
+ */
+public final class Regra {
+
+    /**
+     * Medidas do conteúdo; as de texto são calculadas pelo {@link ContadorTexto}
+     */
+    public enum Medida {
+        /** Code points do texto */
+        TEXTO,
+        /** Caracteres percebidos no texto (grupos de grafemas) */
+        GRAFEMAS,
+        /** Tamanho ponderado do texto pelas regras do Twitter */
+        TEXTO_PONDERADO,
+        MIDIAS,
+        HASHTAGS
+    }
+
+    public enum Severidade { ERRO, AVISO }
+
+    enum Tipo { MINIMO, MAXIMO, TIPOS }
+
+    private final Tipo tipo;
+    private final Medida medida;
+    private final int limite;
+    private final Set<TipoConteudo> tiposAceitos;
+    private final Severidade severidade;
+    private final String mensagem;
+
+    private Regra(Tipo tipo, Medida medida, int limite, Set<TipoConteudo> tiposAceitos,
+                  Severidade severidade, String mensagem) {
+        this.tipo = tipo;
+        this.medida = medida;
+        this.limite = limite;
+        this.tiposAceitos = tiposAceitos;
+        this.severidade = severidade;
+        this.mensagem = mensagem;
+    }
+
+    /**
+     * A medida deve ser ao menos o limite
+     */
+    public static Regra minimo(Medida medida, int limite, String mensagem) {
+        return new Regra(Tipo.MINIMO, medida, limite, null, Severidade.ERRO, mensagem);
+    }
+
+    /**
+     * A medida deve ser no máximo o limite
+     */
+    public static Regra maximo(Medida medida, int limite, String mensagem) {
+        return new Regra(Tipo.MAXIMO, medida, limite, null, Severidade.ERRO, mensagem);
+    }
+
+    /**
+     * O tipo do conteúdo deve ser um dos informados
+     */
+    public static Regra tipos(Set<TipoConteudo> aceitos, String mensagem) {
+        return new Regra(Tipo.TIPOS, null, 0, Collections.unmodifiableSet(EnumSet.copyOf(aceitos)), Severidade.ERRO, mensagem);
+    }
+
+    /**
+     * A mesma regra como recomendação: a violação é informada, mas não
+     * impede a publicação
+     */
+    public Regra comoAviso() {
+        return new Regra(tipo, medida, limite, tiposAceitos, Severidade.AVISO, mensagem);
+    }
+
+    /**
+     * Verifica se um valor da medida da regra é aceito
+     */
+    public boolean aceita(int valor) {
+        return tipo == Tipo.MINIMO ? valor >= limite : valor <= limite;
+    }
+
+    /**
+     * Verifica se um tipo de conteúdo é aceito
+     */
+    public boolean aceita(TipoConteudo tipoConteudo) {
+        return tipoConteudo != null && tiposAceitos.contains(tipoConteudo);
+    }
+
+    Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Medida limitada pela regra, ou null numa regra de tipos
+     */
+    public Medida getMedida() {
+        return medida;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public Set<TipoConteudo> getTiposAceitos() {
+        return tiposAceitos;
+    }
+
+    public Severidade getSeveridade() {
+        return severidade;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    @Override
+    public String toString() {
+        String alvo = tipo == Tipo.TIPOS ? "tipo em " + tiposAceitos : medida + (tipo == Tipo.MINIMO ? " >= " : " <= ") + limite;
+        return "Regra{" + alvo + ", " + severidade + '}';
+    }
+}
@@ -0,0 +1,362 @@
+package validacao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import modelo.Conteudo;
+import modelo.TipoConteudo;
+import provedor.CatalogoPlataformas;
+
+/**
+ * Validador de conteúdo para várias plataformas de uma vez
+ *
+ * As regras declaradas pelos provedores são compiladas, na criação, em
+ * tabelas de máscaras de bits: uma posição por plataforma. Para cada medida
+ * os limites ficam ordenados e cada um guarda a máscara acumulada das
+ * plataformas que recusam valores além dele; para cada tipo de conteúdo há
+ * a máscara das plataformas que não o aceitam.
+ *
+ * Validar mede o conteúdo uma única vez (o texto com o {@link ContadorTexto},
+ * numa só passada para todas as medidas de texto) e, com uma busca binária por
+ * medida, obtém as plataformas violadas entre as pedidas, qualquer que seja
+ * a quantidade de plataformas e regras. Sem violações nada é alocado; as
+ * mensagens só são montadas para as plataformas que falharam.
+ */
+public final class ValidadorConteudo {
+
+    private static final int MAXIMO_PLATAFORMAS = Long.SIZE;
+    private static final int SEM_TIPO = TipoConteudo.values().length;
+    private static final Regra.Medida[] MEDIDAS = Regra.Medida.values();
+    private static final ThreadLocal<MedidasTexto> MEDIDAS_TEXTO = ThreadLocal.withInitial(MedidasTexto::new);
+
+    private static ValidadorConteudo instance;
+
+    private final CatalogoPlataformas catalogo;
+    private final String[] nomes;
+    private final Map<String, Integer> indices;
+    private final Regra[][] regras;
+
+    // Por medida, indexadas pelo ordinal de Regra.Medida
+    private final Limites[] maximos;
+    private final Limites[] minimos;
+    // Plataformas que não aceitam cada tipo; a última posição é o tipo nulo
+    private final long[] tipoRecusadoTodas;
+    private final long[] tipoRecusadoErros;
+
+    /**
+     * Compila as regras declaradas pelos provedores do catálogo
+     * @throws IllegalStateException se houver mais de 64 plataformas
+     */
+    public ValidadorConteudo(CatalogoPlataformas catalogo) {
+        List<String> plataformas = catalogo.getPlataformas();
+        if (plataformas.size() > MAXIMO_PLATAFORMAS) {
+            throw new IllegalStateException("O validador suporta até " + MAXIMO_PLATAFORMAS + " plataformas");
+        }
+        this.catalogo = catalogo;
+        this.nomes = plataformas.toArray(new String[0]);
+        this.indices = new HashMap<>();
+        this.regras = new Regra[nomes.length][];
+        for (int i = 0; i < nomes.length; i++) {
+            indices.put(nomes[i], i);
+            regras[i] = catalogo.resolver(nomes[i]).getRegras().toArray(new Regra[0]);
+        }
+
+        Regra.Medida[] medidas = Regra.Medida.values();
+        this.maximos = new Limites[medidas.length];
+        this.minimos = new Limites[medidas.length];
+        for (Regra.Medida medida : medidas) {
+            maximos[medida.ordinal()] = compilar(medida, Regra.Tipo.MAXIMO);
+            minimos[medida.ordinal()] = compilar(medida, Regra.Tipo.MINIMO);
+        }
+
+        this.tipoRecusadoTodas = new long[SEM_TIPO + 1];
+        this.tipoRecusadoErros = new long[SEM_TIPO + 1];
+        TipoConteudo[] tipos = TipoConteudo.values();
+        for (int p = 0; p < nomes.length; p++) {
+            for (Regra regra : regras[p]) {
+                if (regra.getTipo() != Regra.Tipo.TIPOS) {
+                    continue;
+                }
+                for (int t = 0; t <= SEM_TIPO; t++) {
+                    if (!regra.aceita(t < SEM_TIPO ? tipos[t] : null)) {
+                        tipoRecusadoTodas[t] |= 1L << p;
+                        if (regra.getSeveridade() == Regra.Severidade.ERRO) {
+                            tipoRecusadoErros[t] |= 1L << p;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Singleton - obtém o validador com as plataformas do catálogo
+     */
+    public static synchronized ValidadorConteudo getInstance() {
+        if (instance == null) {
+            instance = new ValidadorConteudo(CatalogoPlataformas.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Máscara de uma plataforma, para validações repetidas sem resolver nomes
+     * @throws IllegalArgumentException se a plataforma não for suportada
+     */
+    public long mascara(String plataforma) {
+        Integer indice = plataforma != null ? indices.get(catalogo.nomeCanonico(plataforma)) : null;
+        if (indice == null) {
+            throw new IllegalArgumentException("Plataforma não suportada: " + plataforma);
+        }
+        return 1L << indice;
+    }
+
+    /**
+     * Verifica se a plataforma tem regras compiladas neste validador
+     */
+    public boolean suporta(String plataforma) {
+        return plataforma != null && indices.containsKey(catalogo.nomeCanonico(plataforma));
+    }
+
+    /**
+     * Nome canônico de uma plataforma, como usado nas violações
+     */
+    public String nomeCanonico(String plataforma) {
+        return catalogo.nomeCanonico(plataforma);
+    }
+
+    /**
+     * Máscara de um conjunto de plataformas
+     * @throws IllegalArgumentException se alguma plataforma não for suportada
+     */
+    public long mascara(Collection<String> plataformas) {
+        long mascara = 0;
+        for (String plataforma : plataformas) {
+            mascara |= mascara(plataforma);
+        }
+        return mascara;
+    }
+
+    /**
+     * Máscara de todas as plataformas
+     */
+    public long todas() {
+        return nomes.length == MAXIMO_PLATAFORMAS ? -1L : (1L << nomes.length) - 1;
+    }
+
+    /**
+     * Valida o conteúdo para as plataformas informadas
+     * @return Violações, na ordem das plataformas no catálogo; vazia se o conteúdo é válido
+     */
+    public List<Violacao> validar(Conteudo conteudo, Collection<String> plataformas) {
+        return validar(conteudo, mascara(plataformas));
+    }
+
+    /**
+     * Valida o conteúdo para as plataformas da máscara
+     * @return Violações, na ordem das plataformas no catálogo; vazia se o conteúdo é válido
+     */
+    public List<Violacao> validar(Conteudo conteudo, long plataformas) {
+        long violadas = plataformas & violadas(conteudo, false);
+        if (violadas == 0) {
+            return Collections.emptyList();
+        }
+
+        List<Violacao> violacoes = new ArrayList<>(Long.bitCount(violadas));
+        MedidasTexto texto = medirTexto(conteudo.getTexto());
+        for (long restantes = violadas; restantes != 0; restantes &= restantes - 1) {
+            int p = Long.numberOfTrailingZeros(restantes);
+            for (Regra regra : regras[p]) {
+                if (regra.getTipo() == Regra.Tipo.TIPOS) {
+                    if (!regra.aceita(conteudo.getTipo())) {
+                        violacoes.add(new Violacao(nomes[p], regra, String.valueOf(conteudo.getTipo())));
+                    }
+                    continue;
+                }
+                int valor = valor(regra.getMedida(), conteudo, texto);
+                if (!regra.aceita(valor)) {
+                    violacoes.add(new Violacao(nomes[p], regra, String.valueOf(valor)));
+                }
+            }
+        }
+        return violacoes;
+    }
+
+    /**
+     * Plataformas da máscara que recusam o conteúdo por alguma regra de erro
+     * Não aloca; avisos não contam
+     */
+    public long recusadas(Conteudo conteudo, long plataformas) {
+        return plataformas & violadas(conteudo, true);
+    }
+
+    /**
+     * Verifica se o conteúdo pode ser publicado na plataforma
+     */
+    public boolean valido(Conteudo conteudo, String plataforma) {
+        return recusadas(conteudo, mascara(plataforma)) == 0;
+    }
+
+    /**
+     * Valida um lote de conteúdos para as plataformas informadas, com uma
+     * única passada por conteúdo
+     * @return Violações de cada conteúdo, na ordem do lote
+     */
+    public List<List<Violacao>> validarLote(List<Conteudo> conteudos, Collection<String> plataformas) {
+        long mascara = mascara(plataformas);
+        List<List<Violacao>> resultados = new ArrayList<>(conteudos.size());
+        for (Conteudo conteudo : conteudos) {
+            resultados.add(validar(conteudo, mascara));
+        }
+        return resultados;
+    }
+
+    /**
+     * Menor máximo de erro da plataforma para a medida
+     * @return O limite, ou Integer.MAX_VALUE se a plataforma não limita a medida
+     * @throws IllegalArgumentException se a plataforma não for suportada
+     */
+    public int maximo(String plataforma, Regra.Medida medida) {
+        int maximo = Integer.MAX_VALUE;
+        for (Regra regra : regras[Long.numberOfTrailingZeros(mascara(plataforma))]) {
+            if (regra.getTipo() == Regra.Tipo.MAXIMO && regra.getMedida() == medida
+                    && regra.getSeveridade() == Regra.Severidade.ERRO) {
+                maximo = Math.min(maximo, regra.getLimite());
+            }
+        }
+        return maximo;
+    }
+
+    /**
+     * Nome canônico da plataforma de uma posição da máscara
+     */
+    public String nomePlataforma(int indice) {
+        return nomes[indice];
+    }
+
+    private long violadas(Conteudo conteudo, boolean apenasErros) {
+        TipoConteudo tipo = conteudo.getTipo();
+        long[] tipoRecusado = apenasErros ? tipoRecusadoErros : tipoRecusadoTodas;
+        long violadas = tipoRecusado[tipo != null ? tipo.ordinal() : SEM_TIPO];
+        MedidasTexto texto = medirTexto(conteudo.getTexto());
+        for (Regra.Medida medida : MEDIDAS) {
+            int valor = valor(medida, conteudo, texto);
+            violadas |= maximos[medida.ordinal()].acima(valor, apenasErros)
+                | minimos[medida.ordinal()].abaixo(valor, apenasErros);
+        }
+        return violadas;
+    }
+
+    private static int valor(Regra.Medida medida, Conteudo conteudo, MedidasTexto texto) {
+        switch (medida) {
+            case TEXTO:
+                return texto != null ? texto.getCodePoints() : -1;
+            case GRAFEMAS:
+                return texto != null ? texto.getGrafemas() : -1;
+            case TEXTO_PONDERADO:
+                return texto != null ? texto.getPonderado() : -1;
+            case MIDIAS:
+                return conteudo.getQuantidadeMidias();
+            default:
+                return conteudo.getQuantidadeHashtags();
+        }
+    }
+
+    /**
+     * Mede o texto uma vez para todas as medidas de texto, reutilizando as
+     * medidas da thread; null se não houver texto
+     */
+    private static MedidasTexto medirTexto(String texto) {
+        return texto != null ? ContadorTexto.medir(texto, MEDIDAS_TEXTO.get()) : null;
+    }
+
+    private Limites compilar(Regra.Medida medida, Regra.Tipo tipo) {
+        List<long[]> entradas = new ArrayList<>();
+        for (int p = 0; p < nomes.length; p++) {
+            for (Regra regra : regras[p]) {
+                if (regra.getTipo() == tipo && regra.getMedida() == medida) {
+                    boolean erro = regra.getSeveridade() == Regra.Severidade.ERRO;
+                    entradas.add(new long[] {regra.getLimite(), 1L << p, erro ? 1L << p : 0});
+                }
+            }
+        }
+        entradas.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        int n = entradas.size();
+        int[] valores = new int[n];
+        long[] todas = new long[n + 1];
+        long[] erros = new long[n + 1];
+        for (int i = 0; i < n; i++) {
+            valores[i] = (int) entradas.get(i)[0];
+        }
+        if (tipo == Regra.Tipo.MAXIMO) {
+            // Acumula do menor limite para o maior: um valor acima do limite i viola todos até i
+            for (int i = 0; i < n; i++) {
+                todas[i + 1] = todas[i] | entradas.get(i)[1];
+                erros[i + 1] = erros[i] | entradas.get(i)[2];
+            }
+        } else {
+            // Acumula do maior para o menor: um valor abaixo do limite i viola todos a partir de i
+            for (int i = n - 1; i >= 0; i--) {
+                todas[i] = todas[i + 1] | entradas.get(i)[1];
+                erros[i] = erros[i + 1] | entradas.get(i)[2];
+            }
+        }
+        return new Limites(valores, todas, erros);
+    }
+
+    /**
+     * Limites de uma medida em ordem crescente com as máscaras acumuladas
+     */
+    private static final class Limites {
+        private final int[] valores;
+        private final long[] todas;
+        private final long[] erros;
+
+        private Limites(int[] valores, long[] todas, long[] erros) {
+            this.valores = valores;
+            this.todas = todas;
+            this.erros = erros;
+        }
+
+        /**
+         * Plataformas cujo máximo é menor que o valor
+         */
+        private long acima(int valor, boolean apenasErros) {
+            if (valores.length == 0) {
+                return 0;
+            }
+            // Quantidade de limites menores que o valor
+            int i = posicao(valor);
+            return (apenasErros ? erros : todas)[i];
+        }
+
+        /**
+         * Plataformas cujo mínimo é maior que o valor
+         */
+        private long abaixo(int valor, boolean apenasErros) {
+            if (valores.length == 0) {
+                return 0;
+            }
+            // Primeiro limite maior que o valor
+            int i = posicao(valor + 1);
+            return (apenasErros ? erros : todas)[i];
+        }
+
+        // Primeira posição cujo limite é maior ou igual ao valor
+        private int posicao(int valor) {
+            int i = Arrays.binarySearch(valores, valor);
+            if (i < 0) {
+                return -i - 1;
+            }
+            while (i > 0 && valores[i - 1] == valor) {
+                i--;
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package validacao;
+
+/**
+ * Regra de uma plataforma não atendida por um conteúdo
+ */
+public final class Violacao {
+
+    private final String plataforma;
+    private final Regra regra;
+    private final String valor;
+
+    Violacao(String plataforma, Regra regra, String valor) {
+        this.plataforma = plataforma;
+        this.regra = regra;
+        this.valor = valor;
+    }
+
+    /**
+     * Nome canônico da plataforma
+     */
+    public String getPlataforma() {
+        return plataforma;
+    }
+
+    public Regra getRegra() {
+        return regra;
+    }
+
+    /**
+     * Valor encontrado no conteúdo: a medida ou o tipo
+     */
+    public String getValor() {
+        return valor;
+    }
+
+    public Regra.Severidade getSeveridade() {
+        return regra.getSeveridade();
+    }
+
+    public String getMensagem() {
+        return regra.getMensagem();
+    }
+
+    /**
+     * Verifica se a violação impede a publicação
+     */
+    public boolean isErro() {
+        return regra.getSeveridade() == Regra.Severidade.ERRO;
+    }
+
+    @Override
+    public String toString() {
+        return plataforma + ": " + regra.getMensagem() + " (encontrado: " + valor + ")";
+    }
+}